@@ -30,6 +30,7 @@ import com.plotsquared.bukkit.generator.BukkitHybridUtils;
 import com.plotsquared.bukkit.generator.BukkitPlotGenerator;
 import com.plotsquared.bukkit.listener.BlockEventListener;
 import com.plotsquared.bukkit.listener.ChunkListener;
+import com.plotsquared.bukkit.listener.EntityCountListener;
 import com.plotsquared.bukkit.listener.EntityEventListener;
 import com.plotsquared.bukkit.listener.EntitySpawnListener;
 import com.plotsquared.bukkit.listener.PaperListener;
@@ -50,6 +51,7 @@ import com.plotsquared.bukkit.schematic.BukkitSchematicHandler;
 import com.plotsquared.bukkit.util.BukkitChatManager;
 import com.plotsquared.bukkit.util.BukkitChunkManager;
 import com.plotsquared.bukkit.util.BukkitEconHandler;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
 import com.plotsquared.bukkit.util.BukkitInventoryUtil;
 import com.plotsquared.bukkit.util.BukkitPermHandler;
 import com.plotsquared.bukkit.util.BukkitRegionManager;
@@ -188,6 +190,7 @@ public final class BukkitMain extends JavaPlugin implements Listener, IPlotMain<
     private final BukkitPlayerManager playerManager = new BukkitPlayerManager();
     private EconHandler econ;
     private PermHandler perm;
+    private BukkitEntityCounter entityCounter;
 
     @Override public int[] getServerVersion() {
         if (this.version == null) {
@@ -895,11 +898,16 @@ public final class BukkitMain extends JavaPlugin implements Listener, IPlotMain<
         getServer().getPluginManager().registerEvents(new EntityEventListener(), this);
         getServer().getPluginManager().registerEvents(new ProjectileEventListener(), this);
         getServer().getPluginManager().registerEvents(new EntitySpawnListener(), this);
+        getServer().getPluginManager()
+            .registerEvents(new EntityCountListener(getEntityCounter()), this);
+        getEntityCounter().start();
         if (PaperLib.isPaper() && Settings.Paper_Components.PAPER_LISTENERS) {
             if (Reflection.getVersion().startsWith("v1_13")) {
-                getServer().getPluginManager().registerEvents(new PaperListener113(), this);
+                getServer().getPluginManager()
+                    .registerEvents(new PaperListener113(getEntityCounter()), this);
             } else {
-                getServer().getPluginManager().registerEvents(new PaperListener(), this);
+                getServer().getPluginManager()
+                    .registerEvents(new PaperListener(getEntityCounter()), this);
             }
         }
         PlotListener.startRunnable();
@@ -916,6 +924,19 @@ public final class BukkitMain extends JavaPlugin implements Listener, IPlotMain<
         return false;
     }
 
+    /**
+     * Get the counter keeping track of the entities in each plot
+     *
+     * @return Entity counter
+     */
+    @NotNull public BukkitEntityCounter getEntityCounter() {
+        if (this.entityCounter == null) {
+            this.entityCounter = new BukkitEntityCounter(PlotSquared.get().getPlotAreaManager(),
+                BukkitEntityCounter::getCategories);
+        }
+        return this.entityCounter;
+    }
+
     @Override public EconHandler getEconomyHandler() {
         if (econ != null) {
             if (econ.init() /* is inited */) {
@@ -1040,7 +1061,7 @@ public final class BukkitMain extends JavaPlugin implements Listener, IPlotMain<
     }
 
     @Override public RegionManager initRegionManager() {
-        return new BukkitRegionManager();
+        return new BukkitRegionManager(getEntityCounter());
     }
 
     @Override public void unregister(@NonNull final PlotPlayer player) {
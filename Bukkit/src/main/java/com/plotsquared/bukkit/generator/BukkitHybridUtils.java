@@ -25,9 +25,53 @@
  */
 package com.plotsquared.bukkit.generator;
 
+import com.plotsquared.bukkit.util.BukkitBlockUtil;
 import com.plotsquared.core.generator.HybridUtils;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
 
 public class BukkitHybridUtils extends HybridUtils {
 
+    private static final BlockState[] STATES = new BlockState[Material.values().length];
+
+    private static BlockState getState(@NotNull final Material material) {
+        BlockState state = STATES[material.ordinal()];
+        if (state == null) {
+            state = STATES[material.ordinal()] = BukkitBlockUtil.get(material);
+        }
+        return state;
+    }
+
+    /**
+     * Take a snapshot of the chunk, which is read on the analysis thread instead of
+     * looking up the world and the block for every block of the plot
+     */
+    @NotNull @Override protected ChunkSections getChunkSections(@NotNull final String world,
+        final int chunkX, final int chunkZ) {
+        final World bukkitWorld = Bukkit.getWorld(world);
+        if (bukkitWorld == null) {
+            return (layer, buffer) -> false;
+        }
+        final ChunkSnapshot snapshot =
+            bukkitWorld.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+        return (layer, buffer) -> {
+            if (snapshot.isSectionEmpty(layer)) {
+                return false;
+            }
+            final int minY = layer << 4;
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        buffer[y << 8 | z << 4 | x] = getState(snapshot.getType(x, minY + y, z));
+                    }
+                }
+            }
+            return true;
+        };
+    }
 
 }
@@ -94,7 +94,8 @@ import org.bukkit.event.block.EntityBlockFormEvent;
 import org.bukkit.event.world.StructureGrowEvent;
 import org.bukkit.material.Directional;
 import org.bukkit.projectiles.BlockProjectileSource;
-import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Iterator;
 import java.util.List;
@@ -124,14 +125,36 @@ public class BlockEventListener implements Listener {
         }, 3);
     }
 
+    @Nullable private static PlotArea getPlotArea(@NotNull final String world, final int x,
+        final int y, final int z) {
+        return PlotSquared.get().getPlotAreaManager().getPlotArea(world, x, y, z);
+    }
+
+    @Nullable private static PlotArea getPlotArea(@NotNull final Block block) {
+        return getPlotArea(block.getWorld().getName(), block.getX(), block.getY(), block.getZ());
+    }
+
+    @Nullable private static Plot getPlot(@NotNull final String world, final int x, final int y,
+        final int z) {
+        final PlotArea area = getPlotArea(world, x, y, z);
+        return area == null ? null : area.getPlot(world, x, y, z);
+    }
+
+    private static boolean isPlotRoad(@NotNull final Block block) {
+        final String world = block.getWorld().getName();
+        final PlotArea area = getPlotArea(world, block.getX(), block.getY(), block.getZ());
+        return area != null
+            && area.getPlotAbs(world, block.getX(), block.getY(), block.getZ()) == null;
+    }
+
     @EventHandler public void onRedstoneEvent(BlockRedstoneEvent event) {
         Block block = event.getBlock();
-        Location location = BukkitUtil.getLocation(block.getLocation());
-        PlotArea area = location.getPlotArea();
+        String world = block.getWorld().getName();
+        PlotArea area = getPlotArea(world, block.getX(), block.getY(), block.getZ());
         if (area == null) {
             return;
         }
-        Plot plot = location.getOwnedPlot();
+        Plot plot = area.getOwnedPlot(world, block.getX(), block.getY(), block.getZ());
         if (plot == null) {
             if (area.isRoadFlags() && !area.getRoadFlag(RedstoneFlag.class)) {
                 event.setNewCurrent(0);
@@ -188,12 +211,15 @@ public class BlockEventListener implements Listener {
     @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
     public void onPhysicsEvent(BlockPhysicsEvent event) {
         Block block = event.getBlock();
-        Location location = BukkitUtil.getLocation(block.getLocation());
-        PlotArea area = location.getPlotArea();
+        String world = block.getWorld().getName();
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        PlotArea area = getPlotArea(world, x, y, z);
         if (area == null) {
             return;
         }
-        Plot plot = area.getOwnedPlotAbs(location);
+        Plot plot = area.getOwnedPlotAbs(world, x, y, z);
         if (plot == null) {
             return;
         }
@@ -233,19 +259,19 @@ public class BlockEventListener implements Listener {
                                 (org.bukkit.block.data.Directional) block.getBlockData();
                             switch (piston.getFacing()) {
                                 case EAST:
-                                    location.setX(location.getX() + 1);
+                                    x++;
                                     break;
                                 case SOUTH:
-                                    location.setX(location.getX() - 1);
+                                    x--;
                                     break;
                                 case WEST:
-                                    location.setZ(location.getZ() + 1);
+                                    z++;
                                     break;
                                 case NORTH:
-                                    location.setZ(location.getZ() - 1);
+                                    z--;
                                     break;
                             }
-                            Plot newPlot = area.getOwnedPlotAbs(location);
+                            Plot newPlot = area.getOwnedPlotAbs(world, x, y, z);
                             if (!plot.equals(newPlot)) {
                                 event.setCancelled(true);
                                 plot.debug("Prevented piston update because of invalid edge piston detection");
@@ -259,17 +285,19 @@ public class BlockEventListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void blockCreate(BlockPlaceEvent event) {
-        Location location = BukkitUtil.getLocation(event.getBlock().getLocation());
-        PlotArea area = location.getPlotArea();
+        String world = event.getBlock().getWorld().getName();
+        int x = event.getBlock().getX();
+        int y = event.getBlock().getY();
+        int z = event.getBlock().getZ();
+        PlotArea area = getPlotArea(world, x, y, z);
         if (area == null) {
             return;
         }
         Player player = event.getPlayer();
         BukkitPlayer pp = BukkitUtil.getPlayer(player);
-        Plot plot = area.getPlot(location);
+        Plot plot = area.getPlot(world, x, y, z);
         if (plot != null) {
-            if ((location.getY() > area.getMaxBuildHeight() || location.getY() < area
-                .getMinBuildHeight()) && !Permissions
+            if ((y > area.getMaxBuildHeight() || y < area.getMinBuildHeight()) && !Permissions
                 .hasPermission(pp, Captions.PERMISSION_ADMIN_BUILD_HEIGHT_LIMIT)) {
                 event.setCancelled(true);
                 MainUtil.sendMessage(pp, Captions.HEIGHT_LIMIT.getTranslated()
@@ -324,15 +352,18 @@ public class BlockEventListener implements Listener {
 
     @EventHandler(priority = EventPriority.LOWEST) public void blockDestroy(BlockBreakEvent event) {
         Player player = event.getPlayer();
-        Location location = BukkitUtil.getLocation(event.getBlock().getLocation());
-        PlotArea area = location.getPlotArea();
+        String world = event.getBlock().getWorld().getName();
+        int x = event.getBlock().getX();
+        int y = event.getBlock().getY();
+        int z = event.getBlock().getZ();
+        PlotArea area = getPlotArea(world, x, y, z);
         if (area == null) {
             return;
         }
-        Plot plot = area.getPlot(location);
+        Plot plot = area.getPlot(world, x, y, z);
         if (plot != null) {
             BukkitPlayer plotPlayer = BukkitUtil.getPlayer(player);
-            if (event.getBlock().getY() == 0) {
+            if (y == 0) {
                 if (!Permissions
                     .hasPermission(plotPlayer, Captions.PERMISSION_ADMIN_DESTROY_GROUNDLEVEL)) {
                     MainUtil.sendMessage(plotPlayer, Captions.NO_PERMISSION_EVENT,
@@ -340,8 +371,8 @@ public class BlockEventListener implements Listener {
                     event.setCancelled(true);
                     return;
                 }
-            } else if ((location.getY() > area.getMaxBuildHeight() || location.getY() < area
-                .getMinBuildHeight()) && !Permissions
+            } else if ((y > area.getMaxBuildHeight() || y < area.getMinBuildHeight())
+                && !Permissions
                 .hasPermission(plotPlayer, Captions.PERMISSION_ADMIN_BUILD_HEIGHT_LIMIT)) {
                 event.setCancelled(true);
                 MainUtil.sendMessage(plotPlayer, Captions.HEIGHT_LIMIT.getTranslated()
@@ -398,16 +429,19 @@ public class BlockEventListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockSpread(BlockSpreadEvent event) {
         Block block = event.getBlock();
-        Location location = BukkitUtil.getLocation(block.getLocation());
-        if (location.isPlotRoad()) {
-            event.setCancelled(true);
+        String world = block.getWorld().getName();
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        PlotArea area = getPlotArea(world, x, y, z);
+        if (area == null) {
             return;
         }
-        PlotArea area = location.getPlotArea();
-        if (area == null) {
+        if (area.getPlotAbs(world, x, y, z) == null) {
+            event.setCancelled(true);
             return;
         }
-        Plot plot = area.getOwnedPlot(location);
+        Plot plot = area.getOwnedPlot(world, x, y, z);
         if (plot == null) {
             return;
         }
@@ -444,16 +478,19 @@ public class BlockEventListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockForm(BlockFormEvent event) {
         Block block = event.getBlock();
-        Location location = BukkitUtil.getLocation(block.getLocation());
-        if (location.isPlotRoad()) {
-            event.setCancelled(true);
+        String world = block.getWorld().getName();
+        int x = block.getX();
+        int y = block.getY();
+        int z = block.getZ();
+        PlotArea area = getPlotArea(world, x, y, z);
+        if (area == null) {
             return;
         }
-        PlotArea area = location.getPlotArea();
-        if (area == null) {
+        if (area.getPlotAbs(world, x, y, z) == null) {
+            event.setCancelled(true);
             return;
         }
-        Plot plot = area.getOwnedPlot(location);
+        Plot plot = area.getOwnedPlot(world, x, y, z);
         if (plot == null) {
             return;
         }
@@ -477,16 +514,16 @@ public class BlockEventListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onEntityBlockForm(EntityBlockFormEvent event) {
-        String world = event.getBlock().getWorld().getName();
+        Block block = event.getBlock();
+        String world = block.getWorld().getName();
         if (!PlotSquared.get().hasPlotArea(world)) {
             return;
         }
-        Location location = BukkitUtil.getLocation(event.getBlock().getLocation());
-        PlotArea area = location.getPlotArea();
+        PlotArea area = getPlotArea(world, block.getX(), block.getY(), block.getZ());
         if (area == null) {
             return;
         }
-        Plot plot = area.getOwnedPlot(location);
+        Plot plot = area.getOwnedPlot(world, block.getX(), block.getY(), block.getZ());
         if (plot == null) {
             event.setCancelled(true);
             return;
@@ -523,15 +560,18 @@ public class BlockEventListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockDamage(BlockDamageEvent event) {
         Player player = event.getPlayer();
-        Location location = BukkitUtil.getLocation(event.getBlock().getLocation());
-        PlotArea area = location.getPlotArea();
+        String world = event.getBlock().getWorld().getName();
+        int x = event.getBlock().getX();
+        int y = event.getBlock().getY();
+        int z = event.getBlock().getZ();
+        PlotArea area = getPlotArea(world, x, y, z);
         if (area == null) {
             return;
         }
         if (player.getGameMode() != GameMode.SURVIVAL) {
             return;
         }
-        Plot plot = area.getPlot(location);
+        Plot plot = area.getPlot(world, x, y, z);
         if (plot != null) {
             if (plot.getFlag(InstabreakFlag.class)) {
                 Block block = event.getBlock();
@@ -541,7 +581,7 @@ public class BlockEventListener implements Listener {
                     event.getBlock().breakNaturally();
                 }
             }
-            if (location.getY() == 0) {
+            if (y == 0) {
                 event.setCancelled(true);
                 return;
             }
@@ -581,12 +621,12 @@ public class BlockEventListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onFade(BlockFadeEvent event) {
         Block block = event.getBlock();
-        Location location = BukkitUtil.getLocation(block.getLocation());
-        PlotArea area = location.getPlotArea();
+        String world = block.getWorld().getName();
+        PlotArea area = getPlotArea(world, block.getX(), block.getY(), block.getZ());
         if (area == null) {
             return;
         }
-        Plot plot = area.getOwnedPlot(location);
+        Plot plot = area.getOwnedPlot(world, block.getX(), block.getY(), block.getZ());
         if (plot == null) {
             event.setCancelled(true);
             return;
@@ -643,10 +683,13 @@ public class BlockEventListener implements Listener {
         Block from = event.getBlock();
 
         // Check liquid flow flag inside of origin plot too
-        final Location fLocation = BukkitUtil.getLocation(from.getLocation());
-        final PlotArea fromArea = fLocation.getPlotArea();
+        final String world = from.getWorld().getName();
+        final int fromX = from.getX();
+        final int fromY = from.getY();
+        final int fromZ = from.getZ();
+        final PlotArea fromArea = getPlotArea(world, fromX, fromY, fromZ);
         if (fromArea != null) {
-            final Plot plot = fromArea.getOwnedPlot(fLocation);
+            final Plot plot = fromArea.getOwnedPlot(world, fromX, fromY, fromZ);
             if (plot != null
                 && plot.getFlag(LiquidFlowFlag.class) == LiquidFlowFlag.FlowStatus.DISABLED && event
                 .getBlock().isLiquid()) {
@@ -657,15 +700,14 @@ public class BlockEventListener implements Listener {
         }
 
         Block to = event.getToBlock();
-        Location tLocation = BukkitUtil.getLocation(to.getLocation());
-        PlotArea area = tLocation.getPlotArea();
+        PlotArea area = getPlotArea(world, to.getX(), to.getY(), to.getZ());
         if (area == null) {
             return;
         }
-        Plot plot = area.getOwnedPlot(tLocation);
+        Plot plot = area.getOwnedPlot(world, to.getX(), to.getY(), to.getZ());
         if (plot != null) {
-            if (!area.contains(fLocation.getX(), fLocation.getZ()) || !Objects
-                .equals(plot, area.getOwnedPlot(fLocation))) {
+            if (!area.contains(fromX, fromZ) || !Objects
+                .equals(plot, area.getOwnedPlot(world, fromX, fromY, fromZ))) {
                 event.setCancelled(true);
                 return;
             }
@@ -684,12 +726,10 @@ public class BlockEventListener implements Listener {
                 plot.debug("Liquid could not flow because liquid-flow = disabled");
                 event.setCancelled(true);
             }
-        } else if (!area.contains(fLocation.getX(), fLocation.getZ()) || !Objects
-            .equals(null, area.getOwnedPlot(fLocation))) {
+        } else if (!area.contains(fromX, fromZ) || !Objects
+            .equals(null, area.getOwnedPlot(world, fromX, fromY, fromZ))) {
             event.setCancelled(true);
         } else if (event.getBlock().isLiquid()) {
-            final org.bukkit.Location location = event.getBlock().getLocation();
-
             /*
                 X = block location
                 A-H = potential plot locations
@@ -702,14 +742,14 @@ public class BlockEventListener implements Listener {
                v
                 <-----O-----> x
              */
-            if (BukkitUtil.getPlot(location.clone().add(-1, 0, 1)  /* A */) != null
-                || BukkitUtil.getPlot(location.clone().add(1, 0, 0)   /* B */) != null
-                || BukkitUtil.getPlot(location.clone().add(1, 0, 1)   /* C */) != null
-                || BukkitUtil.getPlot(location.clone().add(-1, 0, 0)  /* D */) != null
-                || BukkitUtil.getPlot(location.clone().add(1, 0, 0)   /* E */) != null
-                || BukkitUtil.getPlot(location.clone().add(-1, 0, -1) /* F */) != null
-                || BukkitUtil.getPlot(location.clone().add(0, 0, -1)  /* G */) != null
-                || BukkitUtil.getPlot(location.clone().add(1, 0, 1)   /* H */) != null) {
+            if (getPlot(world, fromX - 1, fromY, fromZ + 1) != null /* A */
+                || getPlot(world, fromX + 1, fromY, fromZ) != null /* B */
+                || getPlot(world, fromX + 1, fromY, fromZ + 1) != null /* C */
+                || getPlot(world, fromX - 1, fromY, fromZ) != null /* D */
+                || getPlot(world, fromX + 1, fromY, fromZ) != null /* E */
+                || getPlot(world, fromX - 1, fromY, fromZ - 1) != null /* F */
+                || getPlot(world, fromX, fromY, fromZ - 1) != null /* G */
+                || getPlot(world, fromX + 1, fromY, fromZ + 1) != null /* H */) {
                 event.setCancelled(true);
             }
         }
@@ -718,8 +758,10 @@ public class BlockEventListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onGrow(BlockGrowEvent event) {
         Block block = event.getBlock();
-        Location location = BukkitUtil.getLocation(block.getLocation());
-        if (location.isUnownedPlotArea()) {
+        String world = block.getWorld().getName();
+        PlotArea area = getPlotArea(world, block.getX(), block.getY(), block.getZ());
+        if (area != null
+            && area.getOwnedPlotAbs(world, block.getX(), block.getY(), block.getZ()) == null) {
             event.setCancelled(true);
         }
     }
@@ -727,51 +769,52 @@ public class BlockEventListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockPistonExtend(BlockPistonExtendEvent event) {
         Block block = event.getBlock();
-        Location location = BukkitUtil.getLocation(block.getLocation());
+        String world = block.getWorld().getName();
         BlockFace face = event.getDirection();
-        Vector relative = new Vector(face.getModX(), face.getModY(), face.getModZ());
-        PlotArea area = location.getPlotArea();
+        int relX = face.getModX();
+        int relY = face.getModY();
+        int relZ = face.getModZ();
+        PlotArea area = getPlotArea(world, block.getX(), block.getY(), block.getZ());
         if (area == null) {
-            if (!PlotSquared.get().hasPlotArea(location.getWorld())) {
+            if (!PlotSquared.get().hasPlotArea(world)) {
                 return;
             }
             for (Block block1 : event.getBlocks()) {
-                Location bloc = BukkitUtil.getLocation(block1.getLocation());
-                if (bloc.isPlotArea() || bloc
-                    .add(relative.getBlockX(), relative.getBlockY(), relative.getBlockZ())
-                    .isPlotArea()) {
+                if (getPlotArea(block1) != null || getPlotArea(world, block1.getX() + relX,
+                    block1.getY() + relY, block1.getZ() + relZ) != null) {
                     event.setCancelled(true);
                     return;
                 }
             }
-            if (location.add(relative.getBlockX(), relative.getBlockY(), relative.getBlockZ())
-                .isPlotArea()) {
+            if (getPlotArea(world, block.getX() + relX, block.getY() + relY,
+                block.getZ() + relZ) != null) {
                 // Prevent pistons from extending if they are: bordering a plot
                 // area, facing inside plot area, and not pushing any blocks
                 event.setCancelled(true);
             }
             return;
         }
-        Plot plot = area.getOwnedPlot(location);
+        Plot plot = area.getOwnedPlot(world, block.getX(), block.getY(), block.getZ());
         if (plot == null) {
             event.setCancelled(true);
             return;
         }
         for (Block block1 : event.getBlocks()) {
-            Location bloc = BukkitUtil.getLocation(block1.getLocation());
-            if (!area.contains(bloc.getX(), bloc.getZ()) || !area
-                .contains(bloc.getX() + relative.getBlockX(), bloc.getZ() + relative.getBlockZ())) {
+            int x = block1.getX();
+            int y = block1.getY();
+            int z = block1.getZ();
+            if (!area.contains(x, z) || !area.contains(x + relX, z + relZ)) {
                 event.setCancelled(true);
                 return;
             }
-            if (!plot.equals(area.getOwnedPlot(bloc)) || !plot.equals(area.getOwnedPlot(
-                bloc.add(relative.getBlockX(), relative.getBlockY(), relative.getBlockZ())))) {
+            if (!plot.equals(area.getOwnedPlot(world, x, y, z)) || !plot
+                .equals(area.getOwnedPlot(world, x + relX, y + relY, z + relZ))) {
                 event.setCancelled(true);
                 return;
             }
         }
-        if (!plot.equals(area.getOwnedPlot(
-            location.add(relative.getBlockX(), relative.getBlockY(), relative.getBlockZ())))) {
+        if (!plot.equals(area.getOwnedPlot(world, block.getX() + relX, block.getY() + relY,
+            block.getZ() + relZ))) {
             // This branch is only necessary to prevent pistons from extending
             // if they are: on a plot edge, facing outside the plot, and not
             // pushing any blocks
@@ -782,39 +825,40 @@ public class BlockEventListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockPistonRetract(BlockPistonRetractEvent event) {
         Block block = event.getBlock();
-        Location location = BukkitUtil.getLocation(block.getLocation());
+        String world = block.getWorld().getName();
         BlockFace face = event.getDirection();
-        Vector relative = new Vector(face.getModX(), face.getModY(), face.getModZ());
-        PlotArea area = location.getPlotArea();
+        int relX = face.getModX();
+        int relY = face.getModY();
+        int relZ = face.getModZ();
+        PlotArea area = getPlotArea(world, block.getX(), block.getY(), block.getZ());
         if (area == null) {
-            if (!PlotSquared.get().hasPlotArea(location.getWorld())) {
+            if (!PlotSquared.get().hasPlotArea(world)) {
                 return;
             }
             for (Block block1 : event.getBlocks()) {
-                Location bloc = BukkitUtil.getLocation(block1.getLocation());
-                if (bloc.isPlotArea() || bloc
-                    .add(relative.getBlockX(), relative.getBlockY(), relative.getBlockZ())
-                    .isPlotArea()) {
+                if (getPlotArea(block1) != null || getPlotArea(world, block1.getX() + relX,
+                    block1.getY() + relY, block1.getZ() + relZ) != null) {
                     event.setCancelled(true);
                     return;
                 }
             }
             return;
         }
-        Plot plot = area.getOwnedPlot(location);
+        Plot plot = area.getOwnedPlot(world, block.getX(), block.getY(), block.getZ());
         if (plot == null) {
             event.setCancelled(true);
             return;
         }
         for (Block block1 : event.getBlocks()) {
-            Location bloc = BukkitUtil.getLocation(block1.getLocation());
-            if (!area.contains(bloc.getX(), bloc.getZ()) || !area
-                .contains(bloc.getX() + relative.getBlockX(), bloc.getZ() + relative.getBlockZ())) {
+            int x = block1.getX();
+            int y = block1.getY();
+            int z = block1.getZ();
+            if (!area.contains(x, z) || !area.contains(x + relX, z + relZ)) {
                 event.setCancelled(true);
                 return;
             }
-            if (!plot.equals(area.getOwnedPlot(bloc)) || !plot.equals(area.getOwnedPlot(
-                bloc.add(relative.getBlockX(), relative.getBlockY(), relative.getBlockZ())))) {
+            if (!plot.equals(area.getOwnedPlot(world, x, y, z)) || !plot
+                .equals(area.getOwnedPlot(world, x + relX, y + relY, z + relZ))) {
                 event.setCancelled(true);
                 return;
             }
@@ -861,9 +905,7 @@ public class BlockEventListener implements Listener {
                 }
                 BlockFace targetFace =
                     ((Directional) event.getBlock().getState().getData()).getFacing();
-                Location location =
-                    BukkitUtil.getLocation(event.getBlock().getRelative(targetFace).getLocation());
-                if (location.isPlotRoad()) {
+                if (isPlotRoad(event.getBlock().getRelative(targetFace))) {
                     event.setCancelled(true);
                 }
             }
@@ -872,49 +914,50 @@ public class BlockEventListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onStructureGrow(StructureGrowEvent event) {
-        if (!PlotSquared.get().hasPlotArea(event.getWorld().getName())) {
+        String world = event.getWorld().getName();
+        if (!PlotSquared.get().hasPlotArea(world)) {
             return;
         }
         List<org.bukkit.block.BlockState> blocks = event.getBlocks();
         if (blocks.isEmpty()) {
             return;
         }
-        Location location = BukkitUtil.getLocation(blocks.get(0).getLocation());
-        PlotArea area = location.getPlotArea();
+        org.bukkit.block.BlockState first = blocks.get(0);
+        PlotArea area = getPlotArea(world, first.getX(), first.getY(), first.getZ());
         if (area == null) {
             for (int i = blocks.size() - 1; i >= 0; i--) {
-                location = BukkitUtil.getLocation(blocks.get(i).getLocation());
-                if (location.isPlotArea()) {
+                org.bukkit.block.BlockState state = blocks.get(i);
+                if (getPlotArea(world, state.getX(), state.getY(), state.getZ()) != null) {
                     blocks.remove(i);
                 }
             }
             return;
         } else {
-            Plot origin = area.getOwnedPlot(location);
+            Plot origin = area.getOwnedPlot(world, first.getX(), first.getY(), first.getZ());
             if (origin == null) {
                 event.setCancelled(true);
                 return;
             }
             for (int i = blocks.size() - 1; i >= 0; i--) {
-                location = BukkitUtil.getLocation(blocks.get(i).getLocation());
-                if (!area.contains(location.getX(), location.getZ())) {
+                org.bukkit.block.BlockState state = blocks.get(i);
+                if (!area.contains(state.getX(), state.getZ())) {
                     blocks.remove(i);
                     continue;
                 }
-                Plot plot = area.getOwnedPlot(location);
+                Plot plot = area.getOwnedPlot(world, state.getX(), state.getY(), state.getZ());
                 if (!Objects.equals(plot, origin)) {
                     event.getBlocks().remove(i);
                 }
             }
         }
-        Plot origin = area.getPlot(location);
+        Plot origin = area.getPlot(world, first.getX(), first.getY(), first.getZ());
         if (origin == null) {
             event.setCancelled(true);
             return;
         }
         for (int i = blocks.size() - 1; i >= 0; i--) {
-            location = BukkitUtil.getLocation(blocks.get(i).getLocation());
-            Plot plot = area.getOwnedPlot(location);
+            org.bukkit.block.BlockState state = blocks.get(i);
+            Plot plot = area.getOwnedPlot(world, state.getX(), state.getY(), state.getZ());
             /*
              * plot → the base plot of the merged area
              * origin → the plot where the event gets called
@@ -931,23 +974,21 @@ public class BlockEventListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBigBoom(BlockExplodeEvent event) {
         Block block = event.getBlock();
-        Location location = BukkitUtil.getLocation(block.getLocation());
-        String world = location.getWorld();
+        String world = block.getWorld().getName();
         if (!PlotSquared.get().hasPlotArea(world)) {
             return;
         }
-        PlotArea area = location.getPlotArea();
+        PlotArea area = getPlotArea(world, block.getX(), block.getY(), block.getZ());
         if (area == null) {
             Iterator<Block> iterator = event.blockList().iterator();
             while (iterator.hasNext()) {
-                location = BukkitUtil.getLocation(iterator.next().getLocation());
-                if (location.isPlotArea()) {
+                if (getPlotArea(iterator.next()) != null) {
                     iterator.remove();
                 }
             }
             return;
         }
-        Plot plot = area.getOwnedPlot(location);
+        Plot plot = area.getOwnedPlot(world, block.getX(), block.getY(), block.getZ());
         if (plot == null || !plot.getFlag(ExplosionFlag.class)) {
             event.setCancelled(true);
             if (plot != null) {
@@ -955,20 +996,20 @@ public class BlockEventListener implements Listener {
             }
         }
         event.blockList().removeIf(blox -> plot != null && !plot
-            .equals(area.getOwnedPlot(BukkitUtil.getLocation(blox.getLocation()))));
+            .equals(area.getOwnedPlot(world, blox.getX(), blox.getY(), blox.getZ())));
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockBurn(BlockBurnEvent event) {
         Block block = event.getBlock();
-        Location location = BukkitUtil.getLocation(block.getLocation());
+        String world = block.getWorld().getName();
 
-        PlotArea area = location.getPlotArea();
+        PlotArea area = getPlotArea(world, block.getX(), block.getY(), block.getZ());
         if (area == null) {
             return;
         }
 
-        Plot plot = location.getOwnedPlot();
+        Plot plot = area.getOwnedPlot(world, block.getX(), block.getY(), block.getZ());
         if (plot == null || !plot.getFlag(BlockBurnFlag.class)) {
             if (plot != null) {
                 plot.debug("Block burning was cancelled because block-burn = false");
@@ -984,8 +1025,8 @@ public class BlockEventListener implements Listener {
         Entity ignitingEntity = event.getIgnitingEntity();
         Block block = event.getBlock();
         BlockIgniteEvent.IgniteCause igniteCause = event.getCause();
-        Location location1 = BukkitUtil.getLocation(block.getLocation());
-        PlotArea area = location1.getPlotArea();
+        String world = block.getWorld().getName();
+        PlotArea area = getPlotArea(world, block.getX(), block.getY(), block.getZ());
         if (area == null) {
             return;
         }
@@ -994,7 +1035,7 @@ public class BlockEventListener implements Listener {
             return;
         }
 
-        Plot plot = area.getOwnedPlot(location1);
+        Plot plot = area.getOwnedPlot(world, block.getX(), block.getY(), block.getZ());
         if (player != null) {
             BukkitPlayer pp = BukkitUtil.getPlayer(player);
             if (plot == null) {
@@ -1050,7 +1091,8 @@ public class BlockEventListener implements Listener {
 
             } else if (event.getIgnitingBlock() != null) {
                 Block ignitingBlock = event.getIgnitingBlock();
-                Plot plotIgnited = BukkitUtil.getLocation(ignitingBlock.getLocation()).getPlot();
+                Plot plotIgnited = getPlot(world, ignitingBlock.getX(), ignitingBlock.getY(),
+                    ignitingBlock.getZ());
                 if (igniteCause == BlockIgniteEvent.IgniteCause.FLINT_AND_STEEL && (
                     !plot.getFlag(BlockIgnitionFlag.class) || plotIgnited == null || !plotIgnited
                         .equals(plot)) || (igniteCause == BlockIgniteEvent.IgniteCause.SPREAD
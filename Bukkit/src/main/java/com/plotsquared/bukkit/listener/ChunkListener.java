@@ -29,6 +29,9 @@ import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotIndexListener;
+import com.plotsquared.core.util.ChunkCounter;
 import com.plotsquared.core.util.ReflectionUtils.RefClass;
 import com.plotsquared.core.util.ReflectionUtils.RefField;
 import com.plotsquared.core.util.ReflectionUtils.RefMethod;
@@ -51,16 +54,54 @@ import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.event.entity.ItemSpawnEvent;
 import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.event.world.ChunkUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Method;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 import static com.plotsquared.core.util.ReflectionUtils.getRefClass;
 
+/**
+ * Enforces the chunk processor limits, and trims unclaimed chunks when auto trim is enabled.
+ * <p>
+ * Auto trim keeps a queue of loaded chunks of plot worlds that may be unloaded, which is
+ * filled as chunks load. Every tick, queued chunks that no player uses are unloaded, and
+ * saved only if they intersect a claimed plot. Each world counts how many plots cover each
+ * of its chunks in a {@link ChunkCounter}. The counts are collected once when the world is
+ * first trimmed, and then updated whenever a plot is added to or removed from a plot area.
+ * Every plot covers the chunks of its own area and a margin of one chunk around them, which
+ * includes the road to a plot it is merged with, unless the road is wider than 16 blocks.
+ * Chunks in use are checked again a few at a time, so the cost of a tick follows the number
+ * of chunks that load and plots that change.
+ * <p>
+ * A chunk is only ever unloaded without saving after checking that no owned plot covers it.
+ */
 @SuppressWarnings("unused")
-public class ChunkListener implements Listener {
+public class ChunkListener implements Listener, PlotIndexListener {
+
+    /**
+     * Number of chunks around a plot that are kept with it
+     */
+    private static final int CLAIM_MARGIN = 1;
+    private static final long TRIM_BUDGET = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final int IN_USE_CHECKS = 32;
 
+    private final Map<String, TrimWorld> trimWorlds = new HashMap<>();
+    /**
+     * Plots that have been added or removed since the last tick, from any thread
+     */
+    private final Queue<ClaimChange> claimChanges = new ConcurrentLinkedQueue<>();
     private RefMethod methodGetHandleChunk;
+    private RefMethod methodGetHandleWorld;
+    private RefMethod methodGetPlayerChunkMap;
+    private RefMethod methodIsChunkInUse;
     private RefField mustSave;
     private Chunk lastChunk;
     private boolean ignoreUnload = false;
@@ -70,8 +111,15 @@ public class ChunkListener implements Listener {
             try {
                 RefClass classChunk = getRefClass("{nms}.Chunk");
                 RefClass classCraftChunk = getRefClass("{cb}.CraftChunk");
+                RefClass classCraftWorld = getRefClass("{cb}.CraftWorld");
+                RefClass classWorldServer = getRefClass("{nms}.WorldServer");
+                RefClass classPlayerChunkMap = getRefClass("{nms}.PlayerChunkMap");
                 this.mustSave = classChunk.getField("mustSave");
                 this.methodGetHandleChunk = classCraftChunk.getMethod("getHandle");
+                this.methodGetHandleWorld = classCraftWorld.getMethod("getHandle");
+                this.methodGetPlayerChunkMap = classWorldServer.getMethod("getPlayerChunkMap");
+                this.methodIsChunkInUse =
+                    classPlayerChunkMap.getMethod("isChunkInUse", int.class, int.class);
             } catch (Throwable ignored) {
                 PlotSquared.debug(PlotSquared.get().IMP.getPluginName()
                     + "/Server not compatible for chunk processor trim/gc");
@@ -82,50 +130,95 @@ public class ChunkListener implements Listener {
         if (!Settings.Chunk_Processor.AUTO_TRIM) {
             return;
         }
+        PlotArea.registerIndexListener(this);
         for (World world : Bukkit.getWorlds()) {
             world.setAutoSave(false);
+            getTrimWorld(world);
         }
-        TaskManager.runTaskRepeat(() -> {
-            try {
-                HashSet<Chunk> toUnload = new HashSet<>();
-                for (World world : Bukkit.getWorlds()) {
-                    String worldName = world.getName();
-                    if (!PlotSquared.get().hasPlotArea(worldName)) {
-                        continue;
-                    }
-                    Object w = world.getClass().getDeclaredMethod("getHandle").invoke(world);
-                    Object chunkMap = w.getClass().getDeclaredMethod("getPlayerChunkMap").invoke(w);
-                    Method methodIsChunkInUse =
-                        chunkMap.getClass().getDeclaredMethod("isChunkInUse", int.class, int.class);
-                    Chunk[] chunks = world.getLoadedChunks();
-                    for (Chunk chunk : chunks) {
-                        if ((boolean) methodIsChunkInUse
-                            .invoke(chunkMap, chunk.getX(), chunk.getZ())) {
-                            continue;
-                        }
-                        int x = chunk.getX();
-                        int z = chunk.getZ();
-                        if (!shouldSave(worldName, x, z)) {
-                            unloadChunk(worldName, chunk, false);
-                            continue;
-                        }
-                        toUnload.add(chunk);
-                    }
+        TaskManager.runTaskRepeat(this::trim, 1);
+    }
+
+    @Nullable private TrimWorld getTrimWorld(@NotNull final World world) {
+        TrimWorld trimWorld = this.trimWorlds.get(world.getName());
+        if (trimWorld == null && PlotSquared.get().hasPlotArea(world.getName())) {
+            final Object handle = this.methodGetHandleWorld.of(world).call();
+            trimWorld =
+                new TrimWorld(world, this.methodGetPlayerChunkMap.of(handle).call());
+            for (Chunk chunk : world.getLoadedChunks()) {
+                trimWorld.candidates.add(getChunkKey(chunk.getX(), chunk.getZ()));
+            }
+            // Changes queued so far are part of the plots that are counted now
+            applyClaimChanges();
+            for (PlotArea area : PlotSquared.get().getPlotAreas(world.getName())) {
+                for (Plot plot : area.getPlots()) {
+                    new ClaimChange(plot, true).apply(trimWorld.claimed);
                 }
-                if (toUnload.isEmpty()) {
-                    return;
+            }
+            this.trimWorlds.put(world.getName(), trimWorld);
+        }
+        return trimWorld;
+    }
+
+    private void applyClaimChanges() {
+        ClaimChange change;
+        while ((change = this.claimChanges.poll()) != null) {
+            final TrimWorld trimWorld = this.trimWorlds.get(change.world);
+            if (trimWorld != null) {
+                change.apply(trimWorld.claimed);
+            }
+        }
+    }
+
+    private static long getChunkKey(final int chunkX, final int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    private void trim() {
+        try {
+            final long deadline = System.nanoTime() + TRIM_BUDGET;
+            applyClaimChanges();
+            for (TrimWorld trimWorld : this.trimWorlds.values()) {
+                final Iterator<Long> inUse = trimWorld.inUse.iterator();
+                for (int i = 0; i < IN_USE_CHECKS && inUse.hasNext(); i++) {
+                    trimWorld.candidates.add(inUse.next());
+                    inUse.remove();
                 }
-                long start = System.currentTimeMillis();
-                for (Chunk chunk : toUnload) {
-                    if (System.currentTimeMillis() - start > 5) {
-                        return;
-                    }
-                    chunk.unload(true);
+                while (!trimWorld.candidates.isEmpty() && System.nanoTime() < deadline) {
+                    final Iterator<Long> iterator = trimWorld.candidates.iterator();
+                    final long key = iterator.next();
+                    iterator.remove();
+                    trim(trimWorld, key);
                 }
-            } catch (Throwable e) {
-                e.printStackTrace();
             }
-        }, 1);
+        } catch (Throwable e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void trim(@NotNull final TrimWorld trimWorld, final long key) {
+        final int x = (int) (key >> 32);
+        final int z = (int) key;
+        if (!trimWorld.world.isChunkLoaded(x, z)) {
+            return;
+        }
+        if ((boolean) this.methodIsChunkInUse.of(trimWorld.chunkMap).call(x, z)) {
+            trimWorld.inUse.add(key);
+            return;
+        }
+        final Chunk chunk = trimWorld.world.getChunkAt(x, z);
+        if (trimWorld.claimed.contains(x, z) || hasOwnedPlot(trimWorld.world.getName(), x, z)) {
+            chunk.unload(true);
+        } else {
+            unloadChunk(trimWorld.world.getName(), chunk, false);
+        }
+    }
+
+    @Override public void onPlotAdded(@NotNull PlotArea area, @NotNull Plot plot) {
+        this.claimChanges.add(new ClaimChange(plot, true));
+    }
+
+    @Override public void onPlotRemoved(@NotNull PlotArea area, @NotNull Plot plot) {
+        this.claimChanges.add(new ClaimChange(plot, false));
     }
 
     public boolean unloadChunk(String world, Chunk chunk, boolean safe) {
@@ -146,6 +239,18 @@ public class ChunkListener implements Listener {
     }
 
     public boolean shouldSave(String world, int chunkX, int chunkZ) {
+        TrimWorld trimWorld = this.trimWorlds.get(world);
+        if (trimWorld != null && trimWorld.claimed.contains(chunkX, chunkZ)) {
+            return true;
+        }
+        return hasOwnedPlot(world, chunkX, chunkZ);
+    }
+
+    /**
+     * Check whether an owned plot covers a chunk, by looking up the plots at its corners
+     * and center
+     */
+    private static boolean hasOwnedPlot(String world, int chunkX, int chunkZ) {
         int x = chunkX << 4;
         int z = chunkZ << 4;
         int x2 = x + 15;
@@ -171,10 +276,18 @@ public class ChunkListener implements Listener {
     }
 
     @EventHandler public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        if (Settings.Chunk_Processor.AUTO_TRIM) {
+            TrimWorld trimWorld = this.trimWorlds.get(chunk.getWorld().getName());
+            if (trimWorld != null) {
+                long key = getChunkKey(chunk.getX(), chunk.getZ());
+                trimWorld.candidates.remove(key);
+                trimWorld.inUse.remove(key);
+            }
+        }
         if (ignoreUnload) {
             return;
         }
-        Chunk chunk = event.getChunk();
         if (Settings.Chunk_Processor.AUTO_TRIM) {
             String world = chunk.getWorld().getName();
             if (PlotSquared.get().hasPlotArea(world)) {
@@ -189,7 +302,14 @@ public class ChunkListener implements Listener {
     }
 
     @EventHandler public void onChunkLoad(ChunkLoadEvent event) {
-        processChunk(event.getChunk(), false);
+        Chunk chunk = event.getChunk();
+        if (Settings.Chunk_Processor.AUTO_TRIM) {
+            TrimWorld trimWorld = getTrimWorld(chunk.getWorld());
+            if (trimWorld != null) {
+                trimWorld.candidates.add(getChunkKey(chunk.getX(), chunk.getZ()));
+            }
+        }
+        processChunk(chunk, false);
     }
 
     @EventHandler(priority = EventPriority.LOWEST) public void onItemSpawn(ItemSpawnEvent event) {
@@ -316,4 +436,57 @@ public class ChunkListener implements Listener {
         }
         return false;
     }
+
+    /**
+     * Auto trim state of a plot world
+     */
+    private static final class TrimWorld {
+
+        private final World world;
+        private final Object chunkMap;
+        private final Set<Long> candidates = new LinkedHashSet<>();
+        private final Set<Long> inUse = new LinkedHashSet<>();
+        private final ChunkCounter claimed = new ChunkCounter();
+
+        private TrimWorld(@NotNull final World world, @NotNull final Object chunkMap) {
+            this.world = world;
+            this.chunkMap = chunkMap;
+        }
+
+    }
+
+    /**
+     * Chunks covered by a plot that has been added to or removed from a plot area. The
+     * chunks are taken from the position of the plot when the change is recorded, so the
+     * same chunks are counted when the plot is removed again.
+     */
+    private static final class ClaimChange {
+
+        private final String world;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int maxChunkX;
+        private final int maxChunkZ;
+        private final boolean added;
+
+        private ClaimChange(@NotNull final Plot plot, final boolean added) {
+            final Location bottom = plot.getBottomAbs();
+            final Location top = plot.getTopAbs();
+            this.world = plot.getWorldName();
+            this.minChunkX = (bottom.getX() >> 4) - CLAIM_MARGIN;
+            this.minChunkZ = (bottom.getZ() >> 4) - CLAIM_MARGIN;
+            this.maxChunkX = (top.getX() >> 4) + CLAIM_MARGIN;
+            this.maxChunkZ = (top.getZ() >> 4) + CLAIM_MARGIN;
+            this.added = added;
+        }
+
+        private void apply(@NotNull final ChunkCounter claimed) {
+            if (this.added) {
+                claimed.add(this.minChunkX, this.minChunkZ, this.maxChunkX, this.maxChunkZ);
+            } else {
+                claimed.remove(this.minChunkX, this.minChunkZ, this.maxChunkX, this.maxChunkZ);
+            }
+        }
+
+    }
 }
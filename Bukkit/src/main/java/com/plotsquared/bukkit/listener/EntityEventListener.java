@@ -192,12 +192,12 @@ public class EntityEventListener implements Listener {
         if (!PlotSquared.get().hasPlotArea(worldName)) {
             return;
         }
-        Location location = BukkitUtil.getLocation(block.getLocation());
-        PlotArea area = location.getPlotArea();
+        PlotArea area = PlotSquared.get().getPlotAreaManager()
+            .getPlotArea(worldName, block.getX(), block.getY(), block.getZ());
         if (area == null) {
             return;
         }
-        Plot plot = area.getOwnedPlotAbs(location);
+        Plot plot = area.getOwnedPlotAbs(worldName, block.getX(), block.getY(), block.getZ());
         if (plot == null || plot.getFlag(DisablePhysicsFlag.class)) {
             event.setCancelled(true);
             if (plot != null) {
@@ -283,12 +283,13 @@ public class EntityEventListener implements Listener {
                     }
                     this.lastRadius = 0;
                 }
+                String world = location.getWorld();
                 Iterator<Block> iterator = event.blockList().iterator();
                 while (iterator.hasNext()) {
                     Block block = iterator.next();
-                    location = BukkitUtil.getLocation(block.getLocation());
-                    if (!area.contains(location.getX(), location.getZ()) || (origin != null
-                        && !origin.equals(area.getOwnedPlot(location)))) {
+                    if (!area.contains(block.getX(), block.getZ()) || (origin != null && !origin
+                        .equals(area.getOwnedPlot(world, block.getX(), block.getY(),
+                            block.getZ())))) {
                         iterator.remove();
                     }
                 }
@@ -304,10 +305,12 @@ public class EntityEventListener implements Listener {
     public void onPeskyMobsChangeTheWorldLikeWTFEvent(EntityChangeBlockEvent event) {
         Entity e = event.getEntity();
         if (!(e instanceof FallingBlock)) {
-            Location location = BukkitUtil.getLocation(event.getBlock().getLocation());
-            PlotArea area = location.getPlotArea();
+            Block block = event.getBlock();
+            String world = block.getWorld().getName();
+            PlotArea area = PlotSquared.get().getPlotAreaManager()
+                .getPlotArea(world, block.getX(), block.getY(), block.getZ());
             if (area != null) {
-                Plot plot = area.getOwnedPlot(location);
+                Plot plot = area.getOwnedPlot(world, block.getX(), block.getY(), block.getZ());
                 if (plot != null && plot.getFlag(MobPlaceFlag.class)) {
                     return;
                 }
@@ -26,12 +26,14 @@
 package com.plotsquared.bukkit.listener;
 
 import com.destroystokyo.paper.event.entity.EntityPathfindEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
 import com.destroystokyo.paper.event.entity.PlayerNaturallySpawnCreaturesEvent;
 import com.destroystokyo.paper.event.entity.PreCreatureSpawnEvent;
 import com.destroystokyo.paper.event.entity.PreSpawnerSpawnEvent;
 import com.destroystokyo.paper.event.entity.SlimePathfindEvent;
 import com.destroystokyo.paper.event.player.PlayerLaunchProjectileEvent;
 import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
 import com.plotsquared.bukkit.util.BukkitUtil;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.command.Command;
@@ -58,6 +60,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.projectiles.ProjectileSource;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -71,8 +74,19 @@ import java.util.regex.Pattern;
 @SuppressWarnings("unused")
 public class PaperListener implements Listener {
 
+    private final BukkitEntityCounter entityCounter;
     private Chunk lastChunk;
 
+    public PaperListener(@NotNull final BukkitEntityCounter entityCounter) {
+        this.entityCounter = entityCounter;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemoveFromWorld(EntityRemoveFromWorldEvent event) {
+        // Catches removals that have no dedicated event on Spigot
+        this.entityCounter.untrack(event.getEntity());
+    }
+
     @EventHandler public void onEntityPathfind(EntityPathfindEvent event) {
         if (!Settings.Paper_Components.ENTITY_PATHING) {
             return;
@@ -279,8 +293,9 @@ public class PaperListener implements Listener {
         if (!(event.getBlock().getState(false) instanceof TileState)) {
             return;
         }
-        final Location location = BukkitUtil.getLocation(event.getBlock().getLocation());
-        final PlotArea plotArea = location.getPlotArea();
+        final Block block = event.getBlock();
+        final PlotArea plotArea = PlotSquared.get().getPlotAreaManager()
+            .getPlotArea(block.getWorld().getName(), block.getX(), block.getY(), block.getZ());
         if (plotArea == null) {
             return;
         }
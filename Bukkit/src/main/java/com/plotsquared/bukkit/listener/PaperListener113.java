@@ -25,15 +25,17 @@
  */
 package com.plotsquared.bukkit.listener;
 
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
 import com.plotsquared.bukkit.util.BukkitUtil;
+import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Captions;
 import com.plotsquared.core.configuration.Settings;
-import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.PlotArea;
 import org.bukkit.block.Banner;
 import org.bukkit.block.Beacon;
 import org.bukkit.block.Bed;
+import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.CommandBlock;
 import org.bukkit.block.Comparator;
@@ -50,9 +52,14 @@ import org.bukkit.block.Skull;
 import org.bukkit.block.Structure;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.block.BlockPlaceEvent;
+import org.jetbrains.annotations.NotNull;
 
 public class PaperListener113 extends PaperListener {
 
+    public PaperListener113(@NotNull final BukkitEntityCounter entityCounter) {
+        super(entityCounter);
+    }
+
     @EventHandler
     public void onBlockPlace(BlockPlaceEvent event) {
         if (!Settings.Paper_Components.TILE_ENTITY_CHECK || !Settings.Enabled_Components.CHUNK_PROCESSOR) {
@@ -67,8 +74,9 @@ public class PaperListener113 extends PaperListener {
                 || state instanceof Structure)) {
             return;
         }
-        final Location location = BukkitUtil.getLocation(event.getBlock().getLocation());
-        final PlotArea plotArea = location.getPlotArea();
+        final Block block = event.getBlock();
+        final PlotArea plotArea = PlotSquared.get().getPlotAreaManager()
+            .getPlotArea(block.getWorld().getName(), block.getX(), block.getY(), block.getZ());
         if (plotArea == null) {
             return;
         }
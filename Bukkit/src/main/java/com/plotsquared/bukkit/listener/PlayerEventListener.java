@@ -449,7 +449,11 @@ public class PlayerEventListener extends PlotListener implements Listener {
                     if (EntityCategories.VEHICLE.contains(entityType) && !EntityCategories.ANIMAL
                         .contains(entityType)) {
                         List<MetadataValue> meta = vehicle.getMetadata("plot");
-                        Plot toPlot = BukkitUtil.getLocation(to).getPlot();
+                        String world = to.getWorld().getName();
+                        int toY = MathMan.roundInt(to.getY());
+                        PlotArea area = PlotSquared.get().getPlotAreaManager()
+                            .getPlotArea(world, toX, toY, toZ);
+                        Plot toPlot = area == null ? null : area.getPlot(world, toX, toY, toZ);
                         if (!meta.isEmpty()) {
                             Plot origin = (Plot) meta.get(0).value();
                             if (origin != null && !origin.getBasePlot(false).equals(toPlot)) {
@@ -466,6 +470,22 @@ public class PlayerEventListener extends PlotListener implements Listener {
         }
     }
 
+    /**
+     * Update the last known location of a player. The stored location is
+     * updated in place while the player stays in the same world, so that
+     * movement does not create a new location for every block.
+     */
+    private static void updateLocation(BukkitPlayer pp, String world, int x, int y, int z) {
+        Location location = pp.getMeta(PlotPlayer.META_LOCATION);
+        if (location != null && world.equals(location.getWorld())) {
+            location.setX(x);
+            location.setY(y);
+            location.setZ(z);
+        } else {
+            pp.setMeta(PlotPlayer.META_LOCATION, new Location(world, x, y, z));
+        }
+    }
+
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void playerMove(PlayerMoveEvent event) {
         if (!isRealPlayerCheck.test(event.getPlayer())) {
@@ -482,14 +502,16 @@ public class PlayerEventListener extends PlotListener implements Listener {
                 MainUtil.sendMessage(pp, Captions.TELEPORT_FAILED);
             }
             // Set last location
-            Location location = BukkitUtil.getLocation(to);
-            pp.setMeta(PlotPlayer.META_LOCATION, location);
-            PlotArea area = location.getPlotArea();
+            String world = to.getWorld().getName();
+            int toY = MathMan.roundInt(to.getY());
+            int toZ = MathMan.roundInt(to.getZ());
+            updateLocation(pp, world, x2, toY, toZ);
+            PlotArea area = PlotSquared.get().getPlotAreaManager().getPlotArea(world, x2, toY, toZ);
             if (area == null) {
                 pp.deleteMeta(PlotPlayer.META_LAST_PLOT);
                 return;
             }
-            Plot now = area.getPlot(location);
+            Plot now = area.getPlot(world, x2, toY, toZ);
             Plot lastPlot = pp.getMeta(PlotPlayer.META_LAST_PLOT);
             if (now == null) {
                 if (lastPlot != null && !plotExit(pp, lastPlot) && this.tmpTeleport && !pp
@@ -544,14 +566,16 @@ public class PlayerEventListener extends PlotListener implements Listener {
                 MainUtil.sendMessage(pp, Captions.TELEPORT_FAILED);
             }
             // Set last location
-            Location location = BukkitUtil.getLocation(to);
-            pp.setMeta(PlotPlayer.META_LOCATION, location);
-            PlotArea area = location.getPlotArea();
+            String world = to.getWorld().getName();
+            int toX = MathMan.roundInt(to.getX());
+            int toY = MathMan.roundInt(to.getY());
+            updateLocation(pp, world, toX, toY, z2);
+            PlotArea area = PlotSquared.get().getPlotAreaManager().getPlotArea(world, toX, toY, z2);
             if (area == null) {
                 pp.deleteMeta(PlotPlayer.META_LAST_PLOT);
                 return;
             }
-            Plot now = area.getPlot(location);
+            Plot now = area.getPlot(world, toX, toY, z2);
             Plot lastPlot = pp.getMeta(PlotPlayer.META_LAST_PLOT);
             if (now == null) {
                 if (lastPlot != null && !plotExit(pp, lastPlot) && this.tmpTeleport && !pp
@@ -45,26 +45,66 @@ import io.papermc.lib.PaperLib;
 import lombok.NonNull;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Biome;
 import org.bukkit.block.Block;
 import org.bukkit.block.Container;
 import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 public class BukkitLocalQueue extends BasicLocalBlockQueue {
 
+    private static final Map<BlockState, BlockData> BLOCK_DATA = new ConcurrentHashMap<>();
+    private static final AtomicLong SKIPPED_BLOCKS = new AtomicLong();
+    private static final AtomicLong WRITTEN_BLOCKS = new AtomicLong();
+
     public BukkitLocalQueue(String world) {
         super(world);
     }
 
     @Override public LocalChunk getLocalChunk(int x, int z) {
-        return new BasicLocalChunk(this, x, z) {
-            // Custom stuff?
-        };
+        return new BukkitLocalChunk(this, x, z);
+    }
+
+    /**
+     * Convert the queued blocks to {@link BlockData} off the main thread. Every
+     * distinct block of the chunk palette is only converted once.
+     */
+    @Override public void prepare(@NotNull LocalChunk lc) {
+        if (!(lc instanceof BukkitLocalChunk)) {
+            return;
+        }
+        final Map<BaseBlock, BlockData> converted = new IdentityHashMap<>();
+        final BlockData[][] blockData = new BlockData[16][];
+        for (int layer = 0; layer < blockData.length; layer++) {
+            if (!lc.hasSection(layer)) {
+                continue;
+            }
+            final BlockData[] section = blockData[layer] = new BlockData[4096];
+            for (int j = 0; j < section.length; j++) {
+                final BaseBlock block = lc.getBlock(layer, j);
+                if (block != null) {
+                    section[j] = converted.computeIfAbsent(block, BukkitLocalQueue::toBlockData);
+                }
+            }
+        }
+        ((BukkitLocalChunk) lc).blockData = blockData;
+    }
+
+    private static BlockData toBlockData(@NotNull final BaseBlock block) {
+        return BLOCK_DATA.computeIfAbsent(block.toImmutableState(),
+            state -> Bukkit.createBlockData(state.getAsString()));
     }
 
     @Override public void optimize() {
@@ -124,33 +164,44 @@ public class BukkitLocalQueue extends BasicLocalBlockQueue {
         if (worldObj == null) {
             throw new NullPointerException("World cannot be null.");
         }
+        final BlockData[][] prepared =
+            localChunk instanceof BukkitLocalChunk ? ((BukkitLocalChunk) localChunk).blockData :
+                null;
         final Consumer<Chunk> chunkConsumer = chunk -> {
-            for (int layer = 0; layer < localChunk.baseblocks.length; layer++) {
-                BaseBlock[] blocksLayer = localChunk.baseblocks[layer];
-                if (blocksLayer != null) {
-                    for (int j = 0; j < blocksLayer.length; j++) {
-                        if (blocksLayer[j] != null) {
-                            BaseBlock block = blocksLayer[j];
+            // Read the chunk once instead of creating a block and its state for every position
+            final ChunkSnapshot snapshot = chunk.getChunkSnapshot(false, false, false);
+            final Map<Integer, Container> containers = getContainers(chunk);
+            final Map<BaseBlock, BlockData> converted = new IdentityHashMap<>();
+            int skipped = 0;
+            int written = 0;
+            for (int layer = 0; layer < 16; layer++) {
+                if (localChunk.hasSection(layer)) {
+                    for (int j = 0; j < 4096; j++) {
+                        BaseBlock block = localChunk.getBlock(layer, j);
+                        if (block != null) {
                             int x = MainUtil.x_loc[layer][j];
                             int y = MainUtil.y_loc[layer][j];
                             int z = MainUtil.z_loc[layer][j];
 
-                            BlockData blockData = BukkitAdapter.adapt(block);
+                            BlockData blockData = prepared != null && prepared[layer] != null ?
+                                prepared[layer][j] :
+                                converted.computeIfAbsent(block, BukkitLocalQueue::toBlockData);
 
-                            Block existing = chunk.getBlock(x, y, z);
-                            final BlockState existingBaseBlock =
-                                BukkitAdapter.adapt(existing.getBlockData());
-                            if (BukkitBlockUtil.get(existing).equals(existingBaseBlock) && existing
-                                .getBlockData().matches(blockData)) {
+                            if (snapshot.getBlockData(x, y, z).matches(blockData)) {
+                                skipped++;
                                 continue;
                             }
 
-                            if (existing.getState() instanceof Container) {
-                                ((Container) existing.getState()).getInventory().clear();
+                            if (!containers.isEmpty()) {
+                                Container container = containers.get(y << 8 | z << 4 | x);
+                                if (container != null) {
+                                    container.getInventory().clear();
+                                }
                             }
 
-                            existing.setType(BukkitAdapter.adapt(block.getBlockType()), false);
+                            Block existing = chunk.getBlock(x, y, z);
                             existing.setBlockData(blockData, false);
+                            written++;
                             if (block.hasNbtData()) {
                                 CompoundTag tag = block.getNbtData();
                                 StateWrapper sw = new StateWrapper(tag);
@@ -162,6 +213,8 @@ public class BukkitLocalQueue extends BasicLocalBlockQueue {
                     }
                 }
             }
+            SKIPPED_BLOCKS.addAndGet(skipped);
+            WRITTEN_BLOCKS.addAndGet(written);
             if (setBiome() && localChunk.biomes != null) {
                 for (int x = 0; x < localChunk.biomes.length; x++) {
                     BiomeType[] biomeZ = localChunk.biomes[x];
@@ -187,6 +240,43 @@ public class BukkitLocalQueue extends BasicLocalBlockQueue {
         }
     }
 
+    /**
+     * Get the number of queued blocks that were not placed because the
+     * world already contained the same block
+     *
+     * @return Number of skipped blocks
+     */
+    public static long getSkippedBlocks() {
+        return SKIPPED_BLOCKS.get();
+    }
+
+    /**
+     * Get the number of queued blocks that have been placed
+     *
+     * @return Number of written blocks
+     */
+    public static long getWrittenBlocks() {
+        return WRITTEN_BLOCKS.get();
+    }
+
+    /**
+     * Get the containers in a chunk, keyed by their position in
+     * the chunk ({@code y << 8 | z << 4 | x})
+     */
+    private static Map<Integer, Container> getContainers(final Chunk chunk) {
+        Map<Integer, Container> containers = null;
+        for (org.bukkit.block.BlockState state : chunk.getTileEntities()) {
+            if (state instanceof Container) {
+                if (containers == null) {
+                    containers = new HashMap<>();
+                }
+                containers.put(state.getY() << 8 | (state.getZ() & 15) << 4 | (state.getX() & 15),
+                    (Container) state);
+            }
+        }
+        return containers == null ? Collections.emptyMap() : containers;
+    }
+
     private Chunk getChunk(final World world, final LocalChunk localChunk) {
         Chunk chunk = null;
         if (this.getChunkObject() != null && this.getChunkObject() instanceof Chunk) {
@@ -242,4 +332,16 @@ public class BukkitLocalQueue extends BasicLocalBlockQueue {
         }
     }
 
+    /**
+     * Palette chunk that also holds the block data created by {@link #prepare(LocalChunk)}
+     */
+    private final class BukkitLocalChunk extends PaletteLocalChunk {
+
+        private volatile BlockData[][] blockData;
+
+        private BukkitLocalChunk(BasicLocalBlockQueue parent, int x, int z) {
+            super(parent, x, z);
+        }
+    }
+
 }
@@ -27,15 +27,75 @@ package com.plotsquared.bukkit.schematic;
 
 import com.plotsquared.core.queue.LocalBlockQueue;
 import com.plotsquared.core.util.SchematicHandler;
+import com.plotsquared.core.util.WorldUtil;
 import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Schematic Handler.
  */
 public class BukkitSchematicHandler extends SchematicHandler {
 
+    private final Map<BlockData, BaseBlock> blocks = new ConcurrentHashMap<>();
+    private final Map<Biome, BiomeType> biomes = new ConcurrentHashMap<>();
+
     @Override
     public boolean restoreTile(LocalBlockQueue queue, CompoundTag ct, int x, int y, int z) {
         return new StateWrapper(ct).restoreTag(queue.getWorld(), x, y, z);
     }
+
+    /**
+     * Take a snapshot of the chunk, which is read on the export thread. Only the blocks
+     * that carry NBT data are looked up on the main thread.
+     */
+    @NotNull @Override protected ChunkBlocks copyChunk(@NotNull final String world,
+        final int chunkX, final int chunkZ, final int minY, final int maxY) {
+        final World bukkitWorld = Bukkit.getWorld(world);
+        if (bukkitWorld == null) {
+            return super.copyChunk(world, chunkX, chunkZ, minY, maxY);
+        }
+        final Chunk chunk = bukkitWorld.getChunkAt(chunkX, chunkZ);
+        final ChunkSnapshot snapshot = chunk.getChunkSnapshot(false, true, false);
+        final com.sk89q.worldedit.world.World weWorld = WorldUtil.IMP.getWeWorld(world);
+        final Map<BlockVector3, BaseBlock> tiles = new HashMap<>();
+        for (final BlockState tile : chunk.getTileEntities()) {
+            if (tile.getY() >= minY && tile.getY() <= maxY) {
+                final BlockVector3 position =
+                    BlockVector3.at(tile.getX(), tile.getY(), tile.getZ());
+                tiles.put(position, weWorld.getFullBlock(position));
+            }
+        }
+        return new ChunkBlocks() {
+            @NotNull @Override public BaseBlock getBlock(int x, int y, int z) {
+                if (!tiles.isEmpty()) {
+                    final BaseBlock tile = tiles.get(BlockVector3.at(x, y, z));
+                    if (tile != null) {
+                        return tile;
+                    }
+                }
+                return blocks.computeIfAbsent(snapshot.getBlockData(x & 15, y, z & 15),
+                    data -> BukkitAdapter.adapt(data).toBaseBlock());
+            }
+
+            @NotNull @Override public BiomeType getBiome(int x, int z) {
+                return biomes
+                    .computeIfAbsent(snapshot.getBiome(x & 15, z & 15), BukkitAdapter::adapt);
+            }
+        };
+    }
 }
@@ -0,0 +1,302 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.util;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.util.entity.EntityCategories;
+import com.plotsquared.core.util.task.TaskManager;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.world.entity.EntityType;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
+
+/**
+ * Keeps the number of entities per plot (and per {@link EntityCategories cap category})
+ * up to date from entity and chunk events, so that entity caps can be checked without
+ * scanning the chunks of a plot.
+ * <p>
+ * Counts are keyed by the {@link PlotArea#toString() name} of the plot area, so that they
+ * survive the plot area being reloaded.
+ * <p>
+ * Entities are tracked on the main thread. Entities that move between plots without
+ * an event, or that are removed without an event, are corrected by a periodic
+ * reconciliation of all tracked entities.
+ * <p>
+ * The counter of the running plugin is available from
+ * {@link com.plotsquared.bukkit.BukkitMain#getEntityCounter()}.
+ */
+public final class BukkitEntityCounter {
+
+    /**
+     * Interval in ticks between two reconciliations
+     */
+    private static final int RECONCILE_INTERVAL = 100;
+
+    private final Map<UUID, TrackedEntity> tracked = new HashMap<>();
+    private final Map<String, Map<Long, int[]>> counts = new ConcurrentHashMap<>();
+    private final PlotAreaManager plotAreaManager;
+    private final ToIntFunction<Entity> categories;
+
+    /**
+     * @param plotAreaManager Plot area manager used to find the plot of an entity
+     * @param categories      Function returning the cap categories of an entity,
+     *                        see {@link #getCategories(Entity)}
+     */
+    public BukkitEntityCounter(@NotNull final PlotAreaManager plotAreaManager,
+        @NotNull final ToIntFunction<Entity> categories) {
+        this.plotAreaManager = plotAreaManager;
+        this.categories = categories;
+    }
+
+    /**
+     * Track the entities of all loaded plot worlds and start the periodic reconciliation
+     */
+    public void start() {
+        for (final World world : Bukkit.getWorlds()) {
+            if (PlotSquared.get().hasPlotArea(world.getName())) {
+                for (final Entity entity : world.getEntities()) {
+                    track(entity);
+                }
+            }
+        }
+        TaskManager.runTaskRepeat(this::reconcile, RECONCILE_INTERVAL);
+    }
+
+    /**
+     * Get the entity counts of a single plot (not including the plots it is merged with)
+     *
+     * @param plot Plot
+     * @return Entity counts, indexed by the cap constants in {@link EntityCategories}
+     */
+    @NotNull public int[] getCounts(@NotNull final Plot plot) {
+        final int[] result = new int[6];
+        final Map<Long, int[]> areaCounts = this.counts.get(plot.getArea().toString());
+        if (areaCounts != null) {
+            final int[] count = areaCounts.get(plot.getId().pack());
+            if (count != null) {
+                System.arraycopy(count, 0, result, 0, result.length);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Start tracking an entity, or update its plot if it is already tracked.
+     * Entities that are no longer valid are ignored.
+     *
+     * @param entity Entity
+     */
+    public void track(@NotNull final Entity entity) {
+        if (entity.isValid()) {
+            trackSpawned(entity);
+        }
+    }
+
+    /**
+     * Start tracking an entity that is being spawned. Spawn events are fired before
+     * the entity is added to its world, so unlike {@link #track(Entity)} this does not
+     * require the entity to be valid yet. Should the spawn fail after all, the entity is
+     * dropped again by the next reconciliation.
+     *
+     * @param entity Entity
+     */
+    public void trackSpawned(@NotNull final Entity entity) {
+        TrackedEntity trackedEntity = this.tracked.get(entity.getUniqueId());
+        if (trackedEntity == null) {
+            final int categories = this.categories.applyAsInt(entity);
+            if (categories == 0) {
+                return;
+            }
+            trackedEntity = new TrackedEntity(entity, categories);
+            this.tracked.put(entity.getUniqueId(), trackedEntity);
+        }
+        move(trackedEntity, entity.getLocation());
+    }
+
+    /**
+     * Update the plot a tracked entity is counted in
+     *
+     * @param entity   Entity
+     * @param location New location of the entity
+     */
+    public void move(@NotNull final Entity entity,
+        @NotNull final org.bukkit.Location location) {
+        final TrackedEntity trackedEntity = this.tracked.get(entity.getUniqueId());
+        if (trackedEntity != null) {
+            move(trackedEntity, location);
+        }
+    }
+
+    /**
+     * Stop tracking an entity
+     *
+     * @param entity Entity
+     */
+    public void untrack(@NotNull final Entity entity) {
+        final TrackedEntity trackedEntity = this.tracked.remove(entity.getUniqueId());
+        if (trackedEntity != null) {
+            trackedEntity.setPlot(null, PlotId.NO_PLOT);
+        }
+    }
+
+    public void trackChunk(@NotNull final Chunk chunk) {
+        for (final Entity entity : chunk.getEntities()) {
+            track(entity);
+        }
+    }
+
+    public void untrackChunk(@NotNull final Chunk chunk) {
+        for (final Entity entity : chunk.getEntities()) {
+            untrack(entity);
+        }
+    }
+
+    /**
+     * Correct the counts for tracked entities that have been removed, or that have
+     * moved to another plot without an event being fired.
+     */
+    public void reconcile() {
+        final Iterator<TrackedEntity> iterator = this.tracked.values().iterator();
+        while (iterator.hasNext()) {
+            final TrackedEntity trackedEntity = iterator.next();
+            if (trackedEntity.entity.isValid()) {
+                move(trackedEntity, trackedEntity.entity.getLocation());
+            } else {
+                iterator.remove();
+                trackedEntity.setPlot(null, PlotId.NO_PLOT);
+            }
+        }
+    }
+
+    private void move(@NotNull final TrackedEntity trackedEntity,
+        @NotNull final org.bukkit.Location location) {
+        final String world = location.getWorld().getName();
+        final int x = location.getBlockX();
+        final int y = location.getBlockY();
+        final int z = location.getBlockZ();
+        final PlotArea area = this.plotAreaManager.getPlotArea(world, x, y, z);
+        if (area == null) {
+            trackedEntity.setPlot(null, PlotId.NO_PLOT);
+            return;
+        }
+        final Plot plot = area.getPlotAbs(world, x, y, z);
+        trackedEntity
+            .setPlot(area.toString(), plot == null ? PlotId.NO_PLOT : plot.getId().pack());
+    }
+
+    /**
+     * Get the cap categories an entity counts towards, as a bit mask of
+     * {@code 1 << CAP_*}. Players do not count towards any cap.
+     *
+     * @param entity Entity
+     * @return Category mask
+     */
+    public static int getCategories(@NotNull final Entity entity) {
+        final EntityType entityType = BukkitAdapter.adapt(entity.getType());
+        int categories = 1 << CAP_ENTITY;
+        if (EntityCategories.PLAYER.contains(entityType)) {
+            return 0;
+        } else if (EntityCategories.PROJECTILE.contains(entityType) || EntityCategories.OTHER
+            .contains(entityType) || EntityCategories.HANGING.contains(entityType)) {
+            categories |= 1 << CAP_MISC;
+        } else if (EntityCategories.ANIMAL.contains(entityType) || EntityCategories.VILLAGER
+            .contains(entityType) || EntityCategories.TAMEABLE.contains(entityType)) {
+            categories |= 1 << CAP_MOB | 1 << CAP_ANIMAL;
+        } else if (EntityCategories.VEHICLE.contains(entityType)) {
+            categories |= 1 << CAP_VEHICLE;
+        } else if (EntityCategories.HOSTILE.contains(entityType)) {
+            categories |= 1 << CAP_MOB | 1 << CAP_MONSTER;
+        }
+        return categories;
+    }
+
+    private void add(@Nullable final String area, final long plot, final int categories,
+        final int amount) {
+        if (area == null || plot == PlotId.NO_PLOT) {
+            return;
+        }
+        final Map<Long, int[]> areaCounts =
+            this.counts.computeIfAbsent(area, key -> new ConcurrentHashMap<>());
+        final int[] count = areaCounts.computeIfAbsent(plot, key -> new int[6]);
+        for (int i = 0; i < count.length; i++) {
+            if ((categories & 1 << i) != 0) {
+                count[i] = Math.max(0, count[i] + amount);
+            }
+        }
+        if (amount < 0 && count[CAP_ENTITY] == 0) {
+            areaCounts.remove(plot);
+        }
+    }
+
+
+    private final class TrackedEntity {
+
+        private final Entity entity;
+        private final int categories;
+        private String area;
+        private long plot = PlotId.NO_PLOT;
+
+        private TrackedEntity(@NotNull final Entity entity, final int categories) {
+            this.entity = entity;
+            this.categories = categories;
+        }
+
+        private void setPlot(@Nullable final String area, final long plot) {
+            if (Objects.equals(this.area, area) && this.plot == plot) {
+                return;
+            }
+            add(this.area, this.plot, this.categories, -1);
+            add(area, plot, this.categories, 1);
+            this.area = area;
+            this.plot = plot;
+        }
+
+    }
+
+}
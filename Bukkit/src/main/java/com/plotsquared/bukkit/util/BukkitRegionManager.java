@@ -31,19 +31,18 @@ import com.plotsquared.core.generator.AugmentedUtils;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.location.PlotLoc;
 import com.plotsquared.core.plot.Plot;
-import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.LocalBlockQueue;
 import com.plotsquared.core.queue.ScopedLocalBlockQueue;
+import com.plotsquared.core.util.ChunkBatch;
 import com.plotsquared.core.util.ChunkManager;
+import com.plotsquared.core.util.ChunkTaskScheduler;
 import com.plotsquared.core.util.MainUtil;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.RegionUtil;
-import com.plotsquared.core.util.entity.EntityCategories;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
-import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.bukkit.BukkitWorld;
 import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.regions.CuboidRegion;
@@ -56,10 +55,9 @@ import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -67,15 +65,15 @@ import java.util.Set;
 import java.util.concurrent.Semaphore;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
 
 public class BukkitRegionManager extends RegionManager {
 
+    private final BukkitEntityCounter entityCounter;
+
+    public BukkitRegionManager(@NotNull final BukkitEntityCounter entityCounter) {
+        this.entityCounter = entityCounter;
+    }
+
     public static boolean isIn(CuboidRegion region, int x, int z) {
         return x >= region.getMinimumPoint().getX() && x <= region.getMaximumPoint().getX()
             && z >= region.getMinimumPoint().getZ() && z <= region.getMaximumPoint().getZ();
@@ -115,79 +113,7 @@ public class BukkitRegionManager extends RegionManager {
     }
 
     @Override public int[] countEntities(Plot plot) {
-        int[] existing = (int[]) plot.getMeta("EntityCount");
-        if (existing != null && (System.currentTimeMillis() - (long) plot.getMeta("EntityCountTime")
-            < 1000)) {
-            return existing;
-        }
-        PlotArea area = plot.getArea();
-        World world = BukkitUtil.getWorld(area.getWorldName());
-
-        Location bot = plot.getBottomAbs();
-        Location top = plot.getTopAbs();
-        int bx = bot.getX() >> 4;
-        int bz = bot.getZ() >> 4;
-
-        int tx = top.getX() >> 4;
-        int tz = top.getZ() >> 4;
-
-        int size = tx - bx << 4;
-
-        Set<Chunk> chunks = new HashSet<>();
-        for (int X = bx; X <= tx; X++) {
-            for (int Z = bz; Z <= tz; Z++) {
-                if (world.isChunkLoaded(X, Z)) {
-                    chunks.add(world.getChunkAt(X, Z));
-                }
-            }
-        }
-
-        boolean doWhole = false;
-        List<Entity> entities = null;
-        if (size > 200 && chunks.size() > 200) {
-            entities = world.getEntities();
-            if (entities.size() < 16 + size / 8) {
-                doWhole = true;
-            }
-        }
-
-        int[] count = new int[6];
-        if (doWhole) {
-            for (Entity entity : entities) {
-                org.bukkit.Location location = entity.getLocation();
-                PaperLib.getChunkAtAsync(location).thenAccept(chunk -> {
-                    if (chunks.contains(chunk)) {
-                        int X = chunk.getX();
-                        int Z = chunk.getZ();
-                        if (X > bx && X < tx && Z > bz && Z < tz) {
-                            count(count, entity);
-                        } else {
-                            Plot other = area.getPlot(BukkitUtil.getLocation(location));
-                            if (plot.equals(other)) {
-                                count(count, entity);
-                            }
-                        }
-                    }
-                });
-            }
-        } else {
-            for (Chunk chunk : chunks) {
-                int X = chunk.getX();
-                int Z = chunk.getZ();
-                Entity[] entities1 = chunk.getEntities();
-                for (Entity entity : entities1) {
-                    if (X == bx || X == tx || Z == bz || Z == tz) {
-                        Plot other = area.getPlot(BukkitUtil.getLocation(entity));
-                        if (plot.equals(other)) {
-                            count(count, entity);
-                        }
-                    } else {
-                        count(count, entity);
-                    }
-                }
-            }
-        }
-        return count;
+        return this.entityCounter.getCounts(plot);
     }
 
     @Override
@@ -259,144 +185,130 @@ public class BukkitRegionManager extends RegionManager {
         final int tcx = p2x >> 4;
         final int tcz = p2z >> 4;
 
-        final List<BlockVector2> chunks = new ArrayList<>();
-
-        for (int x = bcx; x <= tcx; x++) {
-            for (int z = bcz; z <= tcz; z++) {
-                chunks.add(BlockVector2.at(x, z));
-            }
-        }
         final World worldObj = Bukkit.getWorld(world);
         checkNotNull(worldObj, "Critical error during regeneration.");
         final BukkitWorld bukkitWorldObj = new BukkitWorld(worldObj);
-        TaskManager.runTask(new Runnable() {
-            @Override public void run() {
-                long start = System.currentTimeMillis();
-                while (!chunks.isEmpty() && System.currentTimeMillis() - start < 5) {
-                    final BlockVector2 chunk = chunks.remove(0);
-                    int x = chunk.getX();
-                    int z = chunk.getZ();
-                    int xxb = x << 4;
-                    int zzb = z << 4;
-                    int xxt = xxb + 15;
-                    int zzt = zzb + 15;
-                    PaperLib.getChunkAtAsync(worldObj, x, z, false).thenAccept(chunkObj -> {
-                        if (chunkObj == null) {
-                            return;
-                        }
-                        final LocalBlockQueue queue =
-                            GlobalBlockQueue.IMP.getNewQueue(world, false);
-                        if (xxb >= p1x && xxt <= p2x && zzb >= p1z && zzt <= p2z) {
-                            AugmentedUtils.bypass(ignoreAugment,
-                                () -> queue.regenChunkSafe(chunk.getX(), chunk.getZ()));
-                            return;
-                        }
-                        boolean checkX1 = false;
+        ChunkTaskScheduler.IMP.submit(pos1, pos2, true, new RunnableVal<ChunkBatch>() {
+            @Override public void run(ChunkBatch batch) {
+                for (int i = 0; i < batch.size(); i++) {
+                    if (!batch.isGenerated(i)) {
+                        continue;
+                    }
+                    final BlockVector2 chunk = batch.getChunk(i);
+                    final int x = chunk.getX();
+                    final int z = chunk.getZ();
+                    final int xxb = x << 4;
+                    final int zzb = z << 4;
+                    final int xxt = xxb + 15;
+                    final int zzt = zzb + 15;
+                    final Chunk chunkObj = worldObj.getChunkAt(x, z);
+                    final LocalBlockQueue queue =
+                        GlobalBlockQueue.IMP.getNewQueue(world, false);
+                    if (xxb >= p1x && xxt <= p2x && zzb >= p1z && zzt <= p2z) {
+                        AugmentedUtils.bypass(ignoreAugment,
+                            () -> queue.regenChunkSafe(chunk.getX(), chunk.getZ()));
+                        continue;
+                    }
+                    boolean checkX1 = false;
 
-                        int xxb2;
+                    int xxb2;
 
-                        if (x == bcx) {
-                            xxb2 = p1x - 1;
-                            checkX1 = true;
-                        } else {
-                            xxb2 = xxb;
-                        }
-                        boolean checkX2 = false;
-                        int xxt2;
-                        if (x == tcx) {
-                            xxt2 = p2x + 1;
-                            checkX2 = true;
-                        } else {
-                            xxt2 = xxt;
-                        }
-                        boolean checkZ1 = false;
-                        int zzb2;
-                        if (z == bcz) {
-                            zzb2 = p1z - 1;
-                            checkZ1 = true;
-                        } else {
-                            zzb2 = zzb;
-                        }
-                        boolean checkZ2 = false;
-                        int zzt2;
-                        if (z == tcz) {
-                            zzt2 = p2z + 1;
-                            checkZ2 = true;
-                        } else {
-                            zzt2 = zzt;
-                        }
-                        final ContentMap map = new ContentMap();
-                        if (checkX1) {
-                            map.saveRegion(bukkitWorldObj, xxb, xxb2, zzb2, zzt2); //
-                        }
-                        if (checkX2) {
-                            map.saveRegion(bukkitWorldObj, xxt2, xxt, zzb2, zzt2); //
-                        }
-                        if (checkZ1) {
-                            map.saveRegion(bukkitWorldObj, xxb2, xxt2, zzb, zzb2); //
-                        }
-                        if (checkZ2) {
-                            map.saveRegion(bukkitWorldObj, xxb2, xxt2, zzt2, zzt); //
-                        }
-                        if (checkX1 && checkZ1) {
-                            map.saveRegion(bukkitWorldObj, xxb, xxb2, zzb, zzb2); //
-                        }
-                        if (checkX2 && checkZ1) {
-                            map.saveRegion(bukkitWorldObj, xxt2, xxt, zzb, zzb2); // ?
-                        }
-                        if (checkX1 && checkZ2) {
-                            map.saveRegion(bukkitWorldObj, xxb, xxb2, zzt2, zzt); // ?
-                        }
-                        if (checkX2 && checkZ2) {
-                            map.saveRegion(bukkitWorldObj, xxt2, xxt, zzt2, zzt); //
-                        }
-                        CuboidRegion currentPlotClear = RegionUtil
-                            .createRegion(pos1.getX(), pos2.getX(), pos1.getZ(), pos2.getZ());
-                        map.saveEntitiesOut(chunkObj, currentPlotClear);
-                        AugmentedUtils.bypass(ignoreAugment, () -> ChunkManager
-                            .setChunkInPlotArea(null, new RunnableVal<ScopedLocalBlockQueue>() {
-                                @Override public void run(ScopedLocalBlockQueue value) {
-                                    Location min = value.getMin();
-                                    int bx = min.getX();
-                                    int bz = min.getZ();
-                                    for (int x1 = 0; x1 < 16; x1++) {
-                                        for (int z1 = 0; z1 < 16; z1++) {
-                                            PlotLoc plotLoc = new PlotLoc(bx + x1, bz + z1);
-                                            BaseBlock[] ids = map.allBlocks.get(plotLoc);
-                                            if (ids != null) {
-                                                for (int y = 0;
-                                                     y < Math.min(128, ids.length); y++) {
-                                                    BaseBlock id = ids[y];
-                                                    if (id != null) {
-                                                        value.setBlock(x1, y, z1, id);
-                                                    } else {
-                                                        value.setBlock(x1, y, z1,
-                                                            BlockTypes.AIR.getDefaultState());
-                                                    }
+                    if (x == bcx) {
+                        xxb2 = p1x - 1;
+                        checkX1 = true;
+                    } else {
+                        xxb2 = xxb;
+                    }
+                    boolean checkX2 = false;
+                    int xxt2;
+                    if (x == tcx) {
+                        xxt2 = p2x + 1;
+                        checkX2 = true;
+                    } else {
+                        xxt2 = xxt;
+                    }
+                    boolean checkZ1 = false;
+                    int zzb2;
+                    if (z == bcz) {
+                        zzb2 = p1z - 1;
+                        checkZ1 = true;
+                    } else {
+                        zzb2 = zzb;
+                    }
+                    boolean checkZ2 = false;
+                    int zzt2;
+                    if (z == tcz) {
+                        zzt2 = p2z + 1;
+                        checkZ2 = true;
+                    } else {
+                        zzt2 = zzt;
+                    }
+                    final ContentMap map = new ContentMap();
+                    if (checkX1) {
+                        map.saveRegion(bukkitWorldObj, xxb, xxb2, zzb2, zzt2); //
+                    }
+                    if (checkX2) {
+                        map.saveRegion(bukkitWorldObj, xxt2, xxt, zzb2, zzt2); //
+                    }
+                    if (checkZ1) {
+                        map.saveRegion(bukkitWorldObj, xxb2, xxt2, zzb, zzb2); //
+                    }
+                    if (checkZ2) {
+                        map.saveRegion(bukkitWorldObj, xxb2, xxt2, zzt2, zzt); //
+                    }
+                    if (checkX1 && checkZ1) {
+                        map.saveRegion(bukkitWorldObj, xxb, xxb2, zzb, zzb2); //
+                    }
+                    if (checkX2 && checkZ1) {
+                        map.saveRegion(bukkitWorldObj, xxt2, xxt, zzb, zzb2); // ?
+                    }
+                    if (checkX1 && checkZ2) {
+                        map.saveRegion(bukkitWorldObj, xxb, xxb2, zzt2, zzt); // ?
+                    }
+                    if (checkX2 && checkZ2) {
+                        map.saveRegion(bukkitWorldObj, xxt2, xxt, zzt2, zzt); //
+                    }
+                    CuboidRegion currentPlotClear = RegionUtil
+                        .createRegion(pos1.getX(), pos2.getX(), pos1.getZ(), pos2.getZ());
+                    map.saveEntitiesOut(chunkObj, currentPlotClear);
+                    AugmentedUtils.bypass(ignoreAugment, () -> ChunkManager
+                        .setChunkInPlotArea(null, new RunnableVal<ScopedLocalBlockQueue>() {
+                            @Override public void run(ScopedLocalBlockQueue value) {
+                                Location min = value.getMin();
+                                int bx = min.getX();
+                                int bz = min.getZ();
+                                for (int x1 = 0; x1 < 16; x1++) {
+                                    for (int z1 = 0; z1 < 16; z1++) {
+                                        PlotLoc plotLoc = new PlotLoc(bx + x1, bz + z1);
+                                        BaseBlock[] ids = map.allBlocks.get(plotLoc);
+                                        if (ids != null) {
+                                            for (int y = 0;
+                                                 y < Math.min(128, ids.length); y++) {
+                                                BaseBlock id = ids[y];
+                                                if (id != null) {
+                                                    value.setBlock(x1, y, z1, id);
+                                                } else {
+                                                    value.setBlock(x1, y, z1,
+                                                        BlockTypes.AIR.getDefaultState());
                                                 }
-                                                for (int y = Math.min(128, ids.length);
-                                                     y < ids.length; y++) {
-                                                    BaseBlock id = ids[y];
-                                                    if (id != null) {
-                                                        value.setBlock(x1, y, z1, id);
-                                                    }
+                                            }
+                                            for (int y = Math.min(128, ids.length);
+                                                 y < ids.length; y++) {
+                                                BaseBlock id = ids[y];
+                                                if (id != null) {
+                                                    value.setBlock(x1, y, z1, id);
                                                 }
                                             }
                                         }
                                     }
                                 }
-                            }, world, chunk));
-                        //map.restoreBlocks(worldObj, 0, 0);
-                        map.restoreEntities(worldObj, 0, 0);
-                    });
-                }
-                if (!chunks.isEmpty()) {
-                    TaskManager.runTaskLater(this, 1);
-                } else {
-                    TaskManager.runTaskLater(whenDone, 1);
+                            }
+                        }, world, chunk));
+                    //map.restoreBlocks(worldObj, 0, 0);
+                    map.restoreEntities(worldObj, 0, 0);
                 }
             }
-        });
+        }, whenDone);
         return true;
     }
 
@@ -472,26 +384,4 @@ public class BukkitRegionManager extends RegionManager {
             }
         }, whenDone, 5);
     }
-
-    private void count(int[] count, Entity entity) {
-        final com.sk89q.worldedit.world.entity.EntityType entityType =
-            BukkitAdapter.adapt(entity.getType());
-
-        if (EntityCategories.PLAYER.contains(entityType)) {
-            return;
-        } else if (EntityCategories.PROJECTILE.contains(entityType) || EntityCategories.OTHER
-            .contains(entityType) || EntityCategories.HANGING.contains(entityType)) {
-            count[CAP_MISC]++;
-        } else if (EntityCategories.ANIMAL.contains(entityType) || EntityCategories.VILLAGER
-            .contains(entityType) || EntityCategories.TAMEABLE.contains(entityType)) {
-            count[CAP_MOB]++;
-            count[CAP_ANIMAL]++;
-        } else if (EntityCategories.VEHICLE.contains(entityType)) {
-            count[CAP_VEHICLE]++;
-        } else if (EntityCategories.HOSTILE.contains(entityType)) {
-            count[CAP_MOB]++;
-            count[CAP_MONSTER]++;
-        }
-        count[CAP_ENTITY]++;
-    }
 }
@@ -672,6 +672,12 @@ public class BukkitUtil extends WorldUtil {
             .getTileEntities().length;
     }
 
+    @Override
+    public int getEntityCount(String world, BlockVector2 chunk) {
+        return Bukkit.getWorld(world).getChunkAt(chunk.getBlockX(), chunk.getBlockZ())
+            .getEntities().length;
+    }
+
     private static void ensureLoaded(final String world, final int x, final int z,
         final Consumer<Chunk> chunkConsumer) {
         PaperLib.getChunkAtAsync(getWorld(world), x >> 4, z >> 4, true)
@@ -25,6 +25,7 @@
  */
 package com.plotsquared.bukkit.uuid;
 
+import com.google.common.collect.Lists;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.database.SQLite;
 import com.plotsquared.core.util.MainUtil;
@@ -37,8 +38,12 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -47,6 +52,11 @@ import java.util.function.Consumer;
  */
 public class SQLiteUUIDService implements UUIDService, Consumer<List<UUIDMapping>> {
 
+    /**
+     * Maximum amount of parameters per lookup query, SQLite allows at most 999
+     */
+    private static final int MAX_PARAMETERS = 500;
+
     private final SQLite sqlite;
 
     public SQLiteUUIDService(final String fileName) {
@@ -74,54 +84,102 @@ public class SQLiteUUIDService implements UUIDService, Consumer<List<UUIDMapping
 
     @Override @NotNull public List<UUIDMapping> getNames(@NotNull final List<UUID> uuids) {
         final List<UUIDMapping> mappings = new ArrayList<>(uuids.size());
-        try (final PreparedStatement statement = getConnection()
-            .prepareStatement("SELECT `username` FROM `usercache` WHERE `uuid` = ?")) {
-            for (final UUID uuid : uuids) {
-                statement.setString(1, uuid.toString());
+        final Map<String, UUID> requests = new HashMap<>();
+        for (final UUID uuid : uuids) {
+            requests.put(uuid.toString(), uuid);
+        }
+        for (final List<String> partition : Lists
+            .partition(new ArrayList<>(requests.keySet()), MAX_PARAMETERS)) {
+            try (final PreparedStatement statement = getConnection().prepareStatement(
+                "SELECT `uuid`, `username` FROM `usercache` WHERE `uuid` IN (" + parameters(
+                    partition.size()) + ")")) {
+                for (int i = 0; i < partition.size(); i++) {
+                    statement.setString(i + 1, partition.get(i));
+                }
                 try (final ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        mappings.add(new UUIDMapping(uuid, resultSet.getString("username")));
+                    while (resultSet.next()) {
+                        final UUID uuid = requests.get(resultSet.getString("uuid"));
+                        if (uuid != null) {
+                            mappings.add(new UUIDMapping(uuid, resultSet.getString("username")));
+                        }
                     }
                 }
+            } catch (final Exception e) {
+                e.printStackTrace();
             }
-        } catch (final Exception e) {
-            e.printStackTrace();
         }
         return mappings;
     }
 
     @Override @NotNull public List<UUIDMapping> getUUIDs(@NotNull List<String> usernames) {
         final List<UUIDMapping> mappings = new ArrayList<>(usernames.size());
-        try (final PreparedStatement statement = getConnection()
-            .prepareStatement("SELECT `uuid` FROM `usercache` WHERE `username` = ?")) {
-            for (final String username : usernames) {
-                statement.setString(1, username);
+        final Set<String> requests = new HashSet<>(usernames);
+        for (final List<String> partition : Lists
+            .partition(new ArrayList<>(requests), MAX_PARAMETERS)) {
+            try (final PreparedStatement statement = getConnection().prepareStatement(
+                "SELECT `uuid`, `username` FROM `usercache` WHERE `username` IN (" + parameters(
+                    partition.size()) + ")")) {
+                for (int i = 0; i < partition.size(); i++) {
+                    statement.setString(i + 1, partition.get(i));
+                }
                 try (final ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        mappings.add(new UUIDMapping(UUID.fromString(resultSet.getString("uuid")),
-                            username));
+                    while (resultSet.next()) {
+                        final String username = resultSet.getString("username");
+                        // Only one mapping per username, like the single row lookup did
+                        if (requests.remove(username)) {
+                            mappings.add(
+                                new UUIDMapping(UUID.fromString(resultSet.getString("uuid")),
+                                    username));
+                        }
                     }
                 }
+            } catch (final Exception e) {
+                e.printStackTrace();
             }
-        } catch (final Exception e) {
-            e.printStackTrace();
         }
         return mappings;
     }
 
     @Override public void accept(final List<UUIDMapping> uuidWrappers) {
-        try (final PreparedStatement statement = getConnection()
-            .prepareStatement("INSERT OR REPLACE INTO `usercache` (`uuid`, `username`) VALUES(?, ?)")) {
-            for (final UUIDMapping mapping : uuidWrappers) {
-                statement.setString(1, mapping.getUuid().toString());
-                statement.setString(2, mapping.getUsername());
-                statement.executeUpdate();
+        synchronized (this.sqlite) {
+            final Connection connection = this.sqlite.getConnection();
+            try (final PreparedStatement statement = connection
+                .prepareStatement("INSERT OR REPLACE INTO `usercache` (`uuid`, `username`) VALUES(?, ?)")) {
+                connection.setAutoCommit(false);
+                for (final UUIDMapping mapping : uuidWrappers) {
+                    statement.setString(1, mapping.getUuid().toString());
+                    statement.setString(2, mapping.getUsername());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                e.printStackTrace();
+                try {
+                    connection.rollback();
+                } catch (SQLException ignored) {
+                }
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
     }
 
+    private static String parameters(final int amount) {
+        final StringBuilder builder = new StringBuilder(amount * 2);
+        for (int i = 0; i < amount; i++) {
+            if (i != 0) {
+                builder.append(',');
+            }
+            builder.append('?');
+        }
+        return builder.toString();
+    }
+
     /**
      * Read the entire cache at once
      *
@@ -0,0 +1,155 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.util;
+
+import com.plotsquared.core.generator.HybridGen;
+import com.plotsquared.core.generator.HybridPlotWorld;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class BukkitEntityCounterTest {
+
+    private static final int ANIMAL = 1 << CAP_ENTITY | 1 << CAP_MOB | 1 << CAP_ANIMAL;
+
+    private final PlotArea area =
+        new HybridPlotWorld("world", null, new HybridGen(), null, null);
+    private final World world = fake(World.class, (name, args) -> {
+        if ("getName".equals(name)) {
+            return "world";
+        }
+        throw new UnsupportedOperationException(name);
+    });
+    private final BukkitEntityCounter counter =
+        new BukkitEntityCounter(fake(PlotAreaManager.class, (name, args) -> {
+            if ("getPlotArea".equals(name) && args.length == 4) {
+                return this.area.getWorldName().equals(args[0]) ? this.area : null;
+            }
+            throw new UnsupportedOperationException(name);
+        }), entity -> ANIMAL);
+
+    @SuppressWarnings("unchecked")
+    private static <T> T fake(final Class<T> type, final FakeMethods methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type},
+            (proxy, method, args) -> methods.invoke(method.getName(),
+                args == null ? new Object[0] : args));
+    }
+
+    private Plot getPlot(final Location location) {
+        return this.area.getPlotAbs(this.world.getName(), location.getBlockX(),
+            location.getBlockY(), location.getBlockZ());
+    }
+
+    @Test public void countsSpawnedEntity() {
+        // Spawn events are fired before the entity is valid
+        final FakeEntity entity = new FakeEntity(new Location(this.world, 10, 64, 10), false);
+        this.counter.trackSpawned(entity.entity);
+        final int[] counts = this.counter.getCounts(getPlot(entity.location));
+        assertEquals(1, counts[CAP_ENTITY]);
+        assertEquals(1, counts[CAP_MOB]);
+        assertEquals(1, counts[CAP_ANIMAL]);
+        assertEquals(0, counts[CAP_VEHICLE]);
+        this.counter.untrack(entity.entity);
+        assertEquals(0, this.counter.getCounts(getPlot(entity.location))[CAP_ENTITY]);
+    }
+
+    @Test public void ignoresInvalidEntities() {
+        final FakeEntity entity = new FakeEntity(new Location(this.world, 10, 64, 10), false);
+        this.counter.track(entity.entity);
+        assertEquals(0, this.counter.getCounts(getPlot(entity.location))[CAP_ENTITY]);
+    }
+
+    @Test public void movesEntityBetweenPlots() {
+        final Location from = new Location(this.world, 10, 64, 10);
+        final Location to = new Location(this.world, 10, 64, 59);
+        assertNotEquals(getPlot(from).getId(), getPlot(to).getId());
+        final FakeEntity entity = new FakeEntity(from, true);
+        this.counter.track(entity.entity);
+        this.counter.move(entity.entity, to);
+        assertEquals(0, this.counter.getCounts(getPlot(from))[CAP_ENTITY]);
+        assertEquals(1, this.counter.getCounts(getPlot(to))[CAP_ENTITY]);
+        // Moved back without an event
+        entity.location = from;
+        this.counter.reconcile();
+        assertEquals(1, this.counter.getCounts(getPlot(from))[CAP_ENTITY]);
+        assertEquals(0, this.counter.getCounts(getPlot(to))[CAP_ENTITY]);
+        // Removed without an event
+        entity.valid = false;
+        this.counter.reconcile();
+        assertEquals(0, this.counter.getCounts(getPlot(from))[CAP_ENTITY]);
+    }
+
+    @FunctionalInterface private interface FakeMethods {
+
+        Object invoke(String name, Object[] args);
+
+    }
+
+
+    /**
+     * An entity that only implements the methods used by the counter
+     */
+    private static final class FakeEntity {
+
+        private final UUID uuid = UUID.randomUUID();
+        private final Entity entity;
+        private Location location;
+        private boolean valid;
+
+        private FakeEntity(final Location location, final boolean valid) {
+            this.location = location;
+            this.valid = valid;
+            this.entity = fake(Entity.class, (name, args) -> {
+                switch (name) {
+                    case "getUniqueId":
+                        return this.uuid;
+                    case "isValid":
+                        return this.valid;
+                    case "getLocation":
+                        return this.location.clone();
+                    default:
+                        throw new UnsupportedOperationException(name);
+                }
+            });
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.util.task.TaskManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads all plots of a synthetic SQLite database. Run with {@code -prof gc} to see how much
+ * is allocated per load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SQLManagerLoadBenchmark {
+
+    @Param({"10000", "100000"}) public int plots;
+
+    private TaskManager previousTaskManager;
+    private File file;
+    private SQLManager manager;
+
+    @Setup(Level.Trial) public void setup() throws Exception {
+        this.previousTaskManager = TaskManager.IMP;
+        TaskManager.IMP = new SyntheticPlots.ThreadTaskManager();
+        this.file = File.createTempFile("plotsquared-load", ".db");
+        final SQLite database = new SQLite(this.file);
+        this.manager = new SQLManager(database, "", false);
+        try (Connection connection = database.createConnection()) {
+            SyntheticPlots.populate(connection, this.plots);
+        }
+    }
+
+    @TearDown(Level.Trial) public void tearDown() {
+        this.manager.close();
+        TaskManager.IMP = this.previousTaskManager;
+        this.file.delete();
+    }
+
+    @Benchmark public HashMap<String, HashMap<PlotId, Plot>> loadPlots() {
+        return this.manager.loadPlots(Collections.singleton(SyntheticPlots.AREA));
+    }
+
+}
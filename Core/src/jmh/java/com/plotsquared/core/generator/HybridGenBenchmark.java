@@ -0,0 +1,164 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.queue.BasicLocalBlockQueue;
+import com.plotsquared.core.queue.ScopedLocalBlockQueue;
+import com.plotsquared.core.util.MainUtil;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many chunks per second {@link HybridGen} generates into a local block
+ * queue, for a plain world and for worlds with a road or a plot schematic. Chunks are
+ * taken from an 8x8 grid so that every chunk phase of the layout is covered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HybridGenBenchmark {
+
+    private static final int GRID = 8;
+    private static final int SCHEMATIC_HEIGHT = 4;
+
+    @Param({"plain", "road-schematic", "plot-schematic"}) public String world;
+
+    private HybridGen generator;
+    private HybridPlotWorld plotWorld;
+    private int chunk;
+
+    @Setup public void setup() {
+        MainUtil.initCache();
+        this.generator = new HybridGen();
+        this.plotWorld = new HybridPlotWorld("benchmark", null, this.generator, null, null);
+        final HybridPlotWorld plotWorld = this.plotWorld;
+        plotWorld.SIZE = (short) (plotWorld.PLOT_WIDTH + plotWorld.ROAD_WIDTH);
+        plotWorld.PATH_WIDTH_LOWER = (short) ((plotWorld.ROAD_WIDTH & 1) == 0 ?
+            plotWorld.ROAD_WIDTH / 2 - 1 :
+            plotWorld.ROAD_WIDTH / 2);
+        plotWorld.PATH_WIDTH_UPPER =
+            (short) (plotWorld.PATH_WIDTH_LOWER + plotWorld.PLOT_WIDTH + 1);
+        plotWorld.G_SCH = new HashMap<>();
+        plotWorld.G_SCH_B = new HashMap<>();
+        plotWorld.SCHEM_Y = Math.min(plotWorld.PLOT_HEIGHT, plotWorld.ROAD_HEIGHT);
+        final boolean road = this.world.equals("road-schematic");
+        final boolean plot = this.world.equals("plot-schematic");
+        plotWorld.ROAD_SCHEMATIC_ENABLED = road;
+        plotWorld.PLOT_SCHEMATIC = plot;
+        if (road || plot) {
+            final BaseBlock block = new TestBlock();
+            for (short x = 0; x < plotWorld.SIZE; x++) {
+                for (short z = 0; z < plotWorld.SIZE; z++) {
+                    final boolean isPlot = x > plotWorld.PATH_WIDTH_LOWER
+                        && x < plotWorld.PATH_WIDTH_UPPER && z > plotWorld.PATH_WIDTH_LOWER
+                        && z < plotWorld.PATH_WIDTH_UPPER;
+                    if (isPlot == plot) {
+                        for (short y = 0; y < SCHEMATIC_HEIGHT; y++) {
+                            plotWorld.addOverlayBlock(x, y, z, block, false, SCHEMATIC_HEIGHT);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark public void generateChunk(final Blackhole blackhole) {
+        final int index = this.chunk++ % (GRID * GRID);
+        final int minX = (index % GRID) << 4;
+        final int minZ = (index / GRID) << 4;
+        final BenchmarkQueue queue = new BenchmarkQueue();
+        final ScopedLocalBlockQueue scoped = new ScopedLocalBlockQueue(queue,
+            new Location("benchmark", minX, 0, minZ),
+            new Location("benchmark", minX + 15, 255, minZ + 15));
+        this.generator.generateChunk(scoped, this.plotWorld);
+        queue.drain(blackhole);
+    }
+
+    private static final class TestBlock extends BaseBlock {
+        private TestBlock() {
+            super((BlockState) null);
+        }
+    }
+
+    private static final class BenchmarkQueue extends BasicLocalBlockQueue {
+
+        private Blackhole blackhole;
+
+        private BenchmarkQueue() {
+            super("benchmark");
+        }
+
+        private void drain(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+            while (this.next()) {
+            }
+        }
+
+        @Override public LocalChunk getLocalChunk(final int x, final int z) {
+            return new PaletteLocalChunk(this, x, z);
+        }
+
+        @Override public BlockState getBlock(final int x, final int y, final int z) {
+            return null;
+        }
+
+        @Override public void setComponents(final LocalChunk lc) {
+            this.blackhole.consume(lc.countBlocks());
+        }
+
+        @Override public void optimize() {
+        }
+
+        @Override public void refreshChunk(final int x, final int z) {
+        }
+
+        @Override public void fixChunkLighting(final int x, final int z) {
+        }
+
+        @Override public void regenChunk(final int x, final int z) {
+        }
+    }
+
+}
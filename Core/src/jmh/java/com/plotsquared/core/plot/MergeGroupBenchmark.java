@@ -0,0 +1,172 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.database.AbstractDBTest;
+import com.plotsquared.core.database.DBFunc;
+import com.plotsquared.core.generator.HybridGen;
+import com.plotsquared.core.generator.HybridPlotWorld;
+import com.plotsquared.core.location.Direction;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the merge group cache against recomputing the connected plots and regions,
+ * which is what the former single-slot static cache did whenever a protection check
+ * switched between two merge groups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MergeGroupBenchmark {
+
+    @Param({"1x1", "5x5", "irregular30"}) public String shape;
+
+    private Plot first;
+    private Plot second;
+
+    /**
+     * Cells of an irregular, non rectangular merge of 30 plots
+     */
+    private static List<PlotId> irregularShape(final int offsetX) {
+        final List<PlotId> ids = new ArrayList<>();
+        for (int x = 0; x < 10; x++) {
+            ids.add(new PlotId(offsetX + x, 0));
+        }
+        for (int y = 1; y < 11; y++) {
+            ids.add(new PlotId(offsetX, y));
+        }
+        for (int x = 1; x < 6; x++) {
+            ids.add(new PlotId(offsetX + x, 10));
+        }
+        for (int y = 5; y < 10; y++) {
+            ids.add(new PlotId(offsetX + 5, y));
+        }
+        return ids;
+    }
+
+    private static List<PlotId> rectangle(final int offsetX, final int size) {
+        final List<PlotId> ids = new ArrayList<>();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                ids.add(new PlotId(offsetX + x, y));
+            }
+        }
+        return ids;
+    }
+
+    private static Plot claim(final PlotArea area, final List<PlotId> ids) {
+        final UUID owner = UUID.randomUUID();
+        final Set<PlotId> cells = new HashSet<>(ids);
+        for (final PlotId id : ids) {
+            final Plot plot = new Plot(area, id, owner);
+            area.addPlotAbs(plot);
+        }
+        for (final PlotId id : ids) {
+            final Plot plot = area.getPlotAbs(id);
+            for (final Direction direction : new Direction[] {Direction.NORTH, Direction.EAST,
+                Direction.SOUTH, Direction.WEST}) {
+                if (cells.contains(id.getRelative(direction))) {
+                    plot.getSettings().setMerged(direction, true);
+                }
+            }
+        }
+        return area.getPlotAbs(ids.get(0));
+    }
+
+    private List<PlotId> shape(final int offsetX) {
+        switch (this.shape) {
+            case "5x5":
+                return rectangle(offsetX, 5);
+            case "irregular30":
+                return irregularShape(offsetX);
+            default:
+                return rectangle(offsetX, 1);
+        }
+    }
+
+    @Setup(Level.Trial) public void setup() {
+        DBFunc.dbManager = new AbstractDBTest();
+        final PlotArea area = new HybridPlotWorld("benchmark", null, new HybridGen(), null, null);
+        this.first = claim(area, this.shape(0));
+        this.second = claim(area, this.shape(100));
+    }
+
+    @Benchmark public int cachedConnectedPlots() {
+        return this.first.getConnectedPlots().size() + this.second.getConnectedPlots().size();
+    }
+
+    @Benchmark public int uncachedConnectedPlots() {
+        return connected(this.first).size() + connected(this.second).size();
+    }
+
+    @Benchmark public int cachedRegions() {
+        return this.first.getRegions().size() + this.second.getRegions().size();
+    }
+
+    @Benchmark public int uncachedRegions() {
+        return regions(this.first).size() + regions(this.second).size();
+    }
+
+    private static Set<Plot> connected(final Plot plot) {
+        if (!plot.isMerged()) {
+            return Collections.singleton(plot);
+        }
+        return plot.computeConnectedPlots();
+    }
+
+    private static Set<CuboidRegion> regions(final Plot plot) {
+        if (!plot.isMerged()) {
+            return Collections.singleton(
+                new CuboidRegion(plot.getBottomAbs().getBlockVector3(),
+                    plot.getTopAbs().getBlockVector3()));
+        }
+        return plot.computeRegions(plot.computeConnectedPlots());
+    }
+
+}
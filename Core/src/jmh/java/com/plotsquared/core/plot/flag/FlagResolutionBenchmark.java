@@ -0,0 +1,102 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.flag;
+
+import com.plotsquared.core.plot.flag.implementations.DisablePhysicsFlag;
+import com.plotsquared.core.plot.flag.implementations.ExplosionFlag;
+import com.plotsquared.core.plot.flag.implementations.RedstoneFlag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a flag from the resolved flag snapshot against walking the
+ * plot, area and global containers with one map lookup per level, which is what
+ * {@link FlagContainer#getFlag(Class)} used to do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlagResolutionBenchmark {
+
+    /**
+     * The level of the hierarchy that holds the queried flag
+     */
+    @Param({"plot", "area", "global"}) public String level;
+
+    private FlagContainer plotContainer;
+    private Class<? extends PlotFlag<?, ?>> flagClass;
+
+    @Setup(Level.Trial) public void setup() {
+        if (GlobalFlagContainer.getInstance() == null) {
+            GlobalFlagContainer.setup();
+        }
+        final FlagContainer areaContainer = new FlagContainer(GlobalFlagContainer.getInstance());
+        areaContainer.addFlag(DisablePhysicsFlag.DISABLE_PHYSICS_TRUE);
+        this.plotContainer = new FlagContainer(areaContainer);
+        this.plotContainer.addFlag(ExplosionFlag.EXPLOSION_TRUE);
+        switch (this.level) {
+            case "plot":
+                this.flagClass = ExplosionFlag.class;
+                break;
+            case "area":
+                this.flagClass = DisablePhysicsFlag.class;
+                break;
+            default:
+                this.flagClass = RedstoneFlag.class;
+        }
+    }
+
+    @Benchmark public PlotFlag<?, ?> resolved() {
+        return this.plotContainer.getFlag(this.flagClass);
+    }
+
+    @Benchmark public PlotFlag<?, ?> hierarchyWalk() {
+        for (FlagContainer container = this.plotContainer; container != null;
+             container = container.getParentContainer()) {
+            final PlotFlag<?, ?> flag = container.queryLocal(this.flagClass);
+            if (flag != null) {
+                return flag;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.util.MainUtil;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the blocks of a 256x256 plot clear (bedrock, filling, floor and air above)
+ * into a local block queue and reads them back the way the platform queues do.
+ * Run with {@code -prof gc} to compare the allocation rate of the chunk implementations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalChunkBenchmark {
+
+    private static final int SIZE = 256;
+    private static final int HEIGHT = 128;
+
+    @Param({"basic", "palette"}) public String chunk;
+
+    private BaseBlock bedrock;
+    private BaseBlock stone;
+    private BaseBlock grass;
+    private BaseBlock air;
+
+    @Setup public void setup() {
+        MainUtil.initCache();
+        this.bedrock = new TestBlock();
+        this.stone = new TestBlock();
+        this.grass = new TestBlock();
+        this.air = new TestBlock();
+    }
+
+    @Benchmark public void clearPlot(final Blackhole blackhole) {
+        final BenchmarkQueue queue = new BenchmarkQueue(this.chunk.equals("palette"));
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                queue.setBlock(x, 0, z, this.bedrock);
+                for (int y = 1; y < 63; y++) {
+                    queue.setBlock(x, y, z, this.stone);
+                }
+                queue.setBlock(x, 63, z, this.grass);
+                for (int y = 64; y < HEIGHT; y++) {
+                    queue.setBlock(x, y, z, this.air);
+                }
+            }
+        }
+        queue.drain(blackhole);
+    }
+
+    private static final class TestBlock extends BaseBlock {
+        private TestBlock() {
+            super((BlockState) null);
+        }
+    }
+
+    private static final class BenchmarkQueue extends BasicLocalBlockQueue {
+
+        private final boolean palette;
+        private Blackhole blackhole;
+
+        private BenchmarkQueue(final boolean palette) {
+            super("benchmark");
+            this.palette = palette;
+        }
+
+        private void drain(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+            while (this.next()) {
+            }
+        }
+
+        @Override public LocalChunk getLocalChunk(final int x, final int z) {
+            return this.palette ?
+                new PaletteLocalChunk(this, x, z) :
+                new BasicLocalChunk(this, x, z);
+        }
+
+        @Override public BlockState getBlock(final int x, final int y, final int z) {
+            return null;
+        }
+
+        @Override public void setComponents(final LocalChunk lc) {
+            for (int layer = 0; layer < 16; layer++) {
+                if (lc.hasSection(layer)) {
+                    for (int j = 0; j < 4096; j++) {
+                        this.blackhole.consume(lc.getBlock(layer, j));
+                    }
+                }
+            }
+        }
+
+        @Override public void optimize() {
+        }
+
+        @Override public void refreshChunk(final int x, final int z) {
+        }
+
+        @Override public void fixChunkLighting(final int x, final int z) {
+        }
+
+        @Override public void regenChunk(final int x, final int z) {
+        }
+    }
+
+}
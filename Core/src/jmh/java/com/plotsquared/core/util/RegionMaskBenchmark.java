@@ -0,0 +1,112 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of one mask test of a WorldEdit edit, for masks made of a growing
+ * number of merged plot regions. The compiled {@link RegionMask} should stay flat, while
+ * scanning the region set grows with the number of regions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegionMaskBenchmark {
+
+    private static final int PLOT_WIDTH = 42;
+    private static final int ROAD_WIDTH = 7;
+    private static final int POINTS = 1 << 12;
+
+    @Param({"1", "16", "256", "4096"}) public int regions;
+
+    private Set<CuboidRegion> set;
+    private RegionMask mask;
+    private int[] points;
+    private int point;
+
+    @Setup public void setup() {
+        this.set = new HashSet<>();
+        final int side = (int) Math.ceil(Math.sqrt(this.regions));
+        for (int i = 0; i < this.regions; i++) {
+            final int x = (i % side) * (PLOT_WIDTH + ROAD_WIDTH);
+            final int z = (i / side) * (PLOT_WIDTH + ROAD_WIDTH);
+            this.set.add(RegionUtil
+                .createRegion(x, x + PLOT_WIDTH - 1, 0, 255, z, z + PLOT_WIDTH - 1));
+        }
+        this.mask = RegionMask.compile(this.set);
+        final int extent = side * (PLOT_WIDTH + ROAD_WIDTH);
+        final Random random = new Random(0);
+        this.points = new int[POINTS * 3];
+        for (int i = 0; i < this.points.length; i += 3) {
+            this.points[i] = random.nextInt(extent);
+            this.points[i + 1] = random.nextInt(256);
+            this.points[i + 2] = random.nextInt(extent);
+        }
+    }
+
+    @Benchmark public boolean compiled() {
+        final int index = this.next();
+        return this.mask
+            .contains(this.points[index], this.points[index + 1], this.points[index + 2]);
+    }
+
+    @Benchmark public boolean regionSet() {
+        final int index = this.next();
+        return WEManager.maskContains(this.set, this.points[index], this.points[index + 1],
+            this.points[index + 2]);
+    }
+
+    @Benchmark public RegionMask compile() {
+        return RegionMask.compile(this.set);
+    }
+
+    private int next() {
+        final int index = this.point;
+        this.point = (index + 3) % this.points.length;
+        return index;
+    }
+
+}
@@ -46,6 +46,7 @@ import com.plotsquared.core.generator.GeneratorWrapper;
 import com.plotsquared.core.generator.HybridPlotWorld;
 import com.plotsquared.core.generator.HybridUtils;
 import com.plotsquared.core.generator.IndependentPlotGenerator;
+import com.plotsquared.core.generator.RoadRegenManager;
 import com.plotsquared.core.listener.WESubscriber;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.ConsolePlayer;
@@ -103,13 +104,10 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
 import java.sql.SQLException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -280,7 +278,8 @@ public class PlotSquared {
             SetupUtils.manager = this.IMP.initSetupUtils();
             // Set block
             GlobalBlockQueue.IMP =
-                new GlobalBlockQueue(IMP.initBlockQueue(), 1, Settings.QUEUE.TARGET_TIME);
+                new GlobalBlockQueue(IMP.initBlockQueue(), Settings.QUEUE.PREPARE_THREADS,
+                    Settings.QUEUE.TARGET_TIME);
             GlobalBlockQueue.IMP.runTask();
             // Set chunk
             ChunkManager.manager = this.IMP.initChunkManager();
@@ -545,43 +544,7 @@ public class PlotSquared {
         }
         plotAreaManager.addPlotArea(plotArea);
         plotArea.setupBorder();
-        if (!Settings.Enabled_Components.PERSISTENT_ROAD_REGEN) {
-            return;
-        }
-        File file = new File(
-            this.IMP.getDirectory() + File.separator + "persistent_regen_data_" + plotArea.getId()
-                + "_" + plotArea.getWorldName());
-        if (!file.exists()) {
-            return;
-        }
-        TaskManager.runTask(() -> {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                List<Object> list = (List<Object>) ois.readObject();
-                ArrayList<int[]> regionInts = (ArrayList<int[]>) list.get(0);
-                ArrayList<int[]> chunkInts = (ArrayList<int[]>) list.get(1);
-                HashSet<BlockVector2> regions = new HashSet<>();
-                Set<BlockVector2> chunks = new HashSet<>();
-                regionInts.forEach(l -> regions.add(BlockVector2.at(l[0], l[1])));
-                chunkInts.forEach(l -> chunks.add(BlockVector2.at(l[0], l[1])));
-                int height = (int) list.get(2);
-                PlotSquared.log(
-                    Captions.PREFIX + "Incomplete road regeneration found. Restarting in world "
-                        + plotArea.getWorldName() + " with height " + height + ".");
-                PlotSquared.debug("   Regions: " + regions.size());
-                PlotSquared.debug("   Chunks: " + chunks.size());
-                HybridUtils.UPDATE = true;
-                HybridUtils.manager.scheduleRoadUpdate(plotArea, regions, height, chunks);
-            } catch (IOException | ClassNotFoundException e) {
-                PlotSquared.log(Captions.PREFIX + "Error restarting road regeneration.");
-                e.printStackTrace();
-            } finally {
-                if (!file.delete()) {
-                    PlotSquared.log(
-                        Captions.PREFIX + "Error deleting persistent_regen_data_" + plotArea.getId()
-                            + ". Please manually delete this file.");
-                }
-            }
-        });
+        TaskManager.runTask(() -> RoadRegenManager.IMP.resume(plotArea));
     }
 
     /**
@@ -1087,16 +1050,7 @@ public class PlotSquared {
         if (callEvent) {
             eventDispatcher.callDelete(plot);
         }
-        if (plot.getArea().removePlot(plot.getId())) {
-            PlotId last = (PlotId) plot.getArea().getMeta("lastPlot");
-            int last_max = Math.max(Math.abs(last.x), Math.abs(last.y));
-            int this_max = Math.max(Math.abs(plot.getId().x), Math.abs(plot.getId().y));
-            if (this_max < last_max) {
-                plot.getArea().setMeta("lastPlot", plot.getId());
-            }
-            return true;
-        }
-        return false;
+        return plot.getArea().removePlot(plot.getId());
     }
 
     /**
@@ -1561,7 +1515,7 @@ public class PlotSquared {
     public void disable() {
         try {
             eventDispatcher.unregisterAll();
-            checkRoadRegenPersistence();
+            RoadRegenManager.IMP.checkpointAll();
             // Validate that all data in the db is correct
             final HashSet<Plot> plots = new HashSet<>();
             try {
@@ -1578,47 +1532,6 @@ public class PlotSquared {
         }
     }
 
-    /**
-     * Handle road regen persistence
-     */
-    private void checkRoadRegenPersistence() {
-        if (!HybridUtils.UPDATE || !Settings.Enabled_Components.PERSISTENT_ROAD_REGEN || (
-            HybridUtils.regions.isEmpty() && HybridUtils.chunks.isEmpty())) {
-            return;
-        }
-        PlotSquared.log(
-            Captions.PREFIX + "Road regeneration incomplete. Saving incomplete regions to disk.");
-        PlotSquared.debug("   Regions: " + HybridUtils.regions.size());
-        PlotSquared.debug("   Chunks: " + HybridUtils.chunks.size());
-        ArrayList<int[]> regions = new ArrayList<>();
-        ArrayList<int[]> chunks = new ArrayList<>();
-        for (BlockVector2 r : HybridUtils.regions) {
-            regions.add(new int[] {r.getBlockX(), r.getBlockZ()});
-        }
-        for (BlockVector2 c : HybridUtils.chunks) {
-            chunks.add(new int[] {c.getBlockX(), c.getBlockZ()});
-        }
-        List<Object> list = new ArrayList<>();
-        list.add(regions);
-        list.add(chunks);
-        list.add(HybridUtils.height);
-        File file = new File(
-            this.IMP.getDirectory() + File.separator + "persistent_regen_data_" + HybridUtils.area
-                .getId() + "_" + HybridUtils.area.getWorldName());
-        if (file.exists() && !file.delete()) {
-            PlotSquared.log(Captions.PREFIX
-                + "persistent_regen_data file already exists and could not be deleted.");
-            return;
-        }
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-            Files.newOutputStream(file.toPath(), StandardOpenOption.CREATE_NEW))) {
-            oos.writeObject(list);
-        } catch (IOException e) {
-            PlotSquared.log(Captions.PREFIX + "Error create persistent_regen_data file.");
-            e.printStackTrace();
-        }
-    }
-
     /**
      * Setup the database connection.
      */
@@ -140,13 +140,17 @@ public class PlayerBackupProfile implements BackupProfile {
                 if (backups.size() == backupManager.getBackupLimit()) {
                     backups.get(backups.size() - 1).delete();
                 }
-                final List<Plot> plots = Collections.singletonList(plot);
-                final boolean result = SchematicHandler.manager.exportAll(plots, getBackupDirectory().toFile(),
-                    "%world%-%id%-" + System.currentTimeMillis(), () ->
-                    future.complete(new Backup(this, System.currentTimeMillis(), null)));
-                if (!result) {
-                    future.completeExceptionally(new RuntimeException("Failed to complete the backup"));
-                }
+                final Path file = getBackupDirectory()
+                    .resolve(plot.getArea() + "-" + plot.getId() + "-" + System.currentTimeMillis() + ".schem");
+                SchematicHandler.manager.export(plot, file.toFile(), new RunnableVal<Boolean>() {
+                    @Override public void run(Boolean value) {
+                        if (value) {
+                            future.complete(new Backup(PlayerBackupProfile.this, System.currentTimeMillis(), file));
+                        } else {
+                            future.completeExceptionally(new RuntimeException("Failed to complete the backup"));
+                        }
+                    }
+                });
                 this.backupCache = null;
             }
         });
@@ -38,7 +38,6 @@ import com.plotsquared.core.events.TeleportCause;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
-import com.plotsquared.core.plot.PlotAreaType;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.util.EconHandler;
 import com.plotsquared.core.util.Expression;
@@ -268,44 +267,36 @@ public class Auto extends SubCommand {
                 sendMessage(player, Captions.REMOVED_BALANCE, cost + "");
             }
         }
-        // TODO handle type 2 (partial) the same as normal worlds!
         if (size_x == 1 && size_z == 1) {
             autoClaimSafe(player, plotarea, null, schematic);
             return true;
         } else {
-            if (plotarea.getType() == PlotAreaType.PARTIAL) {
+            final PlotId start = plotarea.getNextFreeRegion(player, null, size_x, size_z);
+            if (start == null) {
                 MainUtil.sendMessage(player, Captions.NO_FREE_PLOTS);
                 return false;
             }
-            while (true) {
-                PlotId start = plotarea.getMeta("lastPlot", new PlotId(0, 0)).getNextId(1);
-                PlotId end = new PlotId(start.x + size_x - 1, start.y + size_z - 1);
-                if (plotarea.canClaim(player, start, end)) {
-                    plotarea.setMeta("lastPlot", start);
-                    for (int i = start.x; i <= end.x; i++) {
-                        for (int j = start.y; j <= end.y; j++) {
-                            Plot plot = plotarea.getPlotAbs(new PlotId(i, j));
-                            boolean teleport = i == end.x && j == end.y;
-                            if (plot == null) {
-                                return false;
-                            }
-                            plot.claim(player, teleport, null);
-                        }
-                    }
-                    ArrayList<PlotId> plotIds = MainUtil.getPlotSelectionIds(start, end);
-                    final PlotId pos1 = plotIds.get(0);
-                    final PlotAutoMergeEvent mergeEvent = PlotSquared.get().getEventDispatcher()
-                        .callAutoMerge(plotarea.getPlotAbs(pos1), plotIds);
-                    if (!force && mergeEvent.getEventResult() == Result.DENY) {
-                        sendMessage(player, Captions.EVENT_DENIED, "Auto merge");
-                        return false;
-                    }
-                    if (!plotarea.mergePlots(mergeEvent.getPlots(), true)) {
+            final PlotId end = new PlotId(start.x + size_x - 1, start.y + size_z - 1);
+            for (int i = start.x; i <= end.x; i++) {
+                for (int j = start.y; j <= end.y; j++) {
+                    Plot plot = plotarea.getPlotAbs(new PlotId(i, j));
+                    boolean teleport = i == end.x && j == end.y;
+                    if (plot == null) {
                         return false;
                     }
-                    break;
+                    plot.claim(player, teleport, null);
                 }
-                plotarea.setMeta("lastPlot", start);
+            }
+            ArrayList<PlotId> plotIds = MainUtil.getPlotSelectionIds(start, end);
+            final PlotId pos1 = plotIds.get(0);
+            final PlotAutoMergeEvent mergeEvent = PlotSquared.get().getEventDispatcher()
+                .callAutoMerge(plotarea.getPlotAbs(pos1), plotIds);
+            if (!force && mergeEvent.getEventResult() == Result.DENY) {
+                sendMessage(player, Captions.EVENT_DENIED, "Auto merge");
+                return false;
+            }
+            if (!plotarea.mergePlots(mergeEvent.getPlots(), true)) {
+                return false;
             }
             return true;
         }
@@ -72,6 +72,16 @@ public class Debug extends SubCommand {
             MainUtil.sendMessage(player, String.format("There are %d cached UUIDs", mappings.size()));
             return true;
         }
+        if (args.length > 0 && "events".equalsIgnoreCase(args[0])) {
+            MainUtil.sendMessage(player, "Event dispatch timings (count, avg, max, async):");
+            PlotSquared.get().getEventDispatcher().getDispatchTimings().forEach(
+                (eventClass, timings) -> MainUtil.sendMessage(player, String
+                    .format("- %s: %d, %.3fms, %.3fms, %.3fms", eventClass.getSimpleName(),
+                        timings.getCount(),
+                        timings.getTotalNanos() / 1e6 / Math.max(1, timings.getCount()),
+                        timings.getMaxNanos() / 1e6, timings.getAsyncNanos() / 1e6)));
+            return true;
+        }
         if (args.length > 0 && "debug-players".equalsIgnoreCase(args[0])) {
             MainUtil.sendMessage(player, "Player in debug mode: " );
             for (final PlotPlayer<?> pp : PlotPlayer.getDebugModePlayers()) {
@@ -33,6 +33,8 @@ import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.events.PlotFlagRemoveEvent;
 import com.plotsquared.core.events.Result;
 import com.plotsquared.core.generator.HybridUtils;
+import com.plotsquared.core.generator.RoadRegenJob;
+import com.plotsquared.core.generator.RoadRegenManager;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.ConsolePlayer;
 import com.plotsquared.core.player.PlotPlayer;
@@ -71,7 +73,6 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -181,8 +182,8 @@ public class DebugExec extends SubCommand {
     @Override public boolean onCommand(final PlotPlayer<?> player, String[] args) {
         List<String> allowed_params = Arrays
             .asList("analyze", "calibrate-analysis", "remove-flag", "stop-expire", "start-expire",
-                "seen", "list-scripts", "start-rgar", "stop-rgar", "help", "addcmd", "runasync",
-                "run", "allcmd", "all");
+                "seen", "list-scripts", "start-rgar", "stop-rgar", "status-rgar", "help", "addcmd",
+                "runasync", "run", "allcmd", "all");
         if (args.length > 0) {
             String arg = args[0].toLowerCase();
             String script;
@@ -264,28 +265,36 @@ public class DebugExec extends SubCommand {
                         MainUtil.sendMessage(player, Captions.NOT_VALID_PLOT_WORLD, args[1]);
                         return false;
                     }
-                    boolean result;
-                    if (HybridUtils.regions != null) {
-                        result = HybridUtils.manager
-                            .scheduleRoadUpdate(area, HybridUtils.regions, 0, new HashSet<>());
-                    } else {
-                        result = HybridUtils.manager.scheduleRoadUpdate(area, 0);
-                    }
-                    if (!result) {
+                    if (!HybridUtils.manager.scheduleRoadUpdate(area, 0)) {
                         MainUtil.sendMessage(player,
-                            "&cCannot schedule mass schematic update! (Is one already in progress?)");
+                            "&cCannot schedule mass schematic update! (Is it a hybrid world?)");
                         return false;
                     }
                     return true;
                 }
                 case "stop-rgar":
-                    if (!HybridUtils.UPDATE) {
+                    if (RoadRegenManager.IMP.cancelAll() == 0) {
                         MainUtil.sendMessage(player, "&cTask not running!");
                         return false;
                     }
-                    HybridUtils.UPDATE = false;
                     MainUtil.sendMessage(player, "&cCancelling task... (Please wait)");
                     return true;
+                case "status-rgar": {
+                    List<RoadRegenJob> jobs = RoadRegenManager.IMP.getJobs();
+                    if (jobs.isEmpty()) {
+                        MainUtil.sendMessage(player, "&cTask not running!");
+                        return false;
+                    }
+                    for (RoadRegenJob job : jobs) {
+                        long eta = job.getEta();
+                        MainUtil.sendMessage(player, String
+                            .format("&6%s&7: &a%.1f%% &7(%d/%d chunks, %d regions left)%s",
+                                job.getArea(), job.getProgress() * 100, job.getCompletedChunks(),
+                                job.getTotalChunks(), job.getRemainingRegions(),
+                                eta < 0 ? "" : ", ETA " + MainUtil.secToTime(eta / 1000)));
+                    }
+                    return true;
+                }
                 case "start-expire":
                     if (ExpireManager.IMP == null) {
                         ExpireManager.IMP = new ExpireManager();
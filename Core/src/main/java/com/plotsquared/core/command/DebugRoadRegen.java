@@ -119,8 +119,7 @@ public class DebugRoadRegen extends SubCommand {
         MainUtil.sendMessage(player, "&cTo regenerate all roads: /plot regenallroads");
         boolean result = HybridUtils.manager.scheduleSingleRegionRoadUpdate(plot, height);
         if (!result) {
-            MainUtil.sendMessage(player,
-                "&cCannot schedule mass schematic update! (Is one already in progress?)");
+            MainUtil.sendMessage(player, "&cCannot schedule mass schematic update!");
             return false;
         }
         return true;
@@ -79,8 +79,7 @@ public class RegenAllRoads extends SubCommand {
         //MainUtil.sendMessage(player, "&6Estimated time: &7" + chunks.size() + " seconds");
         boolean result = HybridUtils.manager.scheduleRoadUpdate(area, height);
         if (!result) {
-            MainUtil.sendMessage(player,
-                "&cCannot schedule mass schematic update! (Is one already in progress?)");
+            MainUtil.sendMessage(player, "&cCannot schedule mass schematic update!");
             return false;
         }
         return true;
@@ -27,32 +27,35 @@ package com.plotsquared.core.command;
 
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Captions;
-import com.plotsquared.core.location.Location;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.expiration.ExpireManager;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.LocalBlockQueue;
 import com.plotsquared.core.util.MainUtil;
+import com.plotsquared.core.util.RegionFileHeader;
 import com.plotsquared.core.util.RegionManager;
-import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.WorldUtil;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.RunnableVal2;
 import com.plotsquared.core.util.task.TaskManager;
 import com.sk89q.worldedit.math.BlockVector2;
-import com.sk89q.worldedit.regions.CuboidRegion;
+import org.jetbrains.annotations.NotNull;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 @CommandDeclaration(command = "trim",
     permission = "plots.admin",
@@ -65,62 +68,90 @@ public class Trim extends SubCommand {
     public static ArrayList<Plot> expired = null;
     private static volatile boolean TASK = false;
 
+    /**
+     * Find the region files of a world that have not been changed since they were generated,
+     * from the write times of their chunks
+     *
+     * @param empty    Collection to add the region coordinates to
+     * @param world    World name
+     * @param whenDone Called asynchronously once all region files have been read
+     * @return false if a trim is already running
+     */
     public static boolean getBulkRegions(final ArrayList<BlockVector2> empty, final String world,
         final Runnable whenDone) {
         if (Trim.TASK) {
             return false;
         }
-        TaskManager.runTaskAsync(new Runnable() {
-            @Override public void run() {
-                String directory = world + File.separator + "region";
-                File folder = new File(PlotSquared.get().IMP.getWorldContainer(), directory);
-                File[] regionFiles = folder.listFiles();
-                for (File file : regionFiles) {
-                    String name = file.getName();
-                    if (name.endsWith("mca")) {
-                        if (file.getTotalSpace() <= 8192) {
-                            checkMca(name);
-                        } else {
-                            Path path = Paths.get(file.getPath());
-                            try {
-                                BasicFileAttributes attr =
-                                    Files.readAttributes(path, BasicFileAttributes.class);
-                                long creation = attr.creationTime().toMillis();
-                                long modification = file.lastModified();
-                                long diff = Math.abs(creation - modification);
-                                if (diff < 10000) {
-                                    checkMca(name);
-                                }
-                            } catch (IOException ignored) {
-                            }
-                        }
+        TaskManager.runTaskAsync(() -> {
+            forEachRegionFile(world, (file, region) -> {
+                try {
+                    RegionFileHeader header = RegionFileHeader.read(file);
+                    if (header.getChunkCount() == 0 || header.getWriteSpan() < 10000) {
+                        empty.add(region);
                     }
+                } catch (IOException e) {
+                    PlotSquared.debug("Could not read region file " + file + ": " + e);
                 }
-                Trim.TASK = false;
-                TaskManager.runTaskAsync(whenDone);
+            });
+            Trim.TASK = false;
+            TaskManager.runTaskAsync(whenDone);
+        });
+        Trim.TASK = true;
+        return true;
+    }
+
+    /**
+     * Visit the region files of a world, one at a time
+     *
+     * @param world World name
+     * @param task  Called with the path and the coordinates of every region file
+     */
+    private static void forEachRegionFile(String world, BiConsumer<Path, BlockVector2> task) {
+        Path folder = PlotSquared.get().IMP.getWorldContainer().toPath().resolve(world)
+            .resolve("region");
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "r.*.mca")) {
+            for (Path file : stream) {
+                int[] coordinates = RegionFileHeader.parseName(file.getFileName().toString());
+                if (coordinates == null) {
+                    PlotSquared.debug("INVALID MCA: " + file.getFileName());
+                    continue;
+                }
+                task.accept(file, BlockVector2.at(coordinates[0], coordinates[1]));
             }
+        } catch (IOException e) {
+            throw new RuntimeException(
+                "Could not read worlds folder: " + folder + " ? (no read access?)", e);
+        }
+    }
 
-            private void checkMca(String name) {
-                try {
-                    String[] split = name.split("\\.");
-                    int x = Integer.parseInt(split[1]);
-                    int z = Integer.parseInt(split[2]);
-                    BlockVector2 loc = BlockVector2.at(x, z);
-                    empty.add(loc);
-                } catch (NumberFormatException ignored) {
-                    PlotSquared.debug("INVALID MCA: " + name);
+    /**
+     * Check whether a region file intersects a claimed plot that is not about to expire
+     */
+    private static boolean hasPlots(Set<PlotArea> areas, Set<Plot> expired, BlockVector2 region) {
+        for (PlotArea area : areas) {
+            for (Plot plot : area.getRegionFileIndex().getPlots(region.getX(), region.getZ())) {
+                if (!expired.contains(plot)) {
+                    return true;
                 }
             }
-        });
-        Trim.TASK = true;
-        return true;
+        }
+        return false;
+    }
+
+    @NotNull private static Set<Plot> getExpired() {
+        Set<Plot> expired = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (ExpireManager.IMP != null) {
+            expired.addAll(ExpireManager.IMP.getPendingExpired());
+        }
+        return expired;
     }
 
     /**
-     * Runs the result task with the parameters (viable, nonViable).
+     * Runs the result task with the parameters (viable, nonViable). The region files are
+     * read in a single pass on another thread, and the result task runs on the main thread.
      *
      * @param world  The world
-     * @param result (viable = .mcr to trim, nonViable = .mcr keep)
+     * @param result (viable = .mca to trim, nonViable = .mca keep)
      * @return
      */
     public static boolean getTrimRegions(String world,
@@ -129,36 +160,56 @@ public class Trim extends SubCommand {
             return false;
         }
         MainUtil.sendMessage(null, "Collecting region data...");
-        ArrayList<Plot> plots = new ArrayList<>(PlotSquared.get().getPlots(world));
-        if (ExpireManager.IMP != null) {
-            plots.removeAll(ExpireManager.IMP.getPendingExpired());
-        }
-        result.value1 = new HashSet<>(RegionManager.manager.getChunkChunks(world));
+        final Set<PlotArea> areas = PlotSquared.get().getPlotAreas(world);
+        final Set<Plot> expired = getExpired();
+        result.value1 = new HashSet<>();
         result.value2 = new HashSet<>();
-        MainUtil.sendMessage(null, " - MCA #: " + result.value1.size());
-        MainUtil.sendMessage(null, " - CHUNKS: " + (result.value1.size() * 1024) + " (max)");
-        MainUtil.sendMessage(null, " - TIME ESTIMATE: 12 Parsecs");
-        TaskManager.objectTask(plots, new RunnableVal<Plot>() {
-            @Override public void run(Plot plot) {
-                Location pos1 = plot.getCorners()[0];
-                Location pos2 = plot.getCorners()[1];
-                int ccx1 = pos1.getX() >> 9;
-                int ccz1 = pos1.getZ() >> 9;
-                int ccx2 = pos2.getX() >> 9;
-                int ccz2 = pos2.getZ() >> 9;
-                for (int x = ccx1; x <= ccx2; x++) {
-                    for (int z = ccz1; z <= ccz2; z++) {
-                        BlockVector2 loc = BlockVector2.at(x, z);
-                        if (result.value1.remove(loc)) {
-                            result.value2.add(loc);
-                        }
-                    }
+        TaskManager.runTaskAsync(() -> {
+            forEachRegionFile(world, (file, region) -> {
+                if (hasPlots(areas, expired, region)) {
+                    result.value2.add(region);
+                } else {
+                    result.value1.add(region);
                 }
-            }
-        }, result);
+            });
+            MainUtil.sendMessage(null, " - MCA #: " + (result.value1.size() + result.value2
+                .size()));
+            MainUtil.sendMessage(null, " - MCA to trim: " + result.value1.size());
+            TaskManager.runTask(result);
+        });
         return true;
     }
 
+    /**
+     * Get the chunks of a region file that exist and do not intersect a claimed plot
+     */
+    @NotNull private static List<BlockVector2> getUnclaimedChunks(String world,
+        BlockVector2 region) {
+        Path file = PlotSquared.get().IMP.getWorldContainer().toPath().resolve(world)
+            .resolve("region").resolve("r." + region.getX() + "." + region.getZ() + ".mca");
+        RegionFileHeader header;
+        try {
+            header = RegionFileHeader.read(file);
+        } catch (IOException e) {
+            PlotSquared.debug("Could not read region file " + file + ": " + e);
+            return Collections.emptyList();
+        }
+        BitSet claimed = new BitSet(1024);
+        Set<Plot> expired = getExpired();
+        for (PlotArea area : PlotSquared.get().getPlotAreas(world)) {
+            claimed.or(area.getRegionFileIndex()
+                .getClaimedChunks(region.getX(), region.getZ(), expired));
+        }
+        List<BlockVector2> chunks = new ArrayList<>();
+        for (int index = 0; index < 1024; index++) {
+            if (header.hasChunk(index) && !claimed.get(index)) {
+                chunks.add(BlockVector2
+                    .at((region.getX() << 5) + (index & 31), (region.getZ() << 5) + (index >> 5)));
+            }
+        }
+        return chunks;
+    }
+
     @Override public boolean onCommand(final PlotPlayer<?> player, String[] args) {
         if (args.length == 0) {
             Captions.COMMAND_SYNTAX.send(player, getUsage());
@@ -192,44 +243,19 @@ public class Trim extends SubCommand {
                             Iterator<BlockVector2> iterator = nonViable.iterator();
                             BlockVector2 mcr = iterator.next();
                             iterator.remove();
-                            int cbx = mcr.getX() << 5;
-                            int cbz = mcr.getZ() << 5;
-                            // get all 1024 chunks
-                            HashSet<BlockVector2> chunks = new HashSet<>();
-                            for (int x = cbx; x < cbx + 32; x++) {
-                                for (int z = cbz; z < cbz + 32; z++) {
-                                    BlockVector2 loc = BlockVector2.at(x, z);
-                                    chunks.add(loc);
-                                }
-                            }
-                            int bx = cbx << 4;
-                            int bz = cbz << 4;
-                            CuboidRegion region =
-                                RegionUtil.createRegion(bx, bx + 511, bz, bz + 511);
-                            for (Plot plot : PlotSquared.get().getPlots(world)) {
-                                Location bot = plot.getBottomAbs();
-                                Location top = plot.getExtendedTopAbs();
-                                CuboidRegion plotReg = RegionUtil
-                                    .createRegion(bot.getX(), top.getX(), bot.getZ(), top.getZ());
-                                if (!RegionUtil.intersects(region, plotReg)) {
-                                    continue;
-                                }
-                                for (int x = plotReg.getMinimumPoint().getX() >> 4;
-                                     x <= plotReg.getMaximumPoint().getX() >> 4; x++) {
-                                    for (int z = plotReg.getMinimumPoint().getZ() >> 4;
-                                         z <= plotReg.getMaximumPoint().getZ() >> 4; z++) {
-                                        BlockVector2 loc = BlockVector2.at(x, z);
-                                        chunks.remove(loc);
-                                    }
-                                }
-                            }
-                            final LocalBlockQueue queue =
-                                GlobalBlockQueue.IMP.getNewQueue(world, false);
-                            TaskManager.objectTask(chunks, new RunnableVal<BlockVector2>() {
-                                @Override public void run(BlockVector2 value) {
-                                    queue.regenChunk(value.getX(), value.getZ());
-                                }
-                            }, this);
+                            Runnable next = this;
+                            TaskManager.runTaskAsync(() -> {
+                                List<BlockVector2> chunks = getUnclaimedChunks(world, mcr);
+                                TaskManager.runTask(() -> {
+                                    final LocalBlockQueue queue =
+                                        GlobalBlockQueue.IMP.getNewQueue(world, false);
+                                    TaskManager.objectTask(chunks, new RunnableVal<BlockVector2>() {
+                                        @Override public void run(BlockVector2 value) {
+                                            queue.regenChunk(value.getX(), value.getZ());
+                                        }
+                                    }, next);
+                                });
+                            });
                         }
                     };
                 } else {
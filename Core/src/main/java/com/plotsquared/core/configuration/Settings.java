@@ -399,6 +399,8 @@ public class Settings extends Config {
         @Comment(
             "Whether schematic based road generation should paste schematic on top of roads, or from Y=1")
         public static boolean PASTE_ROAD_ON_TOP = true;
+        @Comment("Memory in megabytes used to keep schematic files loaded between pastes")
+        public static int CACHE_SIZE = 64;
     }
 
 
@@ -539,6 +541,9 @@ public class Settings extends Config {
         @Comment({"Average time per tick spent completing chunk tasks in ms.",
         "Waits (chunk task time / target_time) ticks before completely the next task."})
         public static int TARGET_TIME = 65;
+        @Comment({"Number of worker threads that prepare queued chunks before they are placed.",
+        "Blocks are always placed on the main thread."})
+        public static int PREPARE_THREADS = 2;
     }
 
     @Comment("Settings related to tab completion")
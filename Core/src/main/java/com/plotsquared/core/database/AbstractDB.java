@@ -115,6 +115,21 @@ public interface AbstractDB {
 
     void getPersistentMeta(UUID uuid, RunnableVal<Map<String, byte[]>> result);
 
+    /**
+     * Gets the time every known player was last seen online.
+     *
+     * @return the last seen timestamps, in milliseconds since the epoch
+     */
+    Map<UUID, Long> getLastSeen();
+
+    /**
+     * Sets the time a player was last seen online.
+     *
+     * @param uuid the player
+     * @param time the timestamp, in milliseconds since the epoch
+     */
+    void setLastSeen(UUID uuid, long time);
+
     /**
      * Creates the plot settings.
      *
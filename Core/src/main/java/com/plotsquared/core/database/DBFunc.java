@@ -84,6 +84,19 @@ public class DBFunc {
         }
     }
 
+    public static Map<UUID, Long> getLastSeen() {
+        if (dbManager == null) {
+            return new HashMap<>();
+        }
+        return dbManager.getLastSeen();
+    }
+
+    public static void setLastSeen(UUID uuid, long time) {
+        if (dbManager != null) {
+            dbManager.setLastSeen(uuid, time);
+        }
+    }
+
     public static CompletableFuture<Boolean> swapPlots(Plot plot1, Plot plot2) {
         if (dbManager != null) {
             return dbManager.swapPlots(plot1, plot2);
@@ -59,6 +59,7 @@ import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -73,12 +74,32 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 @SuppressWarnings("SqlDialectInspection")
 public class SQLManager implements AbstractDB {
 
+    /**
+     * Maximum number of queued statements sent per key group before committing
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+    /**
+     * Idle time (ms) after which the write connection is validated before use
+     */
+    private static final long VALIDATION_INTERVAL = 10000;
+    /**
+     * Number of rows fetched at once while loading plots, where the driver supports it
+     */
+    private static final int LOAD_FETCH_SIZE = 1024;
+
     // Public final
     public final String SET_OWNER;
     public final String GET_ALL_PLOTS;
@@ -114,6 +135,7 @@ public class SQLManager implements AbstractDB {
     public volatile ConcurrentHashMap<Plot, Queue<UniqueStatement>> plotTasks;
     /**
      * player_meta
+     * player_seen
      */
     public volatile ConcurrentHashMap<UUID, Queue<UniqueStatement>> playerTasks;
     /**
@@ -126,7 +148,18 @@ public class SQLManager implements AbstractDB {
 
     // Private
     private Connection connection;
-    private boolean closed = false;
+    private Connection readConnection;
+    private volatile Thread writerThread;
+    private volatile boolean closed = false;
+
+    // Writer
+    private final Semaphore writerSignal = new Semaphore(0);
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedStatements = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong commitNanos = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile long lastCommitNanos;
 
     /**
      * Constructor
@@ -140,7 +173,7 @@ public class SQLManager implements AbstractDB {
         throws SQLException, ClassNotFoundException {
         // Private final
         this.database = database;
-        this.connection = database.openConnection();
+        openConnections();
         this.mySQL = database instanceof MySQL;
         this.globalTasks = new ConcurrentLinkedQueue<>();
         this.notifyTasks = new ConcurrentLinkedQueue<>();
@@ -178,44 +211,136 @@ public class SQLManager implements AbstractDB {
             e.printStackTrace();
         }
         TaskManager.runTaskAsync(() -> {
+            SQLManager.this.writerThread = Thread.currentThread();
             long last = System.currentTimeMillis();
-            while (true) {
-                if (SQLManager.this.closed) {
-                    break;
+            long lastUse = last;
+            while (!SQLManager.this.closed) {
+                if (!hasTasks()) {
+                    runNotifyTasks();
+                    awaitTasks(1000);
+                    continue;
                 }
-                boolean hasTask =
-                    !globalTasks.isEmpty() || !playerTasks.isEmpty() || !plotTasks.isEmpty()
-                        || !clusterTasks.isEmpty();
-                if (hasTask) {
-                    if (SQLManager.this.mySQL && System.currentTimeMillis() - last > 550000
-                        || !isValid()) {
-                        last = System.currentTimeMillis();
-                        reconnect();
-                    }
-                    if (!sendBatch()) {
-                        try {
-                            if (!getNotifyTasks().isEmpty()) {
-                                for (Runnable task : getNotifyTasks()) {
-                                    TaskManager.runTask(task);
-                                }
-                                getNotifyTasks().clear();
-                            }
-                            Thread.sleep(50);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                } else {
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
+                long now = System.currentTimeMillis();
+                if (SQLManager.this.mySQL && now - last > 550000
+                    || now - lastUse > VALIDATION_INTERVAL && !isValid()) {
+                    last = now;
+                    reconnect();
+                }
+                if (!sendBatch()) {
+                    runNotifyTasks();
+                    awaitTasks(50);
                 }
+                lastUse = System.currentTimeMillis();
             }
         });
     }
 
+    private void openConnections() throws SQLException, ClassNotFoundException {
+        this.connection = this.database.forceConnection();
+        this.readConnection = this.database.createConnection();
+    }
+
+    /**
+     * Get the connection synchronous reads should use. Reads issued by the writer
+     * itself share its connection so they can see its uncommitted statements.
+     *
+     * @return read connection
+     */
+    private Connection getReadConnection() {
+        if (this.readConnection == null || Thread.currentThread() == this.writerThread) {
+            return this.connection;
+        }
+        return this.readConnection;
+    }
+
+    private boolean hasTasks() {
+        return !this.globalTasks.isEmpty() || !this.playerTasks.isEmpty() || !this.plotTasks
+            .isEmpty() || !this.clusterTasks.isEmpty();
+    }
+
+    private void runNotifyTasks() {
+        Queue<Runnable> tasks = getNotifyTasks();
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            TaskManager.runTask(task);
+        }
+    }
+
+    /**
+     * Block the writer until a task is queued, instead of polling the queues.
+     *
+     * @param timeout maximum time to wait in milliseconds
+     */
+    private void awaitTasks(long timeout) {
+        try {
+            this.writerSignal.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+            this.writerSignal.drainPermits();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void signalWriter() {
+        this.writerSignal.release();
+    }
+
+    /**
+     * Get the number of statements and tasks waiting to be written.
+     *
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        int depth = this.globalTasks.size();
+        for (Queue<UniqueStatement> tasks : this.plotTasks.values()) {
+            depth += tasks.size();
+        }
+        for (Queue<UniqueStatement> tasks : this.playerTasks.values()) {
+            depth += tasks.size();
+        }
+        for (Queue<UniqueStatement> tasks : this.clusterTasks.values()) {
+            depth += tasks.size();
+        }
+        return depth;
+    }
+
+    /**
+     * Get the number of statements sent in the most recent JDBC batch.
+     *
+     * @return last batch size
+     */
+    public int getLastBatchSize() {
+        return this.lastBatchSize;
+    }
+
+    /**
+     * Get the average number of statements sent per JDBC batch.
+     *
+     * @return average batch size
+     */
+    public double getAverageBatchSize() {
+        long count = this.batches.get();
+        return count == 0 ? 0 : (double) this.batchedStatements.get() / count;
+    }
+
+    /**
+     * Get the duration of the most recent commit.
+     *
+     * @return commit latency in milliseconds
+     */
+    public double getLastCommitLatency() {
+        return this.lastCommitNanos / 1_000_000D;
+    }
+
+    /**
+     * Get the average duration of a commit.
+     *
+     * @return average commit latency in milliseconds
+     */
+    public double getAverageCommitLatency() {
+        long count = this.commits.get();
+        return count == 0 ? 0 : this.commitNanos.get() / (count * 1_000_000D);
+    }
+
     public boolean isValid() {
         try {
             if (connection.isClosed()) {
@@ -236,7 +361,7 @@ public class SQLManager implements AbstractDB {
         try {
             close();
             SQLManager.this.closed = false;
-            SQLManager.this.connection = database.forceConnection();
+            openConnections();
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
         }
@@ -275,6 +400,7 @@ public class SQLManager implements AbstractDB {
             };
         }
         tasks.add(task);
+        signalWriter();
     }
 
     public synchronized void addPlayerTask(UUID uuid, UniqueStatement task) {
@@ -305,6 +431,7 @@ public class SQLManager implements AbstractDB {
             };
         }
         tasks.add(task);
+        signalWriter();
     }
 
     public synchronized void addClusterTask(PlotCluster cluster, UniqueStatement task) {
@@ -332,15 +459,18 @@ public class SQLManager implements AbstractDB {
             };
         }
         tasks.add(task);
+        signalWriter();
     }
 
     public synchronized void addGlobalTask(Runnable task) {
         getGlobalTasks().add(task);
+        signalWriter();
     }
 
     public synchronized void addNotifyTask(Runnable task) {
         if (task != null) {
             getNotifyTasks().add(task);
+            signalWriter();
         }
     }
 
@@ -367,151 +497,13 @@ public class SQLManager implements AbstractDB {
             }
             int count = -1;
             if (!this.plotTasks.isEmpty()) {
-                count = 0;
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                Iterator<Entry<Plot, Queue<UniqueStatement>>> iterator =
-                    this.plotTasks.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    try {
-                        Entry<Plot, Queue<UniqueStatement>> entry = iterator.next();
-                        Plot plot = entry.getKey();
-                        Queue<UniqueStatement> tasks = entry.getValue();
-                        if (tasks.isEmpty()) {
-                            iterator.remove();
-                            continue;
-                        }
-                        task = tasks.remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)
-                                || statement == null) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                            try {
-                                if (statement.isClosed()) {
-                                    statement = null;
-                                }
-                            } catch (NullPointerException | AbstractMethodError ignore) {
-                            }
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        PlotSquared.debug("============ DATABASE ERROR ============");
-                        PlotSquared.debug("There was an error updating the database.");
-                        PlotSquared.debug(" - It will be corrected on shutdown");
-                        PlotSquared.debug("========================================");
-                        e.printStackTrace();
-                        PlotSquared.debug("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
+                count = sendTasks(this.plotTasks);
             }
             if (!this.playerTasks.isEmpty()) {
-                count = 0;
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                for (Entry<UUID, Queue<UniqueStatement>> entry : this.playerTasks.entrySet()) {
-                    try {
-                        UUID uuid = entry.getKey();
-                        if (this.playerTasks.get(uuid).isEmpty()) {
-                            this.playerTasks.remove(uuid);
-                            continue;
-                        }
-                        task = this.playerTasks.get(uuid).remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        PlotSquared.debug("============ DATABASE ERROR ============");
-                        PlotSquared.debug("There was an error updating the database.");
-                        PlotSquared.debug(" - It will be corrected on shutdown");
-                        PlotSquared.debug("========================================");
-                        e.printStackTrace();
-                        PlotSquared.debug("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
+                count = Math.max(count, 0) + sendTasks(this.playerTasks);
             }
             if (!this.clusterTasks.isEmpty()) {
-                count = 0;
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                for (Entry<PlotCluster, Queue<UniqueStatement>> entry : this.clusterTasks
-                    .entrySet()) {
-                    try {
-                        PlotCluster cluster = entry.getKey();
-                        if (this.clusterTasks.get(cluster).isEmpty()) {
-                            this.clusterTasks.remove(cluster);
-                            continue;
-                        }
-                        task = this.clusterTasks.get(cluster).remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        PlotSquared.debug("============ DATABASE ERROR ============");
-                        PlotSquared.debug("There was an error updating the database.");
-                        PlotSquared.debug(" - It will be corrected on shutdown");
-                        PlotSquared.debug("========================================");
-                        e.printStackTrace();
-                        PlotSquared.debug("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
+                count = Math.max(count, 0) + sendTasks(this.clusterTasks);
             }
             if (count > 0) {
                 commit();
@@ -522,12 +514,6 @@ public class SQLManager implements AbstractDB {
                     this.connection.setAutoCommit(true);
                 }
             }
-            if (!this.clusterTasks.isEmpty()) {
-                this.clusterTasks.clear();
-            }
-            if (!this.plotTasks.isEmpty()) {
-                this.plotTasks.clear();
-            }
         } catch (Throwable e) {
             PlotSquared.debug("============ DATABASE ERROR ============");
             PlotSquared.debug("There was an error updating the database.");
@@ -1065,13 +1051,126 @@ public class SQLManager implements AbstractDB {
         });
     }
 
+    /**
+     * Send the queued statements of every key. Each pass takes the next statement of
+     * every key and groups them by method, so statements of the same kind are sent as
+     * one JDBC batch regardless of the key they were queued for. Statements of a single
+     * key keep their order as passes are executed one after another.
+     *
+     * @param tasks queued statements by key
+     * @return number of statements sent
+     */
+    private <T> int sendTasks(Map<T, Queue<UniqueStatement>> tasks) throws SQLException {
+        if (this.connection.getAutoCommit()) {
+            this.connection.setAutoCommit(false);
+        }
+        int count = 0;
+        while (count < MAX_BATCH_SIZE) {
+            Map<String, List<UniqueStatement>> byMethod = new HashMap<>();
+            List<List<UniqueStatement>> groups = new ArrayList<>();
+            Iterator<Entry<T, Queue<UniqueStatement>>> iterator = tasks.entrySet().iterator();
+            int pass = 0;
+            while (iterator.hasNext()) {
+                Queue<UniqueStatement> queue = iterator.next().getValue();
+                UniqueStatement task = queue.poll();
+                if (task == null) {
+                    // Queues are only created while holding the monitor, so removing them
+                    // under it as well avoids dropping a statement that was just added
+                    synchronized (this) {
+                        if (queue.isEmpty()) {
+                            iterator.remove();
+                        }
+                    }
+                    continue;
+                }
+                pass++;
+                if (task.method == null) {
+                    List<UniqueStatement> group = new ArrayList<>(1);
+                    group.add(task);
+                    groups.add(group);
+                } else {
+                    byMethod.computeIfAbsent(task.method, method -> {
+                        List<UniqueStatement> group = new ArrayList<>();
+                        groups.add(group);
+                        return group;
+                    }).add(task);
+                }
+            }
+            if (pass == 0) {
+                break;
+            }
+            for (List<UniqueStatement> group : groups) {
+                sendGroup(group);
+            }
+            count += pass;
+        }
+        return count;
+    }
+
+    private void sendGroup(List<UniqueStatement> group) {
+        PreparedStatement statement = null;
+        UniqueStatement lastTask = null;
+        int size = 0;
+        try {
+            for (UniqueStatement task : group) {
+                try {
+                    if (statement == null) {
+                        statement = task.get();
+                    }
+                    task.set(statement);
+                    task.addBatch(statement);
+                    lastTask = task;
+                    size++;
+                    try {
+                        if (statement != null && statement.isClosed()) {
+                            statement = null;
+                        }
+                    } catch (AbstractMethodError ignore) {
+                    }
+                } catch (Throwable e) {
+                    PlotSquared.debug("============ DATABASE ERROR ============");
+                    PlotSquared.debug("There was an error updating the database.");
+                    PlotSquared.debug(" - It will be corrected on shutdown");
+                    PlotSquared.debug("========================================");
+                    e.printStackTrace();
+                    PlotSquared.debug("========================================");
+                }
+            }
+            if (statement != null && lastTask != null) {
+                lastTask.execute(statement);
+            }
+        } catch (Throwable e) {
+            PlotSquared.debug("============ DATABASE ERROR ============");
+            PlotSquared.debug("There was an error updating the database.");
+            PlotSquared.debug(" - It will be corrected on shutdown");
+            PlotSquared.debug("========================================");
+            e.printStackTrace();
+            PlotSquared.debug("========================================");
+        } finally {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException ignore) {
+                }
+            }
+        }
+        this.lastBatchSize = size;
+        this.batches.incrementAndGet();
+        this.batchedStatements.addAndGet(size);
+    }
+
     public void commit() {
         if (this.closed) {
             return;
         }
         try {
             if (!this.connection.getAutoCommit()) {
+                long start = System.nanoTime();
                 this.connection.commit();
+                long time = System.nanoTime() - start;
+                this.lastCommitNanos = time;
+                this.commitNanos.addAndGet(time);
+                this.commits.incrementAndGet();
                 this.connection.setAutoCommit(true);
             }
         } catch (SQLException e) {
@@ -1128,7 +1227,8 @@ public class SQLManager implements AbstractDB {
     @Override public void createTables() throws SQLException {
         String[] tables =
             new String[] {"plot", "plot_denied", "plot_helpers", "plot_comments", "plot_trusted",
-                "plot_rating", "plot_settings", "cluster", "player_meta", "plot_flags"};
+                "plot_rating", "plot_settings", "cluster", "player_meta", "plot_flags",
+                "player_seen"};
         DatabaseMetaData meta = this.connection.getMetaData();
         int create = 0;
         for (String s : tables) {
@@ -1216,6 +1316,9 @@ public class SQLManager implements AbstractDB {
                     + " `value` VARCHAR(512)," + "FOREIGN KEY (plot_id) REFERENCES `" + this.prefix
                     + "plot` (id) ON DELETE CASCADE, " + "UNIQUE (plot_id, flag)"
                     + ") ENGINE=InnoDB DEFAULT CHARSET=utf8");
+                stmt.addBatch("CREATE TABLE IF NOT EXISTS `" + this.prefix + "player_seen` ("
+                    + " `uuid` VARCHAR(40) NOT NULL," + " `last_seen` BIGINT NOT NULL,"
+                    + " PRIMARY KEY (`uuid`)" + ") ENGINE=InnoDB DEFAULT CHARSET=utf8");
             } else {
                 stmt.addBatch("CREATE TABLE IF NOT EXISTS `" + this.prefix + "plot` ("
                     + "`id` INTEGER PRIMARY KEY AUTOINCREMENT," + "`plot_id_x` INT(11) NOT NULL,"
@@ -1274,6 +1377,9 @@ public class SQLManager implements AbstractDB {
                     + " `flag` VARCHAR(64)," + " `value` VARCHAR(512),"
                     + "FOREIGN KEY (plot_id) REFERENCES `" + this.prefix
                     + "plot` (id) ON DELETE CASCADE, " + "UNIQUE (plot_id, flag))");
+                stmt.addBatch("CREATE TABLE IF NOT EXISTS `" + this.prefix + "player_seen` ("
+                    + " `uuid` VARCHAR(40) NOT NULL PRIMARY KEY," + " `last_seen` INTEGER NOT NULL"
+                    + ')');
             }
             stmt.executeBatch();
             stmt.clearBatch();
@@ -1432,6 +1538,7 @@ public class SQLManager implements AbstractDB {
             return cluster.temp;
         }
         try {
+            // The cluster may have been created by a statement the writer has not committed
             commit();
             if (cluster.temp > 0) {
                 return cluster.temp;
@@ -1471,6 +1578,7 @@ public class SQLManager implements AbstractDB {
             return plot.temp;
         }
         try {
+            // The plot may have been created by a statement the writer has not committed
             commit();
             if (plot.temp > 0) {
                 return plot.temp;
@@ -1738,350 +1846,345 @@ public class SQLManager implements AbstractDB {
      * Load all plots, helpers, denied, trusted, and every setting from DB into a {@link HashMap}.
      */
     @Override public HashMap<String, HashMap<PlotId, Plot>> getPlots() {
-        HashMap<String, HashMap<PlotId, Plot>> newPlots = new HashMap<>();
-        HashMap<Integer, Plot> plots = new HashMap<>();
-        try {
-            HashSet<String> areas = new HashSet<>();
-            if (PlotSquared.get().worlds.contains("worlds")) {
-                ConfigurationSection worldSection =
-                    PlotSquared.get().worlds.getConfigurationSection("worlds");
-                if (worldSection != null) {
-                    for (String worldKey : worldSection.getKeys(false)) {
-                        areas.add(worldKey);
-                        ConfigurationSection areaSection =
-                            worldSection.getConfigurationSection(worldKey + ".areas");
-                        if (areaSection != null) {
-                            for (String areaKey : areaSection.getKeys(false)) {
-                                String[] split = areaKey.split("(?<![;])-");
-                                if (split.length == 3) {
-                                    areas.add(worldKey + ';' + split[0]);
-                                }
+        HashSet<String> areas = new HashSet<>();
+        if (PlotSquared.get().worlds.contains("worlds")) {
+            ConfigurationSection worldSection =
+                PlotSquared.get().worlds.getConfigurationSection("worlds");
+            if (worldSection != null) {
+                for (String worldKey : worldSection.getKeys(false)) {
+                    areas.add(worldKey);
+                    ConfigurationSection areaSection =
+                        worldSection.getConfigurationSection(worldKey + ".areas");
+                    if (areaSection != null) {
+                        for (String areaKey : areaSection.getKeys(false)) {
+                            String[] split = areaKey.split("(?<![;])-");
+                            if (split.length == 3) {
+                                areas.add(worldKey + ';' + split[0]);
                             }
                         }
                     }
                 }
             }
-            HashMap<String, UUID> uuids = new HashMap<>();
-            HashMap<String, AtomicInteger> noExist = new HashMap<>();
+        }
+        return loadPlots(areas);
+    }
 
-            /*
-             * Getting plots
-             */
-            try (Statement statement = this.connection.createStatement()) {
-                int id;
-                String o;
-                UUID user;
-                try (ResultSet resultSet = statement.executeQuery(
-                    "SELECT `id`, `plot_id_x`, `plot_id_z`, `owner`, `world`, `timestamp` FROM `"
-                        + this.prefix + "plot`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (resultSet.next()) {
-                        PlotId plot_id = new PlotId(resultSet.getInt("plot_id_x"),
-                            resultSet.getInt("plot_id_z"));
-                        id = resultSet.getInt("id");
-                        String areaID = resultSet.getString("world");
-                        if (!areas.contains(areaID)) {
-                            if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                toDelete.add(id);
-                                continue;
-                            } else {
-                                AtomicInteger value = noExist.get(areaID);
-                                if (value != null) {
-                                    value.incrementAndGet();
-                                } else {
-                                    noExist.put(areaID, new AtomicInteger(1));
-                                }
-                            }
-                        }
-                        o = resultSet.getString("owner");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            try {
-                                user = UUID.fromString(o);
-                            } catch (IllegalArgumentException e) {
-                                if (Settings.UUID.FORCE_LOWERCASE) {
-                                    user = UUID.nameUUIDFromBytes(
-                                        ("OfflinePlayer:" + o.toLowerCase())
-                                            .getBytes(Charsets.UTF_8));
-                                } else {
-                                    user = UUID.nameUUIDFromBytes(
-                                        ("OfflinePlayer:" + o).getBytes(Charsets.UTF_8));
-                                }
-                            }
-                            uuids.put(o, user);
-                        }
-                        long time;
-                        try {
-                            Timestamp timestamp = resultSet.getTimestamp("timestamp");
-                            time = timestamp.getTime();
-                        } catch (SQLException exception) {
-                            String parsable = resultSet.getString("timestamp");
-                            try {
-                                time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(parsable)
-                                    .getTime();
-                            } catch (ParseException e) {
-                                PlotSquared.debug(
-                                    "Could not parse date for plot: #" + id + "(" + areaID + ";"
-                                        + plot_id + ") (" + parsable + ")");
-                                time = System.currentTimeMillis() + id;
-                            }
-                        }
-                        Plot p = new Plot(plot_id, user, new HashSet<>(), new HashSet<>(),
-                            new HashSet<>(), "", null, null, null,
-                            new boolean[] {false, false, false, false}, time, id);
-                        HashMap<PlotId, Plot> map = newPlots.get(areaID);
-                        if (map != null) {
-                            Plot last = map.put(p.getId(), p);
-                            if (last != null) {
-                                if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                    toDelete.add(last.temp);
-                                } else {
-                                    PlotSquared.debug(
-                                        "&cPLOT #" + id + "(" + last + ") in `" + this.prefix
-                                            + "plot` is a duplicate. Delete this plot or set `database-purger: true` in the settings.yml.");
-                                }
-                            }
-                        } else {
-                            map = new HashMap<>();
-                            newPlots.put(areaID, map);
-                            map.put(p.getId(), p);
-                        }
-                        plots.put(id, p);
+    /**
+     * Load the plots and all of their data. The plot table is streamed first, after
+     * which the tables that reference plots are streamed concurrently, each on its own
+     * connection. Every table reader only touches its own part of the plots, so the rows
+     * are merged into the plots by id without locking.
+     *
+     * @param areas Areas that are configured. Plots of other areas are loaded, but reported
+     *              or purged.
+     * @return Plots by area and id
+     */
+    public HashMap<String, HashMap<PlotId, Plot>> loadPlots(@NotNull final Set<String> areas) {
+        final HashMap<String, HashMap<PlotId, Plot>> newPlots = new HashMap<>();
+        final Map<String, UUID> uuids = new ConcurrentHashMap<>();
+        final List<Connection> connections = new ArrayList<>();
+        ExecutorService executor = null;
+        try {
+            final Connection plotConnection = openLoadConnection(connections);
+            final HashMap<Integer, Plot> plots =
+                readPlotTable(plotConnection, areas, uuids, newPlots);
+
+            final List<PlotTableReader> readers = new ArrayList<>();
+            if (Settings.Enabled_Components.RATING_CACHE) {
+                readers.add(new PlotTableReader("plot_rating", "plot_plot_id",
+                    "`plot_plot_id`, `player`, `rating`",
+                    (resultSet, plot) -> plot.getSettings().getRatings()
+                        .put(getUUID(uuids, resultSet.getString("player")),
+                            resultSet.getInt("rating"))));
+            }
+            readers.add(new PlotTableReader("plot_helpers", "plot_plot_id",
+                "`user_uuid`, `plot_plot_id`", (resultSet, plot) -> plot.getTrusted()
+                .add(getUUID(uuids, resultSet.getString("user_uuid")))));
+            readers.add(new PlotTableReader("plot_trusted", "plot_plot_id",
+                "`user_uuid`, `plot_plot_id`", (resultSet, plot) -> plot.getMembers()
+                .add(getUUID(uuids, resultSet.getString("user_uuid")))));
+            readers.add(new PlotTableReader("plot_denied", "plot_plot_id",
+                "`user_uuid`, `plot_plot_id`", (resultSet, plot) -> plot.getDenied()
+                .add(getUUID(uuids, resultSet.getString("user_uuid")))));
+            final Map<Plot, Collection<PlotFlag<?, ?>>> invalidFlags = new HashMap<>();
+            readers.add(new PlotTableReader("plot_flags", "plot_id", "*",
+                (resultSet, plot) -> readFlag(resultSet, plot, invalidFlags)));
+            final BitSet hasSettings = new BitSet();
+            readers.add(new PlotTableReader("plot_settings", "plot_plot_id", "*",
+                (resultSet, plot) -> {
+                    hasSettings.set(plot.temp);
+                    readSettings(resultSet, plot);
+                }));
+
+            final List<Connection> readerConnections = new ArrayList<>();
+            for (int i = 0; i < readers.size(); i++) {
+                readerConnections.add(openLoadConnection(connections));
+            }
+            final boolean parallel = !readerConnections.contains(this.connection);
+            // allow invalid tags, as initialized lazily
+            BlockTypeListFlag.skipCategoryVerification = true;
+            try {
+                if (parallel) {
+                    executor = Executors.newFixedThreadPool(
+                        Math.min(readers.size(), Runtime.getRuntime().availableProcessors()),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "PlotSquared Plot Loader");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                    final List<Future<?>> futures = new ArrayList<>();
+                    for (int i = 0; i < readers.size(); i++) {
+                        final PlotTableReader reader = readers.get(i);
+                        final Connection connection = readerConnections.get(i);
+                        futures.add(executor.submit(() -> {
+                            reader.read(connection, plots);
+                            return null;
+                        }));
                     }
-                    deleteRows(toDelete, this.prefix + "plot", "id");
-                }
-                if (Settings.Enabled_Components.RATING_CACHE) {
-                    try (ResultSet r = statement.executeQuery(
-                        "SELECT `plot_plot_id`, `player`, `rating` FROM `" + this.prefix
-                            + "plot_rating`")) {
-                        ArrayList<Integer> toDelete = new ArrayList<>();
-                        while (r.next()) {
-                            id = r.getInt("plot_plot_id");
-                            o = r.getString("player");
-                            user = uuids.get(o);
-                            if (user == null) {
-                                user = UUID.fromString(o);
-                                uuids.put(o, user);
-                            }
-                            Plot plot = plots.get(id);
-                            if (plot != null) {
-                                plot.getSettings().getRatings().put(user, r.getInt("rating"));
-                            } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                                toDelete.add(id);
-                            } else {
-                                PlotSquared.debug("&cENTRY #" + id + "(" + plot
-                                    + ") in `plot_rating` does not exist. Create this plot or set `database-purger: true` in the "
-                                    + "settings.yml.");
-                            }
-                        }
-                        deleteRows(toDelete, this.prefix + "plot_rating", "plot_plot_id");
+                    for (Future<?> future : futures) {
+                        future.get();
                     }
-                }
-
-                /*
-                 * Getting helpers
-                 */
-                try (ResultSet r = statement.executeQuery(
-                    "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_helpers`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getTrusted().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            PlotSquared.debug("&cENTRY #" + id + "(" + plot
-                                + ") in `plot_helpers` does not exist. Create this plot or set `database-purger: true` in the settings"
-                                + ".yml.");
-                        }
+                } else {
+                    for (PlotTableReader reader : readers) {
+                        reader.read(this.connection, plots);
                     }
-                    deleteRows(toDelete, this.prefix + "plot_helpers", "plot_plot_id");
                 }
+            } finally {
+                // don't allow invalid tags anymore
+                BlockTypeListFlag.skipCategoryVerification = false;
+            }
 
-                /*
-                 * Getting trusted
-                 */
-                try (ResultSet r = statement.executeQuery(
-                    "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_trusted`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getMembers().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            PlotSquared.debug("&cENTRY #" + id + "(" + plot
-                                + ") in `plot_trusted` does not exist. Create this plot or set `database-purger: true` in the settings"
-                                + ".yml.");
-                        }
+            for (PlotTableReader reader : readers) {
+                deleteRows(reader.toDelete, this.prefix + reader.table, reader.idColumn);
+            }
+            if (Settings.Enabled_Components.DATABASE_PURGER) {
+                for (final Map.Entry<Plot, Collection<PlotFlag<?, ?>>> plotFlagEntry : invalidFlags
+                    .entrySet()) {
+                    for (final PlotFlag<?, ?> flag : plotFlagEntry.getValue()) {
+                        PlotSquared.debug("&cPlot \"" + plotFlagEntry.getKey() + "\""
+                            + " had an invalid flag (" + flag.getName()
+                            + "). A fix has been attempted.");
+                        removeFlag(plotFlagEntry.getKey(), flag);
                     }
-                    deleteRows(toDelete, this.prefix + "plot_trusted", "plot_plot_id");
                 }
-
-                /*
-                 * Getting denied
-                 */
-                try (ResultSet r = statement.executeQuery(
-                    "SELECT `user_uuid`, `plot_plot_id` FROM `" + this.prefix + "plot_denied`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (r.next()) {
-                        id = r.getInt("plot_plot_id");
-                        o = r.getString("user_uuid");
-                        user = uuids.get(o);
-                        if (user == null) {
-                            user = UUID.fromString(o);
-                            uuids.put(o, user);
-                        }
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plot.getDenied().add(user);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            PlotSquared.debug("&cENTRY " + id
-                                + " in `plot_denied` does not exist. Create this plot or set `database-purger: true` in the settings.yml.");
-                        }
-                    }
-                    deleteRows(toDelete, this.prefix + "plot_denied", "plot_plot_id");
+            }
+            final ArrayList<Integer> noSettings = new ArrayList<>();
+            for (Integer id : plots.keySet()) {
+                if (!hasSettings.get(id)) {
+                    noSettings.add(id);
                 }
+            }
+            if (!noSettings.isEmpty()) {
+                createEmptySettings(noSettings, null);
+            }
+        } catch (SQLException e) {
+            PlotSquared.debug("&7[WARN] Failed to load plots.");
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            PlotSquared.debug("&7[WARN] Interrupted while loading plots.");
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            PlotSquared.debug("&7[WARN] Failed to load plots.");
+            e.getCause().printStackTrace();
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        return newPlots;
+    }
 
-                try (final ResultSet resultSet = statement
-                    .executeQuery("SELECT * FROM `" + this.prefix + "plot_flags`")) {
-                    BlockTypeListFlag.skipCategoryVerification =
-                        true; // allow invalid tags, as initialized lazily
-                    final ArrayList<Integer> toDelete = new ArrayList<>();
-                    final Map<Plot, Collection<PlotFlag<?, ?>>> invalidFlags = new HashMap<>();
-                    while (resultSet.next()) {
-                        id = resultSet.getInt("plot_id");
-                        final String flag = resultSet.getString("flag");
-                        final String value = resultSet.getString("value");
-                        final Plot plot = plots.get(id);
-                        if (plot != null) {
-                            final PlotFlag<?, ?> plotFlag =
-                                GlobalFlagContainer.getInstance().getFlagFromString(flag);
-                            if (plotFlag == null) {
-                                PlotSquared.debug("Adding unknown flag to plot with ID " + id);
-                                plot.getFlagContainer().addUnknownFlag(flag, value);
-                            } else {
-                                try {
-                                    plot.getFlagContainer().addFlag(plotFlag.parse(value));
-                                } catch (final FlagParseException e) {
-                                    e.printStackTrace();
-                                    PlotSquared
-                                        .debug("Plot with ID " + id + " has an invalid value:");
-                                    PlotSquared.debug(Captions.FLAG_PARSE_ERROR.getTranslated()
-                                        .replace("%flag_name%", plotFlag.getName())
-                                        .replace("%flag_value%", e.getValue())
-                                        .replace("%error%", e.getErrorMessage()));
-                                    if (!invalidFlags.containsKey(plot)) {
-                                        invalidFlags.put(plot, new ArrayList<>());
-                                    }
-                                    invalidFlags.get(plot).add(plotFlag);
-                                }
-                            }
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
-                        } else {
-                            PlotSquared.debug("&cPlot " + id
-                                + " in `plot_flags` does not exist. Create this plot or set `database-purger: true` in the settings.yml.");
-                        }
-                    }
-                    BlockTypeListFlag.skipCategoryVerification =
-                        false; // don't allow invalid tags anymore
+    /**
+     * Open a connection for loading plots. If no further connection can be opened, the
+     * shared connection is returned instead, and the tables are read one after another.
+     *
+     * @param opened Connections that have been opened, and have to be closed
+     * @return Connection
+     */
+    private Connection openLoadConnection(@NotNull final List<Connection> opened) {
+        try {
+            final Connection connection = this.database.createConnection();
+            opened.add(connection);
+            return connection;
+        } catch (SQLException | ClassNotFoundException e) {
+            PlotSquared.debug("Could not open a connection for loading plots: " + e.getMessage());
+            return this.connection;
+        }
+    }
+
+    /**
+     * Create a statement that streams its result set, instead of loading all rows into
+     * memory at once. MySQL only streams with a fetch size of {@link Integer#MIN_VALUE}.
+     * A streaming MySQL result set blocks every other statement on its connection until it
+     * is closed, so results on the shared connection are fetched normally, and the writer
+     * is not held up for the whole load.
+     */
+    private Statement createStreamingStatement(@NotNull final Connection connection)
+        throws SQLException {
+        final Statement statement =
+            connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (this.mySQL && connection != this.connection) {
+            statement.setFetchSize(Integer.MIN_VALUE);
+        } else {
+            statement.setFetchSize(LOAD_FETCH_SIZE);
+        }
+        return statement;
+    }
+
+    @NotNull private static UUID getUUID(@NotNull final Map<String, UUID> uuids,
+        @NotNull final String string) {
+        UUID uuid = uuids.get(string);
+        if (uuid == null) {
+            uuid = UUID.fromString(string);
+            uuids.put(string, uuid);
+        }
+        return uuid;
+    }
+
+    private HashMap<Integer, Plot> readPlotTable(@NotNull final Connection connection,
+        @NotNull final Set<String> areas, @NotNull final Map<String, UUID> uuids,
+        @NotNull final HashMap<String, HashMap<PlotId, Plot>> newPlots) throws SQLException {
+        final HashMap<Integer, Plot> plots = new HashMap<>();
+        final HashMap<String, AtomicInteger> noExist = new HashMap<>();
+        final ArrayList<Integer> toDelete = new ArrayList<>();
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        try (Statement statement = createStreamingStatement(connection);
+            ResultSet resultSet = statement.executeQuery(
+                "SELECT `id`, `plot_id_x`, `plot_id_z`, `owner`, `world`, `timestamp` FROM `"
+                    + this.prefix + "plot`")) {
+            while (resultSet.next()) {
+                PlotId plot_id =
+                    new PlotId(resultSet.getInt("plot_id_x"), resultSet.getInt("plot_id_z"));
+                int id = resultSet.getInt("id");
+                String areaID = resultSet.getString("world");
+                if (!areas.contains(areaID)) {
                     if (Settings.Enabled_Components.DATABASE_PURGER) {
-                        for (final Map.Entry<Plot, Collection<PlotFlag<?, ?>>> plotFlagEntry : invalidFlags
-                            .entrySet()) {
-                            for (final PlotFlag<?, ?> flag : plotFlagEntry.getValue()) {
-                                PlotSquared.debug("&cPlot \"" + plotFlagEntry.getKey() + "\""
-                                    + " had an invalid flag (" + flag.getName()
-                                    + "). A fix has been attempted.");
-                                removeFlag(plotFlagEntry.getKey(), flag);
-                            }
-                        }
+                        toDelete.add(id);
+                        continue;
+                    } else {
+                        noExist.computeIfAbsent(areaID, k -> new AtomicInteger())
+                            .incrementAndGet();
                     }
-                    deleteRows(toDelete, this.prefix + "plot_flags", "plot_id");
                 }
-
-                try (ResultSet resultSet = statement
-                    .executeQuery("SELECT * FROM `" + this.prefix + "plot_settings`")) {
-                    ArrayList<Integer> toDelete = new ArrayList<>();
-                    while (resultSet.next()) {
-                        id = resultSet.getInt("plot_plot_id");
-                        Plot plot = plots.get(id);
-                        if (plot != null) {
-                            plots.remove(id);
-                            String alias = resultSet.getString("alias");
-                            if (alias != null) {
-                                plot.getSettings().setAlias(alias);
-                            }
-                            String pos = resultSet.getString("position");
-                            switch (pos.toLowerCase()) {
-                                case "":
-                                case "default":
-                                case "0,0,0":
-                                case "center":
-                                    break;
-                                default:
-                                    try {
-                                        plot.getSettings().setPosition(BlockLoc.fromString(pos));
-                                    } catch (Exception ignored) {
-                                    }
-                            }
-                            int m = resultSet.getInt("merged");
-                            boolean[] merged = new boolean[4];
-                            for (int i = 0; i < 4; i++) {
-                                merged[3 - i] = (m & 1 << i) != 0;
-                            }
-                            plot.getSettings().setMerged(merged);
-                        } else if (Settings.Enabled_Components.DATABASE_PURGER) {
-                            toDelete.add(id);
+                String o = resultSet.getString("owner");
+                UUID user = uuids.get(o);
+                if (user == null) {
+                    try {
+                        user = UUID.fromString(o);
+                    } catch (IllegalArgumentException e) {
+                        if (Settings.UUID.FORCE_LOWERCASE) {
+                            user = UUID.nameUUIDFromBytes(
+                                ("OfflinePlayer:" + o.toLowerCase()).getBytes(Charsets.UTF_8));
                         } else {
-                            PlotSquared.debug("&cENTRY #" + id + "(" + plot
-                                + ") in `plot_settings` does not exist. Create this plot or set `database-purger: true` in the settings"
-                                + ".yml.");
+                            user = UUID.nameUUIDFromBytes(
+                                ("OfflinePlayer:" + o).getBytes(Charsets.UTF_8));
                         }
                     }
-                    deleteRows(toDelete, this.prefix + "plot_settings", "plot_plot_id");
+                    uuids.put(o, user);
                 }
-            }
-            if (!plots.entrySet().isEmpty()) {
-                createEmptySettings(new ArrayList<>(plots.keySet()), null);
-                for (Entry<Integer, Plot> entry : plots.entrySet()) {
-                    entry.getValue().getSettings();
+                long time;
+                try {
+                    Timestamp timestamp = resultSet.getTimestamp("timestamp");
+                    time = timestamp.getTime();
+                } catch (SQLException exception) {
+                    String parsable = resultSet.getString("timestamp");
+                    try {
+                        time = dateFormat.parse(parsable).getTime();
+                    } catch (ParseException e) {
+                        PlotSquared.debug(
+                            "Could not parse date for plot: #" + id + "(" + areaID + ";" + plot_id
+                                + ") (" + parsable + ")");
+                        time = System.currentTimeMillis() + id;
+                    }
                 }
+                Plot p = new Plot(plot_id, user, new HashSet<>(), new HashSet<>(),
+                    new HashSet<>(), "", null, null, null,
+                    new boolean[] {false, false, false, false}, time, id);
+                HashMap<PlotId, Plot> map = newPlots.computeIfAbsent(areaID, k -> new HashMap<>());
+                Plot last = map.put(p.getId(), p);
+                if (last != null) {
+                    if (Settings.Enabled_Components.DATABASE_PURGER) {
+                        toDelete.add(last.temp);
+                    } else {
+                        PlotSquared.debug(
+                            "&cPLOT #" + id + "(" + last + ") in `" + this.prefix
+                                + "plot` is a duplicate. Delete this plot or set `database-purger: true` in the settings.yml.");
+                    }
+                }
+                plots.put(id, p);
             }
-            boolean invalidPlot = false;
-            for (Entry<String, AtomicInteger> entry : noExist.entrySet()) {
-                String worldName = entry.getKey();
-                invalidPlot = true;
-                PlotSquared.debug("&c[WARNING] Found " + entry.getValue().intValue()
-                    + " plots in DB for non existent world; '" + worldName + "'.");
-            }
-            if (invalidPlot) {
-                PlotSquared.debug(
-                    "&c[WARNING] - Please create the world/s or remove the plots using the purge command");
+        }
+        deleteRows(toDelete, this.prefix + "plot", "id");
+        boolean invalidPlot = false;
+        for (Entry<String, AtomicInteger> entry : noExist.entrySet()) {
+            String worldName = entry.getKey();
+            invalidPlot = true;
+            PlotSquared.debug("&c[WARNING] Found " + entry.getValue().intValue()
+                + " plots in DB for non existent world; '" + worldName + "'.");
+        }
+        if (invalidPlot) {
+            PlotSquared.debug(
+                "&c[WARNING] - Please create the world/s or remove the plots using the purge command");
+        }
+        return plots;
+    }
+
+    private void readFlag(@NotNull final ResultSet resultSet, @NotNull final Plot plot,
+        @NotNull final Map<Plot, Collection<PlotFlag<?, ?>>> invalidFlags) throws SQLException {
+        final int id = plot.temp;
+        final String flag = resultSet.getString("flag");
+        final String value = resultSet.getString("value");
+        final PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance().getFlagFromString(flag);
+        if (plotFlag == null) {
+            PlotSquared.debug("Adding unknown flag to plot with ID " + id);
+            plot.getFlagContainer().addUnknownFlag(flag, value);
+        } else {
+            try {
+                plot.getFlagContainer().addFlag(plotFlag.parse(value));
+            } catch (final FlagParseException e) {
+                e.printStackTrace();
+                PlotSquared.debug("Plot with ID " + id + " has an invalid value:");
+                PlotSquared.debug(Captions.FLAG_PARSE_ERROR.getTranslated()
+                    .replace("%flag_name%", plotFlag.getName())
+                    .replace("%flag_value%", e.getValue())
+                    .replace("%error%", e.getErrorMessage()));
+                invalidFlags.computeIfAbsent(plot, k -> new ArrayList<>()).add(plotFlag);
             }
-        } catch (SQLException e) {
-            PlotSquared.debug("&7[WARN] Failed to load plots.");
-            e.printStackTrace();
         }
-        return newPlots;
+    }
+
+    private static void readSettings(@NotNull final ResultSet resultSet, @NotNull final Plot plot)
+        throws SQLException {
+        String alias = resultSet.getString("alias");
+        if (alias != null) {
+            plot.getSettings().setAlias(alias);
+        }
+        String pos = resultSet.getString("position");
+        switch (pos.toLowerCase()) {
+            case "":
+            case "default":
+            case "0,0,0":
+            case "center":
+                break;
+            default:
+                try {
+                    plot.getSettings().setPosition(BlockLoc.fromString(pos));
+                } catch (Exception ignored) {
+                }
+        }
+        int m = resultSet.getInt("merged");
+        boolean[] merged = new boolean[4];
+        for (int i = 0; i < 4; i++) {
+            merged[3 - i] = (m & 1 << i) != 0;
+        }
+        plot.getSettings().setMerged(merged);
     }
 
     @Override public void setMerged(final Plot plot, final boolean[] merged) {
@@ -2540,7 +2643,7 @@ public class SQLManager implements AbstractDB {
 
     @Override public HashMap<UUID, Integer> getRatings(Plot plot) {
         HashMap<UUID, Integer> map = new HashMap<>();
-        try (PreparedStatement statement = this.connection.prepareStatement(
+        try (PreparedStatement statement = getReadConnection().prepareStatement(
             "SELECT `rating`, `player` FROM `" + this.prefix
                 + "plot_rating` WHERE `plot_plot_id` = ? ")) {
             statement.setInt(1, getId(plot));
@@ -2701,6 +2804,48 @@ public class SQLManager implements AbstractDB {
         });
     }
 
+    @Override public Map<UUID, Long> getLastSeen() {
+        Map<UUID, Long> map = new HashMap<>();
+        try (Statement statement = getReadConnection().createStatement();
+            ResultSet resultSet = statement.executeQuery(
+                "SELECT `uuid`, `last_seen` FROM `" + this.prefix + "player_seen`")) {
+            while (resultSet.next()) {
+                try {
+                    UUID uuid = UUID.fromString(resultSet.getString("uuid"));
+                    map.put(uuid, resultSet.getLong("last_seen"));
+                } catch (IllegalArgumentException e) {
+                    PlotSquared.debug("&cInvalid player UUID in player_seen: " + resultSet
+                        .getString("uuid"));
+                }
+            }
+        } catch (SQLException e) {
+            PlotSquared.debug("&7[WARN] Failed to fetch last seen times");
+            e.printStackTrace();
+        }
+        return map;
+    }
+
+    @Override public void setLastSeen(final UUID uuid, final long time) {
+        addPlayerTask(uuid, new UniqueStatement("setLastSeen") {
+            @Override public void set(PreparedStatement statement) throws SQLException {
+                statement.setString(1, uuid.toString());
+                statement.setLong(2, time);
+            }
+
+            @Override public PreparedStatement get() throws SQLException {
+                if (SQLManager.this.mySQL) {
+                    return SQLManager.this.connection.prepareStatement(
+                        "INSERT INTO `" + SQLManager.this.prefix
+                            + "player_seen`(`uuid`, `last_seen`) VALUES(?, ?)"
+                            + " ON DUPLICATE KEY UPDATE `last_seen` = VALUES(`last_seen`)");
+                }
+                return SQLManager.this.connection.prepareStatement(
+                    "INSERT OR REPLACE INTO `" + SQLManager.this.prefix
+                        + "player_seen`(`uuid`, `last_seen`) VALUES(?, ?)");
+            }
+        });
+    }
+
     @Override public HashMap<String, Set<PlotCluster>> getClusters() {
         LinkedHashMap<String, Set<PlotCluster>> newClusters = new LinkedHashMap<>();
         HashMap<Integer, PlotCluster> clusters = new HashMap<>();
@@ -3015,7 +3160,7 @@ public class SQLManager implements AbstractDB {
                 .prepareStatement("DROP TABLE `" + this.prefix + "plot`")) {
             close();
             this.closed = false;
-            SQLManager.this.connection = this.database.forceConnection();
+            openConnections();
             stmt.addBatch("DROP TABLE `" + this.prefix + "cluster_invited`");
             stmt.addBatch("DROP TABLE `" + this.prefix + "cluster_helpers`");
             stmt.addBatch("DROP TABLE `" + this.prefix + "cluster`");
@@ -3263,12 +3408,68 @@ public class SQLManager implements AbstractDB {
     @Override public void close() {
         try {
             this.closed = true;
+            signalWriter();
+            if (this.readConnection != null) {
+                this.readConnection.close();
+            }
             this.connection.close();
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Reads a row of a table that references plots, into its plot
+     */
+    @FunctionalInterface private interface PlotRowReader {
+
+        void read(@NotNull ResultSet resultSet, @NotNull Plot plot) throws SQLException;
+
+    }
+
+    /**
+     * Streams a table that references plots by id. Rows of plots that do not exist are
+     * collected for deletion, if the database purger is enabled.
+     */
+    private final class PlotTableReader {
+
+        private final String table;
+        private final String idColumn;
+        private final String columns;
+        private final PlotRowReader reader;
+        private final ArrayList<Integer> toDelete = new ArrayList<>();
+
+        private PlotTableReader(@NotNull final String table, @NotNull final String idColumn,
+            @NotNull final String columns, @NotNull final PlotRowReader reader) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.columns = columns;
+            this.reader = reader;
+        }
+
+        private void read(@NotNull final Connection connection,
+            @NotNull final Map<Integer, Plot> plots) throws SQLException {
+            try (Statement statement = createStreamingStatement(connection);
+                ResultSet resultSet = statement.executeQuery(
+                    "SELECT " + this.columns + " FROM `" + SQLManager.this.prefix + this.table
+                        + "`")) {
+                while (resultSet.next()) {
+                    final int id = resultSet.getInt(this.idColumn);
+                    final Plot plot = plots.get(id);
+                    if (plot != null) {
+                        this.reader.read(resultSet, plot);
+                    } else if (Settings.Enabled_Components.DATABASE_PURGER) {
+                        this.toDelete.add(id);
+                    } else {
+                        PlotSquared.debug("&cENTRY #" + id + " in `" + this.table
+                            + "` does not exist. Create this plot or set `database-purger: true` in the settings.yml.");
+                    }
+                }
+            }
+        }
+
+    }
+
     public abstract class UniqueStatement {
 
         public final String method;
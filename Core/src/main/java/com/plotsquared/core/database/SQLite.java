@@ -108,8 +108,12 @@ public class SQLite extends Database {
     }
 
     @Override public Connection forceConnection() throws SQLException, ClassNotFoundException {
-        Class.forName("org.sqlite.JDBC");
-        this.connection = DriverManager.getConnection("jdbc:sqlite:" + this.dbLocation);
+        this.connection = createConnection();
         return this.connection;
     }
+
+    @Override public Connection createConnection() throws SQLException, ClassNotFoundException {
+        Class.forName("org.sqlite.JDBC");
+        return DriverManager.getConnection("jdbc:sqlite:" + this.dbLocation);
+    }
 }
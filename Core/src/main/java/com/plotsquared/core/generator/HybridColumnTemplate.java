@@ -0,0 +1,272 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.plot.BlockBucket;
+import com.plotsquared.core.queue.ScopedLocalBlockQueue;
+import com.plotsquared.core.util.MathMan;
+import com.plotsquared.core.util.PatternUtil;
+import com.sk89q.worldedit.function.pattern.BlockPattern;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockStateHolder;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The blocks of every column in the repeating layout of a {@link HybridPlotWorld},
+ * indexed by the position of the column relative to the plot. Road, wall and plot
+ * columns that do not contain schematic blocks share the same {@link Column} instance.
+ * <p>
+ * Block buckets that consist of a single block are resolved once, so that generating
+ * a chunk does not evaluate a pattern or look up the schematic maps for every block.
+ */
+public final class HybridColumnTemplate {
+
+    private static final int HEIGHT = 256;
+
+    private final int size;
+    private final int offsetX;
+    private final int offsetZ;
+    private final Column[] columns;
+
+    HybridColumnTemplate(@NotNull final HybridPlotWorld world) {
+        this.size = world.SIZE;
+        this.offsetX = world.ROAD_OFFSET_X;
+        this.offsetZ = world.ROAD_OFFSET_Z;
+        this.columns = new Column[this.size * this.size];
+
+        final Column base = new Column();
+        if (world.PLOT_BEDROCK) {
+            base.set(0, BlockTypes.BEDROCK.getDefaultState().toBaseBlock());
+        }
+        final Column road = base.copy();
+        road.fill(1, world.ROAD_HEIGHT, world.ROAD_BLOCK);
+        final Column wall = base.copy();
+        wall.fill(1, world.WALL_HEIGHT, world.WALL_FILLING);
+        if (!world.ROAD_SCHEMATIC_ENABLED && world.PLACE_TOP_BLOCK) {
+            wall.fill(world.WALL_HEIGHT + 1, world.WALL_HEIGHT + 1, world.WALL_BLOCK);
+        }
+        final Column plot = base.copy();
+        plot.fill(1, world.PLOT_HEIGHT - 1, world.MAIN_BLOCK);
+        plot.fill(world.PLOT_HEIGHT, world.PLOT_HEIGHT, world.TOP_BLOCK);
+
+        final int roadSchematicY = Settings.Schematics.PASTE_ROAD_ON_TOP ? world.SCHEM_Y : 1;
+        final int plotSchematicY = Settings.Schematics.PASTE_ON_TOP ? world.SCHEM_Y : 1;
+        for (short x = 0; x < this.size; x++) {
+            final boolean roadX = isRoad(world, x);
+            final boolean wallX = isWall(world, x);
+            for (short z = 0; z < this.size; z++) {
+                final boolean roadZ = isRoad(world, z);
+                final boolean wallZ = isWall(world, z);
+                Column column;
+                if (roadX || roadZ) {
+                    column = road;
+                } else if (wallX || wallZ) {
+                    column = wall;
+                } else {
+                    column = plot;
+                }
+                final boolean isPlot = column == plot;
+                if (isPlot ? world.PLOT_SCHEMATIC : world.ROAD_SCHEMATIC_ENABLED) {
+                    final int pair = MathMan.pair(x, z);
+                    final BaseBlock[] blocks = world.G_SCH.get(pair);
+                    final BiomeType biome = world.G_SCH_B.get(pair);
+                    if (blocks != null || biome != null) {
+                        column = column.copy();
+                        column.overlay(isPlot ? plotSchematicY : roadSchematicY, blocks);
+                        column.biome = biome;
+                    }
+                }
+                this.columns[x * this.size + z] = column;
+            }
+        }
+    }
+
+    private static boolean isRoad(@NotNull final HybridPlotWorld world, final int relative) {
+        return world.ROAD_WIDTH != 0 && (relative < world.PATH_WIDTH_LOWER
+            || relative > world.PATH_WIDTH_UPPER);
+    }
+
+    private static boolean isWall(@NotNull final HybridPlotWorld world, final int relative) {
+        return world.ROAD_WIDTH != 0 && (relative == world.PATH_WIDTH_LOWER
+            || relative == world.PATH_WIDTH_UPPER);
+    }
+
+    /**
+     * Get the column at a position relative to the plot
+     *
+     * @param relativeX X coordinate relative to the plot, in [0, SIZE)
+     * @param relativeZ Z coordinate relative to the plot, in [0, SIZE)
+     * @return Column
+     */
+    @NotNull public Column getColumn(final int relativeX, final int relativeZ) {
+        return this.columns[relativeX * this.size + relativeZ];
+    }
+
+    /**
+     * Get the column generated at a world position
+     *
+     * @param x World X coordinate
+     * @param z World Z coordinate
+     * @return Column
+     */
+    @NotNull public Column getColumnAt(final int x, final int z) {
+        return this.getColumn(Math.floorMod(x - this.offsetX, this.size),
+            Math.floorMod(z - this.offsetZ, this.size));
+    }
+
+
+    public static final class Column {
+
+        private final BaseBlock[] blocks = new BaseBlock[HEIGHT];
+        /**
+         * Patterns of block buckets with more than one block, or null if there are none
+         */
+        @Nullable private Pattern[] patterns;
+        @Nullable private BiomeType biome;
+        private int minY = HEIGHT;
+        private int maxY = -1;
+
+        private Column copy() {
+            final Column column = new Column();
+            System.arraycopy(this.blocks, 0, column.blocks, 0, HEIGHT);
+            if (this.patterns != null) {
+                column.patterns = this.patterns.clone();
+            }
+            column.biome = this.biome;
+            column.minY = this.minY;
+            column.maxY = this.maxY;
+            return column;
+        }
+
+        private void fill(final int fromY, final int toY, @NotNull final BlockBucket bucket) {
+            final Pattern pattern = bucket.toPattern();
+            if (pattern == null) {
+                return;
+            }
+            final BaseBlock block;
+            if (pattern instanceof BlockStateHolder) {
+                block = ((BlockStateHolder<?>) pattern).toBaseBlock();
+            } else if (pattern instanceof BlockPattern) {
+                block = ((BlockPattern) pattern).getBlock();
+            } else {
+                block = null;
+            }
+            for (int y = Math.max(0, fromY); y <= toY && y < HEIGHT; y++) {
+                if (block != null) {
+                    this.set(y, block);
+                } else {
+                    this.set(y, pattern);
+                }
+            }
+        }
+
+        private void overlay(final int minY, @Nullable final BaseBlock[] overlay) {
+            if (overlay == null) {
+                return;
+            }
+            for (int y = 0; y < overlay.length; y++) {
+                if (overlay[y] != null && minY + y >= 0 && minY + y < HEIGHT) {
+                    this.set(minY + y, overlay[y]);
+                }
+            }
+        }
+
+        private void set(final int y, @NotNull final BaseBlock block) {
+            this.blocks[y] = block;
+            if (this.patterns != null) {
+                this.patterns[y] = null;
+            }
+            this.expand(y);
+        }
+
+        private void set(final int y, @NotNull final Pattern pattern) {
+            if (this.patterns == null) {
+                this.patterns = new Pattern[HEIGHT];
+            }
+            this.blocks[y] = null;
+            this.patterns[y] = pattern;
+            this.expand(y);
+        }
+
+        private void expand(final int y) {
+            this.minY = Math.min(this.minY, y);
+            this.maxY = Math.max(this.maxY, y);
+        }
+
+        /**
+         * Get the block this column generates at a world position
+         *
+         * @param x World X coordinate, used to apply block patterns
+         * @param y Y coordinate
+         * @param z World Z coordinate, used to apply block patterns
+         * @return Generated block, or null if the generator does not set a block there
+         */
+        @Nullable public BlockState getBlock(final int x, final int y, final int z) {
+            if (y < this.minY || y > this.maxY) {
+                return null;
+            }
+            final BaseBlock block = this.blocks[y];
+            if (block != null) {
+                return block.toImmutableState();
+            }
+            if (this.patterns != null && this.patterns[y] != null) {
+                return PatternUtil.apply(this.patterns[y], x, y, z).toImmutableState();
+            }
+            return null;
+        }
+
+        /**
+         * Place the column into a chunk
+         *
+         * @param result Chunk queue
+         * @param x      X coordinate within the chunk
+         * @param z      Z coordinate within the chunk
+         */
+        public void place(@NotNull final ScopedLocalBlockQueue result, final int x, final int z) {
+            final BaseBlock[] blocks = this.blocks;
+            final Pattern[] patterns = this.patterns;
+            for (int y = this.minY; y <= this.maxY; y++) {
+                final BaseBlock block = blocks[y];
+                if (block != null) {
+                    result.setBlock(x, y, z, block);
+                } else if (patterns != null && patterns[y] != null) {
+                    result.setBlock(x, y, z, patterns[y]);
+                }
+            }
+            if (this.biome != null) {
+                result.setBiome(x, z, this.biome);
+            }
+        }
+
+    }
+
+}
@@ -27,15 +27,10 @@ package com.plotsquared.core.generator;
 
 import com.google.common.base.Preconditions;
 import com.plotsquared.core.PlotSquared;
-import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.ScopedLocalBlockQueue;
-import com.plotsquared.core.util.MathMan;
-import com.sk89q.worldedit.world.biome.BiomeType;
-import com.sk89q.worldedit.world.block.BaseBlock;
-import com.sk89q.worldedit.world.block.BlockTypes;
 import org.jetbrains.annotations.NotNull;
 
 public class HybridGen extends IndependentPlotGenerator {
@@ -44,29 +39,6 @@ public class HybridGen extends IndependentPlotGenerator {
         return PlotSquared.imp().getPluginName();
     }
 
-    private void placeSchem(HybridPlotWorld world, ScopedLocalBlockQueue result, short relativeX,
-        short relativeZ, int x, int z, boolean isRoad) {
-        int minY; // Math.min(world.PLOT_HEIGHT, world.ROAD_HEIGHT);
-        if ((isRoad && Settings.Schematics.PASTE_ROAD_ON_TOP) || (!isRoad
-            && Settings.Schematics.PASTE_ON_TOP)) {
-            minY = world.SCHEM_Y;
-        } else {
-            minY = 1;
-        }
-        BaseBlock[] blocks = world.G_SCH.get(MathMan.pair(relativeX, relativeZ));
-        if (blocks != null) {
-            for (int y = 0; y < blocks.length; y++) {
-                if (blocks[y] != null) {
-                    result.setBlock(x, minY + y, z, blocks[y]);
-                }
-            }
-        }
-        BiomeType biome = world.G_SCH_B.get(MathMan.pair(relativeX, relativeZ));
-        if (biome != null) {
-            result.setBiome(x, z, biome);
-        }
-    }
-
     @Override
     public void generateChunk(@NotNull ScopedLocalBlockQueue result, @NotNull PlotArea settings) {
         Preconditions.checkNotNull(result, "result cannot be null");
@@ -75,14 +47,6 @@ public class HybridGen extends IndependentPlotGenerator {
         HybridPlotWorld hybridPlotWorld = (HybridPlotWorld) settings;
         // Biome
         result.fillBiome(hybridPlotWorld.getPlotBiome());
-        // Bedrock
-        if (hybridPlotWorld.PLOT_BEDROCK) {
-            for (short x = 0; x < 16; x++) {
-                for (short z = 0; z < 16; z++) {
-                    result.setBlock(x, 0, z, BlockTypes.BEDROCK.getDefaultState());
-                }
-            }
-        }
         // Coords
         Location min = result.getMin();
         int bx = (min.getX()) - hybridPlotWorld.ROAD_OFFSET_X;
@@ -106,120 +70,30 @@ public class HybridGen extends IndependentPlotGenerator {
         // The X-coordinate of a given X coordinate, relative to the
         // plot (Counting from the corner with the least positive
         // coordinates)
-        short[] relativeX = new short[16];
-        boolean[] insideRoadX = new boolean[16];
-        boolean[] insideWallX = new boolean[16];
-        for (short i = 0; i < 16; i++) {
-            short v = (short) (relativeOffsetX + i);
+        final int[] relativeX = new int[16];
+        for (int i = 0; i < 16; i++) {
+            int v = relativeOffsetX + i;
             while (v >= hybridPlotWorld.SIZE) {
                 v -= hybridPlotWorld.SIZE;
             }
             relativeX[i] = v;
-            if (hybridPlotWorld.ROAD_WIDTH != 0) {
-                insideRoadX[i] =
-                    v < hybridPlotWorld.PATH_WIDTH_LOWER || v > hybridPlotWorld.PATH_WIDTH_UPPER;
-                insideWallX[i] =
-                    v == hybridPlotWorld.PATH_WIDTH_LOWER || v == hybridPlotWorld.PATH_WIDTH_UPPER;
-            }
         }
         // The Z-coordinate of a given Z coordinate, relative to the
         // plot (Counting from the corner with the least positive
         // coordinates)
-        short[] relativeZ = new short[16];
-        // Whether or not the given Z coordinate belongs to the road
-        boolean[] insideRoadZ = new boolean[16];
-        // Whether or not the given Z coordinate belongs to the wall
-        boolean[] insideWallZ = new boolean[16];
-        for (short i = 0; i < 16; i++) {
-            short v = (short) (relativeOffsetZ + i);
+        final int[] relativeZ = new int[16];
+        for (int i = 0; i < 16; i++) {
+            int v = relativeOffsetZ + i;
             while (v >= hybridPlotWorld.SIZE) {
                 v -= hybridPlotWorld.SIZE;
             }
             relativeZ[i] = v;
-            if (hybridPlotWorld.ROAD_WIDTH != 0) {
-                insideRoadZ[i] =
-                    v < hybridPlotWorld.PATH_WIDTH_LOWER || v > hybridPlotWorld.PATH_WIDTH_UPPER;
-                insideWallZ[i] =
-                    v == hybridPlotWorld.PATH_WIDTH_LOWER || v == hybridPlotWorld.PATH_WIDTH_UPPER;
-            }
         }
         // generation
-        for (short x = 0; x < 16; x++) {
-            if (insideRoadX[x]) {
-                for (short z = 0; z < 16; z++) {
-                    // Road
-                    for (int y = 1; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                        result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                    }
-                    if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
-                        placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, true);
-                    }
-                }
-            } else if (insideWallX[x]) {
-                for (short z = 0; z < 16; z++) {
-                    if (insideRoadZ[z]) {
-                        // road
-                        for (int y = 1; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                        }
-                        if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
-                            placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
-                                true);
-                        }
-                    } else {
-                        // wall
-                        for (int y = 1; y <= hybridPlotWorld.WALL_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toPattern());
-                        }
-                        if (!hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
-                            if (hybridPlotWorld.PLACE_TOP_BLOCK) {
-                                result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z,
-                                    hybridPlotWorld.WALL_BLOCK.toPattern());
-                            }
-                        } else {
-                            placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
-                                true);
-                        }
-                    }
-                }
-            } else {
-                for (short z = 0; z < 16; z++) {
-                    if (insideRoadZ[z]) {
-                        // road
-                        for (int y = 1; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                        }
-                        if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
-                            placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
-                                true);
-                        }
-                    } else if (insideWallZ[z]) {
-                        // wall
-                        for (int y = 1; y <= hybridPlotWorld.WALL_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toPattern());
-                        }
-                        if (!hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
-                            if (hybridPlotWorld.PLACE_TOP_BLOCK) {
-                                result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z,
-                                    hybridPlotWorld.WALL_BLOCK.toPattern());
-                            }
-                        } else {
-                            placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
-                                true);
-                        }
-                    } else {
-                        // plot
-                        for (int y = 1; y < hybridPlotWorld.PLOT_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.MAIN_BLOCK.toPattern());
-                        }
-                        result.setBlock(x, hybridPlotWorld.PLOT_HEIGHT, z,
-                            hybridPlotWorld.TOP_BLOCK.toPattern());
-                        if (hybridPlotWorld.PLOT_SCHEMATIC) {
-                            placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
-                                false);
-                        }
-                    }
-                }
+        final HybridColumnTemplate template = hybridPlotWorld.getColumnTemplate();
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                template.getColumn(relativeX[x], relativeZ[z]).place(result, x, z);
             }
         }
     }
@@ -35,16 +35,14 @@ import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.plot.schematic.Schematic;
+import com.plotsquared.core.plot.schematic.SchematicBlocks;
 import com.plotsquared.core.util.MainUtil;
 import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.SchematicHandler;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.jnbt.CompoundTagBuilder;
-import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.extent.transform.BlockTransformExtent;
 import com.sk89q.worldedit.internal.helper.MCDirections;
-import com.sk89q.worldedit.math.BlockVector2;
-import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.math.Vector3;
 import com.sk89q.worldedit.math.transform.AffineTransform;
 import com.sk89q.worldedit.util.Direction;
@@ -52,6 +50,7 @@ import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.lang.reflect.Field;
@@ -71,6 +70,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     public int SCHEM_Y;
     private Location SIGN_LOCATION;
     @Getter private File root = null;
+    private volatile HybridColumnTemplate columnTemplate;
 
     public HybridPlotWorld(String worldName, String id, @NotNull IndependentPlotGenerator generator,
         PlotId min, PlotId max) {
@@ -124,6 +124,21 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         return BlockTransformExtent.transform(id, transform);
     }
 
+    /**
+     * Get the precomputed columns used by {@link HybridGen} to generate chunks. The
+     * template is built on first use, after the configuration and schematics are loaded.
+     *
+     * @return Column template
+     */
+    @NotNull public HybridColumnTemplate getColumnTemplate() {
+        HybridColumnTemplate template = this.columnTemplate;
+        if (template == null) {
+            template = new HybridColumnTemplate(this);
+            this.columnTemplate = template;
+        }
+        return template;
+    }
+
     @NotNull @Override protected PlotManager createManager() {
         return new HybridPlotManager(this);
     }
@@ -146,6 +161,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
      */
     @Override public void loadConfiguration(ConfigurationSection config) {
         super.loadConfiguration(config);
+        this.columnTemplate = null;
         if ((this.ROAD_WIDTH & 1) == 0) {
             this.PATH_WIDTH_LOWER = (short) (Math.floor(this.ROAD_WIDTH / 2) - 1);
         } else {
@@ -197,6 +213,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     public void setupSchematics() throws SchematicHandler.UnsupportedFormatException {
         this.G_SCH = new HashMap<>();
         this.G_SCH_B = new HashMap<>();
+        this.columnTemplate = null;
 
         // Try to determine root. This means that plot areas can have separate schematic
         // directories
@@ -215,9 +232,9 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         File schematic3File = new File(root, "plot.schem");
         if (!schematic3File.exists())
             schematic3File = new File(root, "plot.schematic");
-        Schematic schematic1 = SchematicHandler.manager.getSchematic(schematic1File);
-        Schematic schematic2 = SchematicHandler.manager.getSchematic(schematic2File);
-        Schematic schematic3 = SchematicHandler.manager.getSchematic(schematic3File);
+        SchematicBlocks schematic1 = getBlocks(schematic1File);
+        SchematicBlocks schematic2 = getBlocks(schematic2File);
+        SchematicBlocks schematic3 = getBlocks(schematic3File);
         int shift = this.ROAD_WIDTH / 2;
         int oddshift = (this.ROAD_WIDTH & 1) == 0 ? 0 : 1;
 
@@ -225,15 +242,15 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         int plotY = PLOT_HEIGHT - SCHEM_Y;
         int roadY = ROAD_HEIGHT - SCHEM_Y;
 
-        if (schematic3 != null && schematic3.getClipboard().getDimensions().getY() == 256) {
+        if (schematic3 != null && schematic3.getHeight() == 256) {
             SCHEM_Y = 0;
             plotY = 0;
             roadY = ROAD_HEIGHT;
         }
 
-        if (schematic1 != null && schematic1.getClipboard().getDimensions().getY() == 256) {
+        if (schematic1 != null && schematic1.getHeight() == 256) {
             SCHEM_Y = 0;
-            if (schematic3 != null && schematic3.getClipboard().getDimensions().getY() != 256) {
+            if (schematic3 != null && schematic3.getHeight() != 256) {
                 plotY = PLOT_HEIGHT;
             }
             roadY = 0;
@@ -241,12 +258,9 @@ public class HybridPlotWorld extends ClassicPlotWorld {
 
         if (schematic3 != null) {
             this.PLOT_SCHEMATIC = true;
-            Clipboard blockArrayClipboard3 = schematic3.getClipboard();
-
-            BlockVector3 d3 = blockArrayClipboard3.getDimensions();
-            short w3 = (short) d3.getX();
-            short l3 = (short) d3.getZ();
-            short h3 = (short) d3.getY();
+            short w3 = (short) schematic3.getWidth();
+            short l3 = (short) schematic3.getLength();
+            short h3 = (short) schematic3.getHeight();
             if (w3 > PLOT_WIDTH || h3 > PLOT_WIDTH) {
                 this.ROAD_SCHEMATIC_ENABLED = true;
             }
@@ -263,20 +277,17 @@ public class HybridPlotWorld extends ClassicPlotWorld {
                 centerShiftX = (PLOT_WIDTH - w3) / 2;
             }
 
-            BlockVector3 min = blockArrayClipboard3.getMinimumPoint();
             for (short x = 0; x < w3; x++) {
                 for (short z = 0; z < l3; z++) {
                     for (short y = 0; y < h3; y++) {
-                        BaseBlock id = blockArrayClipboard3.getFullBlock(BlockVector3
-                            .at(x + min.getBlockX(), y + min.getBlockY(), z + min.getBlockZ()));
+                        BaseBlock id = schematic3.getFullBlock(x, y, z);
                         if (!id.getBlockType().getMaterial().isAir()) {
                             addOverlayBlock((short) (x + shift + oddshift + centerShiftX),
                                 (short) (y + plotY), (short) (z + shift + oddshift + centerShiftZ),
                                 id, false, h3);
                         }
                     }
-                    BiomeType biome = blockArrayClipboard3
-                        .getBiome(BlockVector2.at(x + min.getBlockX(), z + min.getBlockZ()));
+                    BiomeType biome = schematic3.getBiome(x, z);
                     addOverlayBiome((short) (x + shift + oddshift + centerShiftX),
                         (short) (z + shift + oddshift + centerShiftZ), biome);
                 }
@@ -292,19 +303,14 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         // Do not populate road if using schematic population
         // TODO: What? this.ROAD_BLOCK = BlockBucket.empty(); // BlockState.getEmptyData(this.ROAD_BLOCK); // BlockUtil.get(this.ROAD_BLOCK.id, (byte) 0);
 
-        Clipboard blockArrayClipboard1 = schematic1.getClipboard();
-
-        BlockVector3 d1 = blockArrayClipboard1.getDimensions();
-        short w1 = (short) d1.getX();
-        short l1 = (short) d1.getZ();
-        short h1 = (short) d1.getY();
+        short w1 = (short) schematic1.getWidth();
+        short l1 = (short) schematic1.getLength();
+        short h1 = (short) schematic1.getHeight();
 
-        BlockVector3 min = blockArrayClipboard1.getMinimumPoint();
         for (short x = 0; x < w1; x++) {
             for (short z = 0; z < l1; z++) {
                 for (short y = 0; y < h1; y++) {
-                    BaseBlock id = blockArrayClipboard1.getFullBlock(BlockVector3
-                        .at(x + min.getBlockX(), y + min.getBlockY(), z + min.getBlockZ()));
+                    BaseBlock id = schematic1.getFullBlock(x, y, z);
                     if (!id.getBlockType().getMaterial().isAir()) {
                         addOverlayBlock((short) (x - shift), (short) (y + roadY),
                             (short) (z + shift + oddshift), id, false, h1);
@@ -312,37 +318,37 @@ public class HybridPlotWorld extends ClassicPlotWorld {
                             (short) (shift - x + (oddshift - 1)), id, true, h1);
                     }
                 }
-                BiomeType biome = blockArrayClipboard1
-                    .getBiome(BlockVector2.at(x + min.getBlockX(), z + min.getBlockZ()));
+                BiomeType biome = schematic1.getBiome(x, z);
                 addOverlayBiome((short) (x - shift), (short) (z + shift + oddshift), biome);
                 addOverlayBiome((short) (z + shift + oddshift),
                     (short) (shift - x + (oddshift - 1)), biome);
             }
         }
 
-        Clipboard blockArrayClipboard2 = schematic2.getClipboard();
-        BlockVector3 d2 = blockArrayClipboard2.getDimensions();
-        short w2 = (short) d2.getX();
-        short l2 = (short) d2.getZ();
-        short h2 = (short) d2.getY();
-        min = blockArrayClipboard2.getMinimumPoint();
+        short w2 = (short) schematic2.getWidth();
+        short l2 = (short) schematic2.getLength();
+        short h2 = (short) schematic2.getHeight();
         for (short x = 0; x < w2; x++) {
             for (short z = 0; z < l2; z++) {
                 for (short y = 0; y < h2; y++) {
-                    BaseBlock id = blockArrayClipboard2.getFullBlock(BlockVector3
-                        .at(x + min.getBlockX(), y + min.getBlockY(), z + min.getBlockZ()));
+                    BaseBlock id = schematic2.getFullBlock(x, y, z);
                     if (!id.getBlockType().getMaterial().isAir()) {
                         addOverlayBlock((short) (x - shift), (short) (y + roadY),
                             (short) (z - shift), id, false, h2);
                     }
                 }
-                BiomeType biome = blockArrayClipboard2
-                    .getBiome(BlockVector2.at(x + min.getBlockX(), z + min.getBlockZ()));
+                BiomeType biome = schematic2.getBiome(x, z);
                 addOverlayBiome((short) (x - shift), (short) (z - shift), biome);
             }
         }
     }
 
+    @Nullable private static SchematicBlocks getBlocks(@NotNull final File file)
+        throws SchematicHandler.UnsupportedFormatException {
+        final Schematic schematic = SchematicHandler.manager.getSchematic(file);
+        return schematic == null ? null : schematic.getBlocks();
+    }
+
     public void addOverlayBlock(short x, short y, short z, BaseBlock id, boolean rotate,
         int height) {
         if (z < 0) {
@@ -358,6 +364,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         if (rotate) {
             id = rotate(id);
         }
+        this.columnTemplate = null;
         int pair = MathMan.pair(x, z);
         BaseBlock[] existing = this.G_SCH.computeIfAbsent(pair, k -> new BaseBlock[height]);
         if (y >= height) {
@@ -378,6 +385,7 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         } else if (x >= this.SIZE) {
             x -= this.SIZE;
         }
+        this.columnTemplate = null;
         int pair = MathMan.pair(x, z);
         this.G_SCH_B.put(pair, id);
     }
@@ -40,11 +40,11 @@ import com.plotsquared.core.plot.expiration.PlotAnalysis;
 import com.plotsquared.core.plot.flag.GlobalFlagContainer;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
-import com.plotsquared.core.queue.ChunkBlockQueue;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.LocalBlockQueue;
+import com.plotsquared.core.util.ChunkBatch;
 import com.plotsquared.core.util.ChunkManager;
-import com.plotsquared.core.util.MainUtil;
+import com.plotsquared.core.util.ChunkTaskScheduler;
 import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.RegionUtil;
@@ -59,35 +59,59 @@ import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockState;
-import com.sk89q.worldedit.world.block.BlockType;
-import com.sk89q.worldedit.world.block.BlockTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class HybridUtils {
 
+    /**
+     * Threads that analyze plots. Each region is analyzed by one thread at a time, so
+     * this bounds the number of regions that are analyzed in parallel.
+     */
+    private static final Executor ANALYSIS_WORKERS;
+
+    static {
+        final AtomicInteger workerId = new AtomicInteger();
+        ANALYSIS_WORKERS = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+                final Thread thread = new Thread(runnable,
+                    "PlotSquared Analysis Worker #" + workerId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
     public static HybridUtils manager;
-    public static Set<BlockVector2> regions;
-    public static int height;
-    public static Set<BlockVector2> chunks = new HashSet<>();
-    public static PlotArea area;
-    public static boolean UPDATE = false;
 
     public static boolean regeneratePlotWalls(final PlotArea area) {
         PlotManager plotManager = area.getPlotManager();
         return plotManager.regenerateAllPlotWalls();
     }
 
+    /**
+     * Analyze a region of a hybrid plot world against the blocks its generator places there.
+     * The chunks are read on the main thread and analyzed one at a time on the analysis pool,
+     * so that analyses of different regions run in parallel.
+     *
+     * @param world    World name
+     * @param region   Region to analyze
+     * @param whenDone Called with the analysis, or with null if the region could not be analyzed
+     */
     public void analyzeRegion(final String world, final CuboidRegion region,
         final RunnableVal<PlotAnalysis> whenDone) {
         // int diff, int variety, int vertices, int rotation, int height_sd
@@ -102,251 +126,156 @@ public abstract class HybridUtils {
          *  - recheck each block
          *
          */
-        TaskManager.runTaskAsync(() -> {
-            final LocalBlockQueue queue = GlobalBlockQueue.IMP.getNewQueue(world, false);
-
-            final BlockVector3 bot = region.getMinimumPoint();
-            final BlockVector3 top = region.getMaximumPoint();
-
-            final int bx = bot.getX();
-            final int bz = bot.getZ();
-            final int tx = top.getX();
-            final int tz = top.getZ();
-            final int cbx = bx >> 4;
-            final int cbz = bz >> 4;
-            final int ctx = tx >> 4;
-            final int ctz = tz >> 4;
-            MainUtil.initCache();
-            final int width = tx - bx + 1;
-            final int length = tz - bz + 1;
-
-            PlotArea area = PlotSquared.get().getPlotArea(world, null);
-
-            if (!(area instanceof HybridPlotWorld)) {
-                return;
-            }
-
-            HybridPlotWorld hpw = (HybridPlotWorld) area;
-            ChunkBlockQueue chunk = new ChunkBlockQueue(bot, top, false);
-            hpw.getGenerator().generateChunk(chunk, hpw);
-
-            final BlockState[][][] oldBlocks = chunk.getBlocks();
-            final BlockState[][][] newBlocks = new BlockState[256][width][length];
-            final BlockState airBlock = BlockTypes.AIR.getDefaultState();
-
-            System.gc();
-            System.gc();
-
-            final Runnable run = () -> TaskManager.runTaskAsync(() -> {
-                int size = width * length;
-                int[] changes = new int[size];
-                int[] faces = new int[size];
-                int[] data = new int[size];
-                int[] air = new int[size];
-                int[] variety = new int[size];
-                int i = 0;
-                for (int x = 0; x < width; x++) {
-                    for (int z = 0; z < length; z++) {
-                        Set<BlockType> types = new HashSet<>();
-                        for (int y = 0; y < 256; y++) {
-                            BlockState old = oldBlocks[y][x][z];
-                            try {
-                                if (old == null) {
-                                    old = airBlock;
-                                }
-                                BlockState now = newBlocks[y][x][z];
-                                if (!old.equals(now)) {
-                                    changes[i]++;
-                                }
-                                if (now.getBlockType().getMaterial().isAir()) {
-                                    air[i]++;
-                                } else {
-                                    // check vertices
-                                    // modifications_adjacent
-                                    if (x > 0 && z > 0 && y > 0 && x < width - 1 && z < length - 1
-                                        && y < 255) {
-                                        if (newBlocks[y - 1][x][z].getBlockType().getMaterial()
-                                            .isAir()) {
-                                            faces[i]++;
-                                        }
-                                        if (newBlocks[y][x - 1][z].getBlockType().getMaterial()
-                                            .isAir()) {
-                                            faces[i]++;
-                                        }
-                                        if (newBlocks[y][x][z - 1].getBlockType().getMaterial()
-                                            .isAir()) {
-                                            faces[i]++;
-                                        }
-                                        if (newBlocks[y + 1][x][z].getBlockType().getMaterial()
-                                            .isAir()) {
-                                            faces[i]++;
-                                        }
-                                        if (newBlocks[y][x + 1][z].getBlockType().getMaterial()
-                                            .isAir()) {
-                                            faces[i]++;
-                                        }
-                                        if (newBlocks[y][x][z + 1].getBlockType().getMaterial()
-                                            .isAir()) {
-                                            faces[i]++;
-                                        }
-                                    }
-
-                                    if (!now.equals(now.getBlockType().getDefaultState())) {
-                                        data[i]++;
-                                    }
-                                    types.add(now.getBlockType());
-                                }
-                            } catch (NullPointerException e) {
-                                e.printStackTrace();
-                            }
-                        }
-                        variety[i] = types.size();
-                        i++;
+        PlotArea area = PlotSquared.get().getPlotArea(world, null);
+        if (!(area instanceof HybridPlotWorld)) {
+            whenDone.value = null;
+            whenDone.run();
+            return;
+        }
+        final RegionAnalyzer analyzer =
+            new RegionAnalyzer(((HybridPlotWorld) area).getColumnTemplate(), region);
+        final BlockVector3 bot = region.getMinimumPoint();
+        final BlockVector3 top = region.getMaximumPoint();
+        final AtomicReference<CompletableFuture<Void>> tail =
+            new AtomicReference<>(CompletableFuture.completedFuture(null));
+        Location botLoc = new Location(world, bot.getX(), bot.getY(), bot.getZ());
+        Location topLoc = new Location(world, top.getX(), top.getY(), top.getZ());
+        ChunkTaskScheduler.IMP.submit(botLoc, topLoc, true, new RunnableVal<ChunkBatch>() {
+            @Override public void run(ChunkBatch batch) {
+                final ChunkSections[] sections = new ChunkSections[batch.size()];
+                for (int i = 0; i < sections.length; i++) {
+                    sections[i] = getChunkSections(world, batch.getChunkX(i), batch.getChunkZ(i));
+                }
+                tail.set(tail.get().thenRunAsync(() -> {
+                    for (int i = 0; i < sections.length; i++) {
+                        analyzer.accept(batch.getChunkX(i), batch.getChunkZ(i), batch.getMinX(i),
+                            batch.getMinZ(i), batch.getMaxX(i), batch.getMaxZ(i), sections[i]);
                     }
+                }, ANALYSIS_WORKERS));
+            }
+        }, () -> tail.get().thenApplyAsync(ignore -> analyzer.finish(), ANALYSIS_WORKERS)
+            .whenComplete((analysis, throwable) -> {
+                if (throwable != null) {
+                    throwable.printStackTrace();
                 }
-                // analyze plot
-                // put in analysis obj
-
-                // run whenDone
-                PlotAnalysis analysis = new PlotAnalysis();
-                analysis.changes = (int) (MathMan.getMean(changes) * 100);
-                analysis.faces = (int) (MathMan.getMean(faces) * 100);
-                analysis.data = (int) (MathMan.getMean(data) * 100);
-                analysis.air = (int) (MathMan.getMean(air) * 100);
-                analysis.variety = (int) (MathMan.getMean(variety) * 100);
-
-                analysis.changes_sd = (int) (MathMan.getSD(changes, analysis.changes) * 100);
-                analysis.faces_sd = (int) (MathMan.getSD(faces, analysis.faces) * 100);
-                analysis.data_sd = (int) (MathMan.getSD(data, analysis.data) * 100);
-                analysis.air_sd = (int) (MathMan.getSD(air, analysis.air) * 100);
-                analysis.variety_sd = (int) (MathMan.getSD(variety, analysis.variety) * 100);
-                System.gc();
-                System.gc();
                 whenDone.value = analysis;
                 whenDone.run();
-            });
-            System.gc();
-            MainUtil.initCache();
-            Location botLoc = new Location(world, bot.getX(), bot.getY(), bot.getZ());
-            Location topLoc = new Location(world, top.getX(), top.getY(), top.getZ());
-            ChunkManager.chunkTask(botLoc, topLoc, new RunnableVal<int[]>() {
-                @Override public void run(int[] value) {
-                    int X = value[0];
-                    int Z = value[1];
-                    int minX;
-                    if (X == cbx) {
-                        minX = bx & 15;
-                    } else {
-                        minX = 0;
-                    }
-                    int minZ;
-                    if (Z == cbz) {
-                        minZ = bz & 15;
-                    } else {
-                        minZ = 0;
-                    }
-                    int maxX;
-                    if (X == ctx) {
-                        maxX = tx & 15;
-                    } else {
-                        maxX = 16;
-                    }
-                    int maxZ;
-                    if (Z == ctz) {
-                        maxZ = tz & 15;
-                    } else {
-                        maxZ = 16;
-                    }
-
-                    int cbx = X << 4;
-                    int cbz = Z << 4;
+            }));
+    }
 
-                    int xb = cbx - bx;
-                    int zb = cbz - bz;
-                    for (int x = minX; x <= maxX; x++) {
-                        int xx = cbx + x;
-                        for (int z = minZ; z <= maxZ; z++) {
-                            int zz = cbz + z;
-                            for (int y = 0; y < 256; y++) {
-                                BlockState block = queue.getBlock(xx, y, zz);
-                                int xr = xb + x;
-                                int zr = zb + z;
-                                newBlocks[y][xr][zr] = block;
-                            }
+    /**
+     * Read a chunk for analysis. This is called on the main thread, and the returned
+     * sections are read on an analysis thread.
+     *
+     * @param world  World name
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return Sections of the chunk
+     */
+    @NotNull protected ChunkSections getChunkSections(@NotNull final String world,
+        final int chunkX, final int chunkZ) {
+        final LocalBlockQueue queue = GlobalBlockQueue.IMP.getNewQueue(world, false);
+        final BlockState[][] sections = new BlockState[16][];
+        final int cbx = chunkX << 4;
+        final int cbz = chunkZ << 4;
+        for (int layer = 0; layer < 16; layer++) {
+            final BlockState[] section = new BlockState[4096];
+            boolean empty = true;
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        final BlockState block = queue.getBlock(cbx + x, (layer << 4) + y, cbz + z);
+                        if (block != null && !block.getBlockType().getMaterial().isAir()) {
+                            empty = false;
                         }
+                        section[y << 8 | z << 4 | x] = block;
                     }
                 }
-            }, () -> TaskManager.runTaskAsync(run), 5);
-        });
+            }
+            if (!empty) {
+                sections[layer] = section;
+            }
+        }
+        return (layer, buffer) -> {
+            if (sections[layer] == null) {
+                return false;
+            }
+            System.arraycopy(sections[layer], 0, buffer, 0, 4096);
+            return true;
+        };
     }
 
     public void analyzePlot(final Plot origin, final RunnableVal<PlotAnalysis> whenDone) {
-        final ArrayDeque<CuboidRegion> zones = new ArrayDeque<>(origin.getRegions());
-        final ArrayList<PlotAnalysis> analysis = new ArrayList<>();
-        Runnable run = new Runnable() {
-            @Override public void run() {
-                if (zones.isEmpty()) {
-                    if (!analysis.isEmpty()) {
-                        whenDone.value = new PlotAnalysis();
-                        for (PlotAnalysis data : analysis) {
-                            whenDone.value.air += data.air;
-                            whenDone.value.air_sd += data.air_sd;
-                            whenDone.value.changes += data.changes;
-                            whenDone.value.changes_sd += data.changes_sd;
-                            whenDone.value.data += data.data;
-                            whenDone.value.data_sd += data.data_sd;
-                            whenDone.value.faces += data.faces;
-                            whenDone.value.faces_sd += data.faces_sd;
-                            whenDone.value.variety += data.variety;
-                            whenDone.value.variety_sd += data.variety_sd;
-                        }
-                        whenDone.value.air /= analysis.size();
-                        whenDone.value.air_sd /= analysis.size();
-                        whenDone.value.changes /= analysis.size();
-                        whenDone.value.changes_sd /= analysis.size();
-                        whenDone.value.data /= analysis.size();
-                        whenDone.value.data_sd /= analysis.size();
-                        whenDone.value.faces /= analysis.size();
-                        whenDone.value.faces_sd /= analysis.size();
-                        whenDone.value.variety /= analysis.size();
-                        whenDone.value.variety_sd /= analysis.size();
-                    } else {
-                        whenDone.value = analysis.get(0);
+        final Set<CuboidRegion> regions = origin.getRegions();
+        final List<PlotAnalysis> analysis = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger remaining = new AtomicInteger(regions.size());
+        final Runnable complete = () -> {
+            whenDone.value = new PlotAnalysis();
+            if (analysis.isEmpty()) {
+                // Nothing could be analyzed, report an empty analysis without storing it
+                TaskManager.runTask(whenDone);
+                return;
+            }
+            for (PlotAnalysis data : analysis) {
+                whenDone.value.air += data.air;
+                whenDone.value.air_sd += data.air_sd;
+                whenDone.value.changes += data.changes;
+                whenDone.value.changes_sd += data.changes_sd;
+                whenDone.value.data += data.data;
+                whenDone.value.data_sd += data.data_sd;
+                whenDone.value.faces += data.faces;
+                whenDone.value.faces_sd += data.faces_sd;
+                whenDone.value.variety += data.variety;
+                whenDone.value.variety_sd += data.variety_sd;
+            }
+            whenDone.value.air /= analysis.size();
+            whenDone.value.air_sd /= analysis.size();
+            whenDone.value.changes /= analysis.size();
+            whenDone.value.changes_sd /= analysis.size();
+            whenDone.value.data /= analysis.size();
+            whenDone.value.data_sd /= analysis.size();
+            whenDone.value.faces /= analysis.size();
+            whenDone.value.faces_sd /= analysis.size();
+            whenDone.value.variety /= analysis.size();
+            whenDone.value.variety_sd /= analysis.size();
+            List<Integer> result = new ArrayList<>();
+            result.add(whenDone.value.changes);
+            result.add(whenDone.value.faces);
+            result.add(whenDone.value.data);
+            result.add(whenDone.value.air);
+            result.add(whenDone.value.variety);
+
+            result.add(whenDone.value.changes_sd);
+            result.add(whenDone.value.faces_sd);
+            result.add(whenDone.value.data_sd);
+            result.add(whenDone.value.air_sd);
+            result.add(whenDone.value.variety_sd);
+            PlotFlag<?, ?> plotFlag =
+                GlobalFlagContainer.getInstance().getFlag(AnalysisFlag.class)
+                    .createFlagInstance(result);
+            PlotFlagAddEvent event = new PlotFlagAddEvent(plotFlag, origin);
+            if (event.getEventResult() == Result.DENY) {
+                return;
+            }
+            origin.setFlag(event.getFlag());
+            TaskManager.runTask(whenDone);
+        };
+        if (regions.isEmpty()) {
+            TaskManager.runTask(complete);
+            return;
+        }
+        for (CuboidRegion region : regions) {
+            analyzeRegion(origin.getWorldName(), region, new RunnableVal<PlotAnalysis>() {
+                @Override public void run(PlotAnalysis value) {
+                    if (value != null) {
+                        analysis.add(value);
                     }
-                    List<Integer> result = new ArrayList<>();
-                    result.add(whenDone.value.changes);
-                    result.add(whenDone.value.faces);
-                    result.add(whenDone.value.data);
-                    result.add(whenDone.value.air);
-                    result.add(whenDone.value.variety);
-
-                    result.add(whenDone.value.changes_sd);
-                    result.add(whenDone.value.faces_sd);
-                    result.add(whenDone.value.data_sd);
-                    result.add(whenDone.value.air_sd);
-                    result.add(whenDone.value.variety_sd);
-                    PlotFlag<?, ?> plotFlag =
-                        GlobalFlagContainer.getInstance().getFlag(AnalysisFlag.class)
-                            .createFlagInstance(result);
-                    PlotFlagAddEvent event = new PlotFlagAddEvent(plotFlag, origin);
-                    if (event.getEventResult() == Result.DENY) {
-                        return;
+                    if (remaining.decrementAndGet() == 0) {
+                        TaskManager.runTask(complete);
                     }
-                    origin.setFlag(event.getFlag());
-                    TaskManager.runTask(whenDone);
-                    return;
                 }
-                CuboidRegion region = zones.poll();
-                final Runnable task = this;
-                analyzeRegion(origin.getWorldName(), region, new RunnableVal<PlotAnalysis>() {
-                    @Override public void run(PlotAnalysis value) {
-                        analysis.add(value);
-                        TaskManager.runTaskLater(task, 1);
-                    }
-                });
-            }
-        };
-        run.run();
+            });
+        }
     }
 
     public int checkModified(LocalBlockQueue queue, int x1, int x2, int y1, int y2, int z1, int z2,
@@ -379,20 +308,20 @@ public abstract class HybridUtils {
         return chunks;
     }
 
+    /**
+     * Start a road regeneration job for every region file of an area.
+     *
+     * @param area   Area to regenerate the roads of
+     * @param extend Height above the road schematic to clear
+     * @return false if the area does not have road schematics
+     * @see RoadRegenManager#start(PlotArea, Collection, Collection, int)
+     */
     public boolean scheduleRoadUpdate(PlotArea area, int extend) {
-        if (HybridUtils.UPDATE) {
-            return false;
-        }
-        HybridUtils.UPDATE = true;
         Set<BlockVector2> regions = RegionManager.manager.getChunkChunks(area.getWorldName());
         return scheduleRoadUpdate(area, regions, extend, new HashSet<>());
     }
 
     public boolean scheduleSingleRegionRoadUpdate(Plot plot, int extend) {
-        if (HybridUtils.UPDATE) {
-            return false;
-        }
-        HybridUtils.UPDATE = true;
         Set<BlockVector2> regions = new HashSet<>();
         regions.add(RegionManager.getRegion(plot.getCenterSynchronous()));
         return scheduleRoadUpdate(plot.getArea(), regions, extend, new HashSet<>());
@@ -400,101 +329,7 @@ public abstract class HybridUtils {
 
     public boolean scheduleRoadUpdate(final PlotArea area, Set<BlockVector2> regions,
         final int extend, Set<BlockVector2> chunks) {
-        HybridUtils.regions = regions;
-        HybridUtils.area = area;
-        HybridUtils.height = extend;
-        HybridUtils.chunks = chunks;
-        final AtomicInteger count = new AtomicInteger(0);
-        TaskManager.runTask(new Runnable() {
-            @Override public void run() {
-                if (!UPDATE) {
-                    Iterator<BlockVector2> iter = chunks.iterator();
-                    while (iter.hasNext()) {
-                        BlockVector2 chunk = iter.next();
-                        iter.remove();
-                        boolean regenedRoad = regenerateRoad(area, chunk, extend);
-                        if (!regenedRoad) {
-                            PlotSquared.debug("Failed to regenerate roads.");
-                        }
-                        ChunkManager.manager.unloadChunk(area.getWorldName(), chunk, true);
-                    }
-                    PlotSquared.debug("Cancelled road task");
-                    return;
-                }
-                count.incrementAndGet();
-                if (count.intValue() % 20 == 0) {
-                    PlotSquared.debug("PROGRESS: " + 100 * (2048 - chunks.size()) / 2048 + "%");
-                }
-                if (HybridUtils.regions.isEmpty() && chunks.isEmpty()) {
-                    PlotSquared.debug("Regenerating plot walls");
-                    regeneratePlotWalls(area);
-
-                    HybridUtils.UPDATE = false;
-                    PlotSquared.log("Finished road conversion");
-                    // CANCEL TASK
-                } else {
-                    final Runnable task = this;
-                    TaskManager.runTaskAsync(() -> {
-                        try {
-                            if (chunks.size() < 1024) {
-                                if (!HybridUtils.regions.isEmpty()) {
-                                    Iterator<BlockVector2> iterator =
-                                        HybridUtils.regions.iterator();
-                                    BlockVector2 loc = iterator.next();
-                                    iterator.remove();
-                                    PlotSquared.debug(
-                                        "Updating .mcr: " + loc.getX() + ", " + loc.getZ()
-                                            + " (approx 1024 chunks)");
-                                    PlotSquared
-                                        .debug(" - Remaining: " + HybridUtils.regions.size());
-                                    chunks.addAll(getChunks(loc));
-                                    System.gc();
-                                }
-                            }
-                            if (!chunks.isEmpty()) {
-                                TaskManager.IMP.sync(new RunnableVal<Object>() {
-                                    @Override public void run(Object value) {
-                                        long start = System.currentTimeMillis();
-                                        Iterator<BlockVector2> iterator = chunks.iterator();
-                                        while (System.currentTimeMillis() - start < 20 && !chunks
-                                            .isEmpty()) {
-                                            final BlockVector2 chunk = iterator.next();
-                                            iterator.remove();
-                                            boolean regenedRoads =
-                                                regenerateRoad(area, chunk, extend);
-                                            if (!regenedRoads) {
-                                                PlotSquared.debug("Failed to regenerate road.");
-                                            }
-                                        }
-                                    }
-                                });
-                            }
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                            Iterator<BlockVector2> iterator = HybridUtils.regions.iterator();
-                            BlockVector2 loc = iterator.next();
-                            iterator.remove();
-                            PlotSquared.debug(
-                                "[ERROR] Could not update '" + area.getWorldName() + "/region/r."
-                                    + loc.getX() + "." + loc.getZ() + ".mca' (Corrupt chunk?)");
-                            int sx = loc.getX() << 5;
-                            int sz = loc.getZ() << 5;
-                            for (int x = sx; x < sx + 32; x++) {
-                                for (int z = sz; z < sz + 32; z++) {
-                                    ChunkManager.manager
-                                        .unloadChunk(area.getWorldName(), BlockVector2.at(x, z),
-                                            true);
-                                }
-                            }
-                            PlotSquared.debug(" - Potentially skipping 1024 chunks");
-                            PlotSquared.debug(" - TODO: recommend chunkster if corrupt");
-                        }
-                        GlobalBlockQueue.IMP.addEmptyTask(() -> TaskManager.runTaskLater(task, 20));
-                    });
-                }
-            }
-        });
-        return true;
+        return RoadRegenManager.IMP.start(area, regions, chunks, extend) != null;
     }
 
     public boolean setupRoadSchematic(Plot plot) {
@@ -562,20 +397,43 @@ public abstract class HybridUtils {
     }
 
     public boolean regenerateRoad(final PlotArea area, final BlockVector2 chunk, int extend) {
+        LocalBlockQueue queue = GlobalBlockQueue.IMP.getNewQueue(area.getWorldName(), false);
+        CompletableFuture<?> future = regenerateRoad(area, chunk, extend, queue);
+        if (future == null) {
+            return false;
+        }
+        future.thenRun(queue::enqueue);
+        return true;
+    }
+
+    /**
+     * Regenerate the road of a chunk into a queue. The chunk is loaded first, so the
+     * blocks are only set once the returned future completes.
+     *
+     * @param area   Area the chunk is in
+     * @param chunk  Chunk to regenerate
+     * @param extend Height above the road schematic to clear
+     * @param queue  Queue to set the blocks in. This is not enqueued
+     * @return Future that completes once the blocks have been set, or null if the
+     * chunk does not contain a road
+     */
+    @Nullable public CompletableFuture<?> regenerateRoad(@NotNull final PlotArea area,
+        @NotNull final BlockVector2 chunk, final int extend,
+        @NotNull final LocalBlockQueue queue) {
         int x = chunk.getX() << 4;
         int z = chunk.getZ() << 4;
         int ex = x + 15;
         int ez = z + 15;
         HybridPlotWorld plotWorld = (HybridPlotWorld) area;
         if (!plotWorld.ROAD_SCHEMATIC_ENABLED) {
-            return false;
+            return null;
         }
         AtomicBoolean toCheck = new AtomicBoolean(false);
         if (plotWorld.getType() == PlotAreaType.PARTIAL) {
             boolean chunk1 = area.contains(x, z);
             boolean chunk2 = area.contains(ex, ez);
             if (!chunk1 && !chunk2) {
-                return false;
+                return null;
             } else {
                 toCheck.set(chunk1 ^ chunk2);
             }
@@ -587,9 +445,8 @@ public abstract class HybridUtils {
         z -= plotWorld.ROAD_OFFSET_Z;
         final int finalX = x;
         final int finalZ = z;
-        LocalBlockQueue queue = GlobalBlockQueue.IMP.getNewQueue(plotWorld.getWorldName(), false);
         if (id1 == null || id2 == null || id1 != id2) {
-            ChunkManager.manager.loadChunk(area.getWorldName(), chunk, false).thenRun(() -> {
+            return ChunkManager.manager.loadChunk(area.getWorldName(), chunk, false).thenRun(() -> {
                 if (id1 != null) {
                     Plot p1 = area.getPlotAbs(id1);
                     if (p1 != null && p1.hasOwner() && p1.isMerged()) {
@@ -655,10 +512,25 @@ public abstract class HybridUtils {
                         }
                     }
                 }
-                queue.enqueue();
             });
-            return true;
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * The blocks of a chunk, read one section at a time
+     */
+    @FunctionalInterface public interface ChunkSections {
+
+        /**
+         * Copy the blocks of a section into a buffer, indexed by
+         * {@code (y & 15) << 8 | (z & 15) << 4 | (x & 15)}. Null entries are read as air.
+         *
+         * @param layer  Section index, in [0, 16)
+         * @param buffer Buffer of 4096 blocks
+         * @return false if the section is empty, in which case the buffer is left untouched
+         */
+        boolean readSection(int layer, @NotNull BlockState[] buffer);
+
     }
 }
@@ -0,0 +1,326 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockType;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Computes the {@link PlotAnalysis} of a region one chunk at a time. Blocks are read a
+ * section at a time and compared with the generator's {@link HybridColumnTemplate},
+ * so that neither the current nor the generated blocks of the region are kept in memory.
+ * <p>
+ * Changes, data, air and variety are added to running sums as soon as a column is
+ * complete. Faces depend on the neighbouring columns, which may be in a chunk that has
+ * not been read yet, so they are kept per column, and the air masks of columns on chunk
+ * edges are kept until the neighbouring chunk has been read.
+ * <p>
+ * Chunks must be passed to {@link #accept(int, int, int, int, int, int, HybridUtils.ChunkSections)}
+ * one at a time, in any order.
+ */
+final class RegionAnalyzer {
+
+    private static final int HEIGHT = 256;
+    private static final int WORDS = HEIGHT / 64;
+    /**
+     * Heights for which faces are counted: all but the bottom and the top layer
+     */
+    private static final long[] INNER = new long[] {-2L, -1L, -1L, Long.MAX_VALUE};
+
+    private final HybridColumnTemplate template;
+    private final BlockState airBlock = BlockTypes.AIR.getDefaultState();
+    private final int bx;
+    private final int bz;
+    private final int width;
+    private final int length;
+
+    private final int[] faces;
+    private final long[][] edges;
+
+    private final BlockState[] section = new BlockState[4096];
+    private final long[][] air = new long[256][WORDS];
+    private final int[] changes = new int[256];
+    private final int[] data = new int[256];
+    private final int[] airCount = new int[256];
+    private final Set<BlockType>[] types;
+
+    private long columns;
+    private long changesSum;
+    private long changesSquares;
+    private long dataSum;
+    private long dataSquares;
+    private long airSum;
+    private long airSquares;
+    private long varietySum;
+    private long varietySquares;
+
+    @SuppressWarnings("unchecked") RegionAnalyzer(@NotNull final HybridColumnTemplate template,
+        @NotNull final CuboidRegion region) {
+        final BlockVector3 bot = region.getMinimumPoint();
+        final BlockVector3 top = region.getMaximumPoint();
+        this.template = template;
+        this.bx = bot.getX();
+        this.bz = bot.getZ();
+        this.width = top.getX() - this.bx + 1;
+        this.length = top.getZ() - this.bz + 1;
+        this.faces = new int[this.width * this.length];
+        this.edges = new long[this.width * this.length][];
+        this.types = new Set[256];
+        for (int i = 0; i < 256; i++) {
+            this.types[i] = new HashSet<>();
+        }
+    }
+
+    /**
+     * Count the faces of a column that touch air in a neighbouring column
+     */
+    private static int faces(@NotNull final long[] air, @NotNull final long[] neighbour) {
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            count += Long.bitCount(~air[i] & INNER[i] & neighbour[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Count the faces of a column that touch air above or below it
+     */
+    private static int verticalFaces(@NotNull final long[] air) {
+        final long[] shifted = new long[WORDS];
+        int count = 0;
+        // Air below: bit y of the shifted mask is bit y - 1 of the air mask
+        for (int i = 0; i < WORDS; i++) {
+            shifted[i] = air[i] << 1 | (i == 0 ? 0 : air[i - 1] >>> 63);
+        }
+        count += faces(air, shifted);
+        // Air above: bit y of the shifted mask is bit y + 1 of the air mask
+        for (int i = 0; i < WORDS; i++) {
+            shifted[i] = air[i] >>> 1 | (i == WORDS - 1 ? 0 : air[i + 1] << 63);
+        }
+        return count + faces(air, shifted);
+    }
+
+    private boolean isInterior(final int x, final int z) {
+        return x > 0 && z > 0 && x < this.width - 1 && z < this.length - 1;
+    }
+
+    /**
+     * Analyze the part of a chunk inside the region
+     *
+     * @param chunkX   Chunk X coordinate
+     * @param chunkZ   Chunk Z coordinate
+     * @param minX     Minimum world X coordinate inside both the chunk and the region
+     * @param minZ     Minimum world Z coordinate inside both the chunk and the region
+     * @param maxX     Maximum world X coordinate inside both the chunk and the region
+     * @param maxZ     Maximum world Z coordinate inside both the chunk and the region
+     * @param sections Blocks of the chunk
+     */
+    void accept(final int chunkX, final int chunkZ, final int minX, final int minZ,
+        final int maxX, final int maxZ, @NotNull final HybridUtils.ChunkSections sections) {
+        final int cbx = chunkX << 4;
+        final int cbz = chunkZ << 4;
+        final int fromX = minX - cbx;
+        final int fromZ = minZ - cbz;
+        final int toX = maxX - cbx;
+        final int toZ = maxZ - cbz;
+        for (int x = fromX; x <= toX; x++) {
+            for (int z = fromZ; z <= toZ; z++) {
+                final int j = x << 4 | z;
+                final long[] air = this.air[j];
+                for (int i = 0; i < WORDS; i++) {
+                    air[i] = 0;
+                }
+                this.changes[j] = 0;
+                this.data[j] = 0;
+                this.airCount[j] = 0;
+                this.types[j].clear();
+            }
+        }
+        final BlockState[] section = this.section;
+        for (int layer = 0; layer < 16; layer++) {
+            final boolean empty = !sections.readSection(layer, section);
+            for (int x = fromX; x <= toX; x++) {
+                final int xx = cbx + x;
+                for (int z = fromZ; z <= toZ; z++) {
+                    final int zz = cbz + z;
+                    final int j = x << 4 | z;
+                    final HybridColumnTemplate.Column column = this.template.getColumnAt(xx, zz);
+                    final long[] air = this.air[j];
+                    final Set<BlockType> types = this.types[j];
+                    for (int y = layer << 4, ly = 0; ly < 16; y++, ly++) {
+                        BlockState now = empty ? null : section[ly << 8 | z << 4 | x];
+                        if (now == null) {
+                            now = this.airBlock;
+                        }
+                        BlockState old = column.getBlock(xx, y, zz);
+                        if (old == null) {
+                            old = this.airBlock;
+                        }
+                        if (!old.equals(now)) {
+                            this.changes[j]++;
+                        }
+                        final boolean isAir = now.getBlockType().getMaterial().isAir();
+                        if (isAir) {
+                            air[y >> 6] |= 1L << y;
+                            this.airCount[j]++;
+                        } else {
+                            if (!now.equals(now.getBlockType().getDefaultState())) {
+                                this.data[j]++;
+                            }
+                            types.add(now.getBlockType());
+                        }
+                    }
+                }
+            }
+        }
+        for (int x = fromX; x <= toX; x++) {
+            final int rx = cbx + x - this.bx;
+            for (int z = fromZ; z <= toZ; z++) {
+                final int rz = cbz + z - this.bz;
+                final int j = x << 4 | z;
+                final int index = rx * this.length + rz;
+                final long[] air = this.air[j];
+                if (this.isInterior(rx, rz)) {
+                    int faces = verticalFaces(air);
+                    if (x > fromX) {
+                        faces += faces(air, this.air[j - 16]);
+                    }
+                    if (x < toX) {
+                        faces += faces(air, this.air[j + 16]);
+                    }
+                    if (z > fromZ) {
+                        faces += faces(air, this.air[j - 1]);
+                    }
+                    if (z < toZ) {
+                        faces += faces(air, this.air[j + 1]);
+                    }
+                    this.faces[index] += faces;
+                }
+                // Neighbours in other chunks of the region
+                if (x == fromX && rx > 0) {
+                    this.pair(rx, rz, index, rx - 1, rz, air);
+                }
+                if (x == toX && rx < this.width - 1) {
+                    this.pair(rx, rz, index, rx + 1, rz, air);
+                }
+                if (z == fromZ && rz > 0) {
+                    this.pair(rx, rz, index, rx, rz - 1, air);
+                }
+                if (z == toZ && rz < this.length - 1) {
+                    this.pair(rx, rz, index, rx, rz + 1, air);
+                }
+                this.add(this.changes[j], this.data[j], this.airCount[j], this.types[j].size());
+            }
+        }
+    }
+
+    /**
+     * Count the faces between a column and a neighbour in another chunk, if that
+     * chunk has been read already. Otherwise the air mask of the column is kept
+     * until it has.
+     */
+    private void pair(final int rx, final int rz, final int index, final int nx, final int nz,
+        @NotNull final long[] air) {
+        final int neighbour = nx * this.length + nz;
+        final long[] other = this.edges[neighbour];
+        if (other != null) {
+            if (this.isInterior(rx, rz)) {
+                this.faces[index] += faces(air, other);
+            }
+            if (this.isInterior(nx, nz)) {
+                this.faces[neighbour] += faces(other, air);
+            }
+        } else if (this.edges[index] == null) {
+            this.edges[index] = air.clone();
+        }
+    }
+
+    private void add(final int changes, final int data, final int air, final int variety) {
+        this.columns++;
+        this.changesSum += changes;
+        this.changesSquares += (long) changes * changes;
+        this.dataSum += data;
+        this.dataSquares += (long) data * data;
+        this.airSum += air;
+        this.airSquares += (long) air * air;
+        this.varietySum += variety;
+        this.varietySquares += (long) variety * variety;
+    }
+
+    /**
+     * Standard deviation around {@code average}, the same as {@link com.plotsquared.core.util.MathMan#getSD(int[], double)}
+     */
+    private double deviation(final double sum, final double squares, final double average) {
+        final double count = this.columns;
+        final double variance = squares / count - 2 * average * sum / count + average * average;
+        return Math.sqrt(Math.max(0, variance));
+    }
+
+    /**
+     * Get the analysis of all chunks passed so far
+     *
+     * @return Analysis
+     */
+    @Nullable PlotAnalysis finish() {
+        if (this.columns == 0) {
+            return null;
+        }
+        long facesSum = 0;
+        long facesSquares = 0;
+        for (final int faces : this.faces) {
+            facesSum += faces;
+            facesSquares += (long) faces * faces;
+        }
+        final PlotAnalysis analysis = new PlotAnalysis();
+        analysis.changes = (int) (this.changesSum * 100d / this.columns);
+        analysis.faces = (int) (facesSum * 100d / this.columns);
+        analysis.data = (int) (this.dataSum * 100d / this.columns);
+        analysis.air = (int) (this.airSum * 100d / this.columns);
+        analysis.variety = (int) (this.varietySum * 100d / this.columns);
+
+        // The deviations are taken around the scaled averages, as they always have been
+        analysis.changes_sd =
+            (int) (this.deviation(this.changesSum, this.changesSquares, analysis.changes) * 100);
+        analysis.faces_sd =
+            (int) (this.deviation(facesSum, facesSquares, analysis.faces) * 100);
+        analysis.data_sd =
+            (int) (this.deviation(this.dataSum, this.dataSquares, analysis.data) * 100);
+        analysis.air_sd = (int) (this.deviation(this.airSum, this.airSquares, analysis.air) * 100);
+        analysis.variety_sd =
+            (int) (this.deviation(this.varietySum, this.varietySquares, analysis.variety) * 100);
+        return analysis;
+    }
+
+}
@@ -0,0 +1,391 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.queue.GlobalBlockQueue;
+import com.plotsquared.core.queue.LocalBlockQueue;
+import com.plotsquared.core.util.task.TaskManager;
+import com.sk89q.worldedit.math.BlockVector2;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A road regeneration job, which regenerates the roads of an area one region file at a time.
+ * The chunks of a region file are written to the world in batches, each through a single
+ * queue. A chunk counts as done once the queue it was written to has been placed.
+ * <p>
+ * Jobs are driven by the {@link RoadRegenManager} on the main thread.
+ */
+public final class RoadRegenJob {
+
+    /**
+     * Number of chunks that are written to the world through the same queue
+     */
+    static final int BATCH_SIZE = 64;
+    /**
+     * Number of chunks that a job may be loading at once
+     */
+    private static final int MAX_LOADING = 128;
+    private static final int CHUNKS_PER_REGION = 1024;
+    private static final int VERSION = 1;
+
+    @Getter private final UUID id;
+    @Getter private final PlotArea area;
+    @Getter private final int height;
+    @Getter private final long totalChunks;
+    private final ArrayDeque<BlockVector2> regions;
+    private final ArrayDeque<BlockVector2> chunks;
+    private final List<Batch> batches = new ArrayList<>();
+    private final AtomicInteger loading = new AtomicInteger();
+    private final long startedAt = System.currentTimeMillis();
+    private final long resumedChunks;
+    @Nullable private BlockVector2 region;
+    @Nullable private Batch batch;
+    @Getter private long completedChunks;
+    @Getter private boolean cancelled;
+
+    RoadRegenJob(@NotNull final UUID id, @NotNull final PlotArea area, final int height,
+        @NotNull final Collection<BlockVector2> regions,
+        @NotNull final Collection<BlockVector2> chunks) {
+        this(id, area, height, regions, chunks, null,
+            (long) regions.size() * CHUNKS_PER_REGION + chunks.size(), 0);
+    }
+
+    private RoadRegenJob(@NotNull final UUID id, @NotNull final PlotArea area, final int height,
+        @NotNull final Collection<BlockVector2> regions,
+        @NotNull final Collection<BlockVector2> chunks, @Nullable final BlockVector2 region,
+        final long totalChunks, final long completedChunks) {
+        this.id = id;
+        this.area = area;
+        this.height = height;
+        this.regions = new ArrayDeque<>(regions);
+        this.chunks = new ArrayDeque<>(chunks);
+        this.region = region;
+        this.totalChunks = totalChunks;
+        this.completedChunks = completedChunks;
+        this.resumedChunks = completedChunks;
+    }
+
+    /**
+     * Read a checkpoint of a job
+     *
+     * @param id   Job ID
+     * @param in   Stream to read from
+     * @param area Area that is being loaded
+     * @return The job, or null if it belongs to another area
+     * @throws IOException If the checkpoint cannot be read
+     */
+    @Nullable static RoadRegenJob read(@NotNull final UUID id, @NotNull final DataInputStream in,
+        @NotNull final PlotArea area) throws IOException {
+        final int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unknown road regeneration checkpoint version: " + version);
+        }
+        final String world = in.readUTF();
+        final String areaId = in.readBoolean() ? in.readUTF() : null;
+        if (!world.equals(area.getWorldName()) || !Objects.equals(areaId, area.getId())) {
+            return null;
+        }
+        final int height = in.readInt();
+        final long totalChunks = in.readLong();
+        final long completedChunks = in.readLong();
+        final BlockVector2 region = in.readBoolean() ? readVector(in) : null;
+        final List<BlockVector2> chunks = readVectors(in);
+        final List<BlockVector2> regions = readVectors(in);
+        return new RoadRegenJob(id, area, height, regions, chunks, region, totalChunks,
+            completedChunks);
+    }
+
+    @NotNull private static BlockVector2 readVector(@NotNull final DataInputStream in)
+        throws IOException {
+        return BlockVector2.at(in.readInt(), in.readInt());
+    }
+
+    @NotNull private static List<BlockVector2> readVectors(@NotNull final DataInputStream in)
+        throws IOException {
+        final int size = in.readInt();
+        final List<BlockVector2> vectors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            vectors.add(readVector(in));
+        }
+        return vectors;
+    }
+
+    private static void writeVector(@NotNull final DataOutputStream out,
+        @NotNull final BlockVector2 vector) throws IOException {
+        out.writeInt(vector.getX());
+        out.writeInt(vector.getZ());
+    }
+
+    /**
+     * Write a checkpoint of the job. Chunks that have been handed to a queue which has
+     * not been placed yet are written as remaining, so they are regenerated again when
+     * the job is resumed.
+     *
+     * @param out Stream to write to
+     * @throws IOException If the checkpoint cannot be written
+     */
+    void write(@NotNull final DataOutputStream out) throws IOException {
+        out.writeInt(VERSION);
+        out.writeUTF(this.area.getWorldName());
+        out.writeBoolean(this.area.getId() != null);
+        if (this.area.getId() != null) {
+            out.writeUTF(this.area.getId());
+        }
+        out.writeInt(this.height);
+        out.writeLong(this.totalChunks);
+        out.writeLong(this.completedChunks);
+        out.writeBoolean(this.region != null);
+        if (this.region != null) {
+            writeVector(out, this.region);
+        }
+        int remaining = this.chunks.size();
+        for (final Batch batch : this.batches) {
+            remaining += batch.chunks.size();
+        }
+        if (this.batch != null) {
+            remaining += this.batch.chunks.size();
+        }
+        out.writeInt(remaining);
+        for (final Batch batch : this.batches) {
+            for (final BlockVector2 chunk : batch.chunks) {
+                writeVector(out, chunk);
+            }
+        }
+        if (this.batch != null) {
+            for (final BlockVector2 chunk : this.batch.chunks) {
+                writeVector(out, chunk);
+            }
+        }
+        for (final BlockVector2 chunk : this.chunks) {
+            writeVector(out, chunk);
+        }
+        out.writeInt(this.regions.size());
+        for (final BlockVector2 region : this.regions) {
+            writeVector(out, region);
+        }
+    }
+
+    /**
+     * Get the fraction of the chunks that have been regenerated
+     *
+     * @return Value between 0 and 1
+     */
+    public double getProgress() {
+        if (this.totalChunks == 0) {
+            return 1;
+        }
+        return Math.min(1, (double) this.completedChunks / this.totalChunks);
+    }
+
+    /**
+     * Estimate the remaining time of the job, from the rate at which chunks have been
+     * regenerated since the job was started or resumed
+     *
+     * @return Remaining time in milliseconds, or -1 if no chunks have been regenerated yet
+     */
+    public long getEta() {
+        final long done = this.completedChunks - this.resumedChunks;
+        if (done <= 0) {
+            return -1;
+        }
+        final long elapsed = System.currentTimeMillis() - this.startedAt;
+        return Math.max(0, this.totalChunks - this.completedChunks) * elapsed / done;
+    }
+
+    /**
+     * Get the region file that is being regenerated
+     *
+     * @return Region coordinates, or null if none is being regenerated
+     */
+    @Nullable public BlockVector2 getRegion() {
+        return this.region;
+    }
+
+    /**
+     * Get the number of region files that have not been started yet
+     *
+     * @return Remaining regions
+     */
+    public int getRemainingRegions() {
+        return this.regions.size();
+    }
+
+    /**
+     * Hand the next chunk to the current batch
+     *
+     * @param manager Manager that owns the region claims
+     * @return false if no chunk can be regenerated right now
+     */
+    boolean step(@NotNull final RoadRegenManager manager) {
+        if (this.cancelled || this.loading.get() >= MAX_LOADING) {
+            return false;
+        }
+        if (this.chunks.isEmpty() && !this.nextRegion(manager)) {
+            return false;
+        }
+        final BlockVector2 chunk = this.chunks.poll();
+        if (this.batch == null) {
+            this.batch = new Batch(this.region,
+                GlobalBlockQueue.IMP.getNewQueue(this.area.getWorldName(), false));
+        }
+        final Batch batch = this.batch;
+        batch.chunks.add(chunk);
+        final CompletableFuture<?> future =
+            HybridUtils.manager.regenerateRoad(this.area, chunk, this.height, batch.queue);
+        if (future != null) {
+            this.loading.incrementAndGet();
+            batch.futures.add(future.whenComplete((ignore, throwable) -> {
+                this.loading.decrementAndGet();
+                if (throwable != null) {
+                    PlotSquared.debug("Failed to regenerate the road of chunk " + chunk);
+                    throwable.printStackTrace();
+                }
+            }));
+        }
+        if (batch.chunks.size() >= BATCH_SIZE || this.chunks.isEmpty()) {
+            this.seal();
+        }
+        return true;
+    }
+
+    /**
+     * Claim the next region file that no other job is regenerating
+     */
+    private boolean nextRegion(@NotNull final RoadRegenManager manager) {
+        for (int i = this.regions.size(); i > 0; i--) {
+            final BlockVector2 next = this.regions.poll();
+            if (manager.claim(this.area.getWorldName(), next, this)) {
+                this.region = next;
+                this.chunks.addAll(HybridUtils.manager.getChunks(next));
+                return !this.chunks.isEmpty();
+            }
+            this.regions.add(next);
+        }
+        return false;
+    }
+
+    /**
+     * Enqueue the current batch once all of its chunks have been written to its queue
+     */
+    private void seal() {
+        final Batch batch = this.batch;
+        if (batch == null) {
+            return;
+        }
+        this.batch = null;
+        this.batches.add(batch);
+        CompletableFuture.allOf(batch.futures.toArray(new CompletableFuture[0]))
+            .whenComplete((ignore, throwable) -> TaskManager.runTask(() -> {
+                batch.queue.enqueue();
+                batch.enqueued = true;
+            }));
+    }
+
+    /**
+     * Count the chunks of batches that have been placed, and release the region files
+     * that have no chunks left
+     *
+     * @param manager Manager that owns the region claims
+     * @return true if the job has finished
+     */
+    boolean poll(@NotNull final RoadRegenManager manager) {
+        final Iterator<Batch> iterator = this.batches.iterator();
+        while (iterator.hasNext()) {
+            final Batch batch = iterator.next();
+            if (!batch.enqueued || !GlobalBlockQueue.IMP.getProgress(batch.queue).isDone()) {
+                continue;
+            }
+            iterator.remove();
+            this.completedChunks += batch.chunks.size();
+            if (batch.region != null && !this.isActive(batch.region)) {
+                manager.release(this.area.getWorldName(), batch.region, this);
+            }
+        }
+        return this.regions.isEmpty() && this.chunks.isEmpty() && this.batch == null
+            && this.batches.isEmpty();
+    }
+
+    private boolean isActive(@NotNull final BlockVector2 region) {
+        if (region.equals(this.region) && (!this.chunks.isEmpty() || this.batch != null)) {
+            return true;
+        }
+        for (final Batch batch : this.batches) {
+            if (region.equals(batch.region)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stop handing out chunks. Chunks that are already loading are still placed.
+     */
+    void cancel() {
+        this.cancelled = true;
+        this.seal();
+    }
+
+    @Override public String toString() {
+        return "RoadRegenJob{id=" + this.id + ", area=" + this.area + ", progress="
+            + this.completedChunks + '/' + this.totalChunks + '}';
+    }
+
+    /**
+     * Chunks of a region file that are written to the world through one queue
+     */
+    private static final class Batch {
+
+        @Nullable private final BlockVector2 region;
+        private final LocalBlockQueue queue;
+        private final List<BlockVector2> chunks = new ArrayList<>(BATCH_SIZE);
+        private final List<CompletableFuture<?>> futures = new ArrayList<>();
+        private volatile boolean enqueued;
+
+        private Batch(@Nullable final BlockVector2 region, @NotNull final LocalBlockQueue queue) {
+            this.region = region;
+            this.queue = queue;
+        }
+
+    }
+
+}
@@ -0,0 +1,439 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Captions;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.util.MainUtil;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TickBudget;
+import com.sk89q.worldedit.math.BlockVector2;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs road regeneration jobs. Any number of jobs may run at once, also in the same area,
+ * but a region file is only regenerated by one job at a time. Jobs share a
+ * {@link TickBudget} on the main thread.
+ * <p>
+ * If {@link Settings.Enabled_Components#PERSISTENT_ROAD_REGEN} is enabled, the progress
+ * of every job is written to disk periodically, and jobs are resumed when their area
+ * is loaded again. The progress is captured on the main thread and written to disk
+ * asynchronously, except on shutdown.
+ */
+public final class RoadRegenManager {
+
+    public static final RoadRegenManager IMP = new RoadRegenManager();
+
+    private static final long CHECKPOINT_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+    private static final String CHECKPOINT_EXTENSION = ".dat";
+
+    private final List<RoadRegenJob> jobs = new ArrayList<>();
+    private final Map<String, Map<BlockVector2, RoadRegenJob>> claims = new HashMap<>();
+    private final TickBudget budget = new TickBudget(1, 25, 1, 10);
+    private int task = -1;
+    private int next;
+    private long lastCheckpoint = System.currentTimeMillis();
+
+    /**
+     * Serialized progress of the jobs that still has to be written to disk, in the order
+     * it was captured. A null value deletes the checkpoint of the job.
+     */
+    private final Map<UUID, byte[]> pendingCheckpoints = new LinkedHashMap<>();
+    /**
+     * Held while checkpoints are written, so that they reach the disk in order
+     */
+    private final Object checkpointLock = new Object();
+    private boolean checkpointTask;
+
+    private RoadRegenManager() {
+    }
+
+    @NotNull private static File getDirectory() {
+        return new File(PlotSquared.get().IMP.getDirectory(), "road_regen");
+    }
+
+    @NotNull private static File getCheckpoint(@NotNull final UUID id) {
+        return new File(getDirectory(), id + CHECKPOINT_EXTENSION);
+    }
+
+    /**
+     * Start regenerating the roads of an area
+     *
+     * @param area    Area to regenerate the roads of
+     * @param regions Region files to regenerate
+     * @param chunks  Additional chunks to regenerate
+     * @param height  Height above the road schematic to clear
+     * @return The job, or null if the area does not have road schematics
+     */
+    @Nullable public synchronized RoadRegenJob start(@NotNull final PlotArea area,
+        @NotNull final Collection<BlockVector2> regions,
+        @NotNull final Collection<BlockVector2> chunks, final int height) {
+        if (!(area instanceof HybridPlotWorld)) {
+            return null;
+        }
+        final RoadRegenJob job = new RoadRegenJob(UUID.randomUUID(), area, height, regions, chunks);
+        this.add(job);
+        PlotSquared.debug("Started road regeneration " + job.getId() + " in " + area + " ("
+            + job.getTotalChunks() + " chunks)");
+        return job;
+    }
+
+    private void add(@NotNull final RoadRegenJob job) {
+        this.jobs.add(job);
+        this.checkpoint(job);
+        if (this.task == -1) {
+            this.budget.reset();
+            this.task = TaskManager.runTaskRepeat(this::tick, 1);
+        }
+    }
+
+    /**
+     * Get the jobs that are running
+     *
+     * @return Immutable copy of the running jobs
+     */
+    @NotNull public synchronized List<RoadRegenJob> getJobs() {
+        return Collections.unmodifiableList(new ArrayList<>(this.jobs));
+    }
+
+    /**
+     * Cancel a job. Chunks that are already being regenerated are still placed.
+     *
+     * @param job Job to cancel
+     * @return false if the job was not running
+     */
+    public synchronized boolean cancel(@NotNull final RoadRegenJob job) {
+        if (!this.jobs.contains(job)) {
+            return false;
+        }
+        job.cancel();
+        this.remove(job);
+        return true;
+    }
+
+    /**
+     * Cancel all jobs
+     *
+     * @return Number of jobs that were cancelled
+     */
+    public synchronized int cancelAll() {
+        final List<RoadRegenJob> jobs = new ArrayList<>(this.jobs);
+        jobs.forEach(this::cancel);
+        return jobs.size();
+    }
+
+    private void remove(@NotNull final RoadRegenJob job) {
+        this.jobs.remove(job);
+        final Map<BlockVector2, RoadRegenJob> claims =
+            this.claims.get(job.getArea().getWorldName());
+        if (claims != null) {
+            claims.values().removeIf(job::equals);
+        }
+        if (this.queueCheckpoint(job.getId(), null)) {
+            TaskManager.runTaskAsync(this::writeCheckpoints);
+        }
+    }
+
+    /**
+     * Claim a region file for a job, so that no other job regenerates it at the same time
+     *
+     * @return false if another job has claimed the region
+     */
+    synchronized boolean claim(@NotNull final String world, @NotNull final BlockVector2 region,
+        @NotNull final RoadRegenJob job) {
+        final RoadRegenJob owner =
+            this.claims.computeIfAbsent(world, key -> new HashMap<>()).putIfAbsent(region, job);
+        return owner == null || owner == job;
+    }
+
+    synchronized void release(@NotNull final String world, @NotNull final BlockVector2 region,
+        @NotNull final RoadRegenJob job) {
+        final Map<BlockVector2, RoadRegenJob> claims = this.claims.get(world);
+        if (claims != null) {
+            claims.remove(region, job);
+        }
+    }
+
+    private synchronized void tick() {
+        final long deadline = this.budget.tick();
+        final Iterator<RoadRegenJob> iterator = this.jobs.iterator();
+        while (iterator.hasNext()) {
+            final RoadRegenJob job = iterator.next();
+            if (job.poll(this)) {
+                iterator.remove();
+                this.finish(job);
+            }
+        }
+        int idle = 0;
+        while (idle < this.jobs.size() && System.nanoTime() < deadline) {
+            this.next = (this.next + 1) % this.jobs.size();
+            if (this.jobs.get(this.next).step(this)) {
+                idle = 0;
+            } else {
+                idle++;
+            }
+        }
+        if (System.currentTimeMillis() - this.lastCheckpoint >= CHECKPOINT_INTERVAL) {
+            this.lastCheckpoint = System.currentTimeMillis();
+            for (final RoadRegenJob job : this.jobs) {
+                this.checkpoint(job);
+                final long eta = job.getEta();
+                PlotSquared.debug(String.format("Road regeneration in %s: %.1f%% (%d/%d chunks)%s",
+                    job.getArea(), job.getProgress() * 100, job.getCompletedChunks(),
+                    job.getTotalChunks(),
+                    eta < 0 ? "" : ", ETA " + MainUtil.secToTime(eta / 1000)));
+            }
+        }
+        if (this.jobs.isEmpty()) {
+            TaskManager.IMP.cancelTask(this.task);
+            this.task = -1;
+        }
+    }
+
+    private void finish(@NotNull final RoadRegenJob job) {
+        this.remove(job);
+        PlotSquared.debug("Regenerating plot walls");
+        HybridUtils.regeneratePlotWalls(job.getArea());
+        PlotSquared.log("Finished road conversion in " + job.getArea());
+    }
+
+    /**
+     * Capture the progress of a job and write it to disk asynchronously, if road
+     * regeneration is persistent
+     */
+    private void checkpoint(@NotNull final RoadRegenJob job) {
+        if (!Settings.Enabled_Components.PERSISTENT_ROAD_REGEN) {
+            return;
+        }
+        final byte[] data = serialize(job);
+        if (data != null && this.queueCheckpoint(job.getId(), data)) {
+            TaskManager.runTaskAsync(this::writeCheckpoints);
+        }
+    }
+
+    /**
+     * Write the progress of all jobs to disk, if road regeneration is persistent. Unlike
+     * the periodic checkpoints this blocks until everything has been written, as it is
+     * meant to be called on shutdown.
+     */
+    public synchronized void checkpointAll() {
+        if (!this.jobs.isEmpty() && Settings.Enabled_Components.PERSISTENT_ROAD_REGEN) {
+            PlotSquared.log(Captions.PREFIX + "Road regeneration incomplete. Saving progress of "
+                + this.jobs.size() + " job(s) to disk.");
+            for (final RoadRegenJob job : this.jobs) {
+                final byte[] data = serialize(job);
+                if (data != null) {
+                    this.queueCheckpoint(job.getId(), data);
+                }
+            }
+        }
+        // Also flushes checkpoints that are still waiting for the asynchronous task
+        this.writeCheckpoints();
+    }
+
+    @Nullable private static byte[] serialize(@NotNull final RoadRegenJob job) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            job.write(out);
+        } catch (IOException e) {
+            PlotSquared.log(Captions.PREFIX + "Error saving road regeneration progress.");
+            e.printStackTrace();
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Queue a checkpoint to be written
+     *
+     * @param id   Job id
+     * @param data Serialized job, or null to delete the checkpoint
+     * @return true if a task has to be started to write the checkpoint
+     */
+    private boolean queueCheckpoint(@NotNull final UUID id, @Nullable final byte[] data) {
+        synchronized (this.pendingCheckpoints) {
+            // Re-insert, so that the entry is ordered after the checkpoints queued before it
+            this.pendingCheckpoints.remove(id);
+            this.pendingCheckpoints.put(id, data);
+            if (this.checkpointTask) {
+                return false;
+            }
+            this.checkpointTask = true;
+            return true;
+        }
+    }
+
+    /**
+     * Write all queued checkpoints to disk
+     */
+    private void writeCheckpoints() {
+        synchronized (this.checkpointLock) {
+            while (true) {
+                final Map.Entry<UUID, byte[]> entry;
+                synchronized (this.pendingCheckpoints) {
+                    final Iterator<Map.Entry<UUID, byte[]>> iterator =
+                        this.pendingCheckpoints.entrySet().iterator();
+                    if (!iterator.hasNext()) {
+                        this.checkpointTask = false;
+                        return;
+                    }
+                    entry = iterator.next();
+                    iterator.remove();
+                }
+                writeCheckpoint(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static void writeCheckpoint(@NotNull final UUID id, @Nullable final byte[] data) {
+        final File file = getCheckpoint(id);
+        if (data == null) {
+            if (file.exists() && !file.delete()) {
+                PlotSquared.debug("Failed to delete road regeneration checkpoint " + file);
+            }
+            return;
+        }
+        final File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        file.getParentFile().mkdirs();
+        try {
+            Files.write(tmp.toPath(), data);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            PlotSquared.log(Captions.PREFIX + "Error saving road regeneration progress.");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Resume the persisted jobs of an area
+     *
+     * @param area Area that has been loaded
+     */
+    public synchronized void resume(@NotNull final PlotArea area) {
+        if (!Settings.Enabled_Components.PERSISTENT_ROAD_REGEN) {
+            return;
+        }
+        this.resumeLegacy(area);
+        final File[] files = getDirectory().listFiles(
+            (dir, name) -> name.endsWith(CHECKPOINT_EXTENSION));
+        if (files == null) {
+            return;
+        }
+        for (final File file : files) {
+            final String name = file.getName();
+            final UUID id;
+            try {
+                id = UUID.fromString(
+                    name.substring(0, name.length() - CHECKPOINT_EXTENSION.length()));
+            } catch (IllegalArgumentException ignored) {
+                continue;
+            }
+            if (this.jobs.stream().anyMatch(job -> job.getId().equals(id))) {
+                continue;
+            }
+            final RoadRegenJob job;
+            try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+                job = RoadRegenJob.read(id, in, area);
+            } catch (IOException e) {
+                PlotSquared.log(Captions.PREFIX + "Error restarting road regeneration from "
+                    + name + ". Please manually delete this file.");
+                e.printStackTrace();
+                continue;
+            }
+            if (job == null) {
+                continue;
+            }
+            PlotSquared.log(Captions.PREFIX + "Incomplete road regeneration found. Restarting in "
+                + area + " with height " + job.getHeight() + " at " + String
+                .format("%.1f%%", job.getProgress() * 100) + ".");
+            if (job.getRegion() != null) {
+                this.claim(area.getWorldName(), job.getRegion(), job);
+            }
+            this.add(job);
+        }
+    }
+
+    /**
+     * Resume a road regeneration that was persisted before jobs existed
+     */
+    @SuppressWarnings("unchecked") private void resumeLegacy(@NotNull final PlotArea area) {
+        final File file = new File(PlotSquared.get().IMP.getDirectory(),
+            "persistent_regen_data_" + area.getId() + "_" + area.getWorldName());
+        if (!file.exists()) {
+            return;
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
+            final List<Object> list = (List<Object>) ois.readObject();
+            final Set<BlockVector2> regions = new HashSet<>();
+            final Set<BlockVector2> chunks = new HashSet<>();
+            ((List<int[]>) list.get(0)).forEach(l -> regions.add(BlockVector2.at(l[0], l[1])));
+            ((List<int[]>) list.get(1)).forEach(l -> chunks.add(BlockVector2.at(l[0], l[1])));
+            final int height = (int) list.get(2);
+            PlotSquared.log(
+                Captions.PREFIX + "Incomplete road regeneration found. Restarting in world "
+                    + area.getWorldName() + " with height " + height + ".");
+            this.start(area, regions, chunks, height);
+        } catch (IOException | ClassNotFoundException e) {
+            PlotSquared.log(Captions.PREFIX + "Error restarting road regeneration.");
+            e.printStackTrace();
+        } finally {
+            if (!file.delete()) {
+                PlotSquared.log(
+                    Captions.PREFIX + "Error deleting persistent_regen_data_" + area.getId()
+                        + ". Please manually delete this file.");
+            }
+        }
+    }
+
+}
@@ -31,11 +31,9 @@ import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
-import com.plotsquared.core.util.MainUtil;
 import com.plotsquared.core.util.RegionManager;
 import com.sk89q.worldedit.regions.CuboidRegion;
 
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -84,6 +82,10 @@ public abstract class SquarePlotManager extends GridPlotManager {
     }
 
     @Override public PlotId getPlotIdAbs(int x, int y, int z) {
+        return toPlotId(getPlotKeyAbs(x, y, z));
+    }
+
+    @Override public long getPlotKeyAbs(int x, int y, int z) {
         if (squarePlotWorld.ROAD_OFFSET_X != 0) {
             x -= squarePlotWorld.ROAD_OFFSET_X;
         }
@@ -121,9 +123,9 @@ public abstract class SquarePlotManager extends GridPlotManager {
             z = z % size;
         }
         if (z <= pathWidthLower || z > end || x <= pathWidthLower || x > end) {
-            return null;
+            return PlotId.NO_PLOT;
         } else {
-            return new PlotId(idx, idz);
+            return PlotId.pack(idx, idz);
         }
     }
 
@@ -152,6 +154,10 @@ public abstract class SquarePlotManager extends GridPlotManager {
     }
 
     @Override public PlotId getPlotId(int x, int y, int z) {
+        return toPlotId(getPlotKey(x, y, z));
+    }
+
+    @Override public long getPlotKey(int x, int y, int z) {
         try {
             x -= squarePlotWorld.ROAD_OFFSET_X;
             z -= squarePlotWorld.ROAD_OFFSET_Z;
@@ -187,52 +193,56 @@ public abstract class SquarePlotManager extends GridPlotManager {
                 dz = (z / size) + 1;
                 rz = z % size;
             }
-            PlotId id = new PlotId(dx, dz);
-            boolean[] merged =
-                new boolean[] {rz <= pathWidthLower, rx > end, rz > end, rx <= pathWidthLower};
-            int hash = MainUtil.hash(merged);
+            long key = PlotId.pack(dx, dz);
+            // Same bit layout as MainUtil#hash(boolean[]) for {north, east, south, west}
+            int hash = (rz <= pathWidthLower ? 8 : 0) | (rx > end ? 4 : 0) | (rz > end ? 2 : 0) | (
+                rx <= pathWidthLower ? 1 : 0);
             // Not merged, and no need to check if it is
             if (hash == 0) {
-                return id;
+                return key;
             }
-            Plot plot = squarePlotWorld.getOwnedPlotAbs(id);
+            Plot plot = squarePlotWorld.getOwnedPlotAbs(key);
             // Not merged, and standing on road
             if (plot == null) {
-                return null;
+                return PlotId.NO_PLOT;
             }
             switch (hash) {
                 case 8:
                     // north
-                    return plot.getMerged(Direction.NORTH) ? id : null;
+                    return plot.getMerged(Direction.NORTH) ? key : PlotId.NO_PLOT;
                 case 4:
                     // east
-                    return plot.getMerged(Direction.EAST) ? id : null;
+                    return plot.getMerged(Direction.EAST) ? key : PlotId.NO_PLOT;
                 case 2:
                     // south
-                    return plot.getMerged(Direction.SOUTH) ? id : null;
+                    return plot.getMerged(Direction.SOUTH) ? key : PlotId.NO_PLOT;
                 case 1:
                     // west
-                    return plot.getMerged(Direction.WEST) ? id : null;
+                    return plot.getMerged(Direction.WEST) ? key : PlotId.NO_PLOT;
                 case 12:
                     // northeast
-                    return plot.getMerged(Direction.NORTHEAST) ? id : null;
+                    return plot.getMerged(Direction.NORTHEAST) ? key : PlotId.NO_PLOT;
                 case 6:
                     // southeast
-                    return plot.getMerged(Direction.SOUTHEAST) ? id : null;
+                    return plot.getMerged(Direction.SOUTHEAST) ? key : PlotId.NO_PLOT;
                 case 3:
                     // southwest
-                    return plot.getMerged(Direction.SOUTHWEST) ? id : null;
+                    return plot.getMerged(Direction.SOUTHWEST) ? key : PlotId.NO_PLOT;
                 case 9:
                     // northwest
-                    return plot.getMerged(Direction.NORTHWEST) ? id : null;
+                    return plot.getMerged(Direction.NORTHWEST) ? key : PlotId.NO_PLOT;
             }
-            PlotSquared.debug("invalid location: " + Arrays.toString(merged));
+            PlotSquared.debug("invalid location: " + Integer.toBinaryString(hash));
         } catch (Exception ignored) {
             PlotSquared.debug(
                 "Invalid plot / road width in settings.yml for world: " + squarePlotWorld
                     .getWorldName());
         }
-        return null;
+        return PlotId.NO_PLOT;
+    }
+
+    private static PlotId toPlotId(long key) {
+        return key == PlotId.NO_PLOT ? null : new PlotId(PlotId.unpackX(key), PlotId.unpackY(key));
     }
 
     /**
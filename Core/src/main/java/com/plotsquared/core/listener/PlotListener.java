@@ -29,6 +29,8 @@ import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.collection.ByteArrayUtilities;
 import com.plotsquared.core.configuration.Captions;
 import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.events.PlayerEnterPlotEvent;
+import com.plotsquared.core.events.PlayerLeavePlotEvent;
 import com.plotsquared.core.events.PlotFlagRemoveEvent;
 import com.plotsquared.core.events.Result;
 import com.plotsquared.core.location.Location;
@@ -55,6 +57,7 @@ import com.plotsquared.core.plot.flag.implementations.TimeFlag;
 import com.plotsquared.core.plot.flag.implementations.TitlesFlag;
 import com.plotsquared.core.plot.flag.implementations.WeatherFlag;
 import com.plotsquared.core.plot.flag.types.TimedFlag;
+import com.plotsquared.core.util.EventDispatcher;
 import com.plotsquared.core.util.MainUtil;
 import com.plotsquared.core.util.Permissions;
 import com.plotsquared.core.util.StringMan;
@@ -136,7 +139,11 @@ public class PlotListener {
             ExpireManager.IMP.handleEntry(player, plot);
         }
         player.setMeta(PlotPlayer.META_LAST_PLOT, plot);
-        PlotSquared.get().getEventDispatcher().callEntry(player, plot);
+        final EventDispatcher eventDispatcher = PlotSquared.get().getEventDispatcher();
+        // Entering and leaving plots is frequent, so the event is only created if it is used
+        if (eventDispatcher.hasListeners(PlayerEnterPlotEvent.class)) {
+            eventDispatcher.callEntry(player, plot);
+        }
         if (plot.hasOwner()) {
             // This will inherit values from PlotArea
             final TitlesFlag.TitlesFlagValue titleFlag = plot.getFlag(TitlesFlag.class);
@@ -295,7 +302,10 @@ public class PlotListener {
 
     public static boolean plotExit(final PlotPlayer<?> player, Plot plot) {
         Object previous = player.deleteMeta(PlotPlayer.META_LAST_PLOT);
-        PlotSquared.get().getEventDispatcher().callLeave(player, plot);
+        final EventDispatcher eventDispatcher = PlotSquared.get().getEventDispatcher();
+        if (eventDispatcher.hasListeners(PlayerLeavePlotEvent.class)) {
+            eventDispatcher.callLeave(player, plot);
+        }
         if (plot.hasOwner()) {
             PlotArea pw = plot.getArea();
             if (pw == null) {
@@ -28,7 +28,7 @@ package com.plotsquared.core.listener;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Captions;
 import com.plotsquared.core.configuration.Settings;
-import com.plotsquared.core.util.WEManager;
+import com.plotsquared.core.util.RegionMask;
 import com.plotsquared.core.util.WorldUtil;
 import com.sk89q.worldedit.WorldEditException;
 import com.sk89q.worldedit.entity.BaseEntity;
@@ -50,21 +50,30 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Restricts an edit session to a mask, and limits the number of blocks, and the number of
+ * tile entities and entities per chunk, that it may place. The tile entities and entities of
+ * a chunk are counted when the session first places one there, and then kept up to date as
+ * the session places more.
+ */
 public class ProcessedWEExtent extends AbstractDelegateExtent {
 
-    private final Set<CuboidRegion> mask;
+    private static final int TILES = 0;
+    private static final int ENTITIES = 1;
+
+    private final RegionMask mask;
     private final String world;
     private final int max;
-    int Ecount = 0;
-    boolean Eblocked = false;
+    private final Map<Long, int[]> chunkCounts = new HashMap<>();
+    private long lastChunk;
+    private int[] lastCounts;
     private int count;
     private Extent parent;
-    private Map<Long, Integer[]> tileEntityCount = new HashMap<>();
 
     public ProcessedWEExtent(String world, Set<CuboidRegion> mask, int max, Extent child,
         Extent parent) {
         super(child);
-        this.mask = mask;
+        this.mask = RegionMask.compile(mask);
         this.world = world;
         if (max == -1) {
             max = Integer.MAX_VALUE;
@@ -75,14 +84,14 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
     }
 
     @Override public BlockState getBlock(BlockVector3 position) {
-        if (WEManager.maskContains(this.mask, position.getX(), position.getY(), position.getZ())) {
+        if (this.mask.contains(position.getX(), position.getY(), position.getZ())) {
             return super.getBlock(position);
         }
         return WEExtent.AIRSTATE;
     }
 
     @Override public BaseBlock getFullBlock(BlockVector3 position) {
-        if (WEManager.maskContains(this.mask, position.getX(), position.getY(), position.getZ())) {
+        if (this.mask.contains(position.getX(), position.getY(), position.getZ())) {
             return super.getFullBlock(position);
         }
         return WEExtent.AIRBASE;
@@ -91,67 +100,72 @@ public class ProcessedWEExtent extends AbstractDelegateExtent {
     @Override
     public <T extends BlockStateHolder<T>> boolean setBlock(BlockVector3 location, T block)
         throws WorldEditException {
-
         final boolean isTile = WorldUtil.IMP.getTileEntityTypes().contains(block.getBlockType());
-        if (isTile) {
-            final Integer[] tileEntityCount = this.tileEntityCount.computeIfAbsent(getChunkKey(location),
-                key -> new Integer[] {WorldUtil.IMP.getTileEntityCount(world,
-                    BlockVector2.at(location.getBlockX() >> 4, location.getBlockZ() >> 4))});
-            if (tileEntityCount[0] >= Settings.Chunk_Processor.MAX_TILES) {
-                return false;
-            } else {
-                tileEntityCount[0]++;
-                PlotSquared.debug(Captions.PREFIX + "&cDetected unsafe WorldEdit: " + location.getX() + ","
-                    + location.getZ());
-            }
+        if (!this.mask.contains(location.getX(), location.getY(), location.getZ())) {
+            return !isTile;
         }
-        if (WEManager.maskContains(this.mask, location.getX(), location.getY(), location.getZ())) {
-            if (this.count++ > this.max) {
-                if (this.parent != null) {
-                    try {
-                        Field field =
-                            AbstractDelegateExtent.class.getDeclaredField("extent");
-                        field.setAccessible(true);
-                        field.set(this.parent, new NullExtent());
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                    this.parent = null;
+        if (this.count > this.max) {
+            if (this.parent != null) {
+                try {
+                    Field field = AbstractDelegateExtent.class.getDeclaredField("extent");
+                    field.setAccessible(true);
+                    field.set(this.parent, new NullExtent());
+                } catch (Exception e) {
+                    e.printStackTrace();
                 }
-                return false;
+                this.parent = null;
             }
-            return super.setBlock(location, block);
+            return false;
         }
-
-        return !isTile;
+        if (isTile && !this.increment(location.getX(), location.getZ(), TILES,
+            Settings.Chunk_Processor.MAX_TILES)) {
+            return false;
+        }
+        this.count++;
+        return super.setBlock(location, block);
     }
 
     @Override public Entity createEntity(Location location, BaseEntity entity) {
-        if (this.Eblocked) {
-            return null;
-        }
-        this.Ecount++;
-        if (this.Ecount > Settings.Chunk_Processor.MAX_ENTITIES) {
-            this.Eblocked = true;
-            PlotSquared.debug(
-                Captions.PREFIX + "&cDetected unsafe WorldEdit: " + location.getBlockX() + ","
-                    + location.getBlockZ());
-        }
-        if (WEManager.maskContains(this.mask, location.getBlockX(), location.getBlockY(),
-            location.getBlockZ())) {
+        if (this.mask.contains(location.getBlockX(), location.getBlockY(), location.getBlockZ())
+            && this.increment(location.getBlockX(), location.getBlockZ(), ENTITIES,
+            Settings.Chunk_Processor.MAX_ENTITIES)) {
             return super.createEntity(location, entity);
         }
         return null;
     }
 
     @Override public boolean setBiome(BlockVector2 position, BiomeType biome) {
-        return WEManager.maskContains(this.mask, position.getX(), position.getZ()) && super
+        return this.mask.contains(position.getX(), position.getZ()) && super
             .setBiome(position, biome);
     }
 
-
-    private static long getChunkKey(final BlockVector3 location) {
-        return (long) (location.getBlockX() >> 4) & 4294967295L | ((long) (location.getBlockZ() >> 4) & 4294967295L) << 32;
+    /**
+     * Count a tile entity or entity placed in the chunk of a column. The first time a type
+     * is counted in a chunk, the count starts at the number already in the chunk.
+     *
+     * @return false if the chunk has reached the limit
+     */
+    private boolean increment(final int x, final int z, final int type, final int limit) {
+        final long chunk = (long) (x >> 4) << 32 | (z >> 4) & 0xFFFFFFFFL;
+        if (this.lastCounts == null || this.lastChunk != chunk) {
+            this.lastCounts = this.chunkCounts.computeIfAbsent(chunk, key -> new int[] {-1, -1});
+            this.lastChunk = chunk;
+        }
+        if (this.lastCounts[type] == -1) {
+            final BlockVector2 position = BlockVector2.at(x >> 4, z >> 4);
+            this.lastCounts[type] = type == TILES ?
+                WorldUtil.IMP.getTileEntityCount(this.world, position) :
+                WorldUtil.IMP.getEntityCount(this.world, position);
+        }
+        if (this.lastCounts[type] >= limit) {
+            return false;
+        }
+        if (++this.lastCounts[type] == limit) {
+            PlotSquared.debug(
+                Captions.PREFIX + "&cDetected unsafe WorldEdit in " + this.world + ": " + x + ","
+                    + z);
+        }
+        return true;
     }
 
 }
@@ -25,7 +25,7 @@
  */
 package com.plotsquared.core.listener;
 
-import com.plotsquared.core.util.WEManager;
+import com.plotsquared.core.util.RegionMask;
 import com.sk89q.worldedit.WorldEditException;
 import com.sk89q.worldedit.entity.BaseEntity;
 import com.sk89q.worldedit.entity.Entity;
@@ -47,41 +47,40 @@ public class WEExtent extends AbstractDelegateExtent {
 
     public static BlockState AIRSTATE = BlockTypes.AIR.getDefaultState();
     public static BaseBlock AIRBASE = BlockTypes.AIR.getDefaultState().toBaseBlock();
-    private final Set<CuboidRegion> mask;
+    private final RegionMask mask;
 
     public WEExtent(Set<CuboidRegion> mask, Extent extent) {
         super(extent);
-        this.mask = mask;
+        this.mask = RegionMask.compile(mask);
     }
 
     @Override public boolean setBlock(BlockVector3 location, BlockStateHolder block)
         throws WorldEditException {
-        return WEManager.maskContains(this.mask, location.getX(), location.getY(), location.getZ())
+        return this.mask.contains(location.getX(), location.getY(), location.getZ())
             && super.setBlock(location, block);
     }
 
     @Override public Entity createEntity(Location location, BaseEntity entity) {
-        if (WEManager.maskContains(this.mask, location.getBlockX(), location.getBlockY(),
-            location.getBlockZ())) {
+        if (this.mask.contains(location.getBlockX(), location.getBlockY(), location.getBlockZ())) {
             return super.createEntity(location, entity);
         }
         return null;
     }
 
     @Override public boolean setBiome(BlockVector2 position, BiomeType biome) {
-        return WEManager.maskContains(this.mask, position.getX(), position.getZ()) && super
+        return this.mask.contains(position.getX(), position.getZ()) && super
             .setBiome(position, biome);
     }
 
     @Override public BlockState getBlock(BlockVector3 location) {
-        if (WEManager.maskContains(this.mask, location.getX(), location.getY(), location.getZ())) {
+        if (this.mask.contains(location.getX(), location.getY(), location.getZ())) {
             return super.getBlock(location);
         }
         return AIRSTATE;
     }
 
     @Override public BaseBlock getFullBlock(BlockVector3 location) {
-        if (WEManager.maskContains(this.mask, location.getX(), location.getY(), location.getZ())) {
+        if (this.mask.contains(location.getX(), location.getY(), location.getZ())) {
             return super.getFullBlock(location);
         }
         return AIRBASE;
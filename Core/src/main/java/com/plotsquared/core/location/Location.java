@@ -46,7 +46,7 @@ public class Location implements Cloneable, Comparable<Location> {
     @Getter @Setter private float yaw;
     @Getter @Setter private float pitch;
     @Getter @Setter private String world;
-    @Getter private BlockVector3 blockVector3;
+    private BlockVector3 blockVector3;
 
     public Location(String world, int x, int y, int z, float yaw, float pitch) {
         this.world = world;
@@ -55,7 +55,6 @@ public class Location implements Cloneable, Comparable<Location> {
         this.z = z;
         this.yaw = yaw;
         this.pitch = pitch;
-        this.blockVector3 = BlockVector3.at(x, y, z);
     }
 
     public Location(String world, int x, int y, int z) {
@@ -68,7 +67,7 @@ public class Location implements Cloneable, Comparable<Location> {
 
     public void setX(int x) {
         this.x = x;
-        this.blockVector3 = BlockVector3.at(x, y, z);
+        this.blockVector3 = null;
     }
 
     public int getY() {
@@ -77,7 +76,7 @@ public class Location implements Cloneable, Comparable<Location> {
 
     public void setY(int y) {
         this.y = y;
-        this.blockVector3 = BlockVector3.at(x, y, z);
+        this.blockVector3 = null;
     }
 
     public int getZ() {
@@ -86,7 +85,22 @@ public class Location implements Cloneable, Comparable<Location> {
 
     public void setZ(int z) {
         this.z = z;
-        this.blockVector3 = BlockVector3.at(x, y, z);
+        this.blockVector3 = null;
+    }
+
+    /**
+     * Get the block vector of this location. The vector is
+     * created lazily, so that locations which are only used
+     * for plot lookups never allocate one.
+     *
+     * @return Block vector
+     */
+    public BlockVector3 getBlockVector3() {
+        BlockVector3 blockVector3 = this.blockVector3;
+        if (blockVector3 == null) {
+            this.blockVector3 = blockVector3 = BlockVector3.at(this.x, this.y, this.z);
+        }
+        return blockVector3;
     }
 
     public void setBlockVector3(BlockVector3 blockVector3) {
@@ -190,7 +204,7 @@ public class Location implements Cloneable, Comparable<Location> {
         this.x += x;
         this.y += y;
         this.z += z;
-        this.blockVector3 = BlockVector3.at(this.x, this.y, this.z);
+        this.blockVector3 = null;
         return this;
     }
 
@@ -232,7 +246,7 @@ public class Location implements Cloneable, Comparable<Location> {
         this.x -= x;
         this.y -= y;
         this.z -= z;
-        this.blockVector3 = BlockVector3.at(this.x, this.y, this.z);
+        this.blockVector3 = null;
         return this;
     }
 
@@ -0,0 +1,375 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Index of the free plots of a {@link PlotArea}, used to find the next plot (or rectangle
+ * of plots) to auto claim.
+ * <p>
+ * Plots are handed out in spiral order around the center of the area. The index keeps a
+ * frontier: every plot before the frontier in spiral order is either claimed, reserved or
+ * recorded as a hole, which is a plot that became free after the frontier had passed it.
+ * The claimed plots are kept in a bitmap of 8x8 tiles, so that rectangles can be tested
+ * without looking up every plot.
+ * <p>
+ * Plots that are handed out are reserved until they are claimed, released, or until the
+ * reservation expires. Concurrent auto claims therefore never receive the same plot.
+ * The index is kept up to date by the area mutators.
+ */
+public final class FreePlotIndex {
+
+    /**
+     * Time after which a reservation that has not been claimed is handed out again
+     */
+    private static final long RESERVATION_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    /**
+     * Largest ring of the spiral, so that spiral indexes fit in a long
+     */
+    private static final long MAX_RING = 1L << 30;
+    private static final long MAX_INDEX = (2 * MAX_RING + 1) * (2 * MAX_RING + 1);
+
+    private final Map<Long, Long> claimed = new HashMap<>();
+    private final Map<Long, Long> reserved = new HashMap<>();
+    private final TreeSet<Long> holes = new TreeSet<>();
+    @Nullable private PlotId min;
+    @Nullable private PlotId max;
+    private int centerX;
+    private int centerY;
+    private long limit = MAX_INDEX;
+    private long frontier;
+
+    FreePlotIndex() {
+    }
+
+    /**
+     * Get the position of a plot in the spiral around the center
+     *
+     * @param x X offset from the center
+     * @param y Y offset from the center
+     * @return Spiral index, 0 for the center, or {@link Long#MAX_VALUE} if the plot is too far
+     * away to ever be reached
+     */
+    static long spiralIndex(final int x, final int y) {
+        final long ring = Math.max(Math.abs((long) x), Math.abs((long) y));
+        if (ring == 0) {
+            return 0;
+        } else if (ring > MAX_RING) {
+            return Long.MAX_VALUE;
+        }
+        final long base = (2 * ring - 1) * (2 * ring - 1);
+        if (x == ring && y > -ring) {
+            return base + y + ring - 1;
+        } else if (y == ring) {
+            return base + 2 * ring + ring - 1 - x;
+        } else if (x == -ring) {
+            return base + 4 * ring + ring - 1 - y;
+        }
+        return base + 6 * ring + x + ring - 1;
+    }
+
+    /**
+     * Get the offset from the center of a position in the spiral
+     *
+     * @param index Spiral index
+     * @return Packed offset, see {@link PlotId#pack(int, int)}
+     */
+    static long spiralOffset(final long index) {
+        if (index == 0) {
+            return PlotId.pack(0, 0);
+        }
+        long root = (long) Math.sqrt(index);
+        while (root * root > index) {
+            root--;
+        }
+        while ((root + 1) * (root + 1) <= index) {
+            root++;
+        }
+        final long r = (root + 1) / 2;
+        final long base = (2 * r - 1) * (2 * r - 1);
+        final long k = index - base;
+        final int x;
+        final int y;
+        if (k < 2 * r) {
+            x = (int) r;
+            y = (int) (k - r + 1);
+        } else if (k < 4 * r) {
+            x = (int) (r - 1 - (k - 2 * r));
+            y = (int) r;
+        } else if (k < 6 * r) {
+            x = (int) -r;
+            y = (int) (r - 1 - (k - 4 * r));
+        } else {
+            x = (int) (k - 6 * r - r + 1);
+            y = (int) -r;
+        }
+        return PlotId.pack(x, y);
+    }
+
+    private static long tileKey(final int x, final int y) {
+        return PlotId.pack(x >> 3, y >> 3);
+    }
+
+    private static long tileBit(final int x, final int y) {
+        return 1L << ((y & 7) << 3 | (x & 7));
+    }
+
+    /**
+     * Mark a plot as claimed, and drop its reservation
+     *
+     * @param id Plot id
+     */
+    synchronized void add(@NotNull final PlotId id) {
+        this.claimed.merge(tileKey(id.x, id.y), tileBit(id.x, id.y), (a, b) -> a | b);
+        this.reserved.remove(id.pack());
+    }
+
+    /**
+     * Mark a plot as free
+     *
+     * @param id Plot id
+     */
+    synchronized void remove(@NotNull final PlotId id) {
+        final long bit = tileBit(id.x, id.y);
+        this.claimed.computeIfPresent(tileKey(id.x, id.y), (key, tile) -> (tile & ~bit) == 0 ?
+            null :
+            tile & ~bit);
+        this.freed(id.x, id.y);
+    }
+
+    /**
+     * Drop the reservation of a plot that was handed out, but will not be claimed
+     *
+     * @param id Plot id
+     */
+    public synchronized void release(@NotNull final PlotId id) {
+        if (this.reserved.remove(id.pack()) != null) {
+            this.freed(id.x, id.y);
+        }
+    }
+
+    /**
+     * Check whether a plot has been handed out and not been claimed yet
+     *
+     * @param id Plot id
+     * @return true if the plot is reserved
+     */
+    public synchronized boolean isReserved(@NotNull final PlotId id) {
+        final Long expiry = this.reserved.get(id.pack());
+        return expiry != null && expiry > System.currentTimeMillis();
+    }
+
+    /**
+     * Find and reserve the first free rectangle of plots in spiral order. The rectangle
+     * extends from its origin in the positive x and y direction.
+     *
+     * @param min    Lowest plot id of the area, or null if the area is unbounded
+     * @param max    Highest plot id of the area, or null if the area is unbounded
+     * @param start  Plot id after which to start searching, or null to start at the center
+     * @param sizeX  Width of the rectangle
+     * @param sizeY  Length of the rectangle
+     * @param filter Additional check that every plot of the rectangle has to pass
+     * @return Origin of the reserved rectangle, or null if there is no free rectangle
+     */
+    @Nullable public synchronized PlotId reserve(@Nullable final PlotId min,
+        @Nullable final PlotId max, @Nullable final PlotId start, final int sizeX,
+        final int sizeY, @NotNull final Predicate<PlotId> filter) {
+        this.setBounds(min, max);
+        this.expireReservations();
+        final long from = start == null ?
+            0 :
+            spiralIndex(start.x - this.centerX, start.y - this.centerY);
+        if (from == Long.MAX_VALUE) {
+            return null;
+        }
+        final Iterator<Long> iterator = this.holes.tailSet(from, start == null).iterator();
+        while (iterator.hasNext()) {
+            final long index = iterator.next();
+            if (this.isBlocked(index)) {
+                iterator.remove();
+            } else if (this.tryReserve(index, sizeX, sizeY, filter)) {
+                iterator.remove();
+                return this.getId(index);
+            }
+        }
+        while (this.frontier < this.limit && this.isBlocked(this.frontier)) {
+            this.frontier++;
+        }
+        for (long index = Math.max(start == null ? from : from + 1, this.frontier);
+             index < this.limit; index++) {
+            if (!this.isBlocked(index) && this.tryReserve(index, sizeX, sizeY, filter)) {
+                return this.getId(index);
+            }
+        }
+        return null;
+    }
+
+    private boolean tryReserve(final long index, final int sizeX, final int sizeY,
+        @NotNull final Predicate<PlotId> filter) {
+        final PlotId origin = this.getId(index);
+        final int maxX = origin.x + sizeX - 1;
+        final int maxY = origin.y + sizeY - 1;
+        if (!this.contains(maxX, maxY) || !this.isFree(origin.x, origin.y, maxX, maxY)) {
+            return false;
+        }
+        for (int x = origin.x; x <= maxX; x++) {
+            for (int y = origin.y; y <= maxY; y++) {
+                if (!filter.test(new PlotId(x, y))) {
+                    return false;
+                }
+            }
+        }
+        final long expiry = System.currentTimeMillis() + RESERVATION_MILLIS;
+        for (int x = origin.x; x <= maxX; x++) {
+            for (int y = origin.y; y <= maxY; y++) {
+                this.reserved.put(PlotId.pack(x, y), expiry);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check that no plot of a rectangle is claimed or reserved
+     */
+    private boolean isFree(final int minX, final int minY, final int maxX, final int maxY) {
+        for (int tileX = minX >> 3; tileX <= maxX >> 3; tileX++) {
+            for (int tileY = minY >> 3; tileY <= maxY >> 3; tileY++) {
+                final Long tile = this.claimed.get(PlotId.pack(tileX, tileY));
+                if (tile == null) {
+                    continue;
+                }
+                final int fromX = Math.max(minX, tileX << 3) & 7;
+                final int toX = Math.min(maxX, (tileX << 3) + 7) & 7;
+                final int fromY = Math.max(minY, tileY << 3) & 7;
+                final int toY = Math.min(maxY, (tileY << 3) + 7) & 7;
+                final long row = ((1L << (toX - fromX + 1)) - 1) << fromX;
+                long mask = 0;
+                for (int y = fromY; y <= toY; y++) {
+                    mask |= row << (y << 3);
+                }
+                if ((tile & mask) != 0) {
+                    return false;
+                }
+            }
+        }
+        if (!this.reserved.isEmpty()) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    if (this.reserved.containsKey(PlotId.pack(x, y))) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the plot at a spiral index cannot be handed out at all
+     */
+    private boolean isBlocked(final long index) {
+        final PlotId id = this.getId(index);
+        if (!this.contains(id.x, id.y)) {
+            return true;
+        }
+        final Long tile = this.claimed.get(tileKey(id.x, id.y));
+        return tile != null && (tile & tileBit(id.x, id.y)) != 0 || this.reserved
+            .containsKey(id.pack());
+    }
+
+    private boolean contains(final int x, final int y) {
+        return this.min == null || this.max == null || x >= this.min.x && x <= this.max.x
+            && y >= this.min.y && y <= this.max.y;
+    }
+
+    @NotNull private PlotId getId(final long index) {
+        final long offset = spiralOffset(index);
+        return new PlotId(this.centerX + PlotId.unpackX(offset),
+            this.centerY + PlotId.unpackY(offset));
+    }
+
+    /**
+     * Record a plot that became free as a hole, if the frontier has passed it
+     */
+    private void freed(final int x, final int y) {
+        final long index = spiralIndex(x - this.centerX, y - this.centerY);
+        if (index < this.frontier) {
+            this.holes.add(index);
+        }
+    }
+
+    private void expireReservations() {
+        if (this.reserved.isEmpty()) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final Iterator<Map.Entry<Long, Long>> iterator = this.reserved.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Long, Long> entry = iterator.next();
+            if (entry.getValue() <= now) {
+                iterator.remove();
+                this.freed(PlotId.unpackX(entry.getKey()), PlotId.unpackY(entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Move the center of the spiral to the center of the area bounds. The frontier and the
+     * holes are only valid for one center, so they are reset when the bounds change.
+     */
+    private void setBounds(@Nullable final PlotId min, @Nullable final PlotId max) {
+        if (Objects.equals(this.min, min) && Objects.equals(this.max, max)) {
+            return;
+        }
+        this.min = min;
+        this.max = max;
+        if (min == null || max == null) {
+            this.centerX = 0;
+            this.centerY = 0;
+            this.limit = MAX_INDEX;
+        } else {
+            this.centerX = (int) (((long) min.x + max.x) >> 1);
+            this.centerY = (int) (((long) min.y + max.y) >> 1);
+            final long radius = Math.max(Math.max((long) max.x - this.centerX,
+                (long) this.centerX - min.x), Math.max((long) max.y - this.centerY,
+                (long) this.centerY - min.y));
+            this.limit = (2 * radius + 1) * (2 * radius + 1);
+        }
+        this.frontier = 0;
+        this.holes.clear();
+    }
+
+}
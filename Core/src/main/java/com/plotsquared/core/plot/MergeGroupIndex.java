@@ -0,0 +1,162 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.google.common.collect.ImmutableSet;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache of the merge groups (connected plots) of a {@link PlotArea}.
+ * <p>
+ * Each group is computed once, gets a unique group id and keeps an immutable
+ * set of its member plots, as well as the lazily decomposed rectangular regions
+ * of the group. A group is only dropped when one of its members is invalidated,
+ * which happens when merge data changes or when plots are claimed or removed.
+ * <p>
+ * Lookups are lock free. Invalidations bump a version counter, so that a group
+ * that was computed concurrently with an invalidation is never published.
+ */
+public final class MergeGroupIndex {
+
+    private final AtomicInteger groupIds = new AtomicInteger();
+    private final Map<Long, MergeGroup> groups = new ConcurrentHashMap<>();
+    private long version;
+
+    MergeGroupIndex() {
+    }
+
+    @NotNull private MergeGroup getGroup(@NotNull final Plot plot) {
+        final MergeGroup cached = this.groups.get(plot.getId().pack());
+        if (cached != null && cached.plots.contains(plot)) {
+            return cached;
+        }
+        final long expectedVersion;
+        synchronized (this) {
+            expectedVersion = this.version;
+        }
+        final MergeGroup group =
+            new MergeGroup(this.groupIds.incrementAndGet(), plot.computeConnectedPlots());
+        synchronized (this) {
+            if (this.version == expectedVersion) {
+                for (final long memberKey : group.keys) {
+                    this.groups.put(memberKey, group);
+                }
+            }
+        }
+        return group;
+    }
+
+    /**
+     * Get the plots that are connected to (and including) a merged plot
+     *
+     * @param plot Merged plot
+     * @return Immutable set of connected plots
+     */
+    @NotNull public Set<Plot> getConnectedPlots(@NotNull final Plot plot) {
+        return this.getGroup(plot).plots;
+    }
+
+    /**
+     * Get the rectangular regions that make up the merge group of a merged plot
+     *
+     * @param plot Merged plot
+     * @return Immutable set of regions
+     */
+    @NotNull public Set<CuboidRegion> getRegions(@NotNull final Plot plot) {
+        final MergeGroup group = this.getGroup(plot);
+        Set<CuboidRegion> regions = group.regions;
+        if (regions == null) {
+            regions = group.regions = ImmutableSet.copyOf(plot.computeRegions(group.plots));
+        }
+        return regions;
+    }
+
+    /**
+     * Get the id of the merge group of a merged plot. Plots that are
+     * connected share the same id for as long as the group is unchanged.
+     *
+     * @param plot Merged plot
+     * @return Group id
+     */
+    public int getGroupId(@NotNull final Plot plot) {
+        return this.getGroup(plot).id;
+    }
+
+    /**
+     * Invalidate the merge groups containing any of the given plots
+     *
+     * @param ids Plot ids
+     */
+    synchronized void invalidate(@NotNull final PlotId... ids) {
+        this.version++;
+        for (final PlotId id : ids) {
+            final MergeGroup group = this.groups.remove(id.pack());
+            if (group != null) {
+                for (final long memberKey : group.keys) {
+                    this.groups.remove(memberKey, group);
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalidate all cached merge groups
+     */
+    synchronized void invalidateAll() {
+        this.version++;
+        this.groups.clear();
+    }
+
+    private static final class MergeGroup {
+
+        private final int id;
+        private final Set<Plot> plots;
+        /**
+         * Keys of the member ids at the time the group was computed,
+         * as plot ids may be mutated when plots are moved
+         */
+        private final long[] keys;
+        private volatile Set<CuboidRegion> regions;
+
+        private MergeGroup(final int id, @NotNull final Set<Plot> plots) {
+            this.id = id;
+            this.plots = ImmutableSet.copyOf(plots);
+            this.keys = new long[this.plots.size()];
+            int index = 0;
+            for (final Plot plot : this.plots) {
+                this.keys[index++] = plot.getId().pack();
+            }
+        }
+
+    }
+
+}
@@ -26,7 +26,6 @@
 package com.plotsquared.core.plot;
 
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Sets;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Captions;
 import com.plotsquared.core.configuration.ConfigurationUtil;
@@ -119,9 +118,6 @@ public class Plot {
 
     public static final int MAX_HEIGHT = 256;
 
-    private static Set<Plot> connected_cache;
-    private static Set<CuboidRegion> regions_cache;
-
     @NotNull private final PlotId id;
     /**
      * Plot flag container
@@ -333,7 +329,36 @@ public class Plot {
      * @param owner The new owner of this particular sub-plot.
      */
     public void setOwnerAbs(@Nullable final UUID owner) {
+        final UUID previous = this.owner;
         this.owner = owner;
+        if (!Objects.equals(previous, owner) && this.isIndexed()) {
+            this.area.getPlotIndex().updateOwner(this, previous, owner);
+            if (ExpireManager.IMP != null) {
+                ExpireManager.IMP.handleOwnerChange(owner);
+            }
+        }
+    }
+
+    /**
+     * Check whether this plot object is the instance registered in its area,
+     * and thus whether changes to it should be reflected in the {@link PlotIndex}.
+     *
+     * @return true if the plot is registered in its area
+     */
+    private boolean isIndexed() {
+        return this.area != null && this.area.isRegistered(this);
+    }
+
+    private void indexUser(@NotNull final UUID uuid) {
+        if (this.isIndexed()) {
+            this.area.getPlotIndex().addUser(this, uuid);
+        }
+    }
+
+    private void unindexUser(@NotNull final UUID uuid) {
+        if (this.isIndexed()) {
+            this.area.getPlotIndex().removeUser(this, uuid);
+        }
     }
 
     public String getWorldName() {
@@ -844,6 +869,7 @@ public class Plot {
     public void addDenied(UUID uuid) {
         for (Plot current : getConnectedPlots()) {
             if (current.getDenied().add(uuid)) {
+                current.indexUser(uuid);
                 DBFunc.setDenied(current, uuid);
             }
         }
@@ -857,6 +883,7 @@ public class Plot {
     public void addTrusted(UUID uuid) {
         for (Plot current : getConnectedPlots()) {
             if (current.getTrusted().add(uuid)) {
+                current.indexUser(uuid);
                 DBFunc.setTrusted(current, uuid);
             }
         }
@@ -870,6 +897,7 @@ public class Plot {
     public void addMember(UUID uuid) {
         for (Plot current : getConnectedPlots()) {
             if (current.getMembers().add(uuid)) {
+                current.indexUser(uuid);
                 DBFunc.setMember(current, uuid);
             }
         }
@@ -1812,8 +1840,7 @@ public class Plot {
                 this.updateWorldBorder();
             }
         }
-        connected_cache = null;
-        regions_cache = null;
+        this.area.getMergeGroupIndex().invalidate(this.id);
         this.getTrusted().clear();
         this.getMembers().clear();
         this.getDenied().clear();
@@ -1910,6 +1937,8 @@ public class Plot {
             return CompletableFuture.completedFuture(true);
         }
         // Swap cached
+        this.area.getMergeGroupIndex().invalidate(this.getId());
+        plot.area.getMergeGroupIndex().invalidate(plot.getId());
         PlotId temp = new PlotId(this.getId().x, this.getId().y);
         this.getId().x = plot.getId().x;
         this.getId().y = plot.getId().y;
@@ -1944,6 +1973,7 @@ public class Plot {
             return false;
         }
         this.area.removePlot(this.id);
+        this.area.getMergeGroupIndex().invalidate(this.id);
         this.getId().x = plot.getId().x;
         this.getId().y = plot.getId().y;
         this.getId().recalculateHash();
@@ -2104,6 +2134,7 @@ public class Plot {
     private boolean rmvDenied(UUID uuid) {
         for (Plot current : this.getConnectedPlots()) {
             if (current.getDenied().remove(uuid)) {
+                current.unindexUser(uuid);
                 DBFunc.removeDenied(current, uuid);
             } else {
                 return false;
@@ -2132,6 +2163,7 @@ public class Plot {
     private boolean rmvTrusted(UUID uuid) {
         for (Plot plot : this.getConnectedPlots()) {
             if (plot.getTrusted().remove(uuid)) {
+                plot.unindexUser(uuid);
                 DBFunc.removeTrusted(plot, uuid);
             } else {
                 return false;
@@ -2163,6 +2195,7 @@ public class Plot {
     private boolean rmvMember(UUID uuid) {
         for (Plot current : this.getConnectedPlots()) {
             if (current.getMembers().remove(uuid)) {
+                current.unindexUser(uuid);
                 DBFunc.removeMember(current, uuid);
             } else {
                 return false;
@@ -2175,27 +2208,10 @@ public class Plot {
      * Export the plot as a schematic to the configured output directory.
      */
     public void export(final RunnableVal<Boolean> whenDone) {
-        SchematicHandler.manager.getCompoundTag(this, new RunnableVal<CompoundTag>() {
-            @Override public void run(final CompoundTag value) {
-                if (value == null) {
-                    if (whenDone != null) {
-                        whenDone.value = false;
-                        TaskManager.runTask(whenDone);
-                    }
-                } else {
-                    TaskManager.runTaskAsync(() -> {
-                        String name = Plot.this.id + "," + Plot.this.area + ',' + MainUtil
-                            .getName(Plot.this.getOwnerAbs());
-                        boolean result = SchematicHandler.manager.save(value,
-                            Settings.Paths.SCHEMATICS + File.separator + name + ".schem");
-                        if (whenDone != null) {
-                            whenDone.value = result;
-                            TaskManager.runTask(whenDone);
-                        }
-                    });
-                }
-            }
-        });
+        String name = this.id + "," + this.area + ',' + MainUtil.getName(this.getOwnerAbs());
+        File file = MainUtil.getFile(PlotSquared.get().IMP.getDirectory(),
+            Settings.Paths.SCHEMATICS + File.separator + name + ".schem");
+        SchematicHandler.manager.export(this, file, whenDone);
     }
 
     /**
@@ -2277,7 +2293,11 @@ public class Plot {
             if (name.equals(alias)) {
                 return;
             }
+            final String previous = current.getAlias();
             current.getSettings().setAlias(alias);
+            if (current.isIndexed()) {
+                current.area.getPlotIndex().updateAlias(current, previous, alias);
+            }
             DBFunc.setAlias(current, alias);
         }
     }
@@ -2300,17 +2320,15 @@ public class Plot {
                     this.origin.origin = base;
                     other.origin = base;
                     this.origin = base;
-                    connected_cache = null;
                 }
             } else {
                 if (this.origin != null) {
                     this.origin.origin = null;
                     this.origin = null;
                 }
-                connected_cache = null;
             }
+            this.area.getMergeGroupIndex().invalidate(this.id, this.id.getRelative(direction));
             DBFunc.setMerged(this, this.getSettings().getMerged());
-            regions_cache = null;
         }
     }
 
@@ -2345,8 +2363,12 @@ public class Plot {
     }
 
     public void clearCache() {
-        connected_cache = null;
-        regions_cache = null;
+        if (this.area != null) {
+            this.area.getMergeGroupIndex()
+                .invalidate(this.id, this.id.getRelative(Direction.NORTH),
+                    this.id.getRelative(Direction.EAST), this.id.getRelative(Direction.SOUTH),
+                    this.id.getRelative(Direction.WEST));
+        }
         if (this.origin != null) {
             this.origin.origin = null;
             this.origin = null;
@@ -2622,9 +2644,9 @@ public class Plot {
 
     /**
      * Gets a set of plots connected (and including) this plot<br>
-     * - This result is cached globally
+     * - This result is cached per merge group in the {@link MergeGroupIndex} of the area
      *
-     * @return a Set of Plots connected to this Plot
+     * @return an immutable Set of Plots connected to this Plot
      */
     public Set<Plot> getConnectedPlots() {
         if (this.settings == null) {
@@ -2633,11 +2655,16 @@ public class Plot {
         if (!this.isMerged()) {
             return Collections.singleton(this);
         }
-        if (connected_cache != null && connected_cache.contains(this)) {
-            return connected_cache;
-        }
-        regions_cache = null;
+        return this.area.getMergeGroupIndex().getConnectedPlots(this);
+    }
 
+    /**
+     * Find the plots connected to (and including) this merged plot,
+     * bypassing the merge group cache
+     *
+     * @return a Set of Plots connected to this Plot
+     */
+    @NotNull Set<Plot> computeConnectedPlots() {
         HashSet<Plot> tmpSet = new HashSet<>();
         tmpSet.add(this);
         Plot tmp;
@@ -2749,31 +2776,34 @@ public class Plot {
                 }
             }
         }
-        connected_cache = tmpSet;
         return tmpSet;
     }
 
     /**
      * This will combine each plot into effective rectangular regions<br>
-     * - This result is cached globally<br>
+     * - This result is cached per merge group in the {@link MergeGroupIndex} of the area<br>
      * - Useful for handling non rectangular shapes
      *
-     * @return
+     * @return an immutable Set of regions
      */
     @NotNull public Set<CuboidRegion> getRegions() {
-        if (regions_cache != null && connected_cache != null && connected_cache.contains(this)) {
-            return regions_cache;
-        }
         if (!this.isMerged()) {
             Location pos1 = this.getBottomAbs();
             Location pos2 = this.getTopAbs();
-            connected_cache = Sets.newHashSet(this);
-            CuboidRegion rg = new CuboidRegion(pos1.getBlockVector3(), pos2.getBlockVector3());
-            regions_cache = Collections.singleton(rg);
-            return regions_cache;
+            return Collections
+                .singleton(new CuboidRegion(pos1.getBlockVector3(), pos2.getBlockVector3()));
         }
-        Set<Plot> plots = this.getConnectedPlots();
-        Set<CuboidRegion> regions = regions_cache = new HashSet<>();
+        return this.area.getMergeGroupIndex().getRegions(this);
+    }
+
+    /**
+     * Decompose a merge group into rectangular regions, bypassing the merge group cache
+     *
+     * @param plots the plots connected to this plot
+     * @return a Set of regions
+     */
+    @NotNull Set<CuboidRegion> computeRegions(@NotNull final Set<Plot> plots) {
+        Set<CuboidRegion> regions = new HashSet<>();
         Set<PlotId> visited = new HashSet<>();
         for (Plot current : plots) {
             if (visited.contains(current.getId())) {
@@ -3322,20 +3352,23 @@ public class Plot {
                 other.setMerged(plot.getMerged());
             }
             if (plot.members != null && !plot.members.isEmpty()) {
-                other.members = plot.members;
+                other.members = new HashSet<>(plot.members);
                 for (UUID member : plot.members) {
+                    other.indexUser(member);
                     DBFunc.setMember(other, member);
                 }
             }
             if (plot.trusted != null && !plot.trusted.isEmpty()) {
-                other.trusted = plot.trusted;
+                other.trusted = new HashSet<>(plot.trusted);
                 for (UUID trusted : plot.trusted) {
+                    other.indexUser(trusted);
                     DBFunc.setTrusted(other, trusted);
                 }
             }
             if (plot.denied != null && !plot.denied.isEmpty()) {
-                other.denied = plot.denied;
+                other.denied = new HashSet<>(plot.denied);
                 for (UUID denied : plot.denied) {
+                    other.indexUser(denied);
                     DBFunc.setDenied(other, denied);
                 }
             }
@@ -35,6 +35,7 @@ import com.plotsquared.core.configuration.ConfigurationNode;
 import com.plotsquared.core.configuration.ConfigurationSection;
 import com.plotsquared.core.configuration.ConfigurationUtil;
 import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.generator.GridPlotWorld;
 import com.plotsquared.core.generator.IndependentPlotGenerator;
 import com.plotsquared.core.location.Direction;
@@ -51,7 +52,6 @@ import com.plotsquared.core.queue.LocalBlockQueue;
 import com.plotsquared.core.util.EconHandler;
 import com.plotsquared.core.util.Expression;
 import com.plotsquared.core.util.MainUtil;
-import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.StringMan;
 import com.sk89q.worldedit.math.BlockVector2;
@@ -78,6 +78,8 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 
 /**
@@ -85,7 +87,36 @@ import java.util.function.Consumer;
  */
 public abstract class PlotArea {
 
+    /**
+     * Reusable id used to look up claimed plots from packed keys
+     */
+    private static final ThreadLocal<PlotId> LOOKUP_ID =
+        ThreadLocal.withInitial(() -> new PlotId(0, 0));
+    private static final int UNCLAIMED_CACHE_SIZE = 256;
+    private static final List<PlotIndexListener> INDEX_LISTENERS = new CopyOnWriteArrayList<>();
+
     protected final ConcurrentHashMap<PlotId, Plot> plots = new ConcurrentHashMap<>();
+    /**
+     * Recently resolved unclaimed plots, indexed by a hash of their id
+     */
+    private final AtomicReferenceArray<Plot> unclaimedPlots =
+        new AtomicReferenceArray<>(UNCLAIMED_CACHE_SIZE);
+    /**
+     * Owner, user and alias index of the claimed plots
+     */
+    @Getter private final PlotIndex plotIndex = new PlotIndex();
+    /**
+     * Cache of the merge groups in this area
+     */
+    @Getter private final MergeGroupIndex mergeGroupIndex = new MergeGroupIndex();
+    /**
+     * Region file index of the claimed plots
+     */
+    @Getter private final RegionFileIndex regionFileIndex = new RegionFileIndex();
+    /**
+     * Free space index used to find plots to auto claim
+     */
+    @Getter private final FreePlotIndex freePlotIndex = new FreePlotIndex();
     @Getter @NotNull private final String worldName;
     @Getter private final String id;
     @Getter @NotNull private final PlotManager plotManager;
@@ -557,6 +588,80 @@ public abstract class PlotArea {
         return this.plots.get(pid);
     }
 
+    /**
+     * Gets the {@code Plot} at a block position. Unlike {@link #getPlotAbs(Location)}
+     * this does not need a location, and claimed plots are resolved without
+     * creating a plot id. Unclaimed plots are kept in a small cache so that
+     * repeated lookups (e.g. from movement events) reuse the same instance.
+     *
+     * @param world the world name, only used by areas that span several worlds
+     * @param x     block x coordinate
+     * @param y     block y coordinate
+     * @param z     block z coordinate
+     * @return the {@code Plot} or null if the position is not in a plot
+     */
+    @Nullable public Plot getPlotAbs(@NotNull final String world, final int x, final int y,
+        final int z) {
+        final long key = this.getPlotManager().getPlotKey(x, y, z);
+        if (key == PlotId.NO_PLOT) {
+            return null;
+        }
+        final Plot plot = getOwnedPlotAbs(key);
+        return plot != null ? plot : getUnclaimedPlot(key);
+    }
+
+    /**
+     * Gets the base plot at a block position.
+     *
+     * @param world the world name, only used by areas that span several worlds
+     * @param x     block x coordinate
+     * @param y     block y coordinate
+     * @param z     block z coordinate
+     * @return base Plot or null if the position is not in a plot
+     * @see #getPlotAbs(String, int, int, int)
+     */
+    @Nullable public Plot getPlot(@NotNull final String world, final int x, final int y,
+        final int z) {
+        final long key = this.getPlotManager().getPlotKey(x, y, z);
+        if (key == PlotId.NO_PLOT) {
+            return null;
+        }
+        final Plot plot = getOwnedPlotAbs(key);
+        return plot != null ? plot.getBasePlot(false) : getUnclaimedPlot(key);
+    }
+
+    /**
+     * Gets the owned base plot at a block position.
+     *
+     * @param world the world name, only used by areas that span several worlds
+     * @param x     block x coordinate
+     * @param y     block y coordinate
+     * @param z     block z coordinate
+     * @return the base plot or null
+     * @see #getOwnedPlot(Location)
+     */
+    @Nullable public Plot getOwnedPlot(@NotNull final String world, final int x, final int y,
+        final int z) {
+        final Plot plot = getOwnedPlotAbs(world, x, y, z);
+        return plot == null ? null : plot.getBasePlot(false);
+    }
+
+    /**
+     * Gets the owned plot at a block position.
+     *
+     * @param world the world name, only used by areas that span several worlds
+     * @param x     block x coordinate
+     * @param y     block y coordinate
+     * @param z     block z coordinate
+     * @return the plot or null
+     * @see #getOwnedPlotAbs(Location)
+     */
+    @Nullable public Plot getOwnedPlotAbs(@NotNull final String world, final int x, final int y,
+        final int z) {
+        final long key = this.getPlotManager().getPlotKey(x, y, z);
+        return key == PlotId.NO_PLOT ? null : getOwnedPlotAbs(key);
+    }
+
     /**
      * Get the owned Plot at a PlotId.
      *
@@ -567,6 +672,54 @@ public abstract class PlotArea {
         return this.plots.get(id);
     }
 
+    /**
+     * Get the owned Plot with a packed id, without creating a plot id.
+     *
+     * @param key the packed id
+     * @return the plot or null
+     * @see PlotId#pack(int, int)
+     */
+    @Nullable public Plot getOwnedPlotAbs(final long key) {
+        final PlotId lookup = LOOKUP_ID.get();
+        lookup.x = PlotId.unpackX(key);
+        lookup.y = PlotId.unpackY(key);
+        lookup.recalculateHash();
+        return this.plots.get(lookup);
+    }
+
+    @Nullable private Plot getUnclaimedPlot(final long key) {
+        final int x = PlotId.unpackX(key);
+        final int y = PlotId.unpackY(key);
+        if (this.min != null && (x < this.min.x || x > this.max.x || y < this.min.y
+            || y > this.max.y)) {
+            return null;
+        }
+        final int slot = unclaimedSlot(key);
+        final Plot cached = this.unclaimedPlots.get(slot);
+        if (cached != null && cached.getId().x == x && cached.getId().y == y && !cached
+            .hasOwner()) {
+            return cached;
+        }
+        final Plot plot = getPlotAbs(new PlotId(x, y));
+        if (plot != null && !plot.hasOwner()) {
+            this.unclaimedPlots.set(slot, plot);
+        }
+        return plot;
+    }
+
+    private void evictUnclaimed(@NotNull final PlotId id) {
+        final int slot = unclaimedSlot(id.pack());
+        final Plot cached = this.unclaimedPlots.get(slot);
+        if (cached != null && cached.getId().equals(id)) {
+            this.unclaimedPlots.compareAndSet(slot, cached, null);
+        }
+    }
+
+    private static int unclaimedSlot(final long key) {
+        final int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (UNCLAIMED_CACHE_SIZE - 1);
+    }
+
     @Nullable public Plot getOwnedPlot(@NotNull final PlotId id) {
         Plot plot = this.plots.get(id);
         return plot == null ? null : plot.getBasePlot(false);
@@ -590,18 +743,23 @@ public abstract class PlotArea {
         if (uuid == null) {
             return Collections.emptySet();
         }
-        final HashSet<Plot> myPlots = new HashSet<>();
-        forEachPlotAbs(value -> {
-            if (uuid.equals(value.getOwnerAbs())) {
-                myPlots.add(value);
-            }
-        });
-        return myPlots;
+        return new HashSet<>(this.plotIndex.getOwnedPlots(uuid));
     }
 
     @NotNull public Set<Plot> getPlots(@NotNull final UUID uuid) {
-        return getPlots().stream().filter(plot -> plot.isBasePlot() && plot.isOwner(uuid))
-            .collect(ImmutableSet.toImmutableSet());
+        if (uuid.equals(DBFunc.SERVER)) {
+            // Server plots are determined by a flag, not by the stored owner
+            return getPlots().stream().filter(plot -> plot.isBasePlot() && plot.isOwner(uuid))
+                .collect(ImmutableSet.toImmutableSet());
+        }
+        final ImmutableSet.Builder<Plot> builder = ImmutableSet.builder();
+        for (final Plot plot : this.plotIndex.getOwnedPlots(uuid)) {
+            final Plot base = plot.getBasePlot(false);
+            if (base.isOwner(uuid)) {
+                builder.add(base);
+            }
+        }
+        return builder.build();
     }
 
     /**
@@ -630,7 +788,13 @@ public abstract class PlotArea {
     }
 
     public boolean hasPlot(@NotNull final UUID uuid) {
-        return this.plots.entrySet().stream().anyMatch(entry -> entry.getValue().isOwner(uuid));
+        if (uuid.equals(DBFunc.SERVER)) {
+            return this.plots.values().stream().anyMatch(plot -> plot.isOwner(uuid));
+        }
+        if (!this.plotIndex.hasOwnedPlots(uuid)) {
+            return false;
+        }
+        return this.plotIndex.getOwnedPlots(uuid).stream().anyMatch(plot -> plot.isOwner(uuid));
     }
 
     //todo check if this method is needed in this class
@@ -733,12 +897,6 @@ public abstract class PlotArea {
         return myPlots;
     }
 
-    private void forEachPlotAbs(Consumer<Plot> run) {
-        for (final Entry<PlotId, Plot> entry : this.plots.entrySet()) {
-            run.accept(entry.getValue());
-        }
-    }
-
     public void forEachBasePlot(Consumer<Plot> run) {
         for (final Plot plot : getPlots()) {
             if (plot.isBasePlot()) {
@@ -772,42 +930,111 @@ public abstract class PlotArea {
         for (PlotPlayer pp : plot.getPlayersInPlot()) {
             pp.setMeta(PlotPlayer.META_LAST_PLOT, plot);
         }
-        return this.plots.put(plot.getId(), plot) == null;
+        return this.indexPlot(plot, this.plots.put(plot.getId(), plot));
     }
 
-    public Plot getNextFreePlot(final PlotPlayer player, @Nullable PlotId start) {
-        int plots;
-        PlotId center;
-        PlotId min = getMin();
-        PlotId max = getMax();
-        if (getType() == PlotAreaType.PARTIAL) {
-            center = new PlotId(MathMan.average(min.x, max.x), MathMan.average(min.y, max.y));
-            plots = Math.max(max.x - min.x + 1, max.y - min.y + 1) + 1;
-            if (start != null) {
-                start = new PlotId(start.x - center.x, start.y - center.y);
-            }
-        } else {
-            center = new PlotId(0, 0);
-            plots = Integer.MAX_VALUE;
-        }
-        for (int i = 0; i < plots; i++) {
-            if (start == null) {
-                start = getMeta("lastPlot", new PlotId(0, 0));
-            } else {
-                start = start.getNextId(1);
+    /**
+     * Update the plot index after a plot has been put into the plot map
+     *
+     * @param plot     Plot that was added
+     * @param previous Plot that was previously mapped to the same id, if any
+     * @return true if there was no previous plot
+     */
+    private boolean indexPlot(@NotNull final Plot plot, @Nullable final Plot previous) {
+        if (previous != plot) {
+            if (previous != null) {
+                this.plotIndex.remove(previous);
+                this.regionFileIndex.remove(previous);
             }
-            PlotId currentId = new PlotId(center.x + start.x, center.y + start.y);
-            Plot plot = getPlotAbs(currentId);
-            if (plot != null && plot.canClaim(player)) {
-                setMeta("lastPlot", start);
-                return plot;
+            this.plotIndex.add(plot);
+            this.regionFileIndex.add(plot);
+            this.freePlotIndex.add(plot.getId());
+            this.mergeGroupIndex.invalidate(plot.getId());
+            this.evictUnclaimed(plot.getId());
+            for (PlotIndexListener listener : INDEX_LISTENERS) {
+                if (previous != null) {
+                    listener.onPlotRemoved(this, previous);
+                }
+                listener.onPlotAdded(this, plot);
             }
         }
-        return null;
+        return previous == null;
+    }
+
+    /**
+     * Register a listener that is notified of every plot added to or removed from any area
+     *
+     * @param listener Listener
+     */
+    public static void registerIndexListener(@NotNull final PlotIndexListener listener) {
+        INDEX_LISTENERS.add(listener);
+    }
+
+    public static void unregisterIndexListener(@NotNull final PlotIndexListener listener) {
+        INDEX_LISTENERS.remove(listener);
+    }
+
+    /**
+     * Check whether a plot object is the instance registered in this area
+     *
+     * @param plot Plot
+     * @return true if the plot is registered
+     */
+    boolean isRegistered(@NotNull final Plot plot) {
+        return this.plots.get(plot.getId()) == plot;
+    }
+
+    /**
+     * Find the next free plot in spiral order around the center of the area, and reserve it
+     * so that it is not handed out again before it has been claimed
+     *
+     * @param player Player that will claim the plot
+     * @param start  Plot id after which to start searching, or null to start at the center
+     * @return Free plot, or null if there is none
+     * @see FreePlotIndex
+     */
+    @Nullable public Plot getNextFreePlot(final PlotPlayer player, @Nullable PlotId start) {
+        final PlotId id = getNextFreeRegion(player, start, 1, 1);
+        return id == null ? null : getPlotAbs(id);
+    }
+
+    /**
+     * Find the next free rectangle of plots in spiral order around the center of the area,
+     * and reserve it so that it is not handed out again before it has been claimed. The
+     * rectangle extends from the returned id in the positive x and y direction.
+     *
+     * @param player Player that will claim the plots
+     * @param start  Plot id after which to start searching, or null to start at the center
+     * @param sizeX  Width of the rectangle
+     * @param sizeY  Length of the rectangle
+     * @return Lowest plot id of the rectangle, or null if there is no free rectangle
+     * @see FreePlotIndex
+     */
+    @Nullable public PlotId getNextFreeRegion(final PlotPlayer player, @Nullable PlotId start,
+        final int sizeX, final int sizeY) {
+        final boolean partial = getType() == PlotAreaType.PARTIAL;
+        final PlotId id = this.freePlotIndex
+            .reserve(partial ? getMin() : null, partial ? getMax() : null, start, sizeX, sizeY,
+                candidate -> {
+                    final Plot plot = getPlotAbs(candidate);
+                    return plot != null && plot.canClaim(player);
+                });
+        if (id != null) {
+            setMeta("lastPlot", id);
+        }
+        return id;
     }
 
     public boolean addPlotIfAbsent(@NotNull final Plot plot) {
         if (this.plots.putIfAbsent(plot.getId(), plot) == null) {
+            this.plotIndex.add(plot);
+            this.regionFileIndex.add(plot);
+            this.freePlotIndex.add(plot.getId());
+            this.mergeGroupIndex.invalidate(plot.getId());
+            this.evictUnclaimed(plot.getId());
+            for (PlotIndexListener listener : INDEX_LISTENERS) {
+                listener.onPlotAdded(this, plot);
+            }
             for (PlotPlayer pp : plot.getPlayersInPlot()) {
                 pp.setMeta(PlotPlayer.META_LAST_PLOT, plot);
             }
@@ -817,7 +1044,7 @@ public abstract class PlotArea {
     }
 
     public boolean addPlotAbs(@NotNull final Plot plot) {
-        return this.plots.put(plot.getId(), plot) == null;
+        return this.indexPlot(plot, this.plots.put(plot.getId(), plot));
     }
 
     /**
@@ -895,7 +1122,19 @@ public abstract class PlotArea {
     }
 
     public boolean removePlot(@NotNull final PlotId id) {
-        return this.plots.remove(id) != null;
+        final Plot plot = this.plots.remove(id);
+        if (plot == null) {
+            return false;
+        }
+        this.plotIndex.remove(plot);
+        this.regionFileIndex.remove(plot);
+        this.freePlotIndex.remove(id);
+        this.mergeGroupIndex.invalidate(id);
+        this.evictUnclaimed(id);
+        for (PlotIndexListener listener : INDEX_LISTENERS) {
+            listener.onPlotRemoved(this, plot);
+        }
+        return true;
     }
 
     public boolean mergePlots(@NotNull final List<PlotId> plotIds, final boolean removeRoads) {
@@ -31,6 +31,14 @@ import org.jetbrains.annotations.Nullable;
 
 public class PlotId {
 
+    /**
+     * Packed key returned by allocation-free lookups when a position
+     * does not belong to any plot
+     *
+     * @see #pack(int, int)
+     */
+    public static final long NO_PLOT = Long.MIN_VALUE;
+
     @Deprecated public int x;
     @Deprecated public int y;
     private int hash;
@@ -91,6 +99,48 @@ public class PlotId {
         return new PlotId(hash >> 16, hash & 0xFFFF);
     }
 
+    /**
+     * Pack plot id coordinates into a single long. Unlike {@link #hashCode()}
+     * the packed value is lossless for the full int range.
+     *
+     * @param x The plot x coordinate
+     * @param y The plot y coordinate
+     * @return Packed key
+     */
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Get the x coordinate of a key created by {@link #pack(int, int)}
+     *
+     * @param key Packed key
+     * @return The plot x coordinate
+     */
+    public static int unpackX(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Get the y coordinate of a key created by {@link #pack(int, int)}
+     *
+     * @param key Packed key
+     * @return The plot y coordinate
+     */
+    public static int unpackY(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Get the packed key of this id
+     *
+     * @return Packed key
+     * @see #pack(int, int)
+     */
+    public long pack() {
+        return pack(this.x, this.y);
+    }
+
     public int getX() {
         return x;
     }
@@ -0,0 +1,228 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary indexes over the claimed plots of a {@link PlotArea}.
+ * <p>
+ * The index maps owner UUIDs, user UUIDs (trusted, members and denied)
+ * and lower-cased aliases to the plots that reference them. It is kept
+ * up to date by the plot and area mutators, so lookups never have to
+ * scan the full plot map of the area.
+ * <p>
+ * Plots are stored by identity, as plot ids may be mutated while a plot
+ * is moved or swapped.
+ */
+public final class PlotIndex {
+
+    private final Map<UUID, Set<Plot>> owners = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Plot>> users = new ConcurrentHashMap<>();
+    private final Map<String, Set<Plot>> aliases = new ConcurrentHashMap<>();
+
+    PlotIndex() {
+    }
+
+    @NotNull private static String normalizeAlias(@NotNull final String alias) {
+        return alias.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static <K> void put(@NotNull final Map<K, Set<Plot>> map, @NotNull final K key,
+        @NotNull final Plot plot) {
+        map.compute(key, (k, set) -> {
+            if (set == null) {
+                set = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+            set.add(plot);
+            return set;
+        });
+    }
+
+    private static <K> void remove(@NotNull final Map<K, Set<Plot>> map, @NotNull final K key,
+        @NotNull final Plot plot) {
+        map.computeIfPresent(key, (k, set) -> {
+            set.remove(plot);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @NotNull private static <K> List<Plot> get(@NotNull final Map<K, Set<Plot>> map,
+        @NotNull final K key) {
+        final List<Plot> result = new ArrayList<>();
+        // Copy inside the map lock so that concurrent writers never expose a half updated set
+        map.computeIfPresent(key, (k, set) -> {
+            result.addAll(set);
+            return set;
+        });
+        return result;
+    }
+
+    /**
+     * Index all owner, user and alias references of a plot.
+     *
+     * @param plot Plot to index
+     */
+    void add(@NotNull final Plot plot) {
+        final UUID owner = plot.getOwnerAbs();
+        if (owner != null) {
+            put(this.owners, owner, plot);
+        }
+        for (final UUID uuid : plot.getTrusted()) {
+            put(this.users, uuid, plot);
+        }
+        for (final UUID uuid : plot.getMembers()) {
+            put(this.users, uuid, plot);
+        }
+        for (final UUID uuid : plot.getDenied()) {
+            put(this.users, uuid, plot);
+        }
+        final String alias = plot.getAlias();
+        if (!alias.isEmpty()) {
+            put(this.aliases, normalizeAlias(alias), plot);
+        }
+    }
+
+    /**
+     * Remove all owner, user and alias references of a plot.
+     *
+     * @param plot Plot to remove
+     */
+    void remove(@NotNull final Plot plot) {
+        final UUID owner = plot.getOwnerAbs();
+        if (owner != null) {
+            remove(this.owners, owner, plot);
+        }
+        for (final UUID uuid : plot.getTrusted()) {
+            remove(this.users, uuid, plot);
+        }
+        for (final UUID uuid : plot.getMembers()) {
+            remove(this.users, uuid, plot);
+        }
+        for (final UUID uuid : plot.getDenied()) {
+            remove(this.users, uuid, plot);
+        }
+        final String alias = plot.getAlias();
+        if (!alias.isEmpty()) {
+            remove(this.aliases, normalizeAlias(alias), plot);
+        }
+    }
+
+    void updateOwner(@NotNull final Plot plot, @Nullable final UUID oldOwner,
+        @Nullable final UUID newOwner) {
+        if (oldOwner != null) {
+            remove(this.owners, oldOwner, plot);
+        }
+        if (newOwner != null) {
+            put(this.owners, newOwner, plot);
+        }
+    }
+
+    void addUser(@NotNull final Plot plot, @NotNull final UUID uuid) {
+        put(this.users, uuid, plot);
+    }
+
+    /**
+     * Remove a user reference, unless the plot still references the user
+     * through another list (a user may be both trusted and denied).
+     *
+     * @param plot Plot
+     * @param uuid User UUID
+     */
+    void removeUser(@NotNull final Plot plot, @NotNull final UUID uuid) {
+        if (plot.getTrusted().contains(uuid) || plot.getMembers().contains(uuid) || plot
+            .getDenied().contains(uuid)) {
+            return;
+        }
+        remove(this.users, uuid, plot);
+    }
+
+    void updateAlias(@NotNull final Plot plot, @Nullable final String oldAlias,
+        @Nullable final String newAlias) {
+        if (oldAlias != null && !oldAlias.isEmpty()) {
+            remove(this.aliases, normalizeAlias(oldAlias), plot);
+        }
+        if (newAlias != null && !newAlias.isEmpty()) {
+            put(this.aliases, normalizeAlias(newAlias), plot);
+        }
+    }
+
+    /**
+     * Get the plots whose database owner ({@link Plot#getOwnerAbs()}) is the given UUID.
+     *
+     * @param owner Owner UUID
+     * @return Snapshot of the owned plots
+     */
+    @NotNull public Collection<Plot> getOwnedPlots(@NotNull final UUID owner) {
+        return get(this.owners, owner);
+    }
+
+    /**
+     * Check whether the given UUID is the database owner of any plot.
+     *
+     * @param owner Owner UUID
+     * @return true if the UUID owns at least one plot
+     */
+    public boolean hasOwnedPlots(@NotNull final UUID owner) {
+        return this.owners.containsKey(owner);
+    }
+
+    /**
+     * Get the plots on which the given UUID is trusted, a member or denied.
+     *
+     * @param uuid User UUID
+     * @return Snapshot of the plots
+     */
+    @NotNull public Collection<Plot> getUserPlots(@NotNull final UUID uuid) {
+        return get(this.users, uuid);
+    }
+
+    /**
+     * Get the plots with the given alias (case insensitive).
+     *
+     * @param alias Alias
+     * @return Snapshot of the plots
+     */
+    @NotNull public Collection<Plot> getAliasedPlots(@NotNull final String alias) {
+        if (alias.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return get(this.aliases, normalizeAlias(alias));
+    }
+
+}
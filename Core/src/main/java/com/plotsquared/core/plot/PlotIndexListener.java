@@ -0,0 +1,58 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Notified whenever a plot is added to or removed from the plots of a {@link PlotArea},
+ * whichever way the change is made. Unlike plot events, this covers plots that are created,
+ * claimed, moved or copied through the API or by commands that do not fire an event.
+ * <p>
+ * Listeners are called on the thread that changes the plot map, which need not be the
+ * main thread, and should only record the change.
+ *
+ * @see PlotArea#registerIndexListener(PlotIndexListener)
+ */
+public interface PlotIndexListener {
+
+    /**
+     * Called after a plot has been added to an area
+     *
+     * @param area Plot area
+     * @param plot Plot that was added
+     */
+    void onPlotAdded(@NotNull PlotArea area, @NotNull Plot plot);
+
+    /**
+     * Called after a plot has been removed from an area
+     *
+     * @param area Plot area
+     * @param plot Plot that was removed
+     */
+    void onPlotRemoved(@NotNull PlotArea area, @NotNull Plot plot);
+
+}
@@ -52,6 +52,31 @@ public abstract class PlotManager {
 
     public abstract PlotId getPlotId(int x, int y, int z);
 
+    /**
+     * Get the packed id of the plot at a position, without considering
+     * mega plots. Managers should override this when the id can be
+     * computed without creating a {@link PlotId}.
+     *
+     * @return Packed id, or {@link PlotId#NO_PLOT} if the position is not in a plot
+     * @see PlotId#pack(int, int)
+     */
+    public long getPlotKeyAbs(int x, int y, int z) {
+        final PlotId id = getPlotIdAbs(x, y, z);
+        return id == null ? PlotId.NO_PLOT : id.pack();
+    }
+
+    /**
+     * Get the packed id of the plot at a position. Positions on the
+     * road inside a mega plot resolve to the adjacent merged plot.
+     *
+     * @return Packed id, or {@link PlotId#NO_PLOT} if the position is not in a plot
+     * @see #getPlotKeyAbs(int, int, int)
+     */
+    public long getPlotKey(int x, int y, int z) {
+        final PlotId id = getPlotId(x, y, z);
+        return id == null ? PlotId.NO_PLOT : id.pack();
+    }
+
     // If you have a circular plot, just return the corner if it were a square
     public abstract Location getPlotBottomLocAbs(PlotId plotId);
 
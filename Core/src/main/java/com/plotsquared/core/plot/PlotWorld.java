@@ -59,6 +59,20 @@ public abstract class PlotWorld {
      */
     @Nullable public abstract PlotArea getArea(@NotNull final Location location);
 
+    /**
+     * Get the plot area that contains the given block position, or null
+     * if the position is not a part of a plot area. World types that can
+     * resolve the area without a {@link Location} should override this.
+     *
+     * @param x Block x coordinate
+     * @param y Block y coordinate
+     * @param z Block z coordinate
+     * @return Containing plot area, or null
+     */
+    @Nullable public PlotArea getArea(final int x, final int y, final int z) {
+        return this.getArea(new Location(this.world, x, y, z));
+    }
+
     /**
      * Get all plot areas in the world
      *
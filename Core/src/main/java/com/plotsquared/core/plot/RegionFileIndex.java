@@ -0,0 +1,182 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import com.plotsquared.core.location.Direction;
+import com.plotsquared.core.location.Location;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the claimed plots of a {@link PlotArea} by the region files (r.x.z.mca) they
+ * intersect. A plot is indexed together with the road to its east and south, so that
+ * merged roads stay with the plots they connect.
+ * <p>
+ * The index is kept up to date by the area mutators, like the {@link PlotIndex}. Plots
+ * that span more than {@link #MAX_REGIONS} region files, such as the plots of single plot
+ * areas, are not split up, and are reported for every region file instead.
+ */
+public final class RegionFileIndex {
+
+    private static final int MAX_REGIONS = 4096;
+
+    private final Map<Long, Set<Plot>> regions = new ConcurrentHashMap<>();
+    private final Set<Plot> oversized = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    RegionFileIndex() {
+    }
+
+    private static long getKey(final int regionX, final int regionZ) {
+        return (long) regionX << 32 | regionZ & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Get the block bounds that a plot is indexed with: the plot, and the road to its
+     * east and south
+     *
+     * @param plot Plot
+     * @return {@code [minX, minZ, maxX, maxZ]}
+     */
+    @NotNull static int[] getBounds(@NotNull final Plot plot) {
+        final PlotManager manager = plot.getArea().getPlotManager();
+        final Location bottom = manager.getPlotBottomLocAbs(plot.getId());
+        final Location east = manager.getPlotBottomLocAbs(plot.getId().getRelative(Direction.EAST));
+        final Location south =
+            manager.getPlotBottomLocAbs(plot.getId().getRelative(Direction.SOUTH));
+        final Location top = manager.getPlotTopLocAbs(plot.getId());
+        return new int[] {bottom.getX(), bottom.getZ(), Math.max(top.getX(), east.getX() - 1),
+            Math.max(top.getZ(), south.getZ() - 1)};
+    }
+
+    private static boolean isOversized(@NotNull final int[] bounds) {
+        return ((long) (bounds[2] >> 9) - (bounds[0] >> 9) + 1) * ((long) (bounds[3] >> 9) - (
+            bounds[1] >> 9) + 1) > MAX_REGIONS;
+    }
+
+    /**
+     * Index a plot
+     *
+     * @param plot Plot to index
+     */
+    void add(@NotNull final Plot plot) {
+        final int[] bounds = getBounds(plot);
+        if (isOversized(bounds)) {
+            this.oversized.add(plot);
+            return;
+        }
+        for (int regionX = bounds[0] >> 9; regionX <= bounds[2] >> 9; regionX++) {
+            for (int regionZ = bounds[1] >> 9; regionZ <= bounds[3] >> 9; regionZ++) {
+                this.regions.compute(getKey(regionX, regionZ), (key, set) -> {
+                    if (set == null) {
+                        set = Collections.newSetFromMap(new IdentityHashMap<>());
+                    }
+                    set.add(plot);
+                    return set;
+                });
+            }
+        }
+    }
+
+    /**
+     * Remove a plot from the index
+     *
+     * @param plot Plot to remove
+     */
+    void remove(@NotNull final Plot plot) {
+        final int[] bounds = getBounds(plot);
+        if (isOversized(bounds)) {
+            this.oversized.remove(plot);
+            return;
+        }
+        for (int regionX = bounds[0] >> 9; regionX <= bounds[2] >> 9; regionX++) {
+            for (int regionZ = bounds[1] >> 9; regionZ <= bounds[3] >> 9; regionZ++) {
+                this.regions.computeIfPresent(getKey(regionX, regionZ), (key, set) -> {
+                    set.remove(plot);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+
+    /**
+     * Get the claimed plots that intersect a region file
+     *
+     * @param regionX Region X coordinate
+     * @param regionZ Region Z coordinate
+     * @return Snapshot of the plots
+     */
+    @NotNull public List<Plot> getPlots(final int regionX, final int regionZ) {
+        final List<Plot> result = new ArrayList<>(this.oversized);
+        // Copy inside the map lock so that concurrent writers never expose a half updated set
+        this.regions.computeIfPresent(getKey(regionX, regionZ), (key, set) -> {
+            result.addAll(set);
+            return set;
+        });
+        return result;
+    }
+
+    /**
+     * Get the chunks of a region file that intersect a claimed plot
+     *
+     * @param regionX Region X coordinate
+     * @param regionZ Region Z coordinate
+     * @param ignored Plots to leave out, such as plots that are about to expire
+     * @return Bits of the chunks, indexed by {@code (chunkZ & 31) << 5 | chunkX & 31}
+     */
+    @NotNull public BitSet getClaimedChunks(final int regionX, final int regionZ,
+        @NotNull final Collection<Plot> ignored) {
+        final BitSet chunks = new BitSet(1024);
+        final int minX = regionX << 5;
+        final int minZ = regionZ << 5;
+        for (final Plot plot : this.getPlots(regionX, regionZ)) {
+            if (ignored.contains(plot)) {
+                continue;
+            }
+            final int[] bounds = getBounds(plot);
+            final int fromX = Math.max(bounds[0] >> 4, minX);
+            final int toX = Math.min(bounds[2] >> 4, minX + 31);
+            final int fromZ = Math.max(bounds[1] >> 4, minZ);
+            final int toZ = Math.min(bounds[3] >> 4, minZ + 31);
+            if (fromX > toX || fromZ > toZ) {
+                continue;
+            }
+            for (int chunkZ = fromZ; chunkZ <= toZ; chunkZ++) {
+                chunks.set((chunkZ & 31) << 5 | fromX & 31, (chunkZ & 31) << 5 | (toX & 31) + 1);
+            }
+        }
+        return chunks;
+    }
+
+}
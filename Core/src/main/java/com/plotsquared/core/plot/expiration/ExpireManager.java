@@ -54,17 +54,36 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
 
 public class ExpireManager {
 
+    /**
+     * How long to wait before checking the plots of an owner again when they have not expired
+     */
+    private static final long RECHECK_INTERVAL = TimeUnit.DAYS.toMillis(1);
+    /**
+     * The longest the expiry task sleeps while no owner is due, so that new tasks are picked up
+     */
+    private static final long MAX_SLEEP = TimeUnit.MINUTES.toMillis(10);
+
     public static ExpireManager IMP;
     private final ConcurrentHashMap<UUID, Long> dates_cache;
     private final ConcurrentHashMap<UUID, Long> account_age_cache;
+    /**
+     * Owners ordered by the time their plots are checked next, relative to the time they were
+     * last seen. An owner is due once that time is older than the shortest expiry time.
+     * Each owner has at most one check, the one in {@link #pendingChecks}.
+     */
+    private final TreeSet<Check> checks;
+    private final ConcurrentHashMap<UUID, Check> pendingChecks;
+    private volatile boolean indexed;
     private volatile HashSet<Plot> plotsToDelete;
     private ArrayDeque<ExpiryTask> tasks;
     /**
@@ -74,8 +93,10 @@ public class ExpireManager {
 
     public ExpireManager() {
         tasks = new ArrayDeque<>();
-        dates_cache = new ConcurrentHashMap<>();
+        dates_cache = new ConcurrentHashMap<>(DBFunc.getLastSeen());
         account_age_cache = new ConcurrentHashMap<>();
+        checks = new TreeSet<>();
+        pendingChecks = new ConcurrentHashMap<>();
     }
 
     public void addTask(ExpiryTask task) {
@@ -289,13 +310,102 @@ public class ExpireManager {
         }
     }
 
+    /**
+     * Schedule the plots of an owner to be checked once the owner has been offline
+     * for the shortest expiry time, counted from {@code time}. This replaces any check
+     * that is already scheduled for the owner.
+     *
+     * @param owner Plot owner
+     * @param time  Time the owner was last seen, or the time to count from
+     */
+    private void scheduleCheck(UUID owner, long time) {
+        Check check = new Check(owner, time);
+        synchronized (this.checks) {
+            Check previous = this.pendingChecks.put(owner, check);
+            if (previous != null) {
+                this.checks.remove(previous);
+            }
+            this.checks.add(check);
+        }
+    }
+
+    /**
+     * Schedule the plots of a new owner to be checked, if they are not scheduled already
+     *
+     * @param owner Plot owner
+     */
+    public void handleOwnerChange(UUID owner) {
+        if (owner != null && this.indexed && !this.pendingChecks.containsKey(owner)) {
+            scheduleCheck(owner, getTimestamp(owner));
+        }
+    }
+
+    private long getExpiryTime() {
+        long min = Long.MAX_VALUE;
+        for (ExpiryTask task : new ArrayList<>(this.tasks)) {
+            min = Math.min(min, TimeUnit.DAYS.toMillis(task.getSettings().DAYS));
+        }
+        return min;
+    }
+
+    /**
+     * Remove the owners that are due to be checked
+     *
+     * @param now Current time
+     * @return Owners that are due
+     */
+    private List<UUID> pollDueOwners(long now) {
+        List<UUID> owners = new ArrayList<>();
+        long expiry = getExpiryTime();
+        if (expiry == Long.MAX_VALUE) {
+            return owners;
+        }
+        synchronized (this.checks) {
+            while (!this.checks.isEmpty() && this.checks.first().time + expiry <= now) {
+                Check check = this.checks.pollFirst();
+                this.pendingChecks.remove(check.owner);
+                owners.add(check.owner);
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * Get how long to wait until the next owner is due to be checked
+     *
+     * @param now Current time
+     * @return Delay in milliseconds
+     */
+    private long getDelayUntilNextCheck(long now) {
+        long expiry = getExpiryTime();
+        if (expiry == Long.MAX_VALUE) {
+            return MAX_SLEEP;
+        }
+        synchronized (this.checks) {
+            if (this.checks.isEmpty()) {
+                return MAX_SLEEP;
+            }
+            Check check = this.checks.first();
+            return Math.max(0, Math.min(MAX_SLEEP, check.time + expiry - now));
+        }
+    }
+
+    private void buildIndex() {
+        for (Plot plot : PlotSquared.get().getPlots()) {
+            UUID owner = plot.getOwnerAbs();
+            if (owner != null && !this.pendingChecks.containsKey(owner)) {
+                scheduleCheck(owner, getTimestamp(owner));
+            }
+        }
+        this.indexed = true;
+    }
+
     public boolean runTask(final RunnableVal3<Plot, Runnable, Boolean> expiredTask) {
         if (this.running != 0) {
             return false;
         }
         this.running = 2;
-        final ConcurrentLinkedDeque<Plot> plots =
-            new ConcurrentLinkedDeque<>(PlotSquared.get().getPlots());
+        final ArrayDeque<Plot> plots = new ArrayDeque<>();
         TaskManager.runTaskAsync(new Runnable() {
             @Override public void run() {
                 final Runnable task = this;
@@ -303,7 +413,20 @@ public class ExpireManager {
                     ExpireManager.this.running = 0;
                     return;
                 }
-                long start = System.currentTimeMillis();
+                if (!ExpireManager.this.indexed) {
+                    buildIndex();
+                }
+                if (plots.isEmpty()) {
+                    long now = System.currentTimeMillis();
+                    for (UUID owner : pollDueOwners(now)) {
+                        Set<Plot> owned = PlotSquared.get().getPlotsAbs(owner);
+                        if (!owned.isEmpty()) {
+                            plots.addAll(owned);
+                            // Owners that join are rescheduled from their join time instead
+                            scheduleCheck(owner, now + RECHECK_INTERVAL - getExpiryTime());
+                        }
+                    }
+                }
                 while (!plots.isEmpty()) {
                     if (ExpireManager.this.running != 2) {
                         ExpireManager.this.running = 0;
@@ -362,23 +485,18 @@ public class ExpireManager {
                     }
                     return;
                 }
-                if (plots.isEmpty()) {
-                    ExpireManager.this.running = 3;
-                    TaskManager.runTaskLater(() -> {
-                        if (ExpireManager.this.running == 3) {
-                            ExpireManager.this.running = 2;
-                            runTask(expiredTask);
-                        }
-                    }, 86400000);
-                } else {
-                    TaskManager.runTaskLaterAsync(task, 20 * 10);
-                }
+                long delay = getDelayUntilNextCheck(System.currentTimeMillis());
+                TaskManager.runTaskLaterAsync(task, Math.max(1, (int) (delay / 50)));
             }
         });
         return true;
     }
 
     public void storeDate(UUID uuid, long time) {
+        DBFunc.setLastSeen(uuid, time);
+        if (this.indexed && PlotSquared.get().hasPlot(uuid)) {
+            scheduleCheck(uuid, time);
+        }
         Long existing = this.dates_cache.put(uuid, time);
         if (existing != null) {
             long diff = time - existing;
@@ -446,6 +564,7 @@ public class ExpireManager {
             OfflinePlotPlayer opp = PlotSquared.imp().getPlayerManager().getOfflinePlayer(uuid);
             if (opp != null && (last = opp.getLastPlayed()) != 0) {
                 this.dates_cache.put(uuid, last);
+                DBFunc.setLastSeen(uuid, last);
             } else {
                 return 0;
             }
@@ -485,4 +604,20 @@ public class ExpireManager {
         }
         return min;
     }
+
+    private static final class Check implements Comparable<Check> {
+
+        private final UUID owner;
+        private final long time;
+
+        private Check(UUID owner, long time) {
+            this.owner = owner;
+            this.time = time;
+        }
+
+        @Override public int compareTo(Check other) {
+            int result = Long.compare(this.time, other.time);
+            return result != 0 ? result : this.owner.compareTo(other.owner);
+        }
+    }
 }
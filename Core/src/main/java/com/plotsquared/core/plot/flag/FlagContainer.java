@@ -29,7 +29,6 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.plotsquared.core.PlotSquared;
 import lombok.EqualsAndHashCode;
-import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -38,6 +37,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Container type for {@link PlotFlag plot flags}.
@@ -48,7 +48,14 @@ import java.util.Map;
     private final Map<Class<?>, PlotFlag<?, ?>> flagMap = new HashMap<>();
     private final PlotFlagUpdateHandler plotFlagUpdateHandler;
     private final Collection<PlotFlagUpdateHandler> updateSubscribers = new ArrayList<>();
-    @Setter private FlagContainer parentContainer;
+    /**
+     * Incremented on every change to this container. Resolved flags remember the sum of the
+     * generations of this container and its parents, so that changes to a parent are noticed
+     * on the next read without the parent having to know its children.
+     */
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile ResolvedFlags resolvedFlags;
+    private FlagContainer parentContainer;
 
     /**
      * Construct a new flag container with an optional parent container and update handler.
@@ -64,8 +71,8 @@ import java.util.Map;
      */
     public FlagContainer(@Nullable final FlagContainer parentContainer,
         @Nullable PlotFlagUpdateHandler plotFlagUpdateHandler) {
-        this.parentContainer = parentContainer;
         this.plotFlagUpdateHandler = plotFlagUpdateHandler;
+        this.parentContainer = parentContainer;
         if (!(this instanceof GlobalFlagContainer)) {
             GlobalFlagContainer.getInstance().subscribe(this::handleUnknowns);
         }
@@ -109,6 +116,18 @@ import java.util.Map;
         return this.parentContainer;
     }
 
+    /**
+     * Set the parent container
+     *
+     * @param parentContainer New parent container
+     */
+    public void setParentContainer(@Nullable final FlagContainer parentContainer) {
+        this.parentContainer = parentContainer;
+        // The generations of the new parents are unrelated to those of the old ones
+        this.resolvedFlags = null;
+        this.invalidate();
+    }
+
     @SuppressWarnings("unused") protected Map<Class<?>, PlotFlag<?, ?>> getInternalPlotFlagMap() {
         return this.flagMap;
     }
@@ -133,6 +152,7 @@ import java.util.Map;
             Preconditions.checkState(flag.getName().length() <= 64,
                 "flag name may not be more than 64 characters. Check: " + flag.getName());
             final PlotFlag<?, ?> oldInstance = this.flagMap.put(flag.getClass(), flag);
+            this.invalidate();
             final PlotFlagUpdateType plotFlagUpdateType;
             if (oldInstance != null) {
                 plotFlagUpdateType = PlotFlagUpdateType.FLAG_UPDATED;
@@ -161,6 +181,7 @@ import java.util.Map;
      */
     public <V, T extends PlotFlag<V, ?>> V removeFlag(final T flag) {
         final Object value = this.flagMap.remove(flag.getClass());
+        this.invalidate();
         if (this.plotFlagUpdateHandler != null) {
             this.plotFlagUpdateHandler.handle(flag, PlotFlagUpdateType.FLAG_REMOVED);
         }
@@ -194,6 +215,7 @@ import java.util.Map;
      */
     public void clearLocal() {
         this.flagMap.clear();
+        this.invalidate();
     }
 
     /**
@@ -226,15 +248,7 @@ import java.util.Map;
      * @param flagClass The {@link PlotFlag} class.
      */
     public PlotFlag<?, ?> getFlagErased(Class<?> flagClass) {
-        final PlotFlag<?, ?> flag = this.flagMap.get(flagClass);
-        if (flag != null) {
-            return flag;
-        } else {
-            if (getParentContainer() != null) {
-                return getParentContainer().getFlagErased(flagClass);
-            }
-        }
-        return null;
+        return this.resolve(flagClass);
     }
 
     /**
@@ -248,17 +262,80 @@ import java.util.Map;
      * @return Flag instance
      */
     public <V, T extends PlotFlag<V, ?>> T getFlag(final Class<? extends T> flagClass) {
-        final PlotFlag<?, ?> flag = this.flagMap.get(flagClass);
+        final PlotFlag<?, ?> flag = this.resolve(flagClass);
         if (flag != null) {
             return castUnsafe(flag);
-        } else {
-            if (getParentContainer() != null) {
-                return getParentContainer().getFlag(flagClass);
+        }
+        return null;
+    }
+
+    /**
+     * Resolve a flag through all levels of flag containers. Flags registered in
+     * the {@link GlobalFlagContainer} are read from a snapshot of resolved flags,
+     * indexed by {@link GlobalFlagContainer#getFlagId(Class) flag id}, that is
+     * rebuilt lazily after this container or one of its parents has been updated.
+     * Updates are detected by comparing the sum of the generations of the hierarchy.
+     *
+     * @param flagClass Flag class to query for
+     * @return Flag instance, or null if no container in the hierarchy has the flag
+     */
+    @Nullable private PlotFlag<?, ?> resolve(final Class<?> flagClass) {
+        final int id = GlobalFlagContainer.getFlagId(flagClass);
+        if (id >= 0) {
+            final long generation = this.getHierarchyGeneration();
+            ResolvedFlags resolved = this.resolvedFlags;
+            if (resolved == null || resolved.generation != generation) {
+                resolved = new ResolvedFlags(generation, this.resolveAll());
+                this.resolvedFlags = resolved;
+            }
+            if (id < resolved.flags.length) {
+                return resolved.flags[id];
+            }
+        }
+        return this.lookup(flagClass);
+    }
+
+    private PlotFlag<?, ?>[] resolveAll() {
+        final Class<?>[] flagClasses = GlobalFlagContainer.getFlagClasses();
+        final PlotFlag<?, ?>[] flags = new PlotFlag<?, ?>[flagClasses.length];
+        for (int i = 0; i < flagClasses.length; i++) {
+            flags[i] = this.lookup(flagClasses[i]);
+        }
+        return flags;
+    }
+
+    @Nullable private PlotFlag<?, ?> lookup(final Class<?> flagClass) {
+        for (FlagContainer container = this; container != null;
+             container = container.getParentContainer()) {
+            final PlotFlag<?, ?> flag = container.flagMap.get(flagClass);
+            if (flag != null) {
+                return flag;
             }
         }
         return null;
     }
 
+    /**
+     * Sum the generations of this container and its parents. Generations only grow, so the
+     * sum changes whenever any container in the hierarchy changes.
+     */
+    private long getHierarchyGeneration() {
+        long generation = 0;
+        for (FlagContainer container = this; container != null;
+             container = container.getParentContainer()) {
+            generation += container.generation.get();
+        }
+        return generation;
+    }
+
+    /**
+     * Discard the resolved flags of this container and its children, so that they are
+     * rebuilt on the next query
+     */
+    private void invalidate() {
+        this.generation.incrementAndGet();
+    }
+
     /**
      * Check for flag existence in this flag container instance.
      *
@@ -317,6 +394,19 @@ import java.util.Map;
         this.unknownFlags.put(flagName.toLowerCase(Locale.ENGLISH), value);
     }
 
+    private static final class ResolvedFlags {
+
+        private final long generation;
+        private final PlotFlag<?, ?>[] flags;
+
+        private ResolvedFlags(final long generation, final PlotFlag<?, ?>[] flags) {
+            this.generation = generation;
+            this.flags = flags;
+        }
+
+    }
+
+
     /**
      * Update event types used in {@link PlotFlagUpdateHandler}.
      */
@@ -108,10 +108,12 @@ import com.plotsquared.core.plot.flag.implementations.WeatherFlag;
 import lombok.Getter;
 
 import javax.annotation.Nonnull;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class GlobalFlagContainer extends FlagContainer {
 
@@ -124,10 +126,19 @@ public final class GlobalFlagContainer extends FlagContainer {
 
     private static Map<String, Class<?>> stringClassMap;
 
+    private static final Map<Class<?>, Integer> flagIds = new ConcurrentHashMap<>();
+    private static final ClassValue<Integer> flagIdCache = new ClassValue<Integer>() {
+        @Override protected Integer computeValue(final Class<?> type) {
+            return flagIds.getOrDefault(type, -1);
+        }
+    };
+    private static volatile Class<?>[] flagClasses = new Class<?>[0];
+
     private GlobalFlagContainer() {
         super(null, (flag, type) -> {
             if (type == PlotFlagUpdateType.FLAG_ADDED) {
                 stringClassMap.put(flag.getName().toLowerCase(Locale.ENGLISH), flag.getClass());
+                registerFlagId(flag.getClass());
             }
         });
         stringClassMap = new HashMap<>();
@@ -250,6 +261,39 @@ public final class GlobalFlagContainer extends FlagContainer {
         }
     }
 
+    private static synchronized void registerFlagId(final Class<?> flagClass) {
+        if (flagIds.containsKey(flagClass)) {
+            return;
+        }
+        final Class<?>[] classes = Arrays.copyOf(flagClasses, flagClasses.length + 1);
+        classes[classes.length - 1] = flagClass;
+        flagIds.put(flagClass, flagClasses.length);
+        flagClasses = classes;
+        // The class may have been queried before it was registered
+        flagIdCache.remove(flagClass);
+    }
+
+    /**
+     * Get the dense id assigned to a flag class when it was registered
+     * in the global flag container.
+     *
+     * @param flagClass Flag class
+     * @return Flag id, or -1 if the flag class has not been registered
+     */
+    public static int getFlagId(@Nonnull final Class<?> flagClass) {
+        return flagIdCache.get(flagClass);
+    }
+
+    /**
+     * Get all registered flag classes, indexed by their {@link #getFlagId(Class) flag id}.
+     * The returned array must not be modified.
+     *
+     * @return Registered flag classes
+     */
+    static Class<?>[] getFlagClasses() {
+        return flagClasses;
+    }
+
     public Class<?> getFlagClassFromString(final String name) {
         return stringClassMap.get(name.toLowerCase(Locale.ENGLISH));
     }
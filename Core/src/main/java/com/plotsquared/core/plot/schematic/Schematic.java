@@ -42,21 +42,55 @@ import java.util.Map;
 
 public class Schematic {
     // Lossy but fast
-    @Getter private final Clipboard clipboard;
+    private Clipboard clipboard;
+    private SchematicBlocks blocks;
     @Getter private Map<String, Tag> flags = new HashMap<>();
 
     public Schematic(Clipboard clip) {
         this.clipboard = clip;
     }
 
+    /**
+     * Create a schematic from flattened blocks, which may be shared with other schematics.
+     * The clipboard is only created when it is requested.
+     *
+     * @param blocks Flattened blocks
+     */
+    public Schematic(SchematicBlocks blocks) {
+        this.blocks = blocks;
+    }
+
+    public synchronized Clipboard getClipboard() {
+        if (this.clipboard == null) {
+            this.clipboard = this.blocks.toClipboard();
+        }
+        return this.clipboard;
+    }
+
+    /**
+     * Get the flattened blocks of this schematic, which are used to paste it
+     *
+     * @return Flattened blocks
+     */
+    public synchronized SchematicBlocks getBlocks() {
+        if (this.blocks == null) {
+            this.blocks = SchematicBlocks.of(this.clipboard);
+        }
+        return this.blocks;
+    }
+
     public void setFlags(Map<String, Tag> flags) {
         this.flags = flags == null ? new HashMap<>() : flags;
     }
 
-    public boolean setBlock(BlockVector3 position, BaseBlock block) throws WorldEditException {
+    public synchronized boolean setBlock(BlockVector3 position, BaseBlock block)
+        throws WorldEditException {
+        Clipboard clipboard = getClipboard();
         if (clipboard.getRegion().contains(position)) {
             BlockVector3 vector3 = position.subtract(clipboard.getRegion().getMinimumPoint());
             clipboard.setBlock(vector3, block);
+            // The flattened blocks may be shared, so they are flattened again when needed
+            this.blocks = null;
             return true;
         } else {
             return false;
@@ -66,7 +100,7 @@ public class Schematic {
     public void save(File file) throws IOException {
         try (SpongeSchematicWriter schematicWriter = new SpongeSchematicWriter(
             new NBTOutputStream(new FileOutputStream(file)))) {
-            schematicWriter.write(clipboard);
+            schematicWriter.write(getClipboard());
         }
     }
 }
@@ -0,0 +1,293 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.schematic;
+
+import com.plotsquared.core.queue.LocalBlockQueue;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.extent.clipboard.BlockArrayClipboard;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, flattened copy of the blocks of a schematic: a palette of block states with
+ * an index into it per block, the biome of every column, and the blocks that carry NBT
+ * data. Blocks are stored by {@code (y * length + z) * width + x}, relative to the
+ * minimum point of the schematic.
+ */
+public final class SchematicBlocks {
+
+    @Getter private final int width;
+    @Getter private final int height;
+    @Getter private final int length;
+    private final BlockVector3 minimum;
+    private final BlockVector3 origin;
+    private final BaseBlock[] palette;
+    private final char[] blocks;
+    @Nullable private final BiomeType[] biomes;
+    private final int[] tileIndices;
+    private final BaseBlock[] tiles;
+
+    private SchematicBlocks(final BlockVector3 dimensions, final BlockVector3 minimum,
+        final BlockVector3 origin, final BaseBlock[] palette, final char[] blocks,
+        @Nullable final BiomeType[] biomes, final int[] tileIndices, final BaseBlock[] tiles) {
+        this.width = dimensions.getX();
+        this.height = dimensions.getY();
+        this.length = dimensions.getZ();
+        this.minimum = minimum;
+        this.origin = origin;
+        this.palette = palette;
+        this.blocks = blocks;
+        this.biomes = biomes;
+        this.tileIndices = tileIndices;
+        this.tiles = tiles;
+    }
+
+    /**
+     * Flatten the blocks of a clipboard
+     *
+     * @param clipboard Clipboard
+     * @return Flattened blocks
+     */
+    @NotNull public static SchematicBlocks of(@NotNull final Clipboard clipboard) {
+        final BlockVector3 dimensions = clipboard.getDimensions();
+        final BlockVector3 min = clipboard.getMinimumPoint();
+        final int width = dimensions.getX();
+        final int height = dimensions.getY();
+        final int length = dimensions.getZ();
+        final Map<BlockState, Character> ids = new HashMap<>();
+        final List<BaseBlock> palette = new ArrayList<>();
+        final List<Integer> tileIndices = new ArrayList<>();
+        final List<BaseBlock> tiles = new ArrayList<>();
+        final char[] blocks = new char[width * height * length];
+        int index = 0;
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++, index++) {
+                    final BaseBlock block = clipboard.getFullBlock(
+                        BlockVector3.at(min.getX() + x, min.getY() + y, min.getZ() + z));
+                    final BlockState state = block.toImmutableState();
+                    Character id = ids.get(state);
+                    if (id == null) {
+                        id = (char) palette.size();
+                        ids.put(state, id);
+                        palette.add(state.toBaseBlock());
+                    }
+                    blocks[index] = id;
+                    if (block.hasNbtData()) {
+                        tileIndices.add(index);
+                        tiles.add(block);
+                    }
+                }
+            }
+        }
+        BiomeType[] biomes = null;
+        for (int z = 0, i = 0; z < length; z++) {
+            for (int x = 0; x < width; x++, i++) {
+                final BiomeType biome =
+                    clipboard.getBiome(BlockVector2.at(min.getX() + x, min.getZ() + z));
+                if (biome != null) {
+                    if (biomes == null) {
+                        biomes = new BiomeType[width * length];
+                    }
+                    biomes[i] = biome;
+                }
+            }
+        }
+        return new SchematicBlocks(dimensions, min, clipboard.getOrigin(),
+            palette.toArray(new BaseBlock[0]), blocks, biomes,
+            tileIndices.stream().mapToInt(Integer::intValue).toArray(),
+            tiles.toArray(new BaseBlock[0]));
+    }
+
+    /**
+     * Get the block at a position relative to the minimum point
+     *
+     * @param x Relative X coordinate
+     * @param y Relative Y coordinate
+     * @param z Relative Z coordinate
+     * @return Block, without NBT data
+     */
+    @NotNull public BaseBlock getBlock(final int x, final int y, final int z) {
+        return this.palette[this.blocks[(y * this.length + z) * this.width + x]];
+    }
+
+    /**
+     * Get the block at a position relative to the minimum point, including its NBT data
+     *
+     * @param x Relative X coordinate
+     * @param y Relative Y coordinate
+     * @param z Relative Z coordinate
+     * @return Block
+     */
+    @NotNull public BaseBlock getFullBlock(final int x, final int y, final int z) {
+        final int index = (y * this.length + z) * this.width + x;
+        final int tile = Arrays.binarySearch(this.tileIndices, index);
+        return tile >= 0 ? this.tiles[tile] : this.palette[this.blocks[index]];
+    }
+
+    /**
+     * Get the biome of a column relative to the minimum point
+     *
+     * @param x Relative X coordinate
+     * @param z Relative Z coordinate
+     * @return Biome, or {@code null} if the schematic has no biomes
+     */
+    @Nullable public BiomeType getBiome(final int x, final int z) {
+        return this.biomes == null ? null : this.biomes[z * this.width + x];
+    }
+
+    /**
+     * Estimate the memory used by these blocks
+     *
+     * @return Estimated size in bytes
+     */
+    public int getMemoryUsage() {
+        long size = 2L * this.blocks.length + 64L * this.palette.length + 256L * this.tiles.length;
+        if (this.biomes != null) {
+            size += 8L * this.biomes.length;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    /**
+     * Paste the columns of the schematic that fall in an area, which usually is the part
+     * of a chunk covered by the schematic. The blocks are written one section at a time.
+     *
+     * @param queue Queue to paste into
+     * @param x0    World X coordinate of the minimum point of the schematic
+     * @param y0    World Y coordinate of the minimum point of the schematic
+     * @param z0    World Z coordinate of the minimum point of the schematic
+     * @param minX  Minimum world X coordinate to paste
+     * @param minZ  Minimum world Z coordinate to paste
+     * @param maxX  Maximum world X coordinate to paste
+     * @param maxZ  Maximum world Z coordinate to paste
+     */
+    public void paste(@NotNull final LocalBlockQueue queue, final int x0, final int y0,
+        final int z0, final int minX, final int minZ, final int maxX, final int maxZ) {
+        final int fromX = Math.max(0, minX - x0);
+        final int fromZ = Math.max(0, minZ - z0);
+        final int toX = Math.min(this.width - 1, maxX - x0);
+        final int toZ = Math.min(this.length - 1, maxZ - z0);
+        final int fromY = Math.max(0, -y0);
+        final int toY = Math.min(this.height - 1, 255 - y0);
+        if (fromX > toX || fromZ > toZ || fromY > toY) {
+            return;
+        }
+        final BaseBlock[] palette = this.palette;
+        final char[] blocks = this.blocks;
+        for (int layer = (y0 + fromY) >> 4; layer <= (y0 + toY) >> 4; layer++) {
+            final int sectionFromY = Math.max(fromY, (layer << 4) - y0);
+            final int sectionToY = Math.min(toY, (layer << 4) + 15 - y0);
+            for (int y = sectionFromY; y <= sectionToY; y++) {
+                final int yy = y0 + y;
+                for (int z = fromZ; z <= toZ; z++) {
+                    final int zz = z0 + z;
+                    int index = (y * this.length + z) * this.width + fromX;
+                    for (int x = fromX; x <= toX; x++, index++) {
+                        queue.setBlock(x0 + x, yy, zz, palette[blocks[index]]);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < this.tileIndices.length; i++) {
+            final int index = this.tileIndices[i];
+            final int x = index % this.width;
+            final int z = (index / this.width) % this.length;
+            final int y = index / (this.width * this.length);
+            if (x >= fromX && x <= toX && z >= fromZ && z <= toZ && y >= fromY && y <= toY) {
+                queue.setBlock(x0 + x, y0 + y, z0 + z, this.tiles[i]);
+            }
+        }
+        if (this.biomes != null) {
+            for (int z = fromZ; z <= toZ; z++) {
+                for (int x = fromX; x <= toX; x++) {
+                    final BiomeType biome = this.biomes[z * this.width + x];
+                    if (biome != null) {
+                        queue.setBiome(x0 + x, z0 + z, biome);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Create a clipboard containing these blocks
+     *
+     * @return New clipboard
+     */
+    @NotNull public Clipboard toClipboard() {
+        final BlockArrayClipboard clipboard = new BlockArrayClipboard(new CuboidRegion(this.minimum,
+            this.minimum.add(this.width - 1, this.height - 1, this.length - 1)));
+        clipboard.setOrigin(this.origin);
+        try {
+            int index = 0;
+            for (int y = 0; y < this.height; y++) {
+                for (int z = 0; z < this.length; z++) {
+                    for (int x = 0; x < this.width; x++, index++) {
+                        clipboard.setBlock(this.minimum.add(x, y, z),
+                            this.palette[this.blocks[index]]);
+                    }
+                }
+            }
+            for (int i = 0; i < this.tileIndices.length; i++) {
+                final int tile = this.tileIndices[i];
+                clipboard.setBlock(this.minimum.add(tile % this.width,
+                    tile / (this.width * this.length), (tile / this.width) % this.length),
+                    this.tiles[i]);
+            }
+        } catch (WorldEditException e) {
+            throw new IllegalStateException("Failed to copy schematic blocks", e);
+        }
+        if (this.biomes != null) {
+            for (int z = 0; z < this.length; z++) {
+                for (int x = 0; x < this.width; x++) {
+                    final BiomeType biome = this.biomes[z * this.width + x];
+                    if (biome != null) {
+                        clipboard.setBiome(
+                            BlockVector2.at(this.minimum.getX() + x, this.minimum.getZ() + z),
+                            biome);
+                    }
+                }
+            }
+        }
+        return clipboard;
+    }
+
+}
@@ -0,0 +1,361 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.schematic;
+
+import com.plotsquared.core.util.SchematicHandler;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.IntArrayTag;
+import com.sk89q.jnbt.IntTag;
+import com.sk89q.jnbt.ListTag;
+import com.sk89q.jnbt.NBTConstants;
+import com.sk89q.jnbt.NBTOutputStream;
+import com.sk89q.jnbt.ShortTag;
+import com.sk89q.jnbt.StringTag;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.extension.platform.Capability;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the blocks of a set of regions as a Sponge (version 2) schematic, one chunk
+ * at a time. Chunks are accepted in any order and their palette indices are spooled
+ * to a temporary file, as the schematic stores blocks by {@code (y * length + z) * width + x}
+ * and the length of the block data has to be known before it is written. Blocks of the
+ * bounding box that are not part of any region are exported as air.
+ * <p>
+ * Chunks have to be accepted one at a time, followed by a single call to
+ * {@link #write(OutputStream)}.
+ */
+public final class SchematicExporter implements Closeable {
+
+    private static final BaseBlock AIR = BlockTypes.AIR.getDefaultState().toBaseBlock();
+
+    private final List<CuboidRegion> regions;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int width;
+    private final int height;
+    private final int length;
+    private final int chunkMinX;
+    private final int chunkMinZ;
+    private final int chunksX;
+    private final int chunksZ;
+    private final Path spoolFile;
+    private final FileChannel spool;
+    private final ByteBuffer chunkBuffer;
+    private final Map<BlockState, Character> ids = new HashMap<>();
+    private final List<BlockState> palette = new ArrayList<>();
+    private long[] counts = new long[64];
+    private final char[] biomes;
+    private final Map<BiomeType, Character> biomeIds = new HashMap<>();
+    private final List<BiomeType> biomePalette = new ArrayList<>();
+    private final List<CompoundTag> tiles = new ArrayList<>();
+
+    /**
+     * Create a new exporter, which spools the blocks to a temporary file
+     *
+     * @param regions Regions to export
+     * @throws IOException If the temporary file cannot be created
+     */
+    public SchematicExporter(@NotNull final Collection<CuboidRegion> regions)
+        throws IOException {
+        if (regions.isEmpty()) {
+            throw new IllegalArgumentException("Cannot export an empty set of regions");
+        }
+        this.regions = new ArrayList<>(regions);
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (final CuboidRegion region : regions) {
+            final BlockVector3 min = region.getMinimumPoint();
+            final BlockVector3 max = region.getMaximumPoint();
+            minX = Math.min(minX, min.getX());
+            minY = Math.min(minY, min.getY());
+            minZ = Math.min(minZ, min.getZ());
+            maxX = Math.max(maxX, max.getX());
+            maxY = Math.max(maxY, max.getY());
+            maxZ = Math.max(maxZ, max.getZ());
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.width = maxX - minX + 1;
+        this.height = maxY - minY + 1;
+        this.length = maxZ - minZ + 1;
+        this.chunkMinX = minX >> 4;
+        this.chunkMinZ = minZ >> 4;
+        this.chunksX = (maxX >> 4) - this.chunkMinX + 1;
+        this.chunksZ = (maxZ >> 4) - this.chunkMinZ + 1;
+        this.biomes = new char[this.width * this.length];
+        this.chunkBuffer = ByteBuffer.allocate(this.height << 9);
+        this.spoolFile = Files.createTempFile("plotsquared-export", ".tmp");
+        this.spool = FileChannel.open(this.spoolFile, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    private static void writeVarInt(@NotNull final DataOutputStream out, int value)
+        throws IOException {
+        while ((value & -128) != 0) {
+            out.write(value & 127 | 128);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int getVarIntSize(final int value) {
+        int size = 1;
+        for (int remaining = value >>> 7; remaining != 0; remaining >>>= 7) {
+            size++;
+        }
+        return size;
+    }
+
+    private char getBlockId(@NotNull final BlockState state) {
+        Character id = this.ids.get(state);
+        if (id == null) {
+            if (this.palette.size() > Character.MAX_VALUE) {
+                throw new IllegalStateException("Too many block states in the exported region");
+            }
+            id = (char) this.palette.size();
+            this.ids.put(state, id);
+            this.palette.add(state);
+            if (id >= this.counts.length) {
+                this.counts = Arrays.copyOf(this.counts, this.counts.length << 1);
+            }
+        }
+        return id;
+    }
+
+    private char getBiomeId(@NotNull final BiomeType biome) {
+        Character id = this.biomeIds.get(biome);
+        if (id == null) {
+            id = (char) this.biomePalette.size();
+            this.biomeIds.put(biome, id);
+            this.biomePalette.add(biome);
+        }
+        return id;
+    }
+
+    /**
+     * Spool the part of a chunk that lies within the exported regions
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @param chunk  Blocks of the chunk
+     * @throws IOException If the chunk cannot be written to the temporary file
+     */
+    public void accept(final int chunkX, final int chunkZ,
+        @NotNull final SchematicHandler.ChunkBlocks chunk) throws IOException {
+        final int bx = chunkX << 4;
+        final int bz = chunkZ << 4;
+        final int x1 = Math.max(this.minX, bx);
+        final int z1 = Math.max(this.minZ, bz);
+        final int x2 = Math.min(this.minX + this.width - 1, bx + 15);
+        final int z2 = Math.min(this.minZ + this.length - 1, bz + 15);
+        final ByteBuffer buffer = this.chunkBuffer;
+        final List<CuboidRegion> column = new ArrayList<>(this.regions.size());
+        for (int z = z1; z <= z2; z++) {
+            final int rz = z - this.minZ;
+            for (int x = x1; x <= x2; x++) {
+                final int rx = x - this.minX;
+                column.clear();
+                for (final CuboidRegion region : this.regions) {
+                    final BlockVector3 min = region.getMinimumPoint();
+                    final BlockVector3 max = region.getMaximumPoint();
+                    if (x >= min.getX() && x <= max.getX() && z >= min.getZ() && z <= max
+                        .getZ()) {
+                        column.add(region);
+                    }
+                }
+                this.biomes[rz * this.width + rx] = getBiomeId(chunk.getBiome(x, z));
+                for (int ry = 0; ry < this.height; ry++) {
+                    final int y = this.minY + ry;
+                    BaseBlock block = AIR;
+                    for (final CuboidRegion region : column) {
+                        if (y >= region.getMinimumY() && y <= region.getMaximumY()) {
+                            block = chunk.getBlock(x, y, z);
+                            break;
+                        }
+                    }
+                    final char id = getBlockId(block.toImmutableState());
+                    this.counts[id]++;
+                    buffer.putChar((ry << 9) | ((z & 15) << 5) | ((x & 15) << 1), id);
+                    if (block.hasNbtData()) {
+                        this.tiles.add(createTile(block, rx, ry, rz));
+                    }
+                }
+            }
+        }
+        final long position =
+            ((long) (chunkZ - this.chunkMinZ) * this.chunksX + (chunkX - this.chunkMinX))
+                * buffer.capacity();
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            this.spool.write(buffer, position + buffer.position());
+        }
+    }
+
+    @NotNull private static CompoundTag createTile(@NotNull final BaseBlock block, final int rx,
+        final int ry, final int rz) {
+        final Map<String, Tag> values = new HashMap<>(block.getNbtData().getValue());
+        // Positions are kept in NBT, we don't want that.
+        values.remove("x");
+        values.remove("y");
+        values.remove("z");
+        values.put("Id", new StringTag(block.getNbtId()));
+        // Remove 'id' if it exists. We want 'Id'.
+        // Do this after we get "getNbtId" cos otherwise "getNbtId" doesn't work.
+        values.remove("id");
+        values.put("Pos", new IntArrayTag(new int[] {rx, ry, rz}));
+        return new CompoundTag(values);
+    }
+
+    /**
+     * Write the schematic as an uncompressed NBT compound named "Schematic"
+     *
+     * @param output Stream to write to
+     * @throws IOException If the schematic could not be written
+     */
+    public void write(@NotNull final OutputStream output) throws IOException {
+        final DataOutputStream out = new DataOutputStream(output);
+        // Shares the underlying stream, so the tags can be interleaved with the raw block data
+        final NBTOutputStream nbt = new NBTOutputStream(output);
+        out.writeByte(NBTConstants.TYPE_COMPOUND);
+        out.writeUTF("Schematic");
+        nbt.writeNamedTag("Version", new IntTag(2));
+        nbt.writeNamedTag("DataVersion", new IntTag(
+            WorldEdit.getInstance().getPlatformManager().queryCapability(Capability.WORLD_EDITING)
+                .getDataVersion()));
+        final Map<String, Tag> metadata = new HashMap<>();
+        metadata.put("WEOffsetX", new IntTag(0));
+        metadata.put("WEOffsetY", new IntTag(0));
+        metadata.put("WEOffsetZ", new IntTag(0));
+        nbt.writeNamedTag("Metadata", new CompoundTag(metadata));
+        nbt.writeNamedTag("Width", new ShortTag((short) this.width));
+        nbt.writeNamedTag("Height", new ShortTag((short) this.height));
+        nbt.writeNamedTag("Length", new ShortTag((short) this.length));
+        // The Sponge format Offset refers to the 'min' points location in the world. That's our 'Origin'
+        nbt.writeNamedTag("Offset", new IntArrayTag(new int[] {0, 0, 0}));
+
+        final Map<String, Tag> paletteTag = new HashMap<>();
+        long blockDataLength = 0;
+        for (int id = 0; id < this.palette.size(); id++) {
+            paletteTag.put(this.palette.get(id).getAsString(), new IntTag(id));
+            blockDataLength += this.counts[id] * getVarIntSize(id);
+        }
+        nbt.writeNamedTag("PaletteMax", new IntTag(this.palette.size()));
+        nbt.writeNamedTag("Palette", new CompoundTag(paletteTag));
+        out.writeByte(NBTConstants.TYPE_BYTE_ARRAY);
+        out.writeUTF("BlockData");
+        out.writeInt(Math.toIntExact(blockDataLength));
+        this.writeBlockData(out);
+        nbt.writeNamedTag("BlockEntities", new ListTag(CompoundTag.class, this.tiles));
+
+        final Map<String, Tag> biomePaletteTag = new HashMap<>();
+        for (int id = 0; id < this.biomePalette.size(); id++) {
+            biomePaletteTag.put(this.biomePalette.get(id).getId(), new IntTag(id));
+        }
+        nbt.writeNamedTag("BiomePaletteMax", new IntTag(this.biomePalette.size()));
+        nbt.writeNamedTag("BiomePalette", new CompoundTag(biomePaletteTag));
+        int biomeDataLength = 0;
+        for (final char biome : this.biomes) {
+            biomeDataLength += getVarIntSize(biome);
+        }
+        out.writeByte(NBTConstants.TYPE_BYTE_ARRAY);
+        out.writeUTF("BiomeData");
+        out.writeInt(biomeDataLength);
+        for (final char biome : this.biomes) {
+            writeVarInt(out, biome);
+        }
+        out.writeByte(NBTConstants.TYPE_END);
+        out.flush();
+    }
+
+    /**
+     * Read the spooled chunks back one layer of a chunk row at a time, and write
+     * the palette indices in schematic order
+     */
+    private void writeBlockData(@NotNull final DataOutputStream out) throws IOException {
+        final long chunkSize = this.chunkBuffer.capacity();
+        final ByteBuffer row = ByteBuffer.allocate(this.chunksX << 9);
+        final int maxX = this.minX + this.width - 1;
+        final int maxZ = this.minZ + this.length - 1;
+        for (int ry = 0; ry < this.height; ry++) {
+            for (int cz = 0; cz < this.chunksZ; cz++) {
+                for (int cx = 0; cx < this.chunksX; cx++) {
+                    final long position = (cz * this.chunksX + cx) * chunkSize + (ry << 9);
+                    row.limit((cx + 1) << 9).position(cx << 9);
+                    while (row.hasRemaining()) {
+                        if (this.spool.read(row, position + row.position() - (cx << 9)) < 0) {
+                            throw new EOFException("Missing chunk in the export spool");
+                        }
+                    }
+                }
+                final int z1 = Math.max(this.minZ, (this.chunkMinZ + cz) << 4);
+                final int z2 = Math.min(maxZ, ((this.chunkMinZ + cz) << 4) + 15);
+                for (int z = z1; z <= z2; z++) {
+                    for (int x = this.minX; x <= maxX; x++) {
+                        final int cx = (x >> 4) - this.chunkMinX;
+                        writeVarInt(out,
+                            row.getChar((cx << 9) | ((z & 15) << 5) | ((x & 15) << 1)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Override public void close() throws IOException {
+        try {
+            this.spool.close();
+        } finally {
+            Files.deleteIfExists(this.spoolFile);
+        }
+    }
+
+}
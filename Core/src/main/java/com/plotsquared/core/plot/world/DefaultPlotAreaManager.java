@@ -35,43 +35,66 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Plot area manager backed by a copy-on-write snapshot of the
+ * registered worlds. Lookups read the current snapshot without
+ * locking, and registrations publish a new snapshot.
+ */
 public class DefaultPlotAreaManager implements PlotAreaManager {
 
     final PlotArea[] noPlotAreas = new PlotArea[0];
-    private final Map<String, PlotWorld> plotWorlds = new HashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap());
 
     @Override public PlotArea[] getAllPlotAreas() {
-        final Set<PlotArea> area = new HashSet<>();
-        for (final PlotWorld world : plotWorlds.values()) {
-            area.addAll(world.getAreas());
-        }
-        return area.toArray(new PlotArea[0]);
+        return this.snapshot.areas.clone();
+    }
+
+    /**
+     * Check whether any plot area is registered, without copying the areas.
+     *
+     * @return true if there is at least one plot area
+     */
+    public boolean hasPlotAreas() {
+        return this.snapshot.areas.length != 0;
     }
 
     @Override @Nullable public PlotArea getApplicablePlotArea(final Location location) {
         if (location == null) {
             return null;
         }
-        final PlotWorld world = this.plotWorlds.get(location.getWorld());
+        final PlotWorld world = this.snapshot.worlds.get(location.getWorld());
         if (world == null) {
             return null;
         }
         return world.getArea(location);
     }
 
-    @Override public void addPlotArea(final PlotArea plotArea) {
-        PlotWorld world = this.plotWorlds.get(plotArea.getWorldName());
+    @Override @Nullable public PlotArea getApplicablePlotArea(@NotNull final String world,
+        final int x, final int y, final int z) {
+        final PlotWorld plotWorld = this.snapshot.worlds.get(world);
+        if (plotWorld == null) {
+            return null;
+        }
+        return plotWorld.getArea(x, y, z);
+    }
+
+    @Override public synchronized void addPlotArea(final PlotArea plotArea) {
+        final Map<String, PlotWorld> worlds = new LinkedHashMap<>(this.snapshot.worlds);
+        PlotWorld world = worlds.get(plotArea.getWorldName());
         if (world != null) {
             if (world instanceof StandardPlotWorld && world.getAreas().isEmpty()) {
-                this.plotWorlds.remove(plotArea.getWorldName());
+                worlds.remove(plotArea.getWorldName());
             } else {
                 world.addArea(plotArea);
+                this.snapshot = new Snapshot(worlds);
                 return;
             }
         }
@@ -81,32 +104,34 @@ public class DefaultPlotAreaManager implements PlotAreaManager {
             world = new ScatteredPlotWorld(plotArea.getWorldName());
             world.addArea(plotArea);
         }
-        this.plotWorlds.put(plotArea.getWorldName(), world);
+        worlds.put(plotArea.getWorldName(), world);
+        this.snapshot = new Snapshot(worlds);
     }
 
-    @Override public void removePlotArea(final PlotArea area) {
-        final PlotWorld world = this.plotWorlds.get(area.getWorldName());
+    @Override public synchronized void removePlotArea(final PlotArea area) {
+        final Map<String, PlotWorld> worlds = new LinkedHashMap<>(this.snapshot.worlds);
+        final PlotWorld world = worlds.get(area.getWorldName());
         if (world == null) {
             return;
         }
         if (world instanceof StandardPlotWorld) {
-            this.plotWorlds.remove(world.getWorld());
+            worlds.remove(world.getWorld());
         } else {
             world.removeArea(area);
             if (world.getAreas().isEmpty()) {
-                this.plotWorlds.remove(world.getWorld());
+                worlds.remove(world.getWorld());
             }
         }
+        this.snapshot = new Snapshot(worlds);
     }
 
     @Override public PlotArea getPlotArea(final String world, final String id) {
-        final PlotWorld plotWorld = this.plotWorlds.get(world);
-        if (plotWorld == null) {
+        final PlotArea[] areas = this.snapshot.worldAreas.get(world);
+        if (areas == null) {
             return null;
         }
-        final List<PlotArea> areas = new ArrayList<>(plotWorld.getAreas());
-        if (areas.size() == 1) {
-            return areas.get(0);
+        if (areas.length == 1) {
+            return areas[0];
         }
         if (id == null) {
             return null;
@@ -123,33 +148,71 @@ public class DefaultPlotAreaManager implements PlotAreaManager {
         return this.getApplicablePlotArea(location);
     }
 
+    @Override public PlotArea getPlotArea(@NotNull final String world, final int x, final int y,
+        final int z) {
+        return this.getApplicablePlotArea(world, x, y, z);
+    }
+
     @Override public PlotArea[] getPlotAreas(final String world, final CuboidRegion region) {
-        final PlotWorld plotWorld = this.plotWorlds.get(world);
+        final Snapshot snapshot = this.snapshot;
+        final PlotWorld plotWorld = snapshot.worlds.get(world);
         if (plotWorld == null) {
             return noPlotAreas;
         }
         if (region == null) {
-            return plotWorld.getAreas().toArray(new PlotArea[0]);
+            return snapshot.worldAreas.get(world).clone();
         }
         return plotWorld.getAreasInRegion(region).toArray(new PlotArea[0]);
     }
 
-    @Override public void addWorld(final String worldName) {
-        PlotWorld world = this.plotWorlds.get(worldName);
-        if (world != null) {
+    @Override public synchronized void addWorld(final String worldName) {
+        if (this.snapshot.worlds.containsKey(worldName)) {
             return;
         }
+        final Map<String, PlotWorld> worlds = new LinkedHashMap<>(this.snapshot.worlds);
         // Create a new empty world. When a new area is added
         // the world will be re-recreated with the correct type
-        world = new StandardPlotWorld(worldName, null);
-        this.plotWorlds.put(worldName, world);
+        worlds.put(worldName, new StandardPlotWorld(worldName, null));
+        this.snapshot = new Snapshot(worlds);
     }
 
-    @Override public void removeWorld(final String worldName) {
-        this.plotWorlds.remove(worldName);
+    @Override public synchronized void removeWorld(final String worldName) {
+        if (!this.snapshot.worlds.containsKey(worldName)) {
+            return;
+        }
+        final Map<String, PlotWorld> worlds = new LinkedHashMap<>(this.snapshot.worlds);
+        worlds.remove(worldName);
+        this.snapshot = new Snapshot(worlds);
     }
 
     @Override public String[] getAllWorlds() {
-        return this.plotWorlds.keySet().toArray(new String[0]);
+        return this.snapshot.worldNames.clone();
+    }
+
+    /**
+     * Immutable view of the registered worlds, with the area
+     * arrays precomputed. The arrays are shared by all readers,
+     * so they are only handed out as copies.
+     */
+    private static final class Snapshot {
+
+        private final Map<String, PlotWorld> worlds;
+        private final Map<String, PlotArea[]> worldAreas;
+        private final PlotArea[] areas;
+        private final String[] worldNames;
+
+        private Snapshot(@NotNull final Map<String, PlotWorld> worlds) {
+            final Map<String, PlotArea[]> worldAreas = new HashMap<>();
+            final Set<PlotArea> areas = new LinkedHashSet<>();
+            for (final Map.Entry<String, PlotWorld> entry : worlds.entrySet()) {
+                final List<PlotArea> world = new ArrayList<>(entry.getValue().getAreas());
+                worldAreas.put(entry.getKey(), world.toArray(new PlotArea[0]));
+                areas.addAll(world);
+            }
+            this.worlds = Collections.unmodifiableMap(worlds);
+            this.worldAreas = worldAreas;
+            this.areas = areas.toArray(new PlotArea[0]);
+            this.worldNames = worlds.keySet().toArray(new String[0]);
+        }
     }
 }
@@ -47,6 +47,21 @@ public interface PlotAreaManager {
      */
     @Nullable PlotArea getApplicablePlotArea(Location location);
 
+    /**
+     * Get the plot area for a block position. This behaves like
+     * {@link #getApplicablePlotArea(Location)}, but implementations
+     * may resolve the area without creating a location.
+     *
+     * @param world World name
+     * @param x     Block x coordinate
+     * @param y     Block y coordinate
+     * @param z     Block z coordinate
+     * @return An applicable area, or null
+     */
+    @Nullable default PlotArea getApplicablePlotArea(@NotNull String world, int x, int y, int z) {
+        return getApplicablePlotArea(new Location(world, x, y, z));
+    }
+
     /**
      * Get the plot area, if there is any, for the given
      * location. This may return null, if given location
@@ -57,6 +72,21 @@ public interface PlotAreaManager {
      */
     PlotArea getPlotArea(@NotNull Location location);
 
+    /**
+     * Get the plot area, if there is any, for the given
+     * block position. This behaves like {@link #getPlotArea(Location)},
+     * but implementations may resolve the area without creating a location.
+     *
+     * @param world World name
+     * @param x     Block x coordinate
+     * @param y     Block y coordinate
+     * @param z     Block z coordinate
+     * @return The area, if found
+     */
+    default PlotArea getPlotArea(@NotNull String world, int x, int y, int z) {
+        return getPlotArea(new Location(world, x, y, z));
+    }
+
     PlotArea getPlotArea(String world, String id);
 
     PlotArea[] getPlotAreas(String world, CuboidRegion region);
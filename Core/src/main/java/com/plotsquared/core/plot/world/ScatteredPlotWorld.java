@@ -38,22 +38,26 @@ import org.khelekore.prtree.MBR;
 import org.khelekore.prtree.PRTree;
 import org.khelekore.prtree.SimpleMBR;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
  * Plot world that contains several plot areas (clusters)
+ * <p>
+ * The areas are kept in an immutable {@link AreaIndex} that is replaced
+ * whenever an area is added or removed, so lookups never need to lock.
  */
 public class ScatteredPlotWorld extends PlotWorld {
 
     private static final PlotAreaConverter MBR_CONVERTER = new PlotAreaConverter();
     private static final int BRANCH_FACTOR = 30;
 
-    private final List<PlotArea> areas = new LinkedList<>();
-    private final Object treeLock = new Object();
-    private PRTree<PlotArea> areaTree;
+    private final ThreadLocal<LastHit> lastHit = ThreadLocal.withInitial(LastHit::new);
+    private volatile AreaIndex index = new AreaIndex(Collections.emptyList());
 
     /**
      * Create a new plot world with a given world name
@@ -65,62 +69,151 @@ public class ScatteredPlotWorld extends PlotWorld {
     }
 
     @Override @Nullable public PlotArea getArea(@NotNull final Location location) {
-        if (this.areas.isEmpty()) {
+        return this.getArea(location.getX(), location.getY(), location.getZ());
+    }
+
+    @Override @Nullable public PlotArea getArea(final int x, final int y, final int z) {
+        final AreaIndex index = this.index;
+        if (index.areas.length == 0) {
             return null;
         }
-        synchronized (this.treeLock) {
-            for (final PlotArea area : this.areaTree.find(location.toMBR())) {
-                if (area.contains(location)) {
-                    return area;
-                }
-            }
+        // Consecutive lookups from the same thread are usually close to each other
+        final LastHit hit = this.lastHit.get();
+        if (hit.index == index && index.contains(hit.slot, x, y, z)) {
+            return index.areas[hit.slot];
+        }
+        final int slot = index.find(x, y, z);
+        if (slot < 0) {
+            return null;
         }
-        return null;
+        hit.index = index;
+        hit.slot = slot;
+        return index.areas[slot];
     }
 
     @Override @NotNull public Collection<PlotArea> getAreas() {
-        return Collections.unmodifiableCollection(this.areas);
+        return this.index.all;
     }
 
-    @Override public void addArea(@NotNull final PlotArea area) {
-        this.areas.add(area);
-        this.buildTree();
+    @Override public synchronized void addArea(@NotNull final PlotArea area) {
+        final List<PlotArea> areas = new ArrayList<>(this.index.all);
+        areas.add(area);
+        this.index = new AreaIndex(areas);
     }
 
-    @Override public void removeArea(@NotNull final PlotArea area) {
-        this.areas.remove(area);
-        this.buildTree();
+    @Override public synchronized void removeArea(@NotNull final PlotArea area) {
+        final List<PlotArea> areas = new ArrayList<>(this.index.all);
+        if (areas.remove(area)) {
+            this.index = new AreaIndex(areas);
+        }
     }
 
     @Override @NotNull public Collection<PlotArea> getAreasInRegion(@NotNull final CuboidRegion region) {
-        if (this.areas.isEmpty()) {
+        final AreaIndex index = this.index;
+        if (index.areas.length == 0) {
             return Collections.emptyList();
         }
-        synchronized (this.treeLock) {
-            final List<PlotArea> areas = new LinkedList<>();
+        final List<PlotArea> areas = new ArrayList<>();
 
-            final BlockVector3 min = region.getMinimumPoint();
-            final BlockVector3 max = region.getMaximumPoint();
-            final MBR mbr = new SimpleMBR(min.getX(), max.getX(), min.getY(), max.getY(), min.getZ(), max.getZ());
+        final BlockVector3 min = region.getMinimumPoint();
+        final BlockVector3 max = region.getMaximumPoint();
+        final MBR mbr = new SimpleMBR(min.getX(), max.getX(), min.getY(), max.getY(), min.getZ(), max.getZ());
 
-            for (final PlotArea area : this.areaTree.find(mbr)) {
-                if (RegionUtil.intersects(area.getRegion(), region)) {
-                    areas.add(area);
-                }
+        for (final PlotArea area : index.tree.find(mbr)) {
+            if (RegionUtil.intersects(area.getRegion(), region)) {
+                areas.add(area);
             }
-
-            return areas;
         }
+
+        return areas;
     }
 
     /**
-     * Rebuild the area tree
+     * Immutable snapshot of the areas in the world. Point lookups use the
+     * area bounds sorted by their minimum x coordinate, region queries use
+     * the R-tree.
      */
-    private void buildTree() {
-        synchronized (this.treeLock) {
-            this.areaTree = new PRTree<>(MBR_CONVERTER, BRANCH_FACTOR);
-            this.areaTree.load(this.areas);
+    private static final class AreaIndex {
+
+        private final Collection<PlotArea> all;
+        private final PlotArea[] areas;
+        // minX, minY, minZ, maxX, maxY, maxZ for every area, in the order of areas
+        private final int[] bounds;
+        private final long maxWidth;
+        private final PRTree<PlotArea> tree;
+
+        private AreaIndex(@NotNull final List<PlotArea> areas) {
+            this.all = Collections.unmodifiableList(areas);
+            this.areas = areas.toArray(new PlotArea[0]);
+            this.bounds = new int[this.areas.length * 6];
+            final CuboidRegion[] regions = new CuboidRegion[this.areas.length];
+            for (int i = 0; i < this.areas.length; i++) {
+                regions[i] = this.areas[i].getRegion();
+            }
+            final Integer[] order = new Integer[this.areas.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingInt(i -> regions[i].getMinimumPoint().getX()));
+            final PlotArea[] sorted = new PlotArea[this.areas.length];
+            long maxWidth = 0;
+            for (int i = 0; i < order.length; i++) {
+                final CuboidRegion region = regions[order[i]];
+                final BlockVector3 min = region.getMinimumPoint();
+                final BlockVector3 max = region.getMaximumPoint();
+                sorted[i] = this.areas[order[i]];
+                this.bounds[i * 6] = min.getX();
+                this.bounds[i * 6 + 1] = min.getY();
+                this.bounds[i * 6 + 2] = min.getZ();
+                this.bounds[i * 6 + 3] = max.getX();
+                this.bounds[i * 6 + 4] = max.getY();
+                this.bounds[i * 6 + 5] = max.getZ();
+                maxWidth = Math.max(maxWidth, (long) max.getX() - min.getX());
+            }
+            System.arraycopy(sorted, 0, this.areas, 0, sorted.length);
+            this.maxWidth = maxWidth;
+            this.tree = new PRTree<>(MBR_CONVERTER, BRANCH_FACTOR);
+            this.tree.load(areas);
+        }
+
+        private boolean contains(final int slot, final int x, final int y, final int z) {
+            final int offset = slot * 6;
+            return x >= this.bounds[offset] && y >= this.bounds[offset + 1]
+                && z >= this.bounds[offset + 2] && x <= this.bounds[offset + 3]
+                && y <= this.bounds[offset + 4] && z <= this.bounds[offset + 5];
         }
+
+        /**
+         * Find the slot of the area containing a position
+         *
+         * @return Slot, or -1 if no area contains the position
+         */
+        private int find(final int x, final int y, final int z) {
+            // Last area whose minimum x is not greater than x
+            int low = 0;
+            int high = this.areas.length - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                if (this.bounds[mid * 6] <= x) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            // No area that starts further left than the widest area can reach x
+            for (int slot = high; slot >= 0 && x - (long) this.bounds[slot * 6] <= this.maxWidth;
+                 slot--) {
+                if (this.contains(slot, x, y, z)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class LastHit {
+        private AreaIndex index;
+        private int slot;
     }
 
 }
@@ -176,6 +176,18 @@ public class SinglePlotArea extends GridPlotWorld {
         return pid == null ? null : getPlotAbs(pid);
     }
 
+    @Nullable @Override
+    public Plot getPlot(@NotNull final String world, final int x, final int y, final int z) {
+        final PlotId pid = PlotId.fromStringOrNull(world);
+        return pid == null ? null : getPlot(pid);
+    }
+
+    @Nullable @Override
+    public Plot getPlotAbs(@NotNull final String world, final int x, final int y, final int z) {
+        final PlotId pid = PlotId.fromStringOrNull(world);
+        return pid == null ? null : getPlotAbs(pid);
+    }
+
     public boolean addPlot(@NotNull Plot plot) {
         plot = adapt(plot);
         return super.addPlot(plot);
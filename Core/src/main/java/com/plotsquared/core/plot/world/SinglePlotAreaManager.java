@@ -36,7 +36,7 @@ import org.jetbrains.annotations.NotNull;
 public class SinglePlotAreaManager extends DefaultPlotAreaManager {
     private final SinglePlotArea[] array;
     private SinglePlotArea area;
-    private PlotArea[] all;
+    private volatile PlotArea[] all;
 
     public SinglePlotAreaManager() {
         this.area = new SinglePlotArea();
@@ -57,12 +57,13 @@ public class SinglePlotAreaManager extends DefaultPlotAreaManager {
     }
 
     public boolean isWorld(String id) {
-        char[] chars = id.toCharArray();
-        if (chars.length == 1 && chars[0] == '*') {
+        int length = id.length();
+        if (length == 1 && id.charAt(0) == '*') {
             return true;
         }
         int mode = 0;
-        for (char c : chars) {
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
             switch (mode) {
                 case 0:
                     mode = 1;
@@ -96,11 +97,18 @@ public class SinglePlotAreaManager extends DefaultPlotAreaManager {
 
     @Override public PlotArea getApplicablePlotArea(Location location) {
         String world = location.getWorld();
-        return isWorld(world) || world.equals("*") || super.getAllPlotAreas().length == 0 ?
+        return isWorld(world) || world.equals("*") || !super.hasPlotAreas() ?
             area :
             super.getApplicablePlotArea(location);
     }
 
+    @Override
+    public PlotArea getApplicablePlotArea(@NotNull String world, int x, int y, int z) {
+        return isWorld(world) || world.equals("*") || !super.hasPlotAreas() ?
+            area :
+            super.getApplicablePlotArea(world, x, y, z);
+    }
+
     @Override public PlotArea getPlotArea(String world, String id) {
         PlotArea found = super.getPlotArea(world, id);
         if (found != null) {
@@ -117,6 +125,14 @@ public class SinglePlotAreaManager extends DefaultPlotAreaManager {
         return isWorld(location.getWorld()) || location.getWorld().equals("*") ? area : null;
     }
 
+    @Override public PlotArea getPlotArea(@NotNull String world, int x, int y, int z) {
+        PlotArea found = super.getPlotArea(world, x, y, z);
+        if (found != null) {
+            return found;
+        }
+        return isWorld(world) || world.equals("*") ? area : null;
+    }
+
     @Override public PlotArea[] getPlotAreas(String world, CuboidRegion region) {
         PlotArea[] found = super.getPlotAreas(world, region);
         if (found != null && found.length != 0) {
@@ -148,6 +164,7 @@ public class SinglePlotAreaManager extends DefaultPlotAreaManager {
             throw new UnsupportedOperationException("Cannot remove base area!");
         }
         super.removePlotArea(area);
+        all = ArrayUtil.concatAll(super.getAllPlotAreas(), array);
     }
 
     @Override public void addWorld(String worldName) {
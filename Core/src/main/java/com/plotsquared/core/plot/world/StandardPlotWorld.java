@@ -51,6 +51,10 @@ public class StandardPlotWorld extends PlotWorld {
         return this.area;
     }
 
+    @Override @Nullable public PlotArea getArea(final int x, final int y, final int z) {
+        return this.area;
+    }
+
     @Override @NotNull public Collection<PlotArea> getAreas() {
         if (this.area == null) {
             return Collections.emptyList();
@@ -35,7 +35,12 @@ import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockState;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutionException;
@@ -72,15 +77,10 @@ public abstract class BasicLocalBlockQueue extends LocalBlockQueue {
         lastX = Integer.MIN_VALUE;
         lastZ = Integer.MIN_VALUE;
         try {
-            if (this.blockChunks.size() == 0) {
-                return false;
-            }
-            synchronized (blockChunks) {
-                LocalChunk chunk = chunks.poll();
-                if (chunk != null) {
-                    blockChunks.remove(chunk.longHash());
-                    return this.execute(chunk);
-                }
+            LocalChunk chunk = this.pollChunk();
+            if (chunk != null) {
+                this.prepare(chunk);
+                return this.execute(chunk);
             }
         } catch (Throwable e) {
             e.printStackTrace();
@@ -88,6 +88,37 @@ public abstract class BasicLocalBlockQueue extends LocalBlockQueue {
         return false;
     }
 
+    /**
+     * Remove the next chunk from the queue, so that it can be
+     * prepared and executed
+     *
+     * @return The chunk, or null if the queue is empty
+     */
+    @Nullable public final LocalChunk pollChunk() {
+        if (this.blockChunks.size() == 0) {
+            return null;
+        }
+        synchronized (blockChunks) {
+            LocalChunk chunk = chunks.poll();
+            if (chunk != null) {
+                blockChunks.remove(chunk.longHash());
+            }
+            return chunk;
+        }
+    }
+
+    /**
+     * Prepare a chunk before it is executed. This is called off the main
+     * thread by the {@link GlobalBlockQueue} workers and must not access
+     * the world. Implementations can use it to convert the queued blocks
+     * into the platform representation.
+     *
+     * @param lc Chunk taken from {@link #pollChunk()}
+     */
+    public void prepare(@NotNull LocalChunk lc) {
+        // Do nothing
+    }
+
     public final boolean execute(@NotNull LocalChunk lc)
         throws ExecutionException, InterruptedException {
         this.setComponents(lc);
@@ -225,6 +256,31 @@ public abstract class BasicLocalBlockQueue extends LocalBlockQueue {
 
         public abstract void setBlock(final int x, final int y, final int z, final BaseBlock block);
 
+        /**
+         * Check whether any block has been set in a 16x16x16 section
+         *
+         * @param layer Section index (y >> 4)
+         * @return true if the section contains blocks
+         */
+        public boolean hasSection(final int layer) {
+            return this.baseblocks != null && this.baseblocks[layer] != null;
+        }
+
+        /**
+         * Get the block that has been set at a position in a section. The
+         * index uses the same layout as {@link MainUtil#x_loc}.
+         *
+         * @param layer Section index (y >> 4)
+         * @param index Index in the section
+         * @return The block, or null if none has been set
+         */
+        @Nullable public BaseBlock getBlock(final int layer, final int index) {
+            if (!this.hasSection(layer)) {
+                return null;
+            }
+            return this.baseblocks[layer][index];
+        }
+
         public void setBiome(int x, int z, BiomeType biomeType) {
             if (this.biomes == null) {
                 this.biomes = new BiomeType[16][];
@@ -236,6 +292,25 @@ public abstract class BasicLocalBlockQueue extends LocalBlockQueue {
             index[z] = biomeType;
         }
 
+        /**
+         * Count the blocks that have been set in this chunk
+         *
+         * @return Number of blocks
+         */
+        public int countBlocks() {
+            int count = 0;
+            for (int layer = 0; layer < 16; layer++) {
+                if (this.hasSection(layer)) {
+                    for (int j = 0; j < 4096; j++) {
+                        if (this.getBlock(layer, j) != null) {
+                            count++;
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
         public long longHash() {
             return MathMan.pairInt(x, z);
         }
@@ -267,4 +342,93 @@ public abstract class BasicLocalBlockQueue extends LocalBlockQueue {
             array[j] = baseBlock;
         }
     }
+
+
+    /**
+     * Local chunk that stores a palette index per position instead of a
+     * block reference. The palette is keyed by identity, so the exact
+     * instance passed to {@link #setBlock(int, int, int, BaseBlock)} is
+     * returned by {@link #getBlock(int, int)}. Blocks with NBT data, and
+     * any new block once the palette is full, are kept in a sparse map.
+     */
+    public class PaletteLocalChunk extends LocalChunk {
+
+        private static final char UNSET = 0;
+        private static final char SPARSE = 1;
+
+        private final char[][] sections = new char[16][];
+        private final Map<BaseBlock, Character> paletteIds = new IdentityHashMap<>();
+        private BaseBlock[] palette = new BaseBlock[16];
+        private int paletteSize = 2;
+        private Map<Integer, BaseBlock> sparse;
+
+        public PaletteLocalChunk(BasicLocalBlockQueue parent, int x, int z) {
+            super(parent, x, z);
+        }
+
+        @Override public void setBlock(int x, int y, int z, BaseBlock block) {
+            final int layer = y >> 4;
+            final int index = (y & 15) << 8 | z << 4 | x;
+            char[] section = this.sections[layer];
+            if (section == null) {
+                if (block == null) {
+                    return;
+                }
+                section = this.sections[layer] = new char[4096];
+            }
+            if (section[index] == SPARSE) {
+                this.sparse.remove(layer << 12 | index);
+            }
+            if (block == null) {
+                section[index] = UNSET;
+                return;
+            }
+            final char id = block.hasNbtData() ? SPARSE : this.getPaletteId(block);
+            if (id == SPARSE) {
+                if (this.sparse == null) {
+                    this.sparse = new HashMap<>();
+                }
+                this.sparse.put(layer << 12 | index, block);
+            }
+            section[index] = id;
+        }
+
+        @Override public boolean hasSection(final int layer) {
+            return this.sections[layer] != null;
+        }
+
+        @Override @Nullable public BaseBlock getBlock(final int layer, final int index) {
+            final char[] section = this.sections[layer];
+            if (section == null) {
+                return null;
+            }
+            final char id = section[index];
+            switch (id) {
+                case UNSET:
+                    return null;
+                case SPARSE:
+                    return this.sparse.get(layer << 12 | index);
+                default:
+                    return this.palette[id];
+            }
+        }
+
+        private char getPaletteId(@NotNull final BaseBlock block) {
+            final Character id = this.paletteIds.get(block);
+            if (id != null) {
+                return id;
+            }
+            if (this.paletteSize > Character.MAX_VALUE) {
+                return SPARSE;
+            }
+            if (this.paletteSize == this.palette.length) {
+                this.palette = Arrays.copyOf(this.palette,
+                    Math.min(this.palette.length << 1, Character.MAX_VALUE + 1));
+            }
+            final char newId = (char) this.paletteSize++;
+            this.palette[newId] = block;
+            this.paletteIds.put(block, newId);
+            return newId;
+        }
+    }
 }
@@ -26,23 +26,52 @@
 package com.plotsquared.core.queue;
 
 import com.plotsquared.core.PlotSquared;
-import com.plotsquared.core.util.task.RunnableVal2;
+import com.plotsquared.core.queue.BasicLocalBlockQueue.LocalChunk;
 import com.plotsquared.core.util.task.TaskManager;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Places queued blocks in the world. Chunks of {@link BasicLocalBlockQueue}s are
+ * prepared by a pool of worker threads and then placed on the main thread, in the
+ * order they were taken from their queue, within the tick time budget.
+ */
 public class GlobalBlockQueue {
 
+    /**
+     * Number of chunks per worker that may be prepared ahead of placement
+     */
+    private static final int CHUNKS_PER_WORKER = 8;
+
     public static GlobalBlockQueue IMP;
     private final int PARALLEL_THREADS;
     private final ConcurrentLinkedDeque<LocalBlockQueue> activeQueues;
     private final ConcurrentLinkedDeque<LocalBlockQueue> inactiveQueues;
     private final ConcurrentLinkedDeque<Runnable> runnables;
+    /**
+     * Chunks that are being prepared or wait to be placed, in placement order
+     */
+    private final ConcurrentLinkedQueue<PreparedChunk> pipeline;
+    private final AtomicInteger pendingChunks;
+    private final Map<LocalBlockQueue, Counters> counters;
+    private final ExecutorService workers;
     private final AtomicBoolean running;
     private final int targetTime;
     private QueueProvider provider;
@@ -54,32 +83,30 @@ public class GlobalBlockQueue {
     private long secondLast;
     private long lastSuccess;
     private double lastPeriod = 0;
-    private final RunnableVal2<Long, LocalBlockQueue> SET_TASK =
-        new RunnableVal2<Long, LocalBlockQueue>() {
-            @Override public void run(Long free, LocalBlockQueue queue) {
-                do {
-                    boolean more = queue.next();
-                    if (!more) {
-                        lastSuccess = last;
-                        if (inactiveQueues.size() == 0 && activeQueues.size() == 0) {
-                            runEmptyTasks();
-                        }
-                        return;
-                    }
-                } while ((lastPeriod =
-                    ((GlobalBlockQueue.this.secondLast = System.currentTimeMillis())
-                        - GlobalBlockQueue.this.last)) < free);
-            }
-        };
+    private final Object metricsLock = new Object();
+    private long metricsWindowStart = System.currentTimeMillis();
+    private long metricsWindowBlocks;
+    private volatile double blocksPerSecond;
+    private volatile double chunksPerTick;
 
     public GlobalBlockQueue(QueueProvider provider, int threads, int targetTime) {
         this.provider = provider;
         this.activeQueues = new ConcurrentLinkedDeque<>();
         this.inactiveQueues = new ConcurrentLinkedDeque<>();
         this.runnables = new ConcurrentLinkedDeque<>();
+        this.pipeline = new ConcurrentLinkedQueue<>();
+        this.pendingChunks = new AtomicInteger();
+        this.counters = Collections.synchronizedMap(new WeakHashMap<>());
         this.running = new AtomicBoolean();
         this.targetTime = targetTime;
-        this.PARALLEL_THREADS = threads;
+        this.PARALLEL_THREADS = Math.max(1, threads);
+        final AtomicInteger workerId = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.PARALLEL_THREADS, runnable -> {
+            final Thread thread =
+                new Thread(runnable, "PlotSquared Queue Worker #" + workerId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     public QueueProvider getProvider() {
@@ -113,7 +140,8 @@ public class GlobalBlockQueue {
         running.set(true);
         TaskManager.runTaskRepeat(new Runnable() {
             @Override public void run() {
-                if (inactiveQueues.isEmpty() && activeQueues.isEmpty()) {
+                if (inactiveQueues.isEmpty() && activeQueues.isEmpty()
+                    && pendingChunks.get() == 0) {
                     lastSuccess = System.currentTimeMillis();
                     lastPeriod = 0;
                     GlobalBlockQueue.this.runEmptyTasks();
@@ -124,50 +152,172 @@ public class GlobalBlockQueue {
                     lastPeriod -= targetTime;
                     return;
                 }
-                SET_TASK.value1 = 50 + Math.min(
+                final long free = 50 + Math.min(
                     (50 + GlobalBlockQueue.this.last) - (GlobalBlockQueue.this.last =
                         System.currentTimeMillis()),
                     GlobalBlockQueue.this.secondLast - System.currentTimeMillis());
-                SET_TASK.value2 = GlobalBlockQueue.this.getNextQueue();
-                if (SET_TASK.value2 == null) {
-                    return;
-                }
                 if (!PlotSquared.get().isMainThread(Thread.currentThread())) {
                     throw new IllegalStateException(
                         "This shouldn't be possible for placement to occur off the main thread");
                 }
-                // Disable the async catcher as it can't discern async vs parallel
-                SET_TASK.value2.startSet(true);
-                try {
-                    if (PARALLEL_THREADS <= 1) {
-                        SET_TASK.run();
-                    } else {
-                        ArrayList<Thread> threads = new ArrayList<>();
-                        for (int i = 0; i < PARALLEL_THREADS; i++) {
-                            threads.add(new Thread(SET_TASK));
-                        }
-                        for (Thread thread : threads) {
-                            thread.start();
-                        }
-                        for (Thread thread : threads) {
-                            try {
-                                thread.join();
-                            } catch (InterruptedException e) {
-                                e.printStackTrace();
-                            }
-                        }
-                    }
-                } catch (Throwable e) {
-                    e.printStackTrace();
-                } finally {
-                    // Enable it again (note that we are still on the main thread)
-                    SET_TASK.value2.endSet(true);
+                final LocalBlockQueue queue = GlobalBlockQueue.this.getNextQueue();
+                if (queue instanceof BasicLocalBlockQueue) {
+                    GlobalBlockQueue.this.schedule((BasicLocalBlockQueue) queue);
+                } else if (queue != null) {
+                    GlobalBlockQueue.this.place(free, queue);
                 }
+                GlobalBlockQueue.this.placePrepared(free);
             }
         }, 1);
         return true;
     }
 
+    /**
+     * Place blocks of a queue that does not support preparation, until
+     * the queue is empty or the time budget is used up
+     */
+    private void place(final long free, @NotNull final LocalBlockQueue queue) {
+        // Disable the async catcher as it can't discern async vs parallel
+        queue.startSet(true);
+        try {
+            do {
+                boolean more = queue.next();
+                if (!more) {
+                    lastSuccess = last;
+                    if (inactiveQueues.size() == 0 && activeQueues.size() == 0
+                        && pendingChunks.get() == 0) {
+                        runEmptyTasks();
+                    }
+                    return;
+                }
+            } while ((lastPeriod =
+                ((GlobalBlockQueue.this.secondLast = System.currentTimeMillis())
+                    - GlobalBlockQueue.this.last)) < free);
+        } catch (Throwable e) {
+            e.printStackTrace();
+        } finally {
+            // Enable it again (note that we are still on the main thread)
+            queue.endSet(true);
+        }
+    }
+
+    /**
+     * Hand chunks of a queue to the workers, up to the amount of chunks
+     * that may be prepared ahead of placement
+     */
+    private void schedule(@NotNull final BasicLocalBlockQueue queue) {
+        final int limit = this.PARALLEL_THREADS * CHUNKS_PER_WORKER;
+        while (this.pendingChunks.get() < limit) {
+            final LocalChunk chunk = queue.pollChunk();
+            if (chunk == null) {
+                return;
+            }
+            final PreparedChunk preparedChunk = new PreparedChunk(queue, chunk);
+            this.pendingChunks.incrementAndGet();
+            this.pipeline.add(preparedChunk);
+            this.workers.execute(preparedChunk);
+        }
+    }
+
+    /**
+     * Place the prepared chunks on the main thread, in the order they were
+     * scheduled, until the time budget is used up
+     */
+    private void placePrepared(final long free) {
+        int chunks = 0;
+        long blocks = 0;
+        PreparedChunk next;
+        while ((next = this.pipeline.peek()) != null && next.ready) {
+            this.pipeline.poll();
+            this.pendingChunks.decrementAndGet();
+            // Disable the async catcher as it can't discern async vs parallel
+            next.queue.startSet(true);
+            try {
+                next.queue.execute(next.chunk);
+            } catch (Throwable e) {
+                e.printStackTrace();
+            } finally {
+                // Enable it again (note that we are still on the main thread)
+                next.queue.endSet(true);
+            }
+            this.count(next.queue, next.blocks);
+            chunks++;
+            blocks += next.blocks;
+            if ((lastPeriod = ((this.secondLast = System.currentTimeMillis()) - this.last))
+                >= free) {
+                break;
+            }
+        }
+        if (chunks > 0) {
+            this.chunksPerTick = this.chunksPerTick * 0.9 + chunks * 0.1;
+            this.countBlocks(blocks);
+            if (this.pendingChunks.get() == 0) {
+                lastSuccess = last;
+                if (inactiveQueues.size() == 0 && activeQueues.size() == 0) {
+                    runEmptyTasks();
+                }
+            }
+        }
+    }
+
+    private void count(@NotNull final LocalBlockQueue queue, final int blocks) {
+        final Counters counters = this.counters.computeIfAbsent(queue, key -> new Counters());
+        counters.chunks.incrementAndGet();
+        counters.blocks.addAndGet(blocks);
+    }
+
+    private void countBlocks(final long blocks) {
+        synchronized (this.metricsLock) {
+            this.metricsWindowBlocks += blocks;
+            final long now = System.currentTimeMillis();
+            final long elapsed = now - this.metricsWindowStart;
+            if (elapsed >= 1000) {
+                this.blocksPerSecond = this.metricsWindowBlocks * 1000D / elapsed;
+                this.metricsWindowBlocks = 0;
+                this.metricsWindowStart = now;
+            }
+        }
+    }
+
+    /**
+     * Get the number of blocks placed per second, measured over the last
+     * second in which blocks were placed
+     *
+     * @return Blocks per second
+     */
+    public double getBlocksPerSecond() {
+        return this.blocksPerSecond;
+    }
+
+    /**
+     * Get the moving average of prepared chunks placed per tick, over
+     * the ticks in which chunks were placed
+     *
+     * @return Chunks per tick
+     */
+    public double getChunksPerTick() {
+        return this.chunksPerTick;
+    }
+
+    /**
+     * Get the progress of a queue
+     *
+     * @param queue Queue
+     * @return Progress snapshot
+     */
+    @NotNull public QueueProgress getProgress(@NotNull final LocalBlockQueue queue) {
+        int pending = 0;
+        for (final PreparedChunk preparedChunk : this.pipeline) {
+            if (preparedChunk.queue == queue) {
+                pending++;
+            }
+        }
+        final Counters counters = this.counters.get(queue);
+        return new QueueProgress(queue.size(), pending,
+            counters == null ? 0 : counters.chunks.get(),
+            counters == null ? 0 : counters.blocks.get());
+    }
+
     public QueueStage getStage(LocalBlockQueue queue) {
         if (activeQueues.contains(queue)) {
             return QueueStage.ACTIVE;
@@ -227,46 +377,58 @@ public class GlobalBlockQueue {
     }
 
     public void flush(LocalBlockQueue queue) {
-        SET_TASK.value1 = Long.MAX_VALUE;
-        SET_TASK.value2 = queue;
-        if (SET_TASK.value2 == null) {
+        if (queue == null) {
             return;
         }
         if (PlotSquared.get().isMainThread(Thread.currentThread())) {
             throw new IllegalStateException("Must be flushed on the main thread!");
         }
         // Disable the async catcher as it can't discern async vs parallel
-        SET_TASK.value2.startSet(true);
+        queue.startSet(true);
         try {
-            if (PARALLEL_THREADS <= 1) {
-                SET_TASK.run();
+            if (queue instanceof BasicLocalBlockQueue) {
+                this.flushPrepared((BasicLocalBlockQueue) queue);
             } else {
-                ArrayList<Thread> threads = new ArrayList<>();
-                for (int i = 0; i < PARALLEL_THREADS; i++) {
-                    Thread thread = new Thread(SET_TASK);
-                    thread.setName("PlotSquared Flush Task");
-                    threads.add(thread);
-                }
-                for (Thread thread : threads) {
-                    thread.start();
-                }
-                for (Thread thread : threads) {
-                    try {
-                        thread.join();
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
+                while (queue.next()) {
                 }
             }
         } catch (Throwable e) {
             e.printStackTrace();
         } finally {
             // Enable it again (note that we are still on the main thread)
-            SET_TASK.value2.endSet(true);
+            queue.endSet(true);
             dequeue(queue);
         }
     }
 
+    /**
+     * Prepare the chunks of a queue on the workers and place them on the
+     * calling thread, in order
+     */
+    private void flushPrepared(@NotNull final BasicLocalBlockQueue queue)
+        throws ExecutionException, InterruptedException {
+        final int limit = this.PARALLEL_THREADS * CHUNKS_PER_WORKER;
+        final ArrayDeque<Future<PreparedChunk>> futures = new ArrayDeque<>();
+        while (true) {
+            while (futures.size() < limit) {
+                final LocalChunk chunk = queue.pollChunk();
+                if (chunk == null) {
+                    break;
+                }
+                final PreparedChunk preparedChunk = new PreparedChunk(queue, chunk);
+                futures.add(this.workers.submit(preparedChunk, preparedChunk));
+            }
+            final Future<PreparedChunk> future = futures.poll();
+            if (future == null) {
+                return;
+            }
+            final PreparedChunk preparedChunk = future.get();
+            queue.execute(preparedChunk.chunk);
+            this.count(queue, preparedChunk.blocks);
+            this.countBlocks(preparedChunk.blocks);
+        }
+    }
+
     public LocalBlockQueue getNextQueue() {
         long now = System.currentTimeMillis();
         while (!activeQueues.isEmpty()) {
@@ -314,7 +476,8 @@ public class GlobalBlockQueue {
     }
 
     public boolean isDone() {
-        return activeQueues.size() == 0 && inactiveQueues.size() == 0;
+        return activeQueues.size() == 0 && inactiveQueues.size() == 0
+            && pendingChunks.get() == 0;
     }
 
     public boolean addEmptyTask(final Runnable whenDone) {
@@ -346,4 +509,39 @@ public class GlobalBlockQueue {
     public enum QueueStage {
         INACTIVE, ACTIVE, NONE
     }
+
+
+    /**
+     * Chunk that is prepared by a worker before it is placed
+     */
+    private static final class PreparedChunk implements Runnable {
+
+        private final BasicLocalBlockQueue queue;
+        private final LocalChunk chunk;
+        private int blocks;
+        private volatile boolean ready;
+
+        private PreparedChunk(@NotNull final BasicLocalBlockQueue queue,
+            @NotNull final LocalChunk chunk) {
+            this.queue = queue;
+            this.chunk = chunk;
+        }
+
+        @Override public void run() {
+            try {
+                this.queue.prepare(this.chunk);
+                this.blocks = this.chunk.countBlocks();
+            } catch (Throwable e) {
+                e.printStackTrace();
+            } finally {
+                this.ready = true;
+            }
+        }
+    }
+
+
+    private static final class Counters {
+        private final AtomicLong chunks = new AtomicLong();
+        private final AtomicLong blocks = new AtomicLong();
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import lombok.Getter;
+
+/**
+ * Snapshot of the progress of a {@link LocalBlockQueue} in the {@link GlobalBlockQueue}
+ */
+public final class QueueProgress {
+
+    /**
+     * Number of chunks that are still queued
+     */
+    @Getter private final int queuedChunks;
+    /**
+     * Number of chunks that are being prepared or waiting to be placed
+     */
+    @Getter private final int pendingChunks;
+    /**
+     * Number of chunks that have been placed
+     */
+    @Getter private final long appliedChunks;
+    /**
+     * Number of blocks that have been placed
+     */
+    @Getter private final long appliedBlocks;
+
+    QueueProgress(final int queuedChunks, final int pendingChunks, final long appliedChunks,
+        final long appliedBlocks) {
+        this.queuedChunks = queuedChunks;
+        this.pendingChunks = pendingChunks;
+        this.appliedChunks = appliedChunks;
+        this.appliedBlocks = appliedBlocks;
+    }
+
+    /**
+     * Get the fraction of chunks that have been placed
+     *
+     * @return Value between 0 and 1
+     */
+    public double getProgress() {
+        final long total = this.queuedChunks + this.pendingChunks + this.appliedChunks;
+        return total == 0 ? 1 : (double) this.appliedChunks / total;
+    }
+
+    public boolean isDone() {
+        return this.queuedChunks == 0 && this.pendingChunks == 0;
+    }
+
+    @Override public String toString() {
+        return "QueueProgress{queued=" + this.queuedChunks + ", pending=" + this.pendingChunks
+            + ", applied=" + this.appliedChunks + ", blocks=" + this.appliedBlocks + '}';
+    }
+
+}
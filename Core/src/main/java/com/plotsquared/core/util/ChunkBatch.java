@@ -0,0 +1,146 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.sk89q.worldedit.math.BlockVector2;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Chunks of a {@link ChunkTaskScheduler} task that are ready to be processed, each with
+ * the part of the chunk that lies within the bounds of the task. A batch is not reused,
+ * so it may be kept after the task has returned.
+ */
+public final class ChunkBatch {
+
+    private static final int STRIDE = 7;
+    private static final int FLAG_EDGE = 1;
+    private static final int FLAG_GENERATED = 2;
+
+    @Getter private final String world;
+    private int[] values;
+    private int size;
+
+    ChunkBatch(@NotNull final String world, final int capacity) {
+        this.world = world;
+        this.values = new int[capacity * STRIDE];
+    }
+
+    void add(final int chunkX, final int chunkZ, final int minX, final int minZ,
+        final int maxX, final int maxZ, final boolean edge, final boolean generated) {
+        final int index = this.size++ * STRIDE;
+        if (index + STRIDE > this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(STRIDE, this.values.length * 2));
+        }
+        this.values[index] = chunkX;
+        this.values[index + 1] = chunkZ;
+        this.values[index + 2] = minX;
+        this.values[index + 3] = minZ;
+        this.values[index + 4] = maxX;
+        this.values[index + 5] = maxZ;
+        this.values[index + 6] = (edge ? FLAG_EDGE : 0) | (generated ? FLAG_GENERATED : 0);
+    }
+
+    /**
+     * Get the number of chunks in the batch
+     *
+     * @return Number of chunks
+     */
+    public int size() {
+        return this.size;
+    }
+
+    public int getChunkX(final int index) {
+        return this.values[index * STRIDE];
+    }
+
+    public int getChunkZ(final int index) {
+        return this.values[index * STRIDE + 1];
+    }
+
+    @NotNull public BlockVector2 getChunk(final int index) {
+        return BlockVector2.at(getChunkX(index), getChunkZ(index));
+    }
+
+    /**
+     * Get the lowest X coordinate of the chunk that lies within the bounds of the task
+     *
+     * @param index Index of the chunk in the batch
+     * @return X coordinate
+     */
+    public int getMinX(final int index) {
+        return this.values[index * STRIDE + 2];
+    }
+
+    public int getMinZ(final int index) {
+        return this.values[index * STRIDE + 3];
+    }
+
+    public int getMaxX(final int index) {
+        return this.values[index * STRIDE + 4];
+    }
+
+    public int getMaxZ(final int index) {
+        return this.values[index * STRIDE + 5];
+    }
+
+    /**
+     * Check whether a chunk lies on the border of the bounds of the task
+     *
+     * @param index Index of the chunk in the batch
+     * @return true if the chunk is in the first or last row or column of chunks
+     */
+    public boolean isEdge(final int index) {
+        return (this.values[index * STRIDE + 6] & FLAG_EDGE) != 0;
+    }
+
+    /**
+     * Check whether a chunk exists. This is only known for tasks that load their chunks
+     * ahead of time, and is true for all chunks of other tasks.
+     *
+     * @param index Index of the chunk in the batch
+     * @return false if the chunk was loaded ahead of time but has not been generated
+     */
+    public boolean isGenerated(final int index) {
+        return (this.values[index * STRIDE + 6] & FLAG_GENERATED) != 0;
+    }
+
+    /**
+     * Get a chunk in the form of {@link ChunkManager#chunkTask}:
+     * {@code [chunkX, chunkZ, minX, minZ, maxX, maxZ, isEdge]}
+     *
+     * @param index Index of the chunk in the batch
+     * @return New array
+     */
+    @NotNull public int[] toArray(final int index) {
+        final int[] array = Arrays.copyOfRange(this.values, index * STRIDE, (index + 1) * STRIDE);
+        array[6] = isEdge(index) ? 1 : 0;
+        return array;
+    }
+
+}
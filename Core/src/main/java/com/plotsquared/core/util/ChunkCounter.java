@@ -0,0 +1,135 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sparse multiset of chunk coordinates, which counts how often each chunk has been added
+ * and not removed again. The counts are stored in arrays of 32x32 chunks that are allocated
+ * for the region files that contain a counted chunk, and released once all of their counts
+ * are back at zero.
+ * <p>
+ * This class is not thread safe.
+ */
+public final class ChunkCounter {
+
+    private static final int CHUNKS = 32 * 32;
+
+    /**
+     * Counts of the chunks of each region file. The last element of each array is the
+     * number of chunks of the region with a count other than zero.
+     */
+    private final Map<Long, int[]> regions = new HashMap<>();
+
+    private static long getRegionKey(final int chunkX, final int chunkZ) {
+        return (long) (chunkX >> 5) << 32 | (chunkZ >> 5) & 0xFFFFFFFFL;
+    }
+
+    private static int getIndex(final int chunkX, final int chunkZ) {
+        return (chunkZ & 31) << 5 | chunkX & 31;
+    }
+
+    /**
+     * Check whether a chunk has been added more often than it has been removed
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return true if the count of the chunk is not zero
+     */
+    public boolean contains(final int chunkX, final int chunkZ) {
+        final int[] counts = this.regions.get(getRegionKey(chunkX, chunkZ));
+        return counts != null && counts[getIndex(chunkX, chunkZ)] != 0;
+    }
+
+    /**
+     * Increment the count of a chunk
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     */
+    public void add(final int chunkX, final int chunkZ) {
+        final int[] counts =
+            this.regions.computeIfAbsent(getRegionKey(chunkX, chunkZ), key -> new int[CHUNKS + 1]);
+        if (counts[getIndex(chunkX, chunkZ)]++ == 0) {
+            counts[CHUNKS]++;
+        }
+    }
+
+    /**
+     * Decrement the count of a chunk. Counts do not drop below zero.
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     */
+    public void remove(final int chunkX, final int chunkZ) {
+        final long key = getRegionKey(chunkX, chunkZ);
+        final int[] counts = this.regions.get(key);
+        if (counts == null) {
+            return;
+        }
+        final int index = getIndex(chunkX, chunkZ);
+        if (counts[index] != 0 && --counts[index] == 0 && --counts[CHUNKS] == 0) {
+            this.regions.remove(key);
+        }
+    }
+
+    /**
+     * Increment the counts of a rectangle of chunks
+     *
+     * @param minChunkX Minimum chunk X coordinate
+     * @param minChunkZ Minimum chunk Z coordinate
+     * @param maxChunkX Maximum chunk X coordinate, inclusive
+     * @param maxChunkZ Maximum chunk Z coordinate, inclusive
+     */
+    public void add(final int minChunkX, final int minChunkZ, final int maxChunkX,
+        final int maxChunkZ) {
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                this.add(chunkX, chunkZ);
+            }
+        }
+    }
+
+    /**
+     * Decrement the counts of a rectangle of chunks
+     *
+     * @param minChunkX Minimum chunk X coordinate
+     * @param minChunkZ Minimum chunk Z coordinate
+     * @param maxChunkX Maximum chunk X coordinate, inclusive
+     * @param maxChunkZ Maximum chunk Z coordinate, inclusive
+     */
+    public void remove(final int minChunkX, final int minChunkZ, final int maxChunkX,
+        final int maxChunkZ) {
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                this.remove(chunkX, chunkZ);
+            }
+        }
+    }
+
+}
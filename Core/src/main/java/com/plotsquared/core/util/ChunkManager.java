@@ -125,61 +125,19 @@ public abstract class ChunkManager {
      * @param pos2
      * @param task
      * @param whenDone
+     * @param allocate Unused, the time spent per tick is chosen by the {@link ChunkTaskScheduler}
+     * @see ChunkTaskScheduler#submit(Location, Location, boolean, RunnableVal, Runnable)
      */
     public static void chunkTask(Location pos1, Location pos2, final RunnableVal<int[]> task,
         final Runnable whenDone, final int allocate) {
-        final int p1x = pos1.getX();
-        final int p1z = pos1.getZ();
-        final int p2x = pos2.getX();
-        final int p2z = pos2.getZ();
-        final int bcx = p1x >> 4;
-        final int bcz = p1z >> 4;
-        final int tcx = p2x >> 4;
-        final int tcz = p2z >> 4;
-        final ArrayList<BlockVector2> chunks = new ArrayList<>();
-
-        for (int x = bcx; x <= tcx; x++) {
-            for (int z = bcz; z <= tcz; z++) {
-                chunks.add(BlockVector2.at(x, z));
-            }
-        }
-        TaskManager.runTask(new Runnable() {
-            @Override public void run() {
-                long start = System.currentTimeMillis();
-                while (!chunks.isEmpty() && ((System.currentTimeMillis() - start) < allocate)) {
-                    BlockVector2 chunk = chunks.remove(0);
-                    task.value = new int[7];
-                    task.value[0] = chunk.getX();
-                    task.value[1] = chunk.getZ();
-                    task.value[2] = task.value[0] << 4;
-                    task.value[3] = task.value[1] << 4;
-                    task.value[4] = task.value[2] + 15;
-                    task.value[5] = task.value[3] + 15;
-                    if (task.value[0] == bcx) {
-                        task.value[2] = p1x;
-                        task.value[6] = 1;
-                    }
-                    if (task.value[0] == tcx) {
-                        task.value[4] = p2x;
-                        task.value[6] = 1;
-                    }
-                    if (task.value[1] == bcz) {
-                        task.value[3] = p1z;
-                        task.value[6] = 1;
-                    }
-                    if (task.value[1] == tcz) {
-                        task.value[5] = p2z;
-                        task.value[6] = 1;
-                    }
+        ChunkTaskScheduler.IMP.submit(pos1, pos2, false, new RunnableVal<ChunkBatch>() {
+            @Override public void run(ChunkBatch batch) {
+                for (int i = 0; i < batch.size(); i++) {
+                    task.value = batch.toArray(i);
                     task.run();
                 }
-                if (!chunks.isEmpty()) {
-                    TaskManager.runTaskLater(this, 1);
-                } else {
-                    TaskManager.runTask(whenDone);
-                }
             }
-        });
+        }, whenDone);
     }
 
     public abstract CompletableFuture loadChunk(String world, BlockVector2 loc, boolean force);
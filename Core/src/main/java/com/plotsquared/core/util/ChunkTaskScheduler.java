@@ -0,0 +1,258 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.util.task.RunnableVal;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TickBudget;
+import com.sk89q.worldedit.math.BlockVector2;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs work over the chunks of an area on the main thread. Chunks are walked lazily, one
+ * region file at a time, and are handed to the tasks in batches. All tasks share a
+ * {@link TickBudget}, so the time spent per tick follows the measured tick duration.
+ * <p>
+ * Tasks may load their chunks ahead of time. Chunks are then loaded asynchronously, a
+ * limited number ahead of the chunk that is processed, and a batch only contains
+ * chunks that have finished loading.
+ */
+public final class ChunkTaskScheduler {
+
+    public static final ChunkTaskScheduler IMP = new ChunkTaskScheduler();
+
+    /**
+     * Largest number of chunks in a batch
+     */
+    private static final int BATCH_SIZE = 16;
+    /**
+     * Number of chunks that a task loads ahead of the chunk that is processed
+     */
+    private static final int PREFETCH = 32;
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final TickBudget budget = new TickBudget(1, 20, 1, 5);
+    private int taskId = -1;
+    private int next;
+
+    private ChunkTaskScheduler() {
+    }
+
+    /**
+     * Run a task over the chunks between two locations, in region file order.
+     *
+     * @param pos1     Lowest corner
+     * @param pos2     Highest corner
+     * @param load     Whether to load the chunks ahead of time. Chunks that have not been
+     *                 generated are not generated, see {@link ChunkBatch#isGenerated(int)}
+     * @param task     Called on the main thread with every batch of chunks
+     * @param whenDone Called on the main thread after the last batch
+     */
+    public synchronized void submit(@NotNull final Location pos1, @NotNull final Location pos2,
+        final boolean load, @NotNull final RunnableVal<ChunkBatch> task,
+        @Nullable final Runnable whenDone) {
+        this.tasks.add(
+            new Task(pos1.getWorld(), pos1.getX(), pos1.getZ(), pos2.getX(), pos2.getZ(), load,
+                task, whenDone));
+        if (this.taskId == -1) {
+            this.budget.reset();
+            this.taskId = TaskManager.runTaskRepeat(this::tick, 1);
+        }
+    }
+
+    private synchronized void tick() {
+        final long deadline = this.budget.tick();
+        int idle = 0;
+        while (idle < this.tasks.size() && System.nanoTime() < deadline) {
+            this.next = (this.next + 1) % this.tasks.size();
+            final Task task = this.tasks.get(this.next);
+            final ChunkBatch batch = task.poll();
+            if (batch == null) {
+                idle++;
+            } else {
+                idle = 0;
+                try {
+                    task.task.run(batch);
+                } catch (final Throwable throwable) {
+                    throwable.printStackTrace();
+                }
+            }
+            if (task.isDone()) {
+                this.tasks.remove(this.next--);
+                TaskManager.runTask(task.whenDone);
+            }
+        }
+        if (this.tasks.isEmpty()) {
+            TaskManager.IMP.cancelTask(this.taskId);
+            this.taskId = -1;
+        }
+    }
+
+    /**
+     * Chunks of an area that have not been processed yet
+     */
+    private static final class Task {
+
+        private final String world;
+        private final int minX;
+        private final int minZ;
+        private final int maxX;
+        private final int maxZ;
+        private final int bcx;
+        private final int bcz;
+        private final int tcx;
+        private final int tcz;
+        private final boolean load;
+        private final RunnableVal<ChunkBatch> task;
+        @Nullable private final Runnable whenDone;
+        private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+        private int regionX;
+        private int regionZ;
+        private int x;
+        private int z;
+        private boolean exhausted;
+
+        private Task(@NotNull final String world, final int minX, final int minZ,
+            final int maxX, final int maxZ, final boolean load,
+            @NotNull final RunnableVal<ChunkBatch> task, @Nullable final Runnable whenDone) {
+            this.world = world;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+            this.bcx = minX >> 4;
+            this.bcz = minZ >> 4;
+            this.tcx = maxX >> 4;
+            this.tcz = maxZ >> 4;
+            this.load = load;
+            this.task = task;
+            this.whenDone = whenDone;
+            this.regionX = this.bcx >> 5;
+            this.regionZ = this.bcz >> 5;
+            this.x = this.bcx;
+            this.z = this.bcz;
+        }
+
+        /**
+         * Queue the next chunk, walking the chunks of one region file at a time
+         *
+         * @return false if all chunks have been queued
+         */
+        private boolean queueNext() {
+            if (this.exhausted) {
+                return false;
+            }
+            final int chunkX = this.x;
+            final int chunkZ = this.z;
+            if (this.x < Math.min(this.tcx, (this.regionX << 5) + 31)) {
+                this.x++;
+            } else if (this.z < Math.min(this.tcz, (this.regionZ << 5) + 31)) {
+                this.x = Math.max(this.bcx, this.regionX << 5);
+                this.z++;
+            } else if (this.regionX < this.tcx >> 5) {
+                this.regionX++;
+                this.x = this.regionX << 5;
+                this.z = Math.max(this.bcz, this.regionZ << 5);
+            } else if (this.regionZ < this.tcz >> 5) {
+                this.regionX = this.bcx >> 5;
+                this.regionZ++;
+                this.x = this.bcx;
+                this.z = this.regionZ << 5;
+            } else {
+                this.exhausted = true;
+            }
+            final CompletableFuture<?> future = this.load ? ChunkManager.manager
+                .loadChunk(this.world, BlockVector2.at(chunkX, chunkZ), false) : null;
+            this.pending.add(new Pending(chunkX, chunkZ, future));
+            return true;
+        }
+
+        /**
+         * Collect the chunks that are ready, in the order they were queued
+         *
+         * @return Batch, or null if no chunk is ready
+         */
+        @Nullable private ChunkBatch poll() {
+            boolean more = true;
+            while (more && this.pending.size() < PREFETCH) {
+                more = this.queueNext();
+            }
+            ChunkBatch batch = null;
+            Pending head;
+            while ((head = this.pending.peek()) != null && (head.future == null || head.future
+                .isDone())) {
+                this.pending.poll();
+                if (batch == null) {
+                    batch = new ChunkBatch(this.world, BATCH_SIZE);
+                }
+                final int bx = head.chunkX << 4;
+                final int bz = head.chunkZ << 4;
+                final boolean edge = head.chunkX == this.bcx || head.chunkX == this.tcx
+                    || head.chunkZ == this.bcz || head.chunkZ == this.tcz;
+                final boolean generated = head.future == null || (!head.future
+                    .isCompletedExceptionally() && head.future.getNow(null) != null);
+                batch.add(head.chunkX, head.chunkZ, Math.max(bx, this.minX),
+                    Math.max(bz, this.minZ), Math.min(bx + 15, this.maxX),
+                    Math.min(bz + 15, this.maxZ), edge, generated);
+                if (batch.size() >= BATCH_SIZE) {
+                    break;
+                }
+            }
+            return batch;
+        }
+
+        private boolean isDone() {
+            return this.exhausted && this.pending.isEmpty();
+        }
+
+    }
+
+    /**
+     * Chunk that has been queued, and may be loading
+     */
+    private static final class Pending {
+
+        private final int chunkX;
+        private final int chunkZ;
+        @Nullable private final CompletableFuture<?> future;
+
+        private Pending(final int chunkX, final int chunkZ,
+            @Nullable final CompletableFuture<?> future) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.future = future;
+        }
+
+    }
+
+}
@@ -85,23 +85,14 @@ public class EntityUtil {
                 return true;
             }
             if (mobs == null) {
+                // Counts are maintained incrementally, so this is cheap
                 mobs = plot.countEntities();
             }
             if (mobs[i] >= cap) {
-                plot.setMeta("EntityCount", mobs);
-                plot.setMeta("EntityCountTime", System.currentTimeMillis());
                 plot.debug("Prevented spawning of mob because it would exceed " + flag.getName());
                 return true;
             }
         }
-        if (mobs != null) {
-            for (PlotFlag<Integer, ?> flag : flags) {
-                final int i = capNumeral(flag.getName());
-                mobs[i]++;
-            }
-            plot.setMeta("EntityCount", mobs);
-            plot.setMeta("EntityCountTime", System.currentTimeMillis());
-        }
         return false;
     }
 
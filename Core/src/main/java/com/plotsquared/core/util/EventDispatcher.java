@@ -25,11 +25,13 @@
  */
 package com.plotsquared.core.util;
 
-import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.CaptionUtility;
 import com.plotsquared.core.configuration.Captions;
 import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.events.AsyncHandler;
 import com.plotsquared.core.events.PlayerAutoPlotEvent;
 import com.plotsquared.core.events.PlayerClaimPlotEvent;
 import com.plotsquared.core.events.PlayerEnterPlotEvent;
@@ -74,38 +76,204 @@ import com.sk89q.worldedit.world.block.BlockType;
 import com.sk89q.worldedit.world.block.BlockTypes;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dispatches PlotSquared events to the listeners registered through {@link #registerListener}.
+ * Listener methods are annotated with {@link Subscribe} and receive every event that is an
+ * instance of their parameter type.
+ * <p>
+ * The handlers of each event class are collected once and cached until a listener is
+ * registered or unregistered, so dispatching an event does not look up any methods. The
+ * handlers of events that only notify listeners are called on an event thread if they are
+ * annotated with {@link AsyncHandler}.
+ * <p>
+ * Like Guava's event bus, an event that is called by a handler while another event is being
+ * dispatched on the same thread is queued, and dispatched once the handlers of the current
+ * event have returned. Events are therefore delivered in the order they were called.
+ */
 public class EventDispatcher {
 
-    private final EventBus eventBus = new EventBus("PlotSquaredEvents");
-
-    private final List<Object> listeners = new ArrayList<>();
-
-    public void registerListener(Object listener) {
-        eventBus.register(listener);
+    private static final ExecutorService EVENT_WORKER = Executors.newSingleThreadExecutor(
+        runnable -> {
+            final Thread thread = new Thread(runnable, "PlotSquared Event Worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    private static final Handler[] NO_HANDLERS = new Handler[0];
+
+    private final List<Object> listeners = new CopyOnWriteArrayList<>();
+    private final Map<Class<?>, DispatchTimings> timings = new ConcurrentHashMap<>();
+    private volatile Map<Class<?>, Handler[]> handlers = new ConcurrentHashMap<>();
+    private final ThreadLocal<Queue<QueuedEvent>> queue = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ThreadLocal<Boolean> dispatching = ThreadLocal.withInitial(() -> false);
+
+    public synchronized void registerListener(Object listener) {
         listeners.add(listener);
+        handlers = new ConcurrentHashMap<>();
     }
 
-    public void unregisterListener(Object listener) {
-        eventBus.unregister(listener);
+    public synchronized void unregisterListener(Object listener) {
         listeners.remove(listener);
+        handlers = new ConcurrentHashMap<>();
     }
 
-    public void unregisterAll() {
-        for (Object listener : listeners) {
-            eventBus.unregister(listener);
-        }
+    public synchronized void unregisterAll() {
+        listeners.clear();
+        handlers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Check whether any listener receives events of a class
+     *
+     * @param eventClass Event class
+     * @return true if the event has at least one handler
+     */
+    public boolean hasListeners(@NotNull final Class<?> eventClass) {
+        return getHandlers(eventClass).length != 0;
+    }
+
+    /**
+     * Get the time spent dispatching each event class, for the events that had listeners
+     *
+     * @return Timings by event class
+     */
+    @NotNull public Map<Class<?>, DispatchTimings> getDispatchTimings() {
+        return Collections.unmodifiableMap(timings);
     }
 
     public void callGenericEvent(@NotNull final Object event) {
-        eventBus.post(event);
+        dispatch(event, false);
     }
 
     public void callEvent(@NotNull final PlotEvent event) {
-        eventBus.post(event);
+        dispatch(event, false);
+    }
+
+    /**
+     * Call an event that only notifies listeners. Handlers annotated with {@link AsyncHandler}
+     * are called on the event thread, after the handlers of previously called events.
+     *
+     * @param event Event
+     */
+    public void callEventAsync(@NotNull final PlotEvent event) {
+        dispatch(event, true);
+    }
+
+    @NotNull private Handler[] getHandlers(@NotNull final Class<?> eventClass) {
+        final Map<Class<?>, Handler[]> handlers = this.handlers;
+        final Handler[] cached = handlers.get(eventClass);
+        if (cached != null) {
+            return cached;
+        }
+        return handlers.computeIfAbsent(eventClass, this::findHandlers);
+    }
+
+    @NotNull private Handler[] findHandlers(@NotNull final Class<?> eventClass) {
+        final List<Handler> found = new ArrayList<>();
+        for (final Object listener : listeners) {
+            for (final Method method : getSubscribers(listener.getClass())) {
+                if (method.getParameterTypes()[0].isAssignableFrom(eventClass)) {
+                    found.add(new Handler(listener, method));
+                }
+            }
+        }
+        return found.isEmpty() ? NO_HANDLERS : found.toArray(NO_HANDLERS);
+    }
+
+    @NotNull private static Collection<Method> getSubscribers(@NotNull final Class<?> clazz) {
+        final Map<String, Method> methods = new LinkedHashMap<>();
+        final Deque<Class<?>> types = new ArrayDeque<>();
+        final Set<Class<?>> visited = new HashSet<>();
+        types.add(clazz);
+        while (!types.isEmpty()) {
+            final Class<?> type = types.poll();
+            if (!visited.add(type)) {
+                continue;
+            }
+            for (final Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Subscribe.class) && !method.isSynthetic()
+                    && method.getParameterCount() == 1) {
+                    methods.putIfAbsent(
+                        method.getName() + Arrays.toString(method.getParameterTypes()), method);
+                }
+            }
+            if (type.getSuperclass() != null) {
+                types.add(type.getSuperclass());
+            }
+            types.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        return methods.values();
+    }
+
+    private void dispatch(@NotNull final Object event, final boolean async) {
+        final Handler[] handlers = getHandlers(event.getClass());
+        if (handlers.length == 0) {
+            return;
+        }
+        final Queue<QueuedEvent> queue = this.queue.get();
+        queue.add(new QueuedEvent(event, handlers, async));
+        if (this.dispatching.get()) {
+            return;
+        }
+        this.dispatching.set(true);
+        try {
+            QueuedEvent next;
+            while ((next = queue.poll()) != null) {
+                dispatch(next.event, next.handlers, next.async);
+            }
+        } finally {
+            this.dispatching.remove();
+            this.queue.remove();
+        }
+    }
+
+    private void dispatch(@NotNull final Object event, @NotNull final Handler[] handlers,
+        final boolean async) {
+        final Class<?> eventClass = event.getClass();
+        final DispatchTimings timings =
+            this.timings.computeIfAbsent(eventClass, ignore -> new DispatchTimings());
+        final long start = System.nanoTime();
+        boolean deferred = false;
+        for (final Handler handler : handlers) {
+            if (async && handler.async) {
+                deferred = true;
+            } else {
+                handler.call(event);
+            }
+        }
+        timings.record(System.nanoTime() - start);
+        if (deferred) {
+            EVENT_WORKER.execute(() -> {
+                final long asyncStart = System.nanoTime();
+                for (final Handler handler : handlers) {
+                    if (handler.async) {
+                        handler.call(event);
+                    }
+                }
+                timings.recordAsync(System.nanoTime() - asyncStart);
+            });
+        }
     }
 
     public PlayerClaimPlotEvent callClaim(PlotPlayer player, Plot plot, String schematic) {
@@ -179,34 +347,34 @@ public class EventDispatcher {
 
     public PlayerEnterPlotEvent callEntry(PlotPlayer player, Plot plot) {
         PlayerEnterPlotEvent event = new PlayerEnterPlotEvent(player, plot);
-        callEvent(event);
+        callEventAsync(event);
         return event;
     }
 
     public PlayerLeavePlotEvent callLeave(PlotPlayer player, Plot plot) {
         PlayerLeavePlotEvent event = new PlayerLeavePlotEvent(player, plot);
-        callEvent(event);
+        callEventAsync(event);
         return event;
     }
 
-    public PlayerPlotDeniedEvent callDenied(PlotPlayer initiator, Plot plot, UUID player,
-        boolean added) {
+    public PlayerPlotDeniedEvent callDenied(PlotPlayer initiator, Plot plot,
+        UUID player, boolean added) {
         PlayerPlotDeniedEvent event = new PlayerPlotDeniedEvent(initiator, plot, player, added);
-        callEvent(event);
+        callEventAsync(event);
         return event;
     }
 
-    public PlayerPlotTrustedEvent callTrusted(PlotPlayer initiator, Plot plot, UUID player,
-        boolean added) {
+    public PlayerPlotTrustedEvent callTrusted(PlotPlayer initiator, Plot plot,
+        UUID player, boolean added) {
         PlayerPlotTrustedEvent event = new PlayerPlotTrustedEvent(initiator, plot, player, added);
-        callEvent(event);
+        callEventAsync(event);
         return event;
     }
 
-    public PlayerPlotHelperEvent callMember(PlotPlayer initiator, Plot plot, UUID player,
-        boolean added) {
+    public PlayerPlotHelperEvent callMember(PlotPlayer initiator, Plot plot,
+        UUID player, boolean added) {
         PlayerPlotHelperEvent event = new PlayerPlotHelperEvent(initiator, plot, player, added);
-        callEvent(event);
+        callEventAsync(event);
         return event;
     }
 
@@ -220,7 +388,7 @@ public class EventDispatcher {
 
     public PlotRateEvent callRating(PlotPlayer player, Plot plot, Rating rating) {
         PlotRateEvent event = new PlotRateEvent(player, rating, plot);
-        eventBus.post(event);
+        callEvent(event);
         return event;
     }
 
@@ -405,4 +573,120 @@ public class EventDispatcher {
         }
         return true;
     }
+
+    /**
+     * An event waiting to be dispatched on the thread that called it
+     */
+    private static final class QueuedEvent {
+
+        private final Object event;
+        private final Handler[] handlers;
+        private final boolean async;
+
+        private QueuedEvent(@NotNull final Object event, @NotNull final Handler[] handlers,
+            final boolean async) {
+            this.event = event;
+            this.handlers = handlers;
+            this.async = async;
+        }
+
+    }
+
+    /**
+     * A listener method that receives an event class
+     */
+    private static final class Handler {
+
+        private final Object listener;
+        private final Method method;
+        private final boolean concurrent;
+        private final boolean async;
+
+        private Handler(@NotNull final Object listener, @NotNull final Method method) {
+            this.listener = listener;
+            this.method = method;
+            this.concurrent = method.isAnnotationPresent(AllowConcurrentEvents.class);
+            this.async = method.isAnnotationPresent(AsyncHandler.class);
+            method.setAccessible(true);
+        }
+
+        private void call(@NotNull final Object event) {
+            try {
+                if (this.concurrent) {
+                    this.method.invoke(this.listener, event);
+                } else {
+                    synchronized (this.listener) {
+                        this.method.invoke(this.listener, event);
+                    }
+                }
+            } catch (final InvocationTargetException e) {
+                PlotSquared.log(
+                    "Exception thrown by " + this.listener.getClass().getName() + '#' + this.method
+                        .getName() + " while handling " + event.getClass().getSimpleName());
+                e.getCause().printStackTrace();
+            } catch (final IllegalAccessException e) {
+                e.printStackTrace();
+            }
+        }
+
+    }
+
+    /**
+     * Time spent dispatching an event class. Time spent on the event thread is tracked
+     * separately, as it does not hold up the thread that called the event.
+     */
+    public static final class DispatchTimings {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder asyncNanos = new LongAdder();
+
+        private void record(final long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulate(nanos);
+        }
+
+        private void recordAsync(final long nanos) {
+            this.asyncNanos.add(nanos);
+        }
+
+        /**
+         * Get the number of dispatched events
+         *
+         * @return Event count
+         */
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        /**
+         * Get the time spent calling handlers on the thread that called the events
+         *
+         * @return Total time in nanoseconds
+         */
+        public long getTotalNanos() {
+            return this.totalNanos.sum();
+        }
+
+        /**
+         * Get the longest time spent dispatching a single event
+         *
+         * @return Time in nanoseconds
+         */
+        public long getMaxNanos() {
+            return this.maxNanos.get();
+        }
+
+        /**
+         * Get the time spent calling handlers on the event thread
+         *
+         * @return Total time in nanoseconds
+         */
+        public long getAsyncNanos() {
+            return this.asyncNanos.sum();
+        }
+
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The header of an Anvil region file (r.x.z.mca), which lists the chunks that the file
+ * contains and the time at which each chunk was last written. Only the first 8 KiB of the
+ * file are read.
+ */
+public final class RegionFileHeader {
+
+    private static final int CHUNKS = 1024;
+    private static final int SIZE = CHUNKS * 8;
+
+    private final int[] locations;
+    private final int[] timestamps;
+
+    private RegionFileHeader(@NotNull final int[] locations, @NotNull final int[] timestamps) {
+        this.locations = locations;
+        this.timestamps = timestamps;
+    }
+
+    /**
+     * Read the header of a region file. A file that is too short to hold a header is read
+     * as a file without chunks.
+     *
+     * @param file Region file
+     * @return The header
+     * @throws IOException If the file cannot be read
+     */
+    @NotNull public static RegionFileHeader read(@NotNull final Path file) throws IOException {
+        final int[] locations = new int[CHUNKS];
+        final int[] timestamps = new int[CHUNKS];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() >= SIZE) {
+                final ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new EOFException(file.toString());
+                    }
+                }
+                buffer.flip();
+                buffer.asIntBuffer().get(locations).get(timestamps);
+            }
+        }
+        return new RegionFileHeader(locations, timestamps);
+    }
+
+    /**
+     * Parse the coordinates of a region file from its name
+     *
+     * @param name File name, such as {@code r.-1.2.mca}
+     * @return {@code [regionX, regionZ]}, or null if the name is not a region file name
+     */
+    @Nullable public static int[] parseName(@NotNull final String name) {
+        if (!name.startsWith("r.") || !name.endsWith(".mca")) {
+            return null;
+        }
+        final String[] split = name.split("\\.");
+        if (split.length != 4) {
+            return null;
+        }
+        try {
+            return new int[] {Integer.parseInt(split[1]), Integer.parseInt(split[2])};
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Check whether the file contains a chunk
+     *
+     * @param index Chunk index, {@code (chunkZ & 31) << 5 | chunkX & 31}
+     * @return true if the chunk has been written to the file
+     */
+    public boolean hasChunk(final int index) {
+        return this.locations[index] != 0;
+    }
+
+    /**
+     * Get the number of chunks in the file
+     *
+     * @return Chunk count
+     */
+    public int getChunkCount() {
+        int count = 0;
+        for (final int location : this.locations) {
+            if (location != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the time at which a chunk was last written
+     *
+     * @param index Chunk index, {@code (chunkZ & 31) << 5 | chunkX & 31}
+     * @return Time in milliseconds, or 0 if the file does not contain the chunk
+     */
+    public long getLastWrite(final int index) {
+        return this.hasChunk(index) ?
+            TimeUnit.SECONDS.toMillis(this.timestamps[index] & 0xFFFFFFFFL) :
+            0;
+    }
+
+    /**
+     * Get the time span over which the chunks of the file were written. A file whose
+     * chunks were all written at about the same time has not been changed since it was
+     * generated.
+     *
+     * @return Time between the first and the last write in milliseconds, or 0 if the file
+     * contains no chunks
+     */
+    public long getWriteSpan() {
+        long first = Long.MAX_VALUE;
+        long last = 0;
+        for (int index = 0; index < CHUNKS; index++) {
+            if (this.hasChunk(index)) {
+                final long time = this.getLastWrite(index);
+                first = Math.min(first, time);
+                last = Math.max(last, time);
+            }
+        }
+        return last == 0 ? 0 : last - first;
+    }
+
+}
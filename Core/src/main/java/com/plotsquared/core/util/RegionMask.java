@@ -0,0 +1,289 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A set of cuboid regions compiled into a per-chunk index, so that a membership test
+ * costs one hash lookup and a bit test no matter how many regions the mask contains.
+ * <p>
+ * Every chunk that a region touches stores a bitmap of the columns that the region
+ * covers, together with the height range of the region. Regions that share a height
+ * range share a bitmap. Regions that span more than {@link #MAX_INDEXED_CHUNKS} chunks,
+ * such as the unbounded mask of worlds without plot areas, are tested directly instead.
+ * <p>
+ * A mask is immutable once compiled, and may be used from any thread.
+ */
+public final class RegionMask {
+
+    private static final int MAX_INDEXED_CHUNKS = 1 << 16;
+    private static final long[] FULL_COLUMNS = {-1L, -1L, -1L, -1L};
+    private static final RegionMask EMPTY = new RegionMask(new long[1], new Layer[1][], 0,
+        new CuboidRegion[0]);
+
+    private final long[] keys;
+    private final Layer[][] chunks;
+    private final int mask;
+    private final CuboidRegion[] large;
+
+    private RegionMask(@NotNull final long[] keys, @NotNull final Layer[][] chunks,
+        final int mask, @NotNull final CuboidRegion[] large) {
+        this.keys = keys;
+        this.chunks = chunks;
+        this.mask = mask;
+        this.large = large;
+    }
+
+    /**
+     * Compile a set of regions into a mask
+     *
+     * @param regions Regions to compile
+     * @return Compiled mask
+     */
+    @NotNull public static RegionMask compile(@NotNull final Collection<CuboidRegion> regions) {
+        if (regions.isEmpty()) {
+            return EMPTY;
+        }
+        final Builder builder = new Builder();
+        final List<CuboidRegion> large = new ArrayList<>();
+        for (final CuboidRegion region : regions) {
+            final BlockVector3 min = region.getMinimumPoint();
+            final BlockVector3 max = region.getMaximumPoint();
+            final long chunkCount = ((long) (max.getX() >> 4) - (min.getX() >> 4) + 1) * (
+                (long) (max.getZ() >> 4) - (min.getZ() >> 4) + 1);
+            if (chunkCount > MAX_INDEXED_CHUNKS) {
+                large.add(region);
+            } else {
+                builder.add(min, max);
+            }
+        }
+        return builder.build(large.toArray(new CuboidRegion[0]));
+    }
+
+    private static long getKey(final int chunkX, final int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    private static int hash(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32);
+    }
+
+    /**
+     * Check whether a block is in the mask
+     *
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @return true if a region contains the block
+     */
+    public boolean contains(final int x, final int y, final int z) {
+        final Layer[] layers = this.getLayers(x >> 4, z >> 4);
+        if (layers != null) {
+            final int column = (z & 15) << 4 | x & 15;
+            for (final Layer layer : layers) {
+                if (y >= layer.minY && y <= layer.maxY && layer.contains(column)) {
+                    return true;
+                }
+            }
+        }
+        for (final CuboidRegion region : this.large) {
+            if (RegionUtil.contains(region, x, y, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether a column is in the mask, at any height
+     *
+     * @param x X coordinate
+     * @param z Z coordinate
+     * @return true if a region contains the column
+     */
+    public boolean contains(final int x, final int z) {
+        final Layer[] layers = this.getLayers(x >> 4, z >> 4);
+        if (layers != null) {
+            final int column = (z & 15) << 4 | x & 15;
+            for (final Layer layer : layers) {
+                if (layer.contains(column)) {
+                    return true;
+                }
+            }
+        }
+        for (final CuboidRegion region : this.large) {
+            if (RegionUtil.contains(region, x, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the mask contains no blocks
+     *
+     * @return true if the mask was compiled from no regions
+     */
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    @Nullable private Layer[] getLayers(final int chunkX, final int chunkZ) {
+        final long key = getKey(chunkX, chunkZ);
+        int index = hash(key) & this.mask;
+        Layer[] layers;
+        while ((layers = this.chunks[index]) != null) {
+            if (this.keys[index] == key) {
+                return layers;
+            }
+            index = index + 1 & this.mask;
+        }
+        return null;
+    }
+
+    /**
+     * The columns of a chunk that are masked over a height range
+     */
+    private static final class Layer {
+
+        private final int minY;
+        private final int maxY;
+        private long[] columns;
+
+        private Layer(final int minY, final int maxY) {
+            this.minY = minY;
+            this.maxY = maxY;
+            this.columns = new long[4];
+        }
+
+        private boolean contains(final int column) {
+            return (this.columns[column >> 6] & 1L << column) != 0;
+        }
+
+        private void add(final int minX, final int minZ, final int maxX, final int maxZ) {
+            if (this.columns == FULL_COLUMNS) {
+                return;
+            }
+            if (minX == 0 && minZ == 0 && maxX == 15 && maxZ == 15) {
+                this.columns = FULL_COLUMNS;
+                return;
+            }
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    final int column = z << 4 | x;
+                    this.columns[column >> 6] |= 1L << column;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Open addressing table from chunk keys to layers, filled while compiling
+     */
+    private static final class Builder {
+
+        private long[] keys = new long[64];
+        private Layer[][] chunks = new Layer[64][];
+        private int size;
+
+        private void add(@NotNull final BlockVector3 min, @NotNull final BlockVector3 max) {
+            for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+                final int minX = Math.max(min.getX(), chunkX << 4) & 15;
+                final int maxX = Math.min(max.getX(), (chunkX << 4) + 15) & 15;
+                for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                    final int minZ = Math.max(min.getZ(), chunkZ << 4) & 15;
+                    final int maxZ = Math.min(max.getZ(), (chunkZ << 4) + 15) & 15;
+                    this.getLayer(getKey(chunkX, chunkZ), min.getY(), max.getY())
+                        .add(minX, minZ, maxX, maxZ);
+                }
+            }
+        }
+
+        @NotNull private Layer getLayer(final long key, final int minY, final int maxY) {
+            final int index = this.find(key);
+            final Layer[] layers = this.chunks[index];
+            if (layers == null) {
+                final Layer layer = new Layer(minY, maxY);
+                this.keys[index] = key;
+                this.chunks[index] = new Layer[] {layer};
+                if (++this.size * 2 > this.keys.length) {
+                    this.grow();
+                }
+                return layer;
+            }
+            for (final Layer layer : layers) {
+                if (layer.minY == minY && layer.maxY == maxY) {
+                    return layer;
+                }
+            }
+            final Layer layer = new Layer(minY, maxY);
+            final Layer[] grown = Arrays.copyOf(layers, layers.length + 1);
+            grown[layers.length] = layer;
+            this.chunks[index] = grown;
+            return layer;
+        }
+
+        private int find(final long key) {
+            final int mask = this.keys.length - 1;
+            int index = hash(key) & mask;
+            while (this.chunks[index] != null && this.keys[index] != key) {
+                index = index + 1 & mask;
+            }
+            return index;
+        }
+
+        private void grow() {
+            final long[] keys = this.keys;
+            final Layer[][] chunks = this.chunks;
+            this.keys = new long[keys.length * 2];
+            this.chunks = new Layer[keys.length * 2][];
+            for (int i = 0; i < keys.length; i++) {
+                if (chunks[i] != null) {
+                    final int index = this.find(keys[i]);
+                    this.keys[index] = keys[i];
+                    this.chunks[index] = chunks[i];
+                }
+            }
+        }
+
+        @NotNull private RegionMask build(@NotNull final CuboidRegion[] large) {
+            return new RegionMask(this.keys, this.chunks, this.keys.length - 1, large);
+        }
+
+    }
+
+}
@@ -25,6 +25,9 @@
  */
 package com.plotsquared.core.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.generator.ClassicPlotWorld;
@@ -32,6 +35,8 @@ import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.schematic.Schematic;
+import com.plotsquared.core.plot.schematic.SchematicBlocks;
+import com.plotsquared.core.plot.schematic.SchematicExporter;
 import com.plotsquared.core.queue.LocalBlockQueue;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
@@ -56,12 +61,15 @@ import com.sk89q.worldedit.extent.clipboard.io.SpongeSchematicReader;
 import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.World;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.json.JSONArray;
 import org.json.JSONException;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -85,8 +93,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.zip.GZIPInputStream;
@@ -95,6 +110,29 @@ import java.util.zip.GZIPOutputStream;
 public abstract class SchematicHandler {
     public static SchematicHandler manager;
 
+    /**
+     * Threads that write exported schematics. Each export is written by one thread at a time.
+     */
+    private static final Executor EXPORT_WORKERS;
+
+    static {
+        final AtomicInteger workerId = new AtomicInteger();
+        EXPORT_WORKERS = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2), runnable -> {
+                final Thread thread = new Thread(runnable,
+                    "PlotSquared Export Worker #" + workerId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Flattened schematic files, by path and modification time
+     */
+    private final Cache<SchematicKey, SchematicBlocks> schematicCache = CacheBuilder.newBuilder()
+        .maximumWeight(Math.max(0, Settings.Schematics.CACHE_SIZE) * 1024L * 1024L)
+        .weigher((SchematicKey key, SchematicBlocks blocks) -> blocks.getMemoryUsage())
+        .recordStats().build();
     private boolean exportAll = false;
 
     public boolean exportAll(Collection<Plot> collection, final File outputDir,
@@ -144,24 +182,17 @@ public abstract class SchematicHandler {
                 }
 
                 final Runnable THIS = this;
-                SchematicHandler.manager.getCompoundTag(plot, new RunnableVal<CompoundTag>() {
-                    @Override public void run(final CompoundTag value) {
-                        if (value == null) {
-                            MainUtil.sendMessage(null, "&7 - Skipped plot &c" + plot.getId());
+                final File file = MainUtil.getFile(PlotSquared.get().IMP.getDirectory(),
+                    directory + File.separator + name + ".schem");
+                MainUtil.sendMessage(null, "&6ID: " + plot.getId());
+                SchematicHandler.manager.export(plot, file, new RunnableVal<Boolean>() {
+                    @Override public void run(Boolean value) {
+                        if (!value) {
+                            MainUtil.sendMessage(null, "&7 - Failed to save &c" + plot.getId());
                         } else {
-                            TaskManager.runTaskAsync(() -> {
-                                MainUtil.sendMessage(null, "&6ID: " + plot.getId());
-                                boolean result = SchematicHandler.manager
-                                    .save(value, directory + File.separator + name + ".schem");
-                                if (!result) {
-                                    MainUtil
-                                        .sendMessage(null, "&7 - Failed to save &c" + plot.getId());
-                                } else {
-                                    MainUtil.sendMessage(null, "&7 - &a  success: " + plot.getId());
-                                }
-                                TaskManager.runTask(THIS);
-                            });
+                            MainUtil.sendMessage(null, "&7 - &a  success: " + plot.getId());
                         }
+                        TaskManager.runTask(THIS);
                     }
                 });
             }
@@ -192,10 +223,9 @@ public abstract class SchematicHandler {
             }
             try {
                 final LocalBlockQueue queue = plot.getArea().getQueue(false);
-                BlockVector3 dimension = schematic.getClipboard().getDimensions();
-                final int WIDTH = dimension.getX();
-                final int LENGTH = dimension.getZ();
-                final int HEIGHT = dimension.getY();
+                final int WIDTH = schematic.getBlocks().getWidth();
+                final int LENGTH = schematic.getBlocks().getLength();
+                final int HEIGHT = schematic.getBlocks().getHeight();
                 // Validate dimensions
                 CuboidRegion region = plot.getLargestRegion();
                 if (((region.getMaximumPoint().getX() - region.getMinimumPoint().getX() + xOffset
@@ -212,7 +242,7 @@ public abstract class SchematicHandler {
                     return;
                 }
                 // block type and data arrays
-                final Clipboard blockArrayClipboard = schematic.getClipboard();
+                final SchematicBlocks blocks = schematic.getBlocks();
                 // Calculate the optimal height to paste the schematic at
                 final int y_offset_actual;
                 if (autoHeight) {
@@ -240,53 +270,12 @@ public abstract class SchematicHandler {
                 final int p1z = pos1.getZ();
                 final int p2x = pos2.getX();
                 final int p2z = pos2.getZ();
-                final int bcx = p1x >> 4;
-                final int bcz = p1z >> 4;
-                final int tcx = p2x >> 4;
-                final int tcz = p2z >> 4;
-
-                ChunkManager.chunkTask(pos1, pos2, new RunnableVal<int[]>() {
-                    @Override public void run(int[] value) {
-                        BlockVector2 chunk = BlockVector2.at(value[0], value[1]);
-                        int x = chunk.getX();
-                        int z = chunk.getZ();
-                        int xxb = x << 4;
-                        int zzb = z << 4;
-                        int xxt = xxb + 15;
-                        int zzt = zzb + 15;
-                        if (x == bcx) {
-                            xxb = p1x;
-                        }
-                        if (x == tcx) {
-                            xxt = p2x;
-                        }
-                        if (z == bcz) {
-                            zzb = p1z;
-                        }
-                        if (z == tcz) {
-                            zzt = p2z;
-                        }
-                        // Paste schematic here
 
-                        for (int ry = 0; ry < Math.min(256, HEIGHT); ry++) {
-                            int yy = y_offset_actual + ry;
-                            if (yy > 255) {
-                                continue;
-                            }
-                            for (int rz = zzb - p1z; rz <= (zzt - p1z); rz++) {
-                                for (int rx = xxb - p1x; rx <= (xxt - p1x); rx++) {
-                                    int xx = p1x + rx;
-                                    int zz = p1z + rz;
-                                    BaseBlock id = blockArrayClipboard
-                                        .getFullBlock(BlockVector3.at(rx, ry, rz));
-                                    queue.setBlock(xx, yy, zz, id);
-                                    if (ry == 0) {
-                                        BiomeType biome =
-                                            blockArrayClipboard.getBiome(BlockVector2.at(rx, rz));
-                                        queue.setBiome(xx, zz, biome);
-                                    }
-                                }
-                            }
+                ChunkTaskScheduler.IMP.submit(pos1, pos2, true, new RunnableVal<ChunkBatch>() {
+                    @Override public void run(ChunkBatch batch) {
+                        for (int i = 0; i < batch.size(); i++) {
+                            blocks.paste(queue, p1x, y_offset_actual, p1z, batch.getMinX(i),
+                                batch.getMinZ(i), batch.getMaxX(i), batch.getMaxZ(i));
                         }
                         queue.enqueue();
                     }
@@ -295,7 +284,7 @@ public abstract class SchematicHandler {
                         whenDone.value = true;
                         whenDone.run();
                     }
-                }, 10);
+                });
             } catch (Exception e) {
                 e.printStackTrace();
                 TaskManager.runTask(whenDone);
@@ -364,11 +353,19 @@ public abstract class SchematicHandler {
         if (!file.exists()) {
             return null;
         }
+        SchematicKey key =
+            new SchematicKey(file.getAbsolutePath(), file.lastModified(), file.length());
+        SchematicBlocks cached = this.schematicCache.getIfPresent(key);
+        if (cached != null) {
+            return new Schematic(cached);
+        }
         ClipboardFormat format = ClipboardFormats.findByFile(file);
         if (format != null) {
             try (ClipboardReader reader = format.getReader(new FileInputStream(file))) {
                 Clipboard clip = reader.read();
-                return new Schematic(clip);
+                SchematicBlocks blocks = SchematicBlocks.of(clip);
+                this.schematicCache.put(key, blocks);
+                return new Schematic(blocks);
             } catch (IOException e) {
                 e.printStackTrace();
             }
@@ -379,6 +376,22 @@ public abstract class SchematicHandler {
         return null;
     }
 
+    /**
+     * Get the hit and miss counts of the schematic file cache
+     *
+     * @return Cache statistics
+     */
+    public CacheStats getSchematicCacheStats() {
+        return this.schematicCache.stats();
+    }
+
+    /**
+     * Remove all loaded schematic files from the cache
+     */
+    public void invalidateSchematicCache() {
+        this.schematicCache.invalidateAll();
+    }
+
     public Schematic getSchematic(@NotNull URL url) {
         try {
             ReadableByteChannel readableByteChannel = Channels.newChannel(url.openStream());
@@ -482,6 +495,129 @@ public abstract class SchematicHandler {
         return true;
     }
 
+    /**
+     * Export the regions of a plot as a schematic file.
+     *
+     * @param plot     Plot to export
+     * @param file     File to write the schematic to
+     * @param whenDone Called on the main thread, with whether the schematic was written
+     * @see #export(String, Set, File, RunnableVal)
+     */
+    public void export(@NotNull final Plot plot, @NotNull final File file,
+        @Nullable final RunnableVal<Boolean> whenDone) {
+        export(plot.getWorldName(), plot.getRegions(), file, whenDone);
+    }
+
+    /**
+     * Export regions as a schematic file. Chunks are copied on the main thread one batch
+     * at a time, and written to the file on an export thread, so only a few chunks of
+     * blocks are held in memory at a time.
+     *
+     * @param world    World to export from
+     * @param regions  Regions to export. Blocks of the bounding box that are not in
+     *                 any region are exported as air
+     * @param file     File to write the schematic to
+     * @param whenDone Called on the main thread, with whether the schematic was written
+     */
+    public void export(@NotNull final String world, @NotNull final Set<CuboidRegion> regions,
+        @NotNull final File file, @Nullable final RunnableVal<Boolean> whenDone) {
+        final SchematicExporter exporter;
+        try {
+            exporter = new SchematicExporter(regions);
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            if (whenDone != null) {
+                whenDone.value = false;
+                TaskManager.runTask(whenDone);
+            }
+            return;
+        }
+        final Location[] corners = MainUtil.getCorners(world, regions);
+        final int minY = corners[0].getY();
+        final int maxY = corners[1].getY();
+        final AtomicReference<CompletableFuture<Void>> tail =
+            new AtomicReference<>(CompletableFuture.completedFuture(null));
+        ChunkTaskScheduler.IMP.submit(corners[0], corners[1], true, new RunnableVal<ChunkBatch>() {
+            @Override public void run(ChunkBatch batch) {
+                final ChunkBlocks[] chunks = new ChunkBlocks[batch.size()];
+                for (int i = 0; i < chunks.length; i++) {
+                    chunks[i] =
+                        copyChunk(world, batch.getChunkX(i), batch.getChunkZ(i), minY, maxY);
+                }
+                tail.set(tail.get().thenRunAsync(() -> {
+                    try {
+                        for (int i = 0; i < chunks.length; i++) {
+                            exporter.accept(batch.getChunkX(i), batch.getChunkZ(i), chunks[i]);
+                        }
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, EXPORT_WORKERS));
+            }
+        }, () -> tail.get().thenRunAsync(() -> {
+            file.getParentFile().mkdirs();
+            try (OutputStream output = new BufferedOutputStream(
+                new GZIPOutputStream(new FileOutputStream(file)), 1 << 16)) {
+                exporter.write(output);
+            } catch (IOException e) {
+                file.delete();
+                throw new CompletionException(e);
+            }
+        }, EXPORT_WORKERS).whenComplete((ignore, throwable) -> {
+            try {
+                exporter.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            if (throwable != null) {
+                throwable.printStackTrace();
+            }
+            if (whenDone != null) {
+                whenDone.value = throwable == null;
+                TaskManager.runTask(whenDone);
+            }
+        }));
+    }
+
+    /**
+     * Copy the blocks of a chunk for an export. This is called on the main thread, and
+     * the returned copy is read on an export thread.
+     *
+     * @param world  World name
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @param minY   Lowest Y coordinate that is exported
+     * @param maxY   Highest Y coordinate that is exported
+     * @return Blocks of the chunk
+     */
+    @NotNull protected ChunkBlocks copyChunk(@NotNull final String world, final int chunkX,
+        final int chunkZ, final int minY, final int maxY) {
+        final World weWorld = WorldUtil.IMP.getWeWorld(world);
+        final int height = maxY - minY + 1;
+        final BaseBlock[] blocks = new BaseBlock[height << 8];
+        final BiomeType[] biomes = new BiomeType[256];
+        final int bx = chunkX << 4;
+        final int bz = chunkZ << 4;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                biomes[z << 4 | x] = weWorld.getBiome(BlockVector2.at(bx + x, bz + z));
+                for (int y = 0; y < height; y++) {
+                    blocks[y << 8 | z << 4 | x] =
+                        weWorld.getFullBlock(BlockVector3.at(bx + x, minY + y, bz + z));
+                }
+            }
+        }
+        return new ChunkBlocks() {
+            @NotNull @Override public BaseBlock getBlock(int x, int y, int z) {
+                return blocks[(y - minY) << 8 | (z & 15) << 4 | (x & 15)];
+            }
+
+            @NotNull @Override public BiomeType getBiome(int x, int z) {
+                return biomes[(z & 15) << 4 | (x & 15)];
+            }
+        };
+    }
+
     public void getCompoundTag(final String world, final Set<CuboidRegion> regions,
         final RunnableVal<CompoundTag> whenDone) {
         // async
@@ -693,6 +829,17 @@ public abstract class SchematicHandler {
     }
 
 
+    /**
+     * Blocks of a chunk that are copied for an export. Coordinates are world coordinates.
+     */
+    public interface ChunkBlocks {
+
+        @NotNull BaseBlock getBlock(int x, int y, int z);
+
+        @NotNull BiomeType getBiome(int x, int z);
+
+    }
+
     public static class UnsupportedFormatException extends Exception {
         /**
          * Throw with a message.
@@ -714,4 +861,32 @@ public abstract class SchematicHandler {
         }
     }
 
+    private static final class SchematicKey {
+
+        private final String path;
+        private final long lastModified;
+        private final long size;
+
+        private SchematicKey(String path, long lastModified, long size) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        @Override public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final SchematicKey that = (SchematicKey) o;
+            return this.lastModified == that.lastModified && this.size == that.size
+                && this.path.equals(that.path);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(this.path, this.lastModified, this.size);
+        }
+    }
 }
@@ -222,4 +222,6 @@ public abstract class WorldUtil {
 
     public abstract int getTileEntityCount(String world, BlockVector2 chunk);
 
+    public abstract int getEntityCount(String world, BlockVector2 chunk);
+
 }
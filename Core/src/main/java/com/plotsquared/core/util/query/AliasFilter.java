@@ -26,9 +26,13 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotIndex;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-class AliasFilter implements PlotFilter {
+import java.util.Collection;
+
+class AliasFilter implements IndexedPlotFilter {
 
     private final String alias;
 
@@ -40,4 +44,12 @@ class AliasFilter implements PlotFilter {
         return this.alias.equalsIgnoreCase(plot.getAlias());
     }
 
+    @Override @Nullable public Collection<Plot> getCandidates(@NotNull final PlotIndex index) {
+        if (this.alias.isEmpty()) {
+            // Plots without an alias are not indexed
+            return null;
+        }
+        return index.getAliasedPlots(this.alias);
+    }
+
 }
@@ -40,6 +40,10 @@ class AreaLimitedPlotProvider implements PlotProvider {
         this.areas = areas;
     }
 
+    Collection<PlotArea> getAreas() {
+        return this.areas;
+    }
+
     @Override public Collection<Plot> getPlots() {
         final List<Plot> plots = new LinkedList<>();
         for (final PlotArea area : areas) {
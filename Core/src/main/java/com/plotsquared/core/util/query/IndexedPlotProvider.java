@@ -0,0 +1,63 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.query;
+
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Provides the candidates of an {@link IndexedPlotFilter} in a set of areas
+ */
+class IndexedPlotProvider implements PlotProvider {
+
+    private final Collection<PlotArea> areas;
+    private final IndexedPlotFilter filter;
+
+    IndexedPlotProvider(@NotNull final Collection<PlotArea> areas,
+        @NotNull final IndexedPlotFilter filter) {
+        this.areas = areas;
+        this.filter = filter;
+    }
+
+    @Override public Collection<Plot> getPlots() {
+        final Set<Plot> plots = new LinkedHashSet<>();
+        for (final PlotArea area : this.areas) {
+            final Collection<Plot> candidates = this.filter.getCandidates(area.getPlotIndex());
+            if (candidates == null) {
+                plots.addAll(area.getPlots());
+            } else {
+                plots.addAll(candidates);
+            }
+        }
+        return plots;
+    }
+
+}
@@ -25,12 +25,18 @@
  */
 package com.plotsquared.core.util.query;
 
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotIndex;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
-class MemberFilter implements PlotFilter {
+class MemberFilter implements IndexedPlotFilter {
 
     @NotNull private final UUID uuid;
 
@@ -42,4 +48,19 @@ class MemberFilter implements PlotFilter {
         return plot.isAdded(uuid);
     }
 
+    @Override @Nullable public Collection<Plot> getCandidates(@NotNull final PlotIndex index) {
+        if (this.uuid.equals(DBFunc.SERVER)) {
+            // Server plots are determined by a flag, not by the stored owner
+            return null;
+        }
+        final Set<Plot> candidates = new HashSet<>();
+        for (final Plot plot : index.getOwnedPlots(this.uuid)) {
+            // Owners of a sub-plot are owners of the entire merged plot
+            candidates.addAll(plot.getConnectedPlots());
+        }
+        candidates.addAll(index.getUserPlots(this.uuid));
+        candidates.addAll(index.getUserPlots(DBFunc.EVERYONE));
+        return candidates;
+    }
+
 }
@@ -26,12 +26,14 @@
 package com.plotsquared.core.util.query;
 
 import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotIndex;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.UUID;
 
-class OwnerFilter implements PlotFilter {
+class OwnerFilter implements IndexedPlotFilter {
 
     private final UUID owner;
 
@@ -42,5 +44,9 @@ class OwnerFilter implements PlotFilter {
     @Override public boolean accepts(@NotNull final Plot plot) {
         return plot.hasOwner() && Objects.equals(plot.getOwnerAbs(), this.owner);
     }
-    
+
+    @Override @NotNull public Collection<Plot> getCandidates(@NotNull final PlotIndex index) {
+        return index.getOwnedPlots(this.owner);
+    }
+
 }
@@ -36,6 +36,7 @@ import com.plotsquared.core.util.MathMan;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -286,7 +287,7 @@ public final class PlotQuery {
         if (this.filters.isEmpty()) {
             result = new ArrayList<>(this.plotProvider.getPlots());
         } else {
-            final Collection<Plot> plots = this.plotProvider.getPlots();
+            final Collection<Plot> plots = this.resolvePlotProvider().getPlots();
             result = new ArrayList<>(plots.size());
             outer: for (final Plot plot : plots) {
                 for (final PlotFilter filter : this.filters) {
@@ -386,7 +387,7 @@ public final class PlotQuery {
         if (this.filters.isEmpty()) {
             return !this.plotProvider.getPlots().isEmpty();
         } else {
-            final Collection<Plot> plots = this.plotProvider.getPlots();
+            final Collection<Plot> plots = this.resolvePlotProvider().getPlots();
             outer: for (final Plot plot : plots) {
                 // a plot must pass all filters to match the criteria
                 for (final PlotFilter filter : this.filters) {
@@ -400,6 +401,30 @@ public final class PlotQuery {
         }
     }
 
+    /**
+     * Get the provider that should be used to fetch the plots that are to be filtered.
+     * If the first filter can be answered by the plot index of the queried areas, the
+     * index is used instead of scanning every plot in the areas. The filters are still
+     * applied to the indexed candidates.
+     *
+     * @return Plot provider
+     */
+    @NotNull private PlotProvider resolvePlotProvider() {
+        final PlotFilter first = this.filters.iterator().next();
+        if (!(first instanceof IndexedPlotFilter)) {
+            return this.plotProvider;
+        }
+        final Collection<PlotArea> areas;
+        if (this.plotProvider instanceof GlobalPlotProvider) {
+            areas = Arrays.asList(PlotSquared.get().getPlotAreaManager().getAllPlotAreas());
+        } else if (this.plotProvider instanceof AreaLimitedPlotProvider) {
+            areas = ((AreaLimitedPlotProvider) this.plotProvider).getAreas();
+        } else {
+            return this.plotProvider;
+        }
+        return new IndexedPlotProvider(areas, (IndexedPlotFilter) first);
+    }
+
     @NotNull private PlotQuery addFilter(@NotNull final PlotFilter filter) {
         this.filters.add(filter);
         return this;
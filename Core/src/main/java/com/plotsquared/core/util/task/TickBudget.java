@@ -0,0 +1,115 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.task;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time budget for work that is spread over server ticks. The duration of each tick is
+ * measured as the time between two calls to {@link #tick()}. The budget shrinks by a
+ * quarter whenever a tick takes longer than it should, and grows by a fixed step when
+ * the average tick duration is on target again.
+ * <p>
+ * This class is not thread safe, and is meant to be used by one repeating task.
+ */
+public final class TickBudget {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long TOLERANCE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final long minimum;
+    private final long maximum;
+    private final long step;
+    private final long initial;
+    private long budget;
+    private long lastTick;
+    private double averageTick = TICK_NANOS;
+
+    /**
+     * Create a new budget. All durations are in milliseconds.
+     *
+     * @param minimum Smallest budget
+     * @param maximum Largest budget
+     * @param step    Amount by which the budget grows per tick
+     * @param initial Budget of the first tick
+     */
+    public TickBudget(final long minimum, final long maximum, final long step,
+        final long initial) {
+        this.minimum = TimeUnit.MILLISECONDS.toNanos(minimum);
+        this.maximum = TimeUnit.MILLISECONDS.toNanos(maximum);
+        this.step = TimeUnit.MILLISECONDS.toNanos(step);
+        this.initial = TimeUnit.MILLISECONDS.toNanos(initial);
+        this.budget = this.initial;
+    }
+
+    /**
+     * Start a tick, and update the budget from the duration of the previous tick
+     *
+     * @return Deadline of this tick, in {@link System#nanoTime()} time
+     */
+    public long tick() {
+        final long now = System.nanoTime();
+        if (this.lastTick != 0) {
+            final long duration = now - this.lastTick;
+            this.averageTick = this.averageTick * 0.9 + duration * 0.1;
+            if (duration > TICK_NANOS + TOLERANCE_NANOS) {
+                this.budget = Math.max(this.minimum, this.budget * 3 / 4);
+            } else if (this.averageTick <= TICK_NANOS + TOLERANCE_NANOS) {
+                this.budget = Math.min(this.maximum, this.budget + this.step);
+            }
+        }
+        this.lastTick = now;
+        return now + this.budget;
+    }
+
+    /**
+     * Forget the previous tick, after the repeating task has been stopped
+     */
+    public void reset() {
+        this.lastTick = 0;
+        this.averageTick = TICK_NANOS;
+        this.budget = this.initial;
+    }
+
+    /**
+     * Get the moving average of the measured tick duration
+     *
+     * @return Milliseconds per tick
+     */
+    public double getAverageTick() {
+        return this.averageTick / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Get the current budget
+     *
+     * @return Budget in milliseconds
+     */
+    public double getBudget() {
+        return (double) this.budget / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -37,11 +37,15 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -49,6 +53,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -62,10 +67,18 @@ import java.util.function.Function;
  */
 public class UUIDPipeline {
 
+    /**
+     * Time in milliseconds that asynchronous requests are collected
+     * before being sent to the services as a single batch
+     */
+    private static final long BATCH_DELAY = 5;
+
     private final Executor executor;
     private final List<UUIDService> serviceList;
     private final List<Consumer<List<UUIDMapping>>> consumerList;
     private final ScheduledExecutorService timeoutExecutor;
+    private final LookupBatch<UUID> nameLookup;
+    private final LookupBatch<String> uuidLookup;
 
     /**
      * Construct a new UUID pipeline
@@ -78,6 +91,10 @@ public class UUIDPipeline {
         this.serviceList = Lists.newLinkedList();
         this.consumerList = Lists.newLinkedList();
         this.timeoutExecutor = Executors.newSingleThreadScheduledExecutor();
+        this.nameLookup = new LookupBatch<>(UUIDService::getNames, UUIDMapping::getUuid,
+            Function.identity());
+        this.uuidLookup = new LookupBatch<>(UUIDService::getUUIDs, UUIDMapping::getUsername,
+            username -> username.toLowerCase(Locale.ROOT));
     }
 
     /**
@@ -286,15 +303,15 @@ public class UUIDPipeline {
             return CompletableFuture.completedFuture(Collections.emptyList());
         }
 
-        final List<UUIDService> serviceList = this.getServiceListInstance();
         final List<UUIDMapping> mappings = new ArrayList<>(requests.size());
-        final List<UUID> remainingRequests = new ArrayList<>(requests);
+        final Set<UUID> remainingRequests = new LinkedHashSet<>(requests);
 
-        for (final UUIDService service : serviceList) {
+        for (final UUIDService service : this.getServiceListInstance()) {
             // We can chain multiple synchronous
             // ones in a row
             if (service.canBeSynchronous()) {
-                final List<UUIDMapping> completedRequests = service.getNames(remainingRequests);
+                final List<UUIDMapping> completedRequests =
+                    service.getNames(new ArrayList<>(remainingRequests));
                 for (final UUIDMapping mapping : completedRequests) {
                     remainingRequests.remove(mapping.getUuid());
                 }
@@ -307,26 +324,18 @@ public class UUIDPipeline {
             }
         }
 
-        return CompletableFuture.supplyAsync(() -> {
-            for (final UUIDService service : serviceList) {
-                final List<UUIDMapping> completedRequests = service.getNames(remainingRequests);
-                for (final UUIDMapping mapping : completedRequests) {
-                    remainingRequests.remove(mapping.getUuid());
-                }
-                mappings.addAll(completedRequests);
-                if (remainingRequests.isEmpty()) {
-                    break;
-                }
-            }
-
-            if (mappings.size() == requests.size()) {
-                this.consume(mappings);
+        return this.nameLookup.request(remainingRequests).thenApply(completedRequests -> {
+            mappings.addAll(completedRequests);
+            if (completedRequests.size() == remainingRequests.size()) {
                 return mappings;
             } else if (Settings.DEBUG) {
                 PlotSquared.debug("Failed to find all usernames");
             }
 
             if (Settings.UUID.UNKNOWN_AS_DEFAULT) {
+                for (final UUIDMapping mapping : completedRequests) {
+                    remainingRequests.remove(mapping.getUuid());
+                }
                 for (final UUID uuid : remainingRequests) {
                     mappings.add(new UUIDMapping(uuid, Captions.UNKNOWN.getTranslated()));
                 }
@@ -334,7 +343,7 @@ public class UUIDPipeline {
             } else {
                 throw new ServiceError("End of pipeline");
             }
-        }, this.executor);
+        });
     }
 
     /**
@@ -349,15 +358,15 @@ public class UUIDPipeline {
             return CompletableFuture.completedFuture(Collections.emptyList());
         }
 
-        final List<UUIDService> serviceList = this.getServiceListInstance();
         final List<UUIDMapping> mappings = new ArrayList<>(requests.size());
-        final List<String> remainingRequests = new ArrayList<>(requests);
+        final Set<String> remainingRequests = new LinkedHashSet<>(requests);
 
-        for (final UUIDService service : serviceList) {
+        for (final UUIDService service : this.getServiceListInstance()) {
             // We can chain multiple synchronous
             // ones in a row
             if (service.canBeSynchronous()) {
-                final List<UUIDMapping> completedRequests = service.getUUIDs(remainingRequests);
+                final List<UUIDMapping> completedRequests =
+                    service.getUUIDs(new ArrayList<>(remainingRequests));
                 for (final UUIDMapping mapping : completedRequests) {
                     remainingRequests.remove(mapping.getUsername());
                 }
@@ -370,27 +379,16 @@ public class UUIDPipeline {
             }
         }
 
-        return CompletableFuture.supplyAsync(() -> {
-            for (final UUIDService service : serviceList) {
-                final List<UUIDMapping> completedRequests = service.getUUIDs(remainingRequests);
-                for (final UUIDMapping mapping : completedRequests) {
-                    remainingRequests.remove(mapping.getUsername());
-                }
-                mappings.addAll(completedRequests);
-                if (remainingRequests.isEmpty()) {
-                    break;
-                }
-            }
-
-            if (mappings.size() == requests.size()) {
-                this.consume(mappings);
+        return this.uuidLookup.request(remainingRequests).thenApply(completedRequests -> {
+            mappings.addAll(completedRequests);
+            if (completedRequests.size() == remainingRequests.size()) {
                 return mappings;
             } else if (Settings.DEBUG) {
                 PlotSquared.debug("Failed to find all UUIDs");
             }
 
             throw new ServiceError("End of pipeline");
-        }, this.executor);
+        });
     }
 
     /**
@@ -423,4 +421,125 @@ public class UUIDPipeline {
         return null;
     }
 
+
+    /**
+     * Collects the requests that could not be completed synchronously. Concurrent
+     * requests for the same key share a single future, and requests arriving within
+     * {@link #BATCH_DELAY} milliseconds of each other are sent to the services as
+     * one list.
+     *
+     * @param <K> Request type
+     */
+    private final class LookupBatch<K> {
+
+        private final BiFunction<UUIDService, List<K>, List<UUIDMapping>> lookup;
+        private final Function<UUIDMapping, K> key;
+        private final Function<K, K> normalizer;
+        private final Map<K, CompletableFuture<UUIDMapping>> inFlight = new ConcurrentHashMap<>();
+        private Map<K, K> pending = new LinkedHashMap<>();
+
+        private LookupBatch(@NotNull final BiFunction<UUIDService, List<K>, List<UUIDMapping>> lookup,
+            @NotNull final Function<UUIDMapping, K> key, @NotNull final Function<K, K> normalizer) {
+            this.lookup = lookup;
+            this.key = key;
+            this.normalizer = normalizer;
+        }
+
+        /**
+         * Request mappings for the given keys. The returned list only contains
+         * the mappings that could be found.
+         *
+         * @param requests Keys
+         * @return Found mappings
+         */
+        private CompletableFuture<List<UUIDMapping>> request(@NotNull final Collection<K> requests) {
+            final List<CompletableFuture<UUIDMapping>> futures = new ArrayList<>(requests.size());
+            for (final K request : requests) {
+                futures.add(this.request(request));
+            }
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    final List<UUIDMapping> mappings = new ArrayList<>(futures.size());
+                    for (final CompletableFuture<UUIDMapping> future : futures) {
+                        final UUIDMapping mapping = future.join();
+                        if (mapping != null) {
+                            mappings.add(mapping);
+                        }
+                    }
+                    return mappings;
+                });
+        }
+
+        private CompletableFuture<UUIDMapping> request(@NotNull final K request) {
+            final K normalized = this.normalizer.apply(request);
+            CompletableFuture<UUIDMapping> future = this.inFlight.get(normalized);
+            if (future != null) {
+                return future;
+            }
+            synchronized (this) {
+                future = this.inFlight.get(normalized);
+                if (future == null) {
+                    future = new CompletableFuture<>();
+                    this.inFlight.put(normalized, future);
+                    if (this.pending.isEmpty()) {
+                        timeoutExecutor.schedule(this::flush, BATCH_DELAY, TimeUnit.MILLISECONDS);
+                    }
+                    this.pending.put(normalized, request);
+                }
+            }
+            return future;
+        }
+
+        private void flush() {
+            final Map<K, K> requests;
+            synchronized (this) {
+                requests = this.pending;
+                this.pending = new LinkedHashMap<>();
+            }
+            executor.execute(() -> this.resolve(requests));
+        }
+
+        private void resolve(@NotNull final Map<K, K> remainingRequests) {
+            final List<UUIDMapping> mappings = new ArrayList<>(remainingRequests.size());
+            try {
+                for (final UUIDService service : getServiceListInstance()) {
+                    final List<UUIDMapping> completedRequests =
+                        this.lookup.apply(service, new ArrayList<>(remainingRequests.values()));
+                    for (final UUIDMapping mapping : completedRequests) {
+                        final K normalized = this.normalizer.apply(this.key.apply(mapping));
+                        if (remainingRequests.remove(normalized) != null) {
+                            mappings.add(mapping);
+                            this.complete(normalized, mapping);
+                        }
+                    }
+                    if (remainingRequests.isEmpty()) {
+                        break;
+                    }
+                }
+            } catch (final Throwable throwable) {
+                for (final K normalized : remainingRequests.keySet()) {
+                    final CompletableFuture<UUIDMapping> future = this.inFlight.remove(normalized);
+                    if (future != null) {
+                        future.completeExceptionally(throwable);
+                    }
+                }
+                remainingRequests.clear();
+            }
+            for (final K normalized : remainingRequests.keySet()) {
+                this.complete(normalized, null);
+            }
+            if (!mappings.isEmpty()) {
+                consume(mappings);
+            }
+        }
+
+        private void complete(@NotNull final K normalized, @Nullable final UUIDMapping mapping) {
+            final CompletableFuture<UUIDMapping> future = this.inFlight.remove(normalized);
+            if (future != null) {
+                future.complete(mapping);
+            }
+        }
+
+    }
+
 }
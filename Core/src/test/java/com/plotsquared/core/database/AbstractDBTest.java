@@ -88,6 +88,13 @@ public class AbstractDBTest implements AbstractDB {
     @Override public void getPersistentMeta(UUID uuid, RunnableVal<Map<String, byte[]>> result) {
     }
 
+    @Override public Map<UUID, Long> getLastSeen() {
+        return new HashMap<>();
+    }
+
+    @Override public void setLastSeen(UUID uuid, long time) {
+    }
+
     @Override public void createPlotSettings(int id, Plot plot) {
     }
 
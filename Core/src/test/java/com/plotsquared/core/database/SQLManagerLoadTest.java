@@ -0,0 +1,99 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.util.task.TaskManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class SQLManagerLoadTest {
+
+    private static final int PLOTS = 300;
+
+    private TaskManager previousTaskManager;
+    private File file;
+    private SQLManager manager;
+
+    @Before public void setUp() throws Exception {
+        this.previousTaskManager = TaskManager.IMP;
+        TaskManager.IMP = new SyntheticPlots.ThreadTaskManager();
+        this.file = File.createTempFile("plotsquared-load", ".db");
+        final SQLite database = new SQLite(this.file);
+        this.manager = new SQLManager(database, "", false);
+        try (Connection connection = database.createConnection()) {
+            SyntheticPlots.populate(connection, PLOTS);
+        }
+    }
+
+    @After public void tearDown() {
+        this.manager.close();
+        TaskManager.IMP = this.previousTaskManager;
+        this.file.delete();
+    }
+
+    @Test public void loadsPlotsWithTheirData() {
+        final HashMap<String, HashMap<PlotId, Plot>> plots =
+            this.manager.loadPlots(Collections.singleton(SyntheticPlots.AREA));
+        final HashMap<PlotId, Plot> area = plots.get(SyntheticPlots.AREA);
+        assertEquals(PLOTS, area.size());
+        for (int id = 1; id <= PLOTS; id++) {
+            final Plot plot = area.get(new PlotId(id % 1000, id / 1000));
+            assertNotNull(plot);
+            assertEquals(SyntheticPlots.user(id), plot.getOwnerAbs());
+            assertEquals(Collections.singleton(SyntheticPlots.user(id + 1)), plot.getTrusted());
+            assertEquals(id % 2 == 0 ?
+                Collections.singleton(SyntheticPlots.user(id + 2)) :
+                Collections.<UUID>emptySet(), plot.getMembers());
+            assertEquals(id % 4 == 0 ?
+                Collections.singleton(SyntheticPlots.user(id + 3)) :
+                Collections.<UUID>emptySet(), plot.getDenied());
+            assertEquals("plot" + id, plot.getSettings().getAlias());
+            // The lowest bit of the merged column is the west side
+            for (int direction = 0; direction < 4; direction++) {
+                if ((id & 1 << 3 - direction) != 0) {
+                    assertTrue(plot.getSettings().getMerged(direction));
+                } else {
+                    assertFalse(plot.getSettings().getMerged(direction));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import com.plotsquared.core.util.task.TaskManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Fills a plot database with synthetic plots in the area {@code world}. Plot {@code n} has the
+ * id {@code (n % 1000, n / 1000)}, is owned by {@code user(n)}, trusts {@code user(n + 1)},
+ * has {@code user(n + 2)} as member if {@code n} is even, denies {@code user(n + 3)} if
+ * {@code n} is a multiple of four, is called {@code plot<n>} and has the merged flags
+ * {@code n % 16}.
+ */
+final class SyntheticPlots {
+
+    static final String AREA = "world";
+
+    private SyntheticPlots() {
+    }
+
+    static UUID user(final int index) {
+        return new UUID(0, index % 5000);
+    }
+
+    static void populate(final Connection connection, final int plots) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement plot = connection.prepareStatement(
+            "INSERT INTO `plot` (`id`, `plot_id_x`, `plot_id_z`, `owner`, `world`, `timestamp`) "
+                + "VALUES (?, ?, ?, ?, ?, ?)");
+            PreparedStatement helper = connection.prepareStatement(
+                "INSERT INTO `plot_helpers` (`plot_plot_id`, `user_uuid`) VALUES (?, ?)");
+            PreparedStatement trusted = connection.prepareStatement(
+                "INSERT INTO `plot_trusted` (`plot_plot_id`, `user_uuid`) VALUES (?, ?)");
+            PreparedStatement denied = connection.prepareStatement(
+                "INSERT INTO `plot_denied` (`plot_plot_id`, `user_uuid`) VALUES (?, ?)");
+            PreparedStatement settings = connection.prepareStatement(
+                "INSERT INTO `plot_settings` (`plot_plot_id`, `alias`, `merged`, `position`) "
+                    + "VALUES (?, ?, ?, ?)")) {
+            final Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+            for (int id = 1; id <= plots; id++) {
+                plot.setInt(1, id);
+                plot.setInt(2, id % 1000);
+                plot.setInt(3, id / 1000);
+                plot.setString(4, user(id).toString());
+                plot.setString(5, AREA);
+                plot.setTimestamp(6, timestamp);
+                plot.addBatch();
+                helper.setInt(1, id);
+                helper.setString(2, user(id + 1).toString());
+                helper.addBatch();
+                if (id % 2 == 0) {
+                    trusted.setInt(1, id);
+                    trusted.setString(2, user(id + 2).toString());
+                    trusted.addBatch();
+                }
+                if (id % 4 == 0) {
+                    denied.setInt(1, id);
+                    denied.setString(2, user(id + 3).toString());
+                    denied.addBatch();
+                }
+                settings.setInt(1, id);
+                settings.setString(2, "plot" + id);
+                settings.setInt(3, id % 16);
+                settings.setString(4, "DEFAULT");
+                settings.addBatch();
+                if (id % 10000 == 0) {
+                    plot.executeBatch();
+                    helper.executeBatch();
+                    trusted.executeBatch();
+                    denied.executeBatch();
+                    settings.executeBatch();
+                }
+            }
+            plot.executeBatch();
+            helper.executeBatch();
+            trusted.executeBatch();
+            denied.executeBatch();
+            settings.executeBatch();
+        }
+        connection.commit();
+    }
+
+    /**
+     * Runs asynchronous tasks on new daemon threads, and all other tasks immediately. The
+     * database writer of {@link SQLManager} is started as an asynchronous task, so it needs
+     * a task manager that does not run it on the calling thread.
+     */
+    static final class ThreadTaskManager extends TaskManager {
+
+        @Override public int taskRepeat(Runnable runnable, int interval) {
+            return -1;
+        }
+
+        @Override public int taskRepeatAsync(Runnable runnable, int interval) {
+            return -1;
+        }
+
+        @Override public void taskAsync(Runnable runnable) {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override public void task(Runnable runnable) {
+            runnable.run();
+        }
+
+        @Override public void taskLater(Runnable runnable, int delay) {
+            runnable.run();
+        }
+
+        @Override public void taskLaterAsync(Runnable runnable, int delay) {
+            taskAsync(runnable);
+        }
+
+        @Override public void cancelTask(int task) {
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FreePlotIndexTest {
+
+    private static PlotId reserve(FreePlotIndex index, int sizeX, int sizeY) {
+        return index.reserve(null, null, null, sizeX, sizeY, id -> true);
+    }
+
+    @Test public void spiralIsBijective() {
+        for (long i = 0; i < 100000; i++) {
+            long offset = FreePlotIndex.spiralOffset(i);
+            assertEquals(i, FreePlotIndex
+                .spiralIndex(PlotId.unpackX(offset), PlotId.unpackY(offset)));
+        }
+    }
+
+    @Test public void skipsDenseCore() {
+        FreePlotIndex index = new FreePlotIndex();
+        for (int x = -50; x <= 50; x++) {
+            for (int y = -50; y <= 50; y++) {
+                index.add(new PlotId(x, y));
+            }
+        }
+        PlotId id = reserve(index, 1, 1);
+        assertEquals(51, Math.max(Math.abs(id.x), Math.abs(id.y)));
+    }
+
+    @Test public void reusesFreedPlots() {
+        FreePlotIndex index = new FreePlotIndex();
+        for (int i = 0; i < 25; i++) {
+            index.add(reserve(index, 1, 1));
+        }
+        PlotId freed = new PlotId(1, -1);
+        index.remove(freed);
+        assertEquals(freed, reserve(index, 1, 1));
+    }
+
+    @Test public void releasedPlotsAreHandedOutAgain() {
+        FreePlotIndex index = new FreePlotIndex();
+        PlotId first = reserve(index, 1, 1);
+        assertTrue(index.isReserved(first));
+        assertFalse(first.equals(reserve(index, 1, 1)));
+        index.release(first);
+        assertFalse(index.isReserved(first));
+        assertEquals(first, reserve(index, 1, 1));
+    }
+
+    @Test public void rectanglesAvoidClaimedPlots() {
+        FreePlotIndex index = new FreePlotIndex();
+        index.add(new PlotId(1, 1));
+        PlotId origin = reserve(index, 3, 2);
+        assertNotNull(origin);
+        for (int x = origin.x; x < origin.x + 3; x++) {
+            for (int y = origin.y; y < origin.y + 2; y++) {
+                assertFalse(x == 1 && y == 1);
+                assertTrue(index.isReserved(new PlotId(x, y)));
+            }
+        }
+        PlotId other = reserve(index, 3, 2);
+        assertTrue(other.x >= origin.x + 3 || other.x + 3 <= origin.x || other.y >= origin.y + 2
+            || other.y + 2 <= origin.y);
+    }
+
+    @Test public void staysWithinBounds() {
+        FreePlotIndex index = new FreePlotIndex();
+        PlotId min = new PlotId(10, 10);
+        PlotId max = new PlotId(12, 11);
+        List<PlotId> ids = new ArrayList<>();
+        PlotId id;
+        while ((id = index.reserve(min, max, null, 1, 1, candidate -> true)) != null) {
+            assertTrue(id.x >= 10 && id.x <= 12 && id.y >= 10 && id.y <= 11);
+            ids.add(id);
+        }
+        assertEquals(6, ids.size());
+        assertNull(index.reserve(min, max, null, 1, 1, candidate -> true));
+    }
+
+    @Test public void respectsFilter() {
+        FreePlotIndex index = new FreePlotIndex();
+        PlotId id = index.reserve(null, null, null, 1, 1, candidate -> candidate.x > 2);
+        assertTrue(id.x > 2);
+        // Plots rejected for one claim are still available to others
+        assertEquals(new PlotId(0, 0), reserve(index, 1, 1));
+    }
+
+    @Test public void concurrentReservationsAreUnique() throws Exception {
+        FreePlotIndex index = new FreePlotIndex();
+        Set<PlotId> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        PlotId id = reserve(index, i % 3 + 1, 1);
+                        for (int x = id.x; x <= id.x + i % 3; x++) {
+                            assertTrue(ids.add(new PlotId(x, id.y)));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChunkCounterTest {
+
+    @Test public void overlappingRectanglesAreCountedSeparately() {
+        final ChunkCounter counter = new ChunkCounter();
+        counter.add(0, 0, 2, 2);
+        counter.add(2, 2, 4, 4);
+        counter.remove(0, 0, 2, 2);
+        assertFalse(counter.contains(0, 0));
+        assertTrue(counter.contains(2, 2));
+        assertTrue(counter.contains(4, 4));
+        counter.remove(2, 2, 4, 4);
+        assertFalse(counter.contains(2, 2));
+    }
+
+    @Test public void countsDoNotDropBelowZero() {
+        final ChunkCounter counter = new ChunkCounter();
+        counter.remove(-40, 7);
+        counter.add(-40, 7);
+        counter.remove(-40, 7);
+        counter.remove(-40, 7);
+        counter.add(-40, 7);
+        assertTrue(counter.contains(-40, 7));
+    }
+
+    @Test public void rectanglesSpanRegionFiles() {
+        final ChunkCounter counter = new ChunkCounter();
+        counter.add(-33, -1, 32, 0);
+        assertTrue(counter.contains(-33, -1));
+        assertTrue(counter.contains(32, 0));
+        assertFalse(counter.contains(33, 0));
+        counter.remove(-33, -1, 32, 0);
+        assertFalse(counter.contains(-33, -1));
+        assertFalse(counter.contains(0, 0));
+    }
+
+}
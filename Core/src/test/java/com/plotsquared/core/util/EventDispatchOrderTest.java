@@ -0,0 +1,72 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *                  Copyright (C) 2021 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.google.common.eventbus.Subscribe;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class EventDispatchOrderTest {
+
+    @Test public void nestedEventsAreQueued() {
+        final EventDispatcher dispatcher = new EventDispatcher();
+        final List<String> calls = new ArrayList<>();
+        dispatcher.registerListener(new Object() {
+            @Subscribe public void onOuter(OuterEvent event) {
+                calls.add("outer start");
+                dispatcher.callGenericEvent(new InnerEvent());
+                calls.add("outer end");
+            }
+
+            @Subscribe public void onInner(InnerEvent event) {
+                calls.add("inner");
+            }
+        });
+        dispatcher.callGenericEvent(new OuterEvent());
+        assertEquals(Arrays.asList("outer start", "outer end", "inner"), calls);
+    }
+
+    @Test public void notificationEventsAreCreatedWithoutListeners() {
+        final EventDispatcher dispatcher = new EventDispatcher();
+        assertNotNull(dispatcher.callEntry(null, null));
+        assertNotNull(dispatcher.callLeave(null, null));
+        assertNotNull(dispatcher.callMember(null, null, null, true));
+    }
+
+    public static final class OuterEvent {
+    }
+
+
+    public static final class InnerEvent {
+    }
+
+}